@@ -0,0 +1,90 @@
+package com.ecommerce.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prints two JMH JSON result files side by side: score and allocation per
+ * operation of every benchmark present in both, with the relative change.
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar com.ecommerce.benchmarks.BenchmarkCompare BEFORE.json AFTER.json
+ */
+public final class BenchmarkCompare {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BenchmarkCompare() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkCompare BEFORE.json AFTER.json");
+            System.exit(2);
+        }
+        Map<String, JsonNode> before = read(Paths.get(args[0]));
+        Map<String, JsonNode> after = read(Paths.get(args[1]));
+
+        int width = after.keySet().stream().mapToInt(String::length).max().orElse(10);
+        System.out.printf("%-" + width + "s %14s %14s %8s %12s %12s%n",
+                "Benchmark", "Before", "After", "Change", "B/op before", "B/op after");
+        for (Map.Entry<String, JsonNode> entry : after.entrySet()) {
+            JsonNode old = before.get(entry.getKey());
+            if (old == null) {
+                continue;
+            }
+            JsonNode current = entry.getValue();
+            double oldScore = old.path("primaryMetric").path("score").asDouble();
+            double newScore = current.path("primaryMetric").path("score").asDouble();
+            System.out.printf("%-" + width + "s %14.3f %14.3f %+7.1f%% %12s %12s  %s%n",
+                    entry.getKey(), oldScore, newScore, change(oldScore, newScore),
+                    allocation(old), allocation(current),
+                    current.path("primaryMetric").path("scoreUnit").asText());
+        }
+    }
+
+    /**
+     * Results keyed by benchmark name and parameters
+     */
+    private static Map<String, JsonNode> read(Path file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            if (params.isObject()) {
+                key.append(' ');
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    key.append(param.getKey()).append('=').append(param.getValue().asText());
+                    if (fields.hasNext()) {
+                        key.append(',');
+                    }
+                }
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static String allocation(JsonNode result) {
+        Iterator<Map.Entry<String, JsonNode>> metrics = result.path("secondaryMetrics").fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                return String.format("%.1f", metric.getValue().path("score").asDouble());
+            }
+        }
+        return "-";
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Entry point of benchmarks.jar: the JMH command line with project defaults.
+ *
+ * Unless given on the command line, every run uses the gc profiler (allocation
+ * per operation as gc.alloc.rate.norm) and writes JSON results to
+ * jmh-results/COMMIT.json, COMMIT being the short git commit of the working
+ * directory (with -dirty for uncommitted changes). Compare two runs with
+ * BenchmarkCompare.
+ *
+ * Examples, from services/:
+ *   java -jar benchmarks/target/benchmarks.jar                      all benchmarks
+ *   java -jar benchmarks/target/benchmarks.jar OrderTotal -p lines=500
+ *   java -jar benchmarks/target/benchmarks.jar -h                   JMH options
+ */
+public final class BenchmarkMain {
+
+    static final Path RESULTS_DIRECTORY = Paths.get("jmh-results");
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+        if (commandLine.shouldList()) {
+            new Runner(commandLine).list();
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            Files.createDirectories(RESULTS_DIRECTORY);
+            Path result = RESULTS_DIRECTORY.resolve(commit() + ".json");
+            options.result(result.toString());
+            System.out.println("Results: " + result.toAbsolutePath());
+        }
+        new Runner(options.build()).run();
+    }
+
+    /**
+     * Short commit of the working directory, "local" outside a git checkout.
+     */
+    static String commit() {
+        String commit = git("rev-parse", "--short", "HEAD");
+        if (commit == null) {
+            return "local";
+        }
+        String changes = git("status", "--porcelain", "--untracked-files=no");
+        return changes == null || changes.isEmpty() ? commit : commit + "-dirty";
+    }
+
+    private static String git(String... arguments) {
+        String[] command = new String[arguments.length + 1];
+        command[0] = "git";
+        System.arraycopy(arguments, 0, command, 1, arguments.length);
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            StringBuilder output = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                reader.lines().forEach(line -> output.append(line).append('\n'));
+            }
+            return process.waitFor() == 0 ? output.toString().trim() : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
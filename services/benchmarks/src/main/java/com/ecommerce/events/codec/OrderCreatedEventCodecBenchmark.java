@@ -0,0 +1,91 @@
+package com.ecommerce.events.codec;
+
+import com.ecommerce.events.Money;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary codec vs. Jackson for OrderCreatedEvent, encode and decode by item count.
+ * Record sizes are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class OrderCreatedEventCodecBenchmark {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Param({"1", "10", "100"})
+    public int items;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OrderCreatedEvent event;
+    private byte[] binary;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        event = event(items);
+        binary = OrderCreatedEventCodec.encode(event);
+        json = objectMapper.writeValueAsBytes(event);
+        System.out.printf("%nOrderCreatedEvent (%d items): binary %d bytes, JSON %d bytes%n",
+                items, binary.length, json.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return OrderCreatedEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public OrderCreatedEvent decodeBinary() {
+        return OrderCreatedEventCodec.decode(binary);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public OrderCreatedEvent decodeJson() throws Exception {
+        return objectMapper.readValue(json, OrderCreatedEvent.class);
+    }
+
+    static OrderCreatedEvent event(int itemCount) {
+        Random random = new Random(42);
+        List<OrderCreatedEvent.OrderItemEvent> orderItems = new ArrayList<>(itemCount);
+        long total = 0;
+        for (int i = 0; i < itemCount; i++) {
+            int quantity = 1 + random.nextInt(5);
+            long price = 100 + random.nextInt(100_000);
+            total += quantity * price;
+            orderItems.add(new OrderCreatedEvent.OrderItemEvent(new UUID(random.nextLong(), random.nextLong()),
+                    "Product " + i, quantity, new Money(price, USD)));
+        }
+        return new OrderCreatedEvent(new UUID(random.nextLong(), random.nextLong()), "ORD-20250301-093015-A4B9",
+                "John Doe", "john@example.com", new Money(total, USD), "PENDING", orderItems, 1_700_000_000_123L);
+    }
+}
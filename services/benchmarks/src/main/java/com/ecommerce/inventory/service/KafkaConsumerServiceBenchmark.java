@@ -0,0 +1,118 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.events.Money;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.inventory.dto.LedgerConsistencyReport;
+import com.ecommerce.inventory.metrics.OrderEventMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The serial consumer loop (KafkaConsumerService.consumeOrderCreatedEvent) by
+ * item count: per-item processing with metrics, then the result publish.
+ *
+ * Stock changes go to an in-memory StockLedger and the result is "sent" by a
+ * KafkaTemplate that completes at once, so only the service code is measured,
+ * not the database or the broker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class KafkaConsumerServiceBenchmark {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Param({"1", "10", "50"})
+    public int items;
+
+    private KafkaConsumerService consumer;
+    private OrderCreatedEvent event;
+
+    @Setup
+    public void setUp() {
+        OrderEventMetrics metrics = new OrderEventMetrics(new SimpleMeterRegistry());
+        OrderEventProcessor processor = new OrderEventProcessor(null, null, new InMemoryStockLedger(), null, metrics);
+        InventoryResultPublisher publisher =
+                new InventoryResultPublisher(new CompletedKafkaTemplate(), "inventory-result", 10_000);
+        consumer = new KafkaConsumerService(processor, metrics, publisher);
+        event = event(items);
+    }
+
+    @Benchmark
+    public OrderCreatedEvent consumeOrderCreatedEvent() {
+        consumer.consumeOrderCreatedEvent(event);
+        return event;
+    }
+
+    private static OrderCreatedEvent event(int itemCount) {
+        Random random = new Random(42);
+        List<OrderCreatedEvent.OrderItemEvent> orderItems = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            orderItems.add(new OrderCreatedEvent.OrderItemEvent(new UUID(random.nextLong(), random.nextLong()),
+                    "Product " + i, 1 + random.nextInt(5), new Money(100 + random.nextInt(100_000), USD)));
+        }
+        return new OrderCreatedEvent(new UUID(random.nextLong(), random.nextLong()), "ORD-20250301-093015-A4B9",
+                "John Doe", "john@example.com", new Money(1_000_000, USD), "PENDING",
+                orderItems, System.currentTimeMillis());
+    }
+
+    private static final class InMemoryStockLedger implements StockLedger {
+
+        private final Map<UUID, AtomicLong> pending = new ConcurrentHashMap<>();
+
+        @Override
+        public void record(UUID productId, int delta) {
+            pending.computeIfAbsent(productId, id -> new AtomicLong()).addAndGet(delta);
+        }
+
+        @Override
+        public long pendingDelta(UUID productId) {
+            AtomicLong delta = pending.get(productId);
+            return delta == null ? 0 : delta.get();
+        }
+
+        @Override
+        public LedgerConsistencyReport checkConsistency() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class CompletedKafkaTemplate extends KafkaTemplate<String, Object> {
+
+        CompletedKafkaTemplate() {
+            super(new DefaultKafkaProducerFactory<>(Map.of()));
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object data) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
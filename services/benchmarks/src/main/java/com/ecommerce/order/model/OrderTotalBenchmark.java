@@ -0,0 +1,75 @@
+package com.ecommerce.order.model;
+
+import com.ecommerce.events.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order total computation (OrderItem.getLineTotal): Money (long minor units)
+ * vs. BigDecimal multiply/add, by line count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class OrderTotalBenchmark {
+
+    @Param({"1", "10", "100", "500"})
+    public int lines;
+
+    private List<OrderItem> items;
+    private BigDecimal[] prices;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        items = new ArrayList<>(lines);
+        prices = new BigDecimal[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            quantities[i] = 1 + random.nextInt(10);
+            prices[i] = BigDecimal.valueOf(1 + random.nextInt(100_000), 2);
+            OrderItem item = new OrderItem();
+            item.setQuantity(quantities[i]);
+            item.setPrice(Money.of(prices[i], Order.CURRENCY));
+            items.add(item);
+        }
+    }
+
+    @Benchmark
+    public Money money() {
+        Money total = Money.zero(Order.CURRENCY);
+        for (OrderItem item : items) {
+            total = total.plus(item.getLineTotal());
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        // The computation before Money, when prices were BigDecimal
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < prices.length; i++) {
+            total = total.add(prices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        return total;
+    }
+}
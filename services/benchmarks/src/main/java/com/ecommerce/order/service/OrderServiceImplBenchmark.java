@@ -0,0 +1,128 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.events.Money;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderItem;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.shard.OrderShards;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderServiceImpl.mapToResponse by item count, and generateOrderNumber
+ * unsharded and sharded. The repository never reports a collision, so the
+ * number benchmark measures formatting only, not the database check.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class OrderServiceImplBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Mapping {
+
+        @Param({"1", "10", "100"})
+        public int items;
+
+        OrderServiceImpl orderService;
+        Order order;
+
+        @Setup
+        public void setUp() {
+            orderService = orderService(1);
+            order = order(items);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Numbering {
+
+        @Param({"1", "4"})
+        public int shards;
+
+        OrderServiceImpl orderService;
+
+        @Setup
+        public void setUp() {
+            orderService = orderService(shards);
+        }
+    }
+
+    @Benchmark
+    public OrderResponse mapToResponse(Mapping state) {
+        return state.orderService.mapToResponse(state.order);
+    }
+
+    @Benchmark
+    public String generateOrderNumber(Numbering state) {
+        return state.orderService.generateOrderNumber(state.shards - 1);
+    }
+
+    private static OrderServiceImpl orderService(int shards) {
+        // Transactions are not used by the benchmarked methods
+        OrderShards orderShards = new OrderShards(null, new String[shards - 1]);
+        return new OrderServiceImpl(repository(), null, null, null, orderShards, null);
+    }
+
+    private static OrderRepository repository() {
+        return (OrderRepository) Proxy.newProxyInstance(OrderRepository.class.getClassLoader(),
+                new Class<?>[]{OrderRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "existsByOrderNumberAndCreatedAtGreaterThanEqual" -> false;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "OrderRepository stub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static Order order(int itemCount) {
+        Random random = new Random(42);
+        Order order = new Order();
+        order.setOrderId(OrderShards.newOrderId(0));
+        order.setOrderNumber("ORD-20250301-093015-A4B9");
+        order.setCustomerName("John Doe");
+        order.setEmail("john@example.com");
+        order.setStatus(OrderStatus.PENDING);
+        order.setCreatedAt(LocalDateTime.of(2025, 3, 1, 9, 30, 15));
+        order.setUpdatedAt(order.getCreatedAt());
+        order.setVersion(0L);
+
+        List<OrderItem> orderItems = new ArrayList<>(itemCount);
+        Money total = Money.zero(Order.CURRENCY);
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = new OrderItem();
+            item.setItemId(new UUID(random.nextLong(), random.nextLong()));
+            item.setProductId(new UUID(random.nextLong(), random.nextLong()));
+            item.setProductName("Product " + i);
+            item.setQuantity(1 + random.nextInt(5));
+            item.setPrice(new Money(100 + random.nextInt(100_000), Order.CURRENCY));
+            item.setOrder(order);
+            orderItems.add(item);
+            total = total.plus(item.getLineTotal());
+        }
+        order.setOrderItems(orderItems);
+        order.setTotalAmount(total);
+        return order;
+    }
+}
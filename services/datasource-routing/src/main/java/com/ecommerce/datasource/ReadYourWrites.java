@@ -0,0 +1,44 @@
+package com.ecommerce.datasource;
+
+/**
+ * Per-thread pin that sends read-only transactions to the primary for a while,
+ * so a caller reads what it has just written even if the replicas lag behind.
+ *
+ * Pinned by ReplicaRoutingDataSource when the thread opens a read-write
+ * transaction, and by ReadYourWritesFilter for the requests of a client that
+ * recently sent a create or update.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Long> PINNED_UNTIL = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * Route this thread's reads to the primary until the given epoch millis.
+     * An existing longer pin is kept.
+     */
+    public static void pinToPrimaryUntil(long epochMillis) {
+        Long current = PINNED_UNTIL.get();
+        if (current == null || current < epochMillis) {
+            PINNED_UNTIL.set(epochMillis);
+        }
+    }
+
+    public static boolean isPinnedToPrimary() {
+        Long pinnedUntil = PINNED_UNTIL.get();
+        if (pinnedUntil == null) {
+            return false;
+        }
+        if (pinnedUntil < System.currentTimeMillis()) {
+            PINNED_UNTIL.remove();
+            return false;
+        }
+        return true;
+    }
+
+    public static void clear() {
+        PINNED_UNTIL.remove();
+    }
+}
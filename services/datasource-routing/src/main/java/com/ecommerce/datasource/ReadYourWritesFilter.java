@@ -0,0 +1,73 @@
+package com.ecommerce.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Read-your-writes across requests: a POST, PUT, PATCH or DELETE sets a cookie
+ * pinning the client's later requests to the primary for the read-your-writes
+ * window, so reading an order right after creating it never hits a replica
+ * that has not replayed the insert yet.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "primary-until";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final long readYourWritesMillis;
+
+    public ReadYourWritesFilter(long readYourWritesMillis) {
+        this.readYourWritesMillis = readYourWritesMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        // The cookie comes from the client, never pin longer than one window
+        long pinnedUntil = Math.min(pinnedUntil(request), now + readYourWritesMillis);
+        if (pinnedUntil > now) {
+            ReadYourWrites.pinToPrimaryUntil(pinnedUntil);
+        }
+        if (WRITE_METHODS.contains(request.getMethod())) {
+            long until = now + readYourWritesMillis;
+            ReadYourWrites.pinToPrimaryUntil(until);
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(until));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (readYourWritesMillis + 999) / 1000));
+            response.addCookie(cookie);
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    private static long pinnedUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecommerce.datasource;
+
+import javax.sql.DataSource;
+
+/**
+ * A replica pool and what the last health check found out about it.
+ * Replicas start out available and are taken out by failed connections or
+ * health checks until a later check succeeds.
+ */
+public class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    private final long maxLagMillis;
+
+    private volatile boolean healthy = true;
+    private volatile long lagMillis;
+
+    public Replica(String name, DataSource dataSource, long maxLagMillis) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    public boolean isAvailable() {
+        return healthy && lagMillis <= maxLagMillis;
+    }
+
+    void markUp(long lagMillis) {
+        this.lagMillis = lagMillis;
+        this.healthy = true;
+    }
+
+    void markDown() {
+        this.healthy = false;
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+}
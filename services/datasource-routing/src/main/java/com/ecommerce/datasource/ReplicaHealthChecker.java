@@ -0,0 +1,87 @@
+package com.ecommerce.datasource;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically checks every replica and records whether it is up and how far
+ * it lags behind the primary.
+ *
+ * Lag is the age of the last replayed transaction, and zero once the replica
+ * has replayed everything it received, so an idle primary does not make its
+ * replicas look stale. A server that is not in recovery (a plain second
+ * Postgres, as used locally) always has zero lag.
+ */
+public class ReplicaHealthChecker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaHealthChecker.class);
+
+    static final String LAG_QUERY = "SELECT CASE"
+            + " WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)"
+            + " END";
+
+    private final List<Replica> replicas;
+    private final long intervalMillis;
+
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaHealthChecker(List<Replica> replicas, long intervalMillis) {
+        this.replicas = replicas;
+        this.intervalMillis = intervalMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkAll, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void checkAll() {
+        replicas.forEach(this::check);
+    }
+
+    void check(Replica replica) {
+        boolean wasAvailable = replica.isAvailable();
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            replica.markUp(Math.round(resultSet.getDouble(1)));
+        } catch (Exception e) {
+            replica.markDown();
+            if (wasAvailable) {
+                logger.warn("Replica {} failed its health check: {}", replica.getName(), e.getMessage());
+            }
+            return;
+        }
+
+        if (wasAvailable && !replica.isAvailable()) {
+            logger.warn("Replica {} lags {} ms behind the primary, reading from the primary",
+                    replica.getName(), replica.getLagMillis());
+        } else if (!wasAvailable && replica.isAvailable()) {
+            logger.info("Replica {} is available again (lag {} ms)", replica.getName(), replica.getLagMillis());
+        }
+    }
+}
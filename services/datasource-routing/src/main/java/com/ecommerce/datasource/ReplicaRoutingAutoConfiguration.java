@@ -0,0 +1,126 @@
+package com.ecommerce.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces Spring Boot's single DataSource with one that routes read-only
+ * transactions to the replicas in datasource.replicas.urls. Does nothing
+ * unless that property is set, and backs off like Spring Boot's when the
+ * application defines its own DataSource, such as a sharded one.
+ *
+ * The primary pool is configured from spring.datasource.* as before. Replicas
+ * use the primary's driver and, unless overridden, its credentials.
+ */
+@AutoConfiguration(before = DataSourceAutoConfiguration.class)
+@ConditionalOnClass(HikariDataSource.class)
+@ConditionalOnProperty(name = "datasource.replicas.urls")
+@ConditionalOnMissingBean(DataSource.class)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicaRoutingAutoConfiguration {
+
+    public static final String PRIMARY_DATA_SOURCE = "primaryDataSource";
+    public static final String ROUTING_DATA_SOURCE = "replicaRoutingDataSource";
+
+    @Bean(name = PRIMARY_DATA_SOURCE)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(name = ROUTING_DATA_SOURCE)
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier(PRIMARY_DATA_SOURCE) HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            @Value("${datasource.replicas.urls}") String[] urls,
+            @Value("${datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${datasource.replicas.pool-size:10}") int poolSize,
+            @Value("${datasource.replicas.connection-timeout-ms:1000}") long connectionTimeoutMillis,
+            @Value("${datasource.replicas.max-lag-ms:1000}") long maxLagMillis,
+            @Value("${datasource.replicas.read-your-writes-ms:5000}") long readYourWritesMillis) {
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(urls[i].trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            pool.setPoolName("replica-" + i);
+            pool.setReadOnly(true);
+            pool.setMaximumPoolSize(poolSize);
+            // Fail over to the next replica quickly instead of waiting for a dead one
+            pool.setConnectionTimeout(connectionTimeoutMillis);
+            pool.setInitializationFailTimeout(-1);
+            replicas.add(new Replica(pool.getPoolName(), pool, maxLagMillis));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesMillis);
+    }
+
+    /**
+     * The DataSource JPA and JDBC use: takes the physical connection on the
+     * first statement, when the transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier(ROUTING_DATA_SOURCE) ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(
+            @Qualifier(ROUTING_DATA_SOURCE) ReplicaRoutingDataSource replicaRoutingDataSource,
+            @Value("${datasource.replicas.health-check-interval-ms:2000}") long intervalMillis) {
+        return new ReplicaHealthChecker(replicaRoutingDataSource.getReplicas(), intervalMillis);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${datasource.replicas.read-your-writes-ms:5000}") long readYourWritesMillis) {
+        return new ReadYourWritesFilter(readYourWritesMillis);
+    }
+
+    /**
+     * Pool metrics (hikaricp.*) of the replicas, which are not beans; Spring Boot
+     * instruments the primary like any HikariDataSource bean.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterBinder.class)
+    static class ReplicaPoolMetricsConfiguration {
+
+        @Bean
+        public MeterBinder replicaPoolMetrics(
+                @Qualifier(ROUTING_DATA_SOURCE) ReplicaRoutingDataSource replicaRoutingDataSource) {
+            return registry -> replicaRoutingDataSource.getReplicas().forEach(replica -> {
+                if (replica.getDataSource() instanceof HikariDataSource pool
+                        && pool.getMetricRegistry() == null && pool.getMetricsTrackerFactory() == null) {
+                    pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out replica connections to read-only transactions and primary
+ * connections to everything else.
+ *
+ * - Replicas are used round-robin, skipping those the health check found down
+ *   or lagging more than the configured maximum. If none is left, or none
+ *   hands out a connection, the primary serves the read.
+ * - A thread that opens a read-write transaction is pinned to the primary for
+ *   the read-your-writes window, see ReadYourWrites.
+ *
+ * The read-only flag of a transaction is only known once it has started, so
+ * this must sit behind a LazyConnectionDataSourceProxy: the physical connection
+ * is then taken on the first statement instead of at transaction begin.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long readYourWritesMillis;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, long readYourWritesMillis) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesMillis = readYourWritesMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (!ReadYourWrites.isPinnedToPrimary()) {
+                Connection connection = replicaConnection();
+                if (connection != null) {
+                    return connection;
+                }
+            }
+        } else if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            ReadYourWrites.pinToPrimaryUntil(System.currentTimeMillis() + readYourWritesMillis);
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * Credentials are only known for the primary.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Close the replica pools; the primary is closed by its own bean.
+     */
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Connection replicaConnection() {
+        int count = replicas.size();
+        if (count == 0) {
+            return null;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            if (!replica.isAvailable()) {
+                continue;
+            }
+            try {
+                return replica.getDataSource().getConnection();
+            } catch (SQLException e) {
+                logger.warn("Replica {} is down, reading from the next one: {}", replica.getName(), e.getMessage());
+                replica.markDown();
+            }
+        }
+        return null;
+    }
+}
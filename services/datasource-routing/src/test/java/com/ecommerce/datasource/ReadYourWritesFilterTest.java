@@ -0,0 +1,68 @@
+package com.ecommerce.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReadYourWritesFilter
+ */
+@DisplayName("ReadYourWritesFilter Unit Tests")
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(5000);
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    @DisplayName("Should pin a write request and hand the client a cookie")
+    void testDoFilter_WriteSetsCookie() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/orders");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean pinnedDuringRequest = new AtomicBoolean();
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> pinnedDuringRequest.set(ReadYourWrites.isPinnedToPrimary()));
+
+        // Assert
+        assertTrue(pinnedDuringRequest.get());
+        assertNotNull(response.getCookie(ReadYourWritesFilter.COOKIE_NAME));
+        assertFalse(ReadYourWrites.isPinnedToPrimary());
+    }
+
+    @Test
+    @DisplayName("Should pin reads of a client that wrote recently, but not of others")
+    void testDoFilter_ReadWithCookie() throws Exception {
+        // Arrange
+        MockHttpServletRequest recentWriter = new MockHttpServletRequest("GET", "/api/v1/orders");
+        recentWriter.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME,
+                Long.toString(System.currentTimeMillis() + 3000)));
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/v1/orders");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "garbage"));
+        AtomicBoolean recentWriterPinned = new AtomicBoolean();
+        AtomicBoolean expiredPinned = new AtomicBoolean(true);
+
+        // Act
+        filter.doFilter(recentWriter, new MockHttpServletResponse(),
+                (req, res) -> recentWriterPinned.set(ReadYourWrites.isPinnedToPrimary()));
+        MockHttpServletResponse expiredResponse = new MockHttpServletResponse();
+        filter.doFilter(expired, expiredResponse,
+                (req, res) -> expiredPinned.set(ReadYourWrites.isPinnedToPrimary()));
+
+        // Assert
+        assertTrue(recentWriterPinned.get());
+        assertFalse(expiredPinned.get());
+        assertNull(expiredResponse.getCookie(ReadYourWritesFilter.COOKIE_NAME));
+    }
+}
@@ -0,0 +1,89 @@
+package com.ecommerce.datasource;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ReplicaRoutingAutoConfiguration
+ */
+@DisplayName("ReplicaRoutingAutoConfiguration Unit Tests")
+class ReplicaRoutingAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    ReplicaRoutingAutoConfiguration.class, DataSourceAutoConfiguration.class))
+            .withPropertyValues("spring.datasource.url=jdbc:h2:mem:primary");
+
+    @Test
+    @DisplayName("Should keep Spring Boot's DataSource when no replicas are configured")
+    void testNoReplicas() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(DataSource.class);
+            assertThat(context).doesNotHaveBean(ReplicaRoutingDataSource.class);
+        });
+    }
+
+    @Test
+    @DisplayName("Should route through a lazy proxy when replicas are configured")
+    void testWithReplicas() {
+        contextRunner
+                .withPropertyValues("datasource.replicas.urls=jdbc:h2:mem:replica1,jdbc:h2:mem:replica2")
+                .run(context -> {
+                    assertThat(context.getBean(DataSource.class)).isInstanceOf(LazyConnectionDataSourceProxy.class);
+                    assertThat(context.getBean(ReplicaRoutingDataSource.class).getReplicas())
+                            .extracting(Replica::getName)
+                            .containsExactly("replica-0", "replica-1");
+                    assertThat(context).hasSingleBean(ReplicaHealthChecker.class);
+                    assertThat(context).doesNotHaveBean(ReadYourWritesFilter.class);
+                });
+    }
+
+    @Test
+    @DisplayName("Should back off when the application defines its own DataSource")
+    void testApplicationDataSource() {
+        DataSource own = new DriverManagerDataSource("jdbc:h2:mem:own");
+        contextRunner
+                .withPropertyValues("datasource.replicas.urls=jdbc:h2:mem:replica1")
+                .withBean("dataSource", DataSource.class, () -> own)
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context.getBean(DataSource.class)).isSameAs(own);
+                    assertThat(context).doesNotHaveBean(ReplicaRoutingDataSource.class);
+                });
+    }
+
+    @Test
+    @DisplayName("Should publish pool metrics of every replica")
+    void testReplicaPoolMetrics() {
+        contextRunner
+                .withPropertyValues("datasource.replicas.urls=jdbc:h2:mem:replica1,jdbc:h2:mem:replica2")
+                .run(context -> {
+                    // Arrange
+                    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+                    context.getBean("replicaPoolMetrics", MeterBinder.class).bindTo(registry);
+
+                    // Act
+                    for (Replica replica : context.getBean(ReplicaRoutingDataSource.class).getReplicas()) {
+                        try (Connection connection = replica.getDataSource().getConnection()) {
+                            assertThat(connection.isValid(1)).isTrue();
+                        }
+                    }
+
+                    // Assert
+                    assertThat(registry.find("hikaricp.connections").tag("pool", "replica-0").gauge()).isNotNull();
+                    assertThat(registry.find("hikaricp.connections").tag("pool", "replica-1").gauge()).isNotNull();
+                });
+    }
+}
@@ -0,0 +1,136 @@
+package com.ecommerce.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReplicaRoutingDataSource
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaRoutingDataSource Unit Tests")
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replicaPool1;
+
+    @Mock
+    private DataSource replicaPool2;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection1;
+
+    @Mock
+    private Connection replicaConnection2;
+
+    private Replica replica1;
+    private Replica replica2;
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        replica1 = new Replica("replica-0", replicaPool1, 1000);
+        replica2 = new Replica("replica-1", replicaPool2, 1000);
+        dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    @DisplayName("Should spread read-only transactions over the replicas")
+    void testGetConnection_ReadOnlyRoundRobin() throws SQLException {
+        // Arrange
+        readOnlyTransaction();
+        when(replicaPool1.getConnection()).thenReturn(replicaConnection1);
+        when(replicaPool2.getConnection()).thenReturn(replicaConnection2);
+
+        // Act
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        // Assert
+        assertEquals(replicaConnection1, first);
+        assertEquals(replicaConnection2, second);
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("Should read from the primary after a read-write transaction on the same thread")
+    void testGetConnection_ReadYourWrites() throws SQLException {
+        // Arrange
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // Act
+        Connection write = dataSource.getConnection();
+        readOnlyTransaction();
+        Connection read = dataSource.getConnection();
+
+        // Assert
+        assertEquals(primaryConnection, write);
+        assertEquals(primaryConnection, read);
+        verifyNoInteractions(replicaPool1, replicaPool2);
+    }
+
+    @Test
+    @DisplayName("Should skip lagging replicas and mark failing ones down")
+    void testGetConnection_Fallback() throws SQLException {
+        // Arrange
+        readOnlyTransaction();
+        replica1.markUp(5000);
+        when(replicaPool2.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // Act
+        Connection connection = dataSource.getConnection();
+
+        // Assert
+        assertEquals(primaryConnection, connection);
+        assertFalse(replica1.isAvailable());
+        assertFalse(replica2.isHealthy());
+        verify(replicaPool1, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should send non-transactional work to the primary without pinning")
+    void testGetConnection_NoTransaction() throws SQLException {
+        // Arrange
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // Act
+        Connection connection = dataSource.getConnection();
+
+        // Assert
+        assertEquals(primaryConnection, connection);
+        assertFalse(ReadYourWrites.isPinnedToPrimary());
+    }
+
+    private static void readOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.events;
+
+import java.util.UUID;
+
+/**
+ * Outcome of applying an order's stock changes
+ * Sent to Kafka by Inventory Service and consumed by Order Service.
+ * On the wire it is encoded with InventoryResultEventCodec.
+ *
+ * @param reason why the order was rejected, null when reserved
+ * @param publishedAt epoch millis when inventory-service produced the result
+ */
+public record InventoryResultEvent(UUID orderId,
+                                   String orderNumber,
+                                   Status status,
+                                   String reason,
+                                   Long publishedAt) {
+
+    public enum Status {
+        /** Stock for every item was taken */
+        RESERVED,
+        /** Nothing was taken, see reason */
+        REJECTED
+    }
+
+    public static InventoryResultEvent reserved(UUID orderId, String orderNumber) {
+        return new InventoryResultEvent(orderId, orderNumber, Status.RESERVED, null, System.currentTimeMillis());
+    }
+
+    public static InventoryResultEvent rejected(UUID orderId, String orderNumber, String reason) {
+        return new InventoryResultEvent(orderId, orderNumber, Status.REJECTED, reason, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecommerce.events;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * Fixed-point amount of money: a count of minor units (cents for USD) in one currency.
+ *
+ * Used for totals and on the wire instead of BigDecimal, so adding and
+ * multiplying amounts is plain long arithmetic and allocates nothing once the
+ * JIT has scalar-replaced the instances. Convert to BigDecimal only where a
+ * BigDecimal is required (JPA columns, JSON).
+ *
+ * Arithmetic fails with ArithmeticException on overflow instead of wrapping,
+ * and with IllegalArgumentException when currencies differ.
+ *
+ * @param minorUnits amount in the smallest unit of the currency
+ */
+public record Money(long minorUnits, Currency currency) {
+
+    public Money {
+        Objects.requireNonNull(currency, "currency");
+        if (currency.getDefaultFractionDigits() < 0) {
+            throw new IllegalArgumentException("Currency " + currency + " has no minor unit");
+        }
+    }
+
+    public static Money zero(Currency currency) {
+        return new Money(0, currency);
+    }
+
+    /**
+     * @throws ArithmeticException if the amount has more fraction digits than
+     *                             the currency or does not fit in a long
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        int fractionDigits = currency.getDefaultFractionDigits();
+        // setScale returns the same instance when the scale already matches
+        long minorUnits = amount.setScale(fractionDigits, RoundingMode.UNNECESSARY)
+                .unscaledValue()
+                .longValueExact();
+        return new Money(minorUnits, currency);
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money times(int quantity) {
+        return new Money(Math.multiplyExact(minorUnits, (long) quantity), currency);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot combine " + currency + " and " + other.currency);
+        }
+    }
+}
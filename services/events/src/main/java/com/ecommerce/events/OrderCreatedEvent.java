@@ -0,0 +1,51 @@
+package com.ecommerce.events;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Event published when an order is created
+ * Sent to Kafka by Order Service and consumed by Inventory Service.
+ * On the wire it is encoded with OrderCreatedEventCodec.
+ *
+ * Immutable: orderItems is never null and cannot be modified. Amounts are in
+ * one currency.
+ *
+ * @param publishedAt epoch millis when order-service published the event, null for older events
+ * @param reservationId reference of the stock holds the client placed before ordering,
+ *                      null if it did not reserve
+ */
+public record OrderCreatedEvent(UUID orderId,
+                                String orderNumber,
+                                String customerName,
+                                String email,
+                                Money totalAmount,
+                                String status,
+                                List<OrderItemEvent> orderItems,
+                                Long publishedAt,
+                                UUID reservationId) {
+
+    public OrderCreatedEvent {
+        // No copy if the list is already unmodifiable (as the codec builds it)
+        orderItems = orderItems == null ? List.of() : List.copyOf(orderItems);
+    }
+
+    public OrderCreatedEvent(UUID orderId, String orderNumber, String customerName, String email,
+                             Money totalAmount, String status, List<OrderItemEvent> orderItems) {
+        this(orderId, orderNumber, customerName, email, totalAmount, status, orderItems, null, null);
+    }
+
+    public OrderCreatedEvent(UUID orderId, String orderNumber, String customerName, String email,
+                             Money totalAmount, String status, List<OrderItemEvent> orderItems, Long publishedAt) {
+        this(orderId, orderNumber, customerName, email, totalAmount, status, orderItems, publishedAt, null);
+    }
+
+    /**
+     * One line of the order
+     */
+    public record OrderItemEvent(UUID productId,
+                                 String productName,
+                                 Integer quantity,
+                                 Money price) {
+    }
+}
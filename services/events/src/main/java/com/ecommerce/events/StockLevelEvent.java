@@ -0,0 +1,19 @@
+package com.ecommerce.events;
+
+import java.util.UUID;
+
+/**
+ * Current available stock of one product
+ * Sent to the compacted stock level topic by Inventory Service, keyed by
+ * productId, and consumed by Order Service's local stock replica.
+ * On the wire it is encoded with StockLevelEventCodec; a deleted product is
+ * a tombstone (null value) for its key.
+ *
+ * @param available units that can still be ordered, may be negative while
+ *                  write-behind stock changes are catching up
+ * @param updatedAt epoch millis when inventory-service read the level
+ */
+public record StockLevelEvent(UUID productId,
+                              Integer available,
+                              Long updatedAt) {
+}
@@ -0,0 +1,113 @@
+package com.ecommerce.events.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Reads the encoding written by BinaryWriter from a byte array.
+ * Every read throws EventCodecException if the input is truncated or malformed.
+ */
+public final class BinaryReader {
+
+    private final byte[] buffer;
+    private int position;
+
+    public BinaryReader(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    public int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    public long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new EventCodecException("Malformed varint at offset " + position);
+    }
+
+    /**
+     * Varints hold counts, lengths and masks, so values that do not fit a
+     * non-negative int are rejected rather than wrapped to a negative one.
+     */
+    public int readVarInt() {
+        long value = readVarLong();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new EventCodecException("Varint out of int range at offset " + position);
+        }
+        return (int) value;
+    }
+
+    public long readSignedVarLong() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public int readSignedVarInt() {
+        long value = readSignedVarLong();
+        if (value != (int) value) {
+            throw new EventCodecException("Signed varint out of int range at offset " + position);
+        }
+        return (int) value;
+    }
+
+    public long readLong() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    public UUID readUuid() {
+        long msb = readLong();
+        long lsb = readLong();
+        return new UUID(msb, lsb);
+    }
+
+    public String readString() {
+        int length = readVarInt();
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public BigDecimal readDecimal() {
+        int form = readByte();
+        int scale = readSignedVarInt();
+        if (form == 0) {
+            return BigDecimal.valueOf(readSignedVarLong(), scale);
+        }
+        if (form == 1) {
+            int length = readVarInt();
+            require(length);
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return new BigDecimal(new BigInteger(bytes), scale);
+        }
+        throw new EventCodecException("Unknown decimal form " + form + " at offset " + position);
+    }
+
+    public int remaining() {
+        return buffer.length - position;
+    }
+
+    private void require(int length) {
+        if (length < 0 || position + length > buffer.length) {
+            throw new EventCodecException("Truncated input: need " + length + " bytes at offset " + position
+                    + ", have " + (buffer.length - position));
+        }
+    }
+}
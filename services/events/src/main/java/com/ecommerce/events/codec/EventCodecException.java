@@ -0,0 +1,12 @@
+package com.ecommerce.events.codec;
+
+/**
+ * Thrown when an event cannot be decoded: truncated or corrupt input, or a
+ * schema version this build does not understand.
+ */
+public class EventCodecException extends RuntimeException {
+
+    public EventCodecException(String message) {
+        super(message);
+    }
+}
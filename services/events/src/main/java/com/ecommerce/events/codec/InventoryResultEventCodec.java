@@ -0,0 +1,93 @@
+package com.ecommerce.events.codec;
+
+import com.ecommerce.events.InventoryResultEvent;
+
+import java.util.UUID;
+
+/**
+ * Binary wire format for InventoryResultEvent, following the conventions of
+ * OrderCreatedEventCodec.
+ *
+ * Layout (version 1):
+ *   magic 0xED, version byte
+ *   varint presence mask, one bit per field below; null fields are not written
+ *   orderId (16 bytes), orderNumber (string), status (varint ordinal),
+ *   reason (string), publishedAt (zigzag varlong)
+ *
+ * Status ordinals are part of the format: new statuses go at the end of the enum.
+ */
+public final class InventoryResultEventCodec {
+
+    public static final int MAGIC = 0xED;
+    public static final int VERSION = 1;
+
+    private static final int ORDER_ID = 1;
+    private static final int ORDER_NUMBER = 1 << 1;
+    private static final int STATUS = 1 << 2;
+    private static final int REASON = 1 << 3;
+    private static final int PUBLISHED_AT = 1 << 4;
+
+    private static final InventoryResultEvent.Status[] STATUSES = InventoryResultEvent.Status.values();
+
+    private InventoryResultEventCodec() {
+    }
+
+    public static byte[] encode(InventoryResultEvent event) {
+        BinaryWriter writer = new BinaryWriter(64);
+        writer.writeByte(MAGIC);
+        writer.writeByte(VERSION);
+
+        int mask = (event.orderId() != null ? ORDER_ID : 0)
+                | (event.orderNumber() != null ? ORDER_NUMBER : 0)
+                | (event.status() != null ? STATUS : 0)
+                | (event.reason() != null ? REASON : 0)
+                | (event.publishedAt() != null ? PUBLISHED_AT : 0);
+        writer.writeVarInt(mask);
+
+        if ((mask & ORDER_ID) != 0) {
+            writer.writeUuid(event.orderId());
+        }
+        if ((mask & ORDER_NUMBER) != 0) {
+            writer.writeString(event.orderNumber());
+        }
+        if ((mask & STATUS) != 0) {
+            writer.writeVarInt(event.status().ordinal());
+        }
+        if ((mask & REASON) != 0) {
+            writer.writeString(event.reason());
+        }
+        if ((mask & PUBLISHED_AT) != 0) {
+            writer.writeSignedVarLong(event.publishedAt());
+        }
+        return writer.toByteArray();
+    }
+
+    public static InventoryResultEvent decode(byte[] data) {
+        BinaryReader reader = new BinaryReader(data);
+        int magic = reader.readByte();
+        if (magic != MAGIC) {
+            throw new EventCodecException("Not an InventoryResultEvent: magic byte " + magic);
+        }
+        int version = reader.readByte();
+        if (version != VERSION) {
+            throw new EventCodecException("Unsupported InventoryResultEvent version " + version);
+        }
+
+        int mask = reader.readVarInt();
+        UUID orderId = (mask & ORDER_ID) != 0 ? reader.readUuid() : null;
+        String orderNumber = (mask & ORDER_NUMBER) != 0 ? reader.readString() : null;
+        InventoryResultEvent.Status status = (mask & STATUS) != 0 ? readStatus(reader) : null;
+        String reason = (mask & REASON) != 0 ? reader.readString() : null;
+        Long publishedAt = (mask & PUBLISHED_AT) != 0 ? reader.readSignedVarLong() : null;
+
+        return new InventoryResultEvent(orderId, orderNumber, status, reason, publishedAt);
+    }
+
+    private static InventoryResultEvent.Status readStatus(BinaryReader reader) {
+        int ordinal = reader.readVarInt();
+        if (ordinal < 0 || ordinal >= STATUSES.length) {
+            throw new EventCodecException("Unknown InventoryResultEvent status " + ordinal);
+        }
+        return STATUSES[ordinal];
+    }
+}
@@ -0,0 +1,226 @@
+package com.ecommerce.events.codec;
+
+import com.ecommerce.events.OrderCreatedEvent;
+
+import com.ecommerce.events.Money;
+
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Binary wire format for OrderCreatedEvent.
+ *
+ * Layout (version 2):
+ *   magic 0xEC, version byte
+ *   varint presence mask, one bit per field below; null fields and an empty item list are not written
+ *   orderId (16 bytes), orderNumber, customerName, email (strings), currency (ISO 4217 code,
+ *   present when any amount is), totalAmount (zigzag varlong minor units), status (string),
+ *   orderItems (varint count + items), publishedAt (zigzag varlong), reservationId (16 bytes)
+ *   each item: varint presence mask, productId, productName, quantity (zigzag varint),
+ *   price (zigzag varlong minor units)
+ *
+ * Version 1 had no currency and wrote amounts as decimals; it is still read,
+ * with amounts in LEGACY_CURRENCY.
+ *
+ * Readers ignore presence bits and trailing bytes they do not know, so new
+ * optional fields may be appended to the top level without a version bump.
+ * Any other change, including a new item field, needs a new version.
+ */
+public final class OrderCreatedEventCodec {
+
+    public static final int MAGIC = 0xEC;
+    public static final int VERSION = 2;
+
+    /**
+     * Currency of the amounts in version 1 events, which did not carry one
+     */
+    public static final Currency LEGACY_CURRENCY = Currency.getInstance("USD");
+
+    private static final int VERSION_1 = 1;
+
+    private static final int ORDER_ID = 1;
+    private static final int ORDER_NUMBER = 1 << 1;
+    private static final int CUSTOMER_NAME = 1 << 2;
+    private static final int EMAIL = 1 << 3;
+    private static final int TOTAL_AMOUNT = 1 << 4;
+    private static final int STATUS = 1 << 5;
+    private static final int ORDER_ITEMS = 1 << 6;
+    private static final int PUBLISHED_AT = 1 << 7;
+    private static final int CURRENCY = 1 << 8;
+    private static final int RESERVATION_ID = 1 << 9;
+
+    private static final int PRODUCT_ID = 1;
+    private static final int PRODUCT_NAME = 1 << 1;
+    private static final int QUANTITY = 1 << 2;
+    private static final int PRICE = 1 << 3;
+
+    private OrderCreatedEventCodec() {
+    }
+
+    public static byte[] encode(OrderCreatedEvent event) {
+        List<OrderCreatedEvent.OrderItemEvent> items = event.orderItems();
+        BinaryWriter writer = new BinaryWriter(96 + items.size() * 48);
+        writer.writeByte(MAGIC);
+        writer.writeByte(VERSION);
+
+        Currency currency = currencyOf(event);
+        int mask = (event.orderId() != null ? ORDER_ID : 0)
+                | (event.orderNumber() != null ? ORDER_NUMBER : 0)
+                | (event.customerName() != null ? CUSTOMER_NAME : 0)
+                | (event.email() != null ? EMAIL : 0)
+                | (event.totalAmount() != null ? TOTAL_AMOUNT : 0)
+                | (event.status() != null ? STATUS : 0)
+                | (!items.isEmpty() ? ORDER_ITEMS : 0)
+                | (event.publishedAt() != null ? PUBLISHED_AT : 0)
+                | (currency != null ? CURRENCY : 0)
+                | (event.reservationId() != null ? RESERVATION_ID : 0);
+        writer.writeVarInt(mask);
+
+        if ((mask & ORDER_ID) != 0) {
+            writer.writeUuid(event.orderId());
+        }
+        if ((mask & ORDER_NUMBER) != 0) {
+            writer.writeString(event.orderNumber());
+        }
+        if ((mask & CUSTOMER_NAME) != 0) {
+            writer.writeString(event.customerName());
+        }
+        if ((mask & EMAIL) != 0) {
+            writer.writeString(event.email());
+        }
+        if ((mask & CURRENCY) != 0) {
+            writer.writeString(currency.getCurrencyCode());
+        }
+        if ((mask & TOTAL_AMOUNT) != 0) {
+            writer.writeSignedVarLong(event.totalAmount().minorUnits());
+        }
+        if ((mask & STATUS) != 0) {
+            writer.writeString(event.status());
+        }
+        if ((mask & ORDER_ITEMS) != 0) {
+            writer.writeVarInt(items.size());
+            for (OrderCreatedEvent.OrderItemEvent item : items) {
+                writeItem(writer, item);
+            }
+        }
+        if ((mask & PUBLISHED_AT) != 0) {
+            writer.writeSignedVarLong(event.publishedAt());
+        }
+        if ((mask & RESERVATION_ID) != 0) {
+            writer.writeUuid(event.reservationId());
+        }
+        return writer.toByteArray();
+    }
+
+    public static OrderCreatedEvent decode(byte[] data) {
+        BinaryReader reader = new BinaryReader(data);
+        int magic = reader.readByte();
+        if (magic != MAGIC) {
+            throw new EventCodecException("Not an OrderCreatedEvent: magic byte " + magic);
+        }
+        int version = reader.readByte();
+        if (version != VERSION && version != VERSION_1) {
+            throw new EventCodecException("Unsupported OrderCreatedEvent version " + version);
+        }
+
+        int mask = reader.readVarInt();
+        UUID orderId = (mask & ORDER_ID) != 0 ? reader.readUuid() : null;
+        String orderNumber = (mask & ORDER_NUMBER) != 0 ? reader.readString() : null;
+        String customerName = (mask & CUSTOMER_NAME) != 0 ? reader.readString() : null;
+        String email = (mask & EMAIL) != 0 ? reader.readString() : null;
+        Currency currency = version == VERSION_1 ? LEGACY_CURRENCY
+                : (mask & CURRENCY) != 0 ? readCurrency(reader) : null;
+        Money totalAmount = (mask & TOTAL_AMOUNT) != 0 ? readAmount(reader, version, currency) : null;
+        String status = (mask & STATUS) != 0 ? reader.readString() : null;
+        List<OrderCreatedEvent.OrderItemEvent> items = List.of();
+        if ((mask & ORDER_ITEMS) != 0) {
+            int count = reader.readVarInt();
+            // Each item takes at least one byte, so a corrupt count cannot allocate a huge array
+            if (count > reader.remaining()) {
+                throw new EventCodecException("Item count " + count + " exceeds remaining input");
+            }
+            OrderCreatedEvent.OrderItemEvent[] decoded = new OrderCreatedEvent.OrderItemEvent[count];
+            for (int i = 0; i < count; i++) {
+                decoded[i] = readItem(reader, version, currency);
+            }
+            items = List.of(decoded);
+        }
+        Long publishedAt = (mask & PUBLISHED_AT) != 0 ? reader.readSignedVarLong() : null;
+        UUID reservationId = (mask & RESERVATION_ID) != 0 ? reader.readUuid() : null;
+
+        return new OrderCreatedEvent(orderId, orderNumber, customerName, email, totalAmount, status, items, publishedAt,
+                reservationId);
+    }
+
+    private static void writeItem(BinaryWriter writer, OrderCreatedEvent.OrderItemEvent item) {
+        int mask = (item.productId() != null ? PRODUCT_ID : 0)
+                | (item.productName() != null ? PRODUCT_NAME : 0)
+                | (item.quantity() != null ? QUANTITY : 0)
+                | (item.price() != null ? PRICE : 0);
+        writer.writeVarInt(mask);
+        if ((mask & PRODUCT_ID) != 0) {
+            writer.writeUuid(item.productId());
+        }
+        if ((mask & PRODUCT_NAME) != 0) {
+            writer.writeString(item.productName());
+        }
+        if ((mask & QUANTITY) != 0) {
+            writer.writeSignedVarLong(item.quantity());
+        }
+        if ((mask & PRICE) != 0) {
+            writer.writeSignedVarLong(item.price().minorUnits());
+        }
+    }
+
+    private static OrderCreatedEvent.OrderItemEvent readItem(BinaryReader reader, int version, Currency currency) {
+        int mask = reader.readVarInt();
+        UUID productId = (mask & PRODUCT_ID) != 0 ? reader.readUuid() : null;
+        String productName = (mask & PRODUCT_NAME) != 0 ? reader.readString() : null;
+        Integer quantity = (mask & QUANTITY) != 0 ? reader.readSignedVarInt() : null;
+        Money price = (mask & PRICE) != 0 ? readAmount(reader, version, currency) : null;
+        return new OrderCreatedEvent.OrderItemEvent(productId, productName, quantity, price);
+    }
+
+    /**
+     * The one currency of all amounts in the event, null when it has none
+     */
+    private static Currency currencyOf(OrderCreatedEvent event) {
+        Currency currency = event.totalAmount() != null ? event.totalAmount().currency() : null;
+        for (OrderCreatedEvent.OrderItemEvent item : event.orderItems()) {
+            if (item.price() == null) {
+                continue;
+            }
+            if (currency == null) {
+                currency = item.price().currency();
+            } else if (!currency.equals(item.price().currency())) {
+                throw new EventCodecException("OrderCreatedEvent mixes " + currency + " and "
+                        + item.price().currency() + " amounts");
+            }
+        }
+        return currency;
+    }
+
+    private static Currency readCurrency(BinaryReader reader) {
+        String code = reader.readString();
+        try {
+            return Currency.getInstance(code);
+        } catch (IllegalArgumentException e) {
+            throw new EventCodecException("Unknown currency " + code);
+        }
+    }
+
+    private static Money readAmount(BinaryReader reader, int version, Currency currency) {
+        if (version == VERSION_1) {
+            try {
+                return Money.of(reader.readDecimal(), currency);
+            } catch (ArithmeticException e) {
+                throw new EventCodecException("Amount is not a valid " + currency + " amount: " + e.getMessage());
+            }
+        }
+        if (currency == null) {
+            throw new EventCodecException("Amount without a currency");
+        }
+        return new Money(reader.readSignedVarLong(), currency);
+    }
+}
@@ -0,0 +1,68 @@
+package com.ecommerce.events.codec;
+
+import com.ecommerce.events.StockLevelEvent;
+
+import java.util.UUID;
+
+/**
+ * Binary wire format for StockLevelEvent, following the conventions of
+ * OrderCreatedEventCodec.
+ *
+ * Layout (version 1):
+ *   magic 0xEE, version byte
+ *   varint presence mask, one bit per field below; null fields are not written
+ *   productId (16 bytes), available (zigzag varlong), updatedAt (zigzag varlong)
+ */
+public final class StockLevelEventCodec {
+
+    public static final int MAGIC = 0xEE;
+    public static final int VERSION = 1;
+
+    private static final int PRODUCT_ID = 1;
+    private static final int AVAILABLE = 1 << 1;
+    private static final int UPDATED_AT = 1 << 2;
+
+    private StockLevelEventCodec() {
+    }
+
+    public static byte[] encode(StockLevelEvent event) {
+        BinaryWriter writer = new BinaryWriter(32);
+        writer.writeByte(MAGIC);
+        writer.writeByte(VERSION);
+
+        int mask = (event.productId() != null ? PRODUCT_ID : 0)
+                | (event.available() != null ? AVAILABLE : 0)
+                | (event.updatedAt() != null ? UPDATED_AT : 0);
+        writer.writeVarInt(mask);
+
+        if ((mask & PRODUCT_ID) != 0) {
+            writer.writeUuid(event.productId());
+        }
+        if ((mask & AVAILABLE) != 0) {
+            writer.writeSignedVarLong(event.available());
+        }
+        if ((mask & UPDATED_AT) != 0) {
+            writer.writeSignedVarLong(event.updatedAt());
+        }
+        return writer.toByteArray();
+    }
+
+    public static StockLevelEvent decode(byte[] data) {
+        BinaryReader reader = new BinaryReader(data);
+        int magic = reader.readByte();
+        if (magic != MAGIC) {
+            throw new EventCodecException("Not a StockLevelEvent: magic byte " + magic);
+        }
+        int version = reader.readByte();
+        if (version != VERSION) {
+            throw new EventCodecException("Unsupported StockLevelEvent version " + version);
+        }
+
+        int mask = reader.readVarInt();
+        UUID productId = (mask & PRODUCT_ID) != 0 ? reader.readUuid() : null;
+        Integer available = (mask & AVAILABLE) != 0 ? reader.readSignedVarInt() : null;
+        Long updatedAt = (mask & UPDATED_AT) != 0 ? reader.readSignedVarLong() : null;
+
+        return new StockLevelEvent(productId, available, updatedAt);
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.events.kafka;
+
+import com.ecommerce.events.InventoryResultEvent;
+import com.ecommerce.events.codec.EventCodecException;
+import com.ecommerce.events.codec.InventoryResultEventCodec;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Kafka value deserializer reading InventoryResultEventCodec's binary format.
+ */
+public class InventoryResultEventDeserializer implements Deserializer<InventoryResultEvent> {
+
+    @Override
+    public InventoryResultEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return InventoryResultEventCodec.decode(data);
+        } catch (EventCodecException e) {
+            throw new SerializationException("Failed to decode InventoryResultEvent from topic " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.events.kafka;
+
+import com.ecommerce.events.InventoryResultEvent;
+import com.ecommerce.events.codec.InventoryResultEventCodec;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka value serializer writing InventoryResultEventCodec's binary format.
+ */
+public class InventoryResultEventSerializer implements Serializer<InventoryResultEvent> {
+
+    @Override
+    public byte[] serialize(String topic, InventoryResultEvent event) {
+        return event != null ? InventoryResultEventCodec.encode(event) : null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.events.kafka;
+
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.events.codec.EventCodecException;
+import com.ecommerce.events.codec.OrderCreatedEventCodec;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Kafka value deserializer reading OrderCreatedEventCodec's binary format.
+ */
+public class OrderCreatedEventDeserializer implements Deserializer<OrderCreatedEvent> {
+
+    @Override
+    public OrderCreatedEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return OrderCreatedEventCodec.decode(data);
+        } catch (EventCodecException | ArithmeticException e) {
+            throw new SerializationException("Failed to decode OrderCreatedEvent from topic " + topic, e);
+        }
+    }
+}
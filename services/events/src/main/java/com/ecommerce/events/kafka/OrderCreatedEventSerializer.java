@@ -0,0 +1,16 @@
+package com.ecommerce.events.kafka;
+
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.events.codec.OrderCreatedEventCodec;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka value serializer writing OrderCreatedEventCodec's binary format.
+ */
+public class OrderCreatedEventSerializer implements Serializer<OrderCreatedEvent> {
+
+    @Override
+    public byte[] serialize(String topic, OrderCreatedEvent event) {
+        return event != null ? OrderCreatedEventCodec.encode(event) : null;
+    }
+}
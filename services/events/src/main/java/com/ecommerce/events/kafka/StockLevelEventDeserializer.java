@@ -0,0 +1,26 @@
+package com.ecommerce.events.kafka;
+
+import com.ecommerce.events.StockLevelEvent;
+import com.ecommerce.events.codec.EventCodecException;
+import com.ecommerce.events.codec.StockLevelEventCodec;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Kafka value deserializer reading StockLevelEventCodec's binary format.
+ * Tombstones are returned as null.
+ */
+public class StockLevelEventDeserializer implements Deserializer<StockLevelEvent> {
+
+    @Override
+    public StockLevelEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return StockLevelEventCodec.decode(data);
+        } catch (EventCodecException | ArithmeticException e) {
+            throw new SerializationException("Failed to decode StockLevelEvent from topic " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.events.kafka;
+
+import com.ecommerce.events.StockLevelEvent;
+import com.ecommerce.events.codec.StockLevelEventCodec;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka value serializer writing StockLevelEventCodec's binary format.
+ */
+public class StockLevelEventSerializer implements Serializer<StockLevelEvent> {
+
+    @Override
+    public byte[] serialize(String topic, StockLevelEvent event) {
+        return event != null ? StockLevelEventCodec.encode(event) : null;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ecommerce.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Money
+ */
+@DisplayName("Money Unit Tests")
+class MoneyTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Test
+    @DisplayName("Should convert to and from BigDecimal at the currency's scale")
+    void testOf_RoundTrip() {
+        // Act
+        Money price = Money.of(new BigDecimal("999.9"), USD);
+
+        // Assert
+        assertEquals(99990, price.minorUnits());
+        assertEquals(new BigDecimal("999.90"), price.toBigDecimal());
+        assertEquals(new Money(1500, Currency.getInstance("JPY")),
+                Money.of(new BigDecimal("1500"), Currency.getInstance("JPY")));
+        assertEquals("999.90 USD", price.toString());
+    }
+
+    @Test
+    @DisplayName("Should reject amounts with more fraction digits than the currency")
+    void testOf_TooPrecise() {
+        // Act & Assert
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("0.001"), USD));
+    }
+
+    @Test
+    @DisplayName("Should add line totals like BigDecimal does")
+    void testPlusTimes() {
+        // Arrange
+        Money laptop = Money.of(new BigDecimal("999.99"), USD);
+        Money mouse = Money.of(new BigDecimal("29.99"), USD);
+
+        // Act
+        Money total = Money.zero(USD).plus(laptop.times(3)).plus(mouse.times(2));
+
+        // Assert
+        assertEquals(new BigDecimal("999.99").multiply(BigDecimal.valueOf(3))
+                .add(new BigDecimal("29.99").multiply(BigDecimal.valueOf(2))), total.toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("Should fail on overflow and on mixed currencies")
+    void testArithmetic_Failures() {
+        // Arrange
+        Money huge = new Money(Long.MAX_VALUE, USD);
+        Money euro = new Money(100, Currency.getInstance("EUR"));
+
+        // Act & Assert
+        assertThrows(ArithmeticException.class, () -> huge.plus(new Money(1, USD)));
+        assertThrows(ArithmeticException.class, () -> huge.times(2));
+        assertThrows(IllegalArgumentException.class, () -> new Money(100, USD).plus(euro));
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecommerce.events.codec;
+
+import com.ecommerce.events.InventoryResultEvent;
+import com.ecommerce.events.kafka.InventoryResultEventDeserializer;
+import com.ecommerce.events.kafka.InventoryResultEventSerializer;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InventoryResultEventCodec
+ */
+@DisplayName("InventoryResultEventCodec Unit Tests")
+class InventoryResultEventCodecTest {
+
+    @Test
+    @DisplayName("Should round-trip a reserved result")
+    void testEncodeDecode_Reserved() {
+        // Arrange
+        InventoryResultEvent event = InventoryResultEvent.reserved(UUID.randomUUID(), "ORD-1");
+
+        // Act
+        InventoryResultEvent decoded = InventoryResultEventCodec.decode(InventoryResultEventCodec.encode(event));
+
+        // Assert
+        assertEquals(event, decoded);
+        assertNull(decoded.reason());
+    }
+
+    @Test
+    @DisplayName("Should round-trip a rejected result with its reason")
+    void testEncodeDecode_Rejected() {
+        // Arrange
+        InventoryResultEvent event = InventoryResultEvent.rejected(UUID.randomUUID(), "ORD-2",
+                "Insufficient stock for product 42");
+
+        // Act
+        InventoryResultEvent decoded = InventoryResultEventCodec.decode(InventoryResultEventCodec.encode(event));
+
+        // Assert
+        assertEquals(InventoryResultEvent.Status.REJECTED, decoded.status());
+        assertEquals("Insufficient stock for product 42", decoded.reason());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown status ordinal")
+    void testDecode_UnknownStatus() {
+        // Arrange
+        byte[] encoded = InventoryResultEventCodec.encode(
+                new InventoryResultEvent(null, null, InventoryResultEvent.Status.RESERVED, null, null));
+        encoded[encoded.length - 1] = 9;
+
+        // Act & Assert
+        assertThrows(EventCodecException.class, () -> InventoryResultEventCodec.decode(encoded));
+    }
+
+    @Test
+    @DisplayName("Should not decode an order created event as a result")
+    void testDeserializer_WrongEventType() {
+        // Arrange
+        byte[] orderCreated = OrderCreatedEventCodec.encode(OrderCreatedEventCodecTest.sampleEvent());
+        InventoryResultEventDeserializer deserializer = new InventoryResultEventDeserializer();
+        InventoryResultEvent event = InventoryResultEvent.reserved(UUID.randomUUID(), "ORD-3");
+
+        // Act & Assert
+        assertEquals(event, deserializer.deserialize("inventory-result",
+                new InventoryResultEventSerializer().serialize("inventory-result", event)));
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("inventory-result", orderCreated));
+    }
+}
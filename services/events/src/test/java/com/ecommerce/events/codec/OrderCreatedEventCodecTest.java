@@ -0,0 +1,258 @@
+package com.ecommerce.events.codec;
+
+import com.ecommerce.events.Money;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.events.kafka.OrderCreatedEventDeserializer;
+import com.ecommerce.events.kafka.OrderCreatedEventSerializer;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OrderCreatedEventCodec
+ */
+@DisplayName("OrderCreatedEventCodec Unit Tests")
+class OrderCreatedEventCodecTest {
+
+    @Test
+    @DisplayName("Should round-trip every field of a full event")
+    void testEncodeDecode_RoundTrip() {
+        // Arrange
+        OrderCreatedEvent event = sampleEvent();
+
+        // Act
+        OrderCreatedEvent decoded = OrderCreatedEventCodec.decode(OrderCreatedEventCodec.encode(event));
+
+        // Assert
+        assertEquals(event, decoded);
+    }
+
+    @Test
+    @DisplayName("Should keep null fields null")
+    void testEncodeDecode_Nulls() {
+        // Arrange
+        OrderCreatedEvent event = new OrderCreatedEvent(UUID.randomUUID(), null, null, null, null, null,
+                List.of(new OrderCreatedEvent.OrderItemEvent(null, null, 3, null)));
+
+        // Act
+        OrderCreatedEvent decoded = OrderCreatedEventCodec.decode(OrderCreatedEventCodec.encode(event));
+
+        // Assert
+        assertEquals(event.orderId(), decoded.orderId());
+        assertNull(decoded.orderNumber());
+        assertNull(decoded.totalAmount());
+        assertNull(decoded.publishedAt());
+        assertNull(decoded.reservationId());
+        assertEquals(1, decoded.orderItems().size());
+        assertNull(decoded.orderItems().get(0).productId());
+        assertEquals(3, decoded.orderItems().get(0).quantity());
+        assertNull(decoded.orderItems().get(0).price());
+    }
+
+    @Test
+    @DisplayName("Should keep the currency and negative amounts")
+    void testEncodeDecode_Amounts() {
+        // Arrange
+        Currency yen = Currency.getInstance("JPY");
+        OrderCreatedEvent event = new OrderCreatedEvent(UUID.randomUUID(), "ORD-1", "John Doe", "john@example.com",
+                new Money(Long.MAX_VALUE, yen), "PENDING",
+                List.of(new OrderCreatedEvent.OrderItemEvent(UUID.randomUUID(), "Refund", 1, new Money(-50, yen))));
+
+        // Act
+        OrderCreatedEvent decoded = OrderCreatedEventCodec.decode(OrderCreatedEventCodec.encode(event));
+
+        // Assert
+        assertEquals(new Money(Long.MAX_VALUE, yen), decoded.totalAmount());
+        assertEquals(new Money(-50, yen), decoded.orderItems().get(0).price());
+    }
+
+    @Test
+    @DisplayName("Should reject an event whose amounts are in different currencies")
+    void testEncode_MixedCurrencies() {
+        // Arrange
+        OrderCreatedEvent event = new OrderCreatedEvent(UUID.randomUUID(), "ORD-1", "John Doe", "john@example.com",
+                usd("10.00"), "PENDING",
+                List.of(new OrderCreatedEvent.OrderItemEvent(UUID.randomUUID(), "Laptop", 1,
+                        Money.of(new BigDecimal("10.00"), Currency.getInstance("EUR")))));
+
+        // Act & Assert
+        assertThrows(EventCodecException.class, () -> OrderCreatedEventCodec.encode(event));
+    }
+
+    @Test
+    @DisplayName("Should read version 1 events with decimal amounts in the legacy currency")
+    void testDecode_Version1() {
+        // Arrange: orderId, totalAmount and one item with quantity and price
+        UUID orderId = UUID.randomUUID();
+        BinaryWriter writer = new BinaryWriter(64);
+        writer.writeByte(OrderCreatedEventCodec.MAGIC);
+        writer.writeByte(1);
+        writer.writeVarInt(1 | 1 << 4 | 1 << 6);
+        writer.writeUuid(orderId);
+        writer.writeDecimal(new BigDecimal("59.98"));
+        writer.writeVarInt(1);
+        writer.writeVarInt(1 << 2 | 1 << 3);
+        writer.writeSignedVarLong(2);
+        writer.writeDecimal(new BigDecimal("29.99"));
+
+        // Act
+        OrderCreatedEvent decoded = OrderCreatedEventCodec.decode(writer.toByteArray());
+
+        // Assert
+        assertEquals(orderId, decoded.orderId());
+        assertEquals(new Money(5998, OrderCreatedEventCodec.LEGACY_CURRENCY), decoded.totalAmount());
+        assertEquals(new Money(2999, OrderCreatedEventCodec.LEGACY_CURRENCY), decoded.orderItems().get(0).price());
+    }
+
+    @Test
+    @DisplayName("Should reject a quantity or decimal scale outside the int range")
+    void testDecode_IntOutOfRange() {
+        // Arrange: version 1 events with an item quantity and a total amount scale past the int range
+        BinaryWriter quantity = new BinaryWriter(64);
+        quantity.writeByte(OrderCreatedEventCodec.MAGIC);
+        quantity.writeByte(1);
+        quantity.writeVarInt(1 << 6);
+        quantity.writeVarInt(1);
+        quantity.writeVarInt(1 << 2);
+        quantity.writeSignedVarLong(Integer.MAX_VALUE + 1L);
+        BinaryWriter scale = new BinaryWriter(64);
+        scale.writeByte(OrderCreatedEventCodec.MAGIC);
+        scale.writeByte(1);
+        scale.writeVarInt(1 << 4);
+        scale.writeByte(0);
+        scale.writeSignedVarLong(Integer.MIN_VALUE - 1L);
+        scale.writeSignedVarLong(1);
+
+        // Act & Assert
+        assertThrows(EventCodecException.class, () -> OrderCreatedEventCodec.decode(quantity.toByteArray()));
+        assertThrows(EventCodecException.class, () -> OrderCreatedEventCodec.decode(scale.toByteArray()));
+    }
+
+    @Test
+    @DisplayName("Should reject an item count past the int range instead of wrapping it")
+    void testDecode_ItemCountOutOfRange() {
+        // Arrange: 0xFFFFFFFF would read as -1 and pass the remaining input check
+        BinaryWriter writer = new BinaryWriter(64);
+        writer.writeByte(OrderCreatedEventCodec.MAGIC);
+        writer.writeByte(OrderCreatedEventCodec.VERSION);
+        writer.writeVarInt(1 << 6);
+        writer.writeVarLong(0xFFFFFFFFL);
+
+        // Act & Assert
+        assertThrows(EventCodecException.class, () -> OrderCreatedEventCodec.decode(writer.toByteArray()));
+    }
+
+    @Test
+    @DisplayName("Should round-trip non-ASCII strings")
+    void testEncodeDecode_Unicode() {
+        // Arrange
+        OrderCreatedEvent event = new OrderCreatedEvent(UUID.randomUUID(), "ORD-1", "Zoë Ångström 王芳 🛒",
+                "zoe@example.com", usd("10.00"), "PENDING", List.of());
+
+        // Act
+        OrderCreatedEvent decoded = OrderCreatedEventCodec.decode(OrderCreatedEventCodec.encode(event));
+
+        // Assert
+        assertEquals("Zoë Ångström 王芳 🛒", decoded.customerName());
+    }
+
+    @Test
+    @DisplayName("Should decode a missing item list as empty")
+    void testEncodeDecode_EmptyItems() {
+        // Arrange
+        OrderCreatedEvent event = new OrderCreatedEvent(UUID.randomUUID(), "ORD-1", "John Doe",
+                "john@example.com", usd("0.00"), "PENDING", null);
+
+        // Act
+        OrderCreatedEvent decoded = OrderCreatedEventCodec.decode(OrderCreatedEventCodec.encode(event));
+
+        // Assert
+        assertEquals(List.of(), decoded.orderItems());
+        assertThrows(UnsupportedOperationException.class, () -> decoded.orderItems().add(null));
+    }
+
+    @Test
+    @DisplayName("Should reject truncated input")
+    void testDecode_Truncated() {
+        // Arrange
+        byte[] encoded = OrderCreatedEventCodec.encode(sampleEvent());
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 5);
+
+        // Act & Assert
+        assertThrows(EventCodecException.class, () -> OrderCreatedEventCodec.decode(truncated));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown schema version")
+    void testDecode_UnknownVersion() {
+        // Arrange
+        byte[] encoded = OrderCreatedEventCodec.encode(sampleEvent());
+        encoded[1] = (byte) (OrderCreatedEventCodec.VERSION + 1);
+
+        // Act & Assert
+        EventCodecException exception = assertThrows(EventCodecException.class,
+                () -> OrderCreatedEventCodec.decode(encoded));
+        assertTrue(exception.getMessage().contains("version"));
+    }
+
+    @Test
+    @DisplayName("Should ignore fields appended by a newer writer")
+    void testDecode_IgnoresAppendedFields() {
+        // Arrange
+        byte[] encoded = OrderCreatedEventCodec.encode(sampleEvent());
+        byte[] extended = Arrays.copyOf(encoded, encoded.length + 3);
+        extended[extended.length - 3] = 0x7F;
+
+        // Act
+        OrderCreatedEvent decoded = OrderCreatedEventCodec.decode(extended);
+
+        // Assert
+        assertEquals(sampleEvent(), decoded);
+    }
+
+    @Test
+    @DisplayName("Should wrap decode failures in a Kafka SerializationException")
+    void testDeserializer_WrapsErrors() {
+        // Arrange
+        OrderCreatedEventSerializer serializer = new OrderCreatedEventSerializer();
+        OrderCreatedEventDeserializer deserializer = new OrderCreatedEventDeserializer();
+        byte[] encoded = serializer.serialize("order-created", sampleEvent());
+
+        // Act & Assert
+        assertEquals(sampleEvent(), deserializer.deserialize("order-created", encoded));
+        assertNull(deserializer.deserialize("order-created", null));
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize("order-created", "{\"orderId\":1}".getBytes()));
+    }
+
+    static OrderCreatedEvent sampleEvent() {
+        return new OrderCreatedEvent(
+                UUID.fromString("1b4e28ba-2fa1-11d2-883f-0016d3cca427"),
+                "ORD-1700000000000",
+                "John Doe",
+                "john@example.com",
+                usd("1059.97"),
+                "PENDING",
+                List.of(
+                        new OrderCreatedEvent.OrderItemEvent(
+                                UUID.fromString("6f1c0a4e-8d2b-4b8e-9a44-1d2e3f4a5b6c"),
+                                "Laptop", 1, usd("999.99")),
+                        new OrderCreatedEvent.OrderItemEvent(
+                                UUID.fromString("0e9d8c7b-6a59-4837-a625-14f3e2d1c0b9"),
+                                "Mouse", 2, usd("29.99"))),
+                1_700_000_000_123L,
+                UUID.fromString("9a8b7c6d-5e4f-4a3b-8c2d-1e0f9a8b7c6d"));
+    }
+
+    static Money usd(String amount) {
+        return Money.of(new BigDecimal(amount), Currency.getInstance("USD"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.events.codec;
+
+import com.ecommerce.events.StockLevelEvent;
+import com.ecommerce.events.kafka.StockLevelEventDeserializer;
+import com.ecommerce.events.kafka.StockLevelEventSerializer;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StockLevelEventCodec
+ */
+@DisplayName("StockLevelEventCodec Unit Tests")
+class StockLevelEventCodecTest {
+
+    @Test
+    @DisplayName("Should round-trip a stock level, including a negative one")
+    void testEncodeDecode_RoundTrip() {
+        // Arrange
+        StockLevelEvent level = new StockLevelEvent(UUID.randomUUID(), 42, System.currentTimeMillis());
+        StockLevelEvent oversold = new StockLevelEvent(UUID.randomUUID(), -3, null);
+
+        // Act
+        StockLevelEvent decodedLevel = StockLevelEventCodec.decode(StockLevelEventCodec.encode(level));
+        StockLevelEvent decodedOversold = StockLevelEventCodec.decode(StockLevelEventCodec.encode(oversold));
+
+        // Assert
+        assertEquals(level, decodedLevel);
+        assertEquals(oversold, decodedOversold);
+        assertNull(decodedOversold.updatedAt());
+    }
+
+    @Test
+    @DisplayName("Should pass tombstones through as null and reject other event types")
+    void testDeserializer_TombstoneAndWrongEventType() {
+        // Arrange
+        StockLevelEventDeserializer deserializer = new StockLevelEventDeserializer();
+        StockLevelEvent level = new StockLevelEvent(UUID.randomUUID(), 7, 1L);
+        byte[] orderCreated = OrderCreatedEventCodec.encode(OrderCreatedEventCodecTest.sampleEvent());
+
+        // Act & Assert
+        assertEquals(level, deserializer.deserialize("stock-levels",
+                new StockLevelEventSerializer().serialize("stock-levels", level)));
+        assertNull(deserializer.deserialize("stock-levels", null));
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("stock-levels", orderCreated));
+    }
+
+    @Test
+    @DisplayName("Should reject a stock level outside the int range")
+    void testDecode_AvailableOutOfRange() {
+        // Arrange
+        BinaryWriter writer = new BinaryWriter(16);
+        writer.writeByte(StockLevelEventCodec.MAGIC);
+        writer.writeByte(StockLevelEventCodec.VERSION);
+        writer.writeVarInt(1 << 1);
+        writer.writeSignedVarLong(Long.MAX_VALUE);
+
+        // Act & Assert
+        assertThrows(EventCodecException.class, () -> StockLevelEventCodec.decode(writer.toByteArray()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.jfr;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * The flightrecording endpoint, when exposed, and Hibernate flush events in
+ * applications that use Hibernate (jfr.hibernate.flush-events.enabled).
+ */
+@AutoConfiguration
+public class FlightRecorderAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnAvailableEndpoint(endpoint = FlightRecordingEndpoint.class)
+    public FlightRecordingEndpoint flightRecordingEndpoint(
+            @Value("${management.endpoint.flightrecording.directory:${java.io.tmpdir}/flight-recordings}") Path directory,
+            @Value("${management.endpoint.flightrecording.default-duration:60s}") Duration defaultDuration,
+            @Value("${management.endpoint.flightrecording.max-duration:10m}") Duration maxDuration,
+            @Value("${management.endpoint.flightrecording.max-size:200MB}") DataSize maxSize,
+            @Value("${management.endpoint.flightrecording.retained:5}") int retained) {
+        return new FlightRecordingEndpoint(directory, defaultDuration, maxDuration, maxSize, retained);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({SessionEventListener.class, HibernatePropertiesCustomizer.class})
+    @ConditionalOnProperty(name = "jfr.hibernate.flush-events.enabled", havingValue = "true", matchIfMissing = true)
+    static class HibernateFlushEventsConfiguration {
+
+        /**
+         * Leaves an application's own session events listener in place
+         */
+        @Bean
+        public HibernatePropertiesCustomizer flushEventListener() {
+            return properties -> properties.putIfAbsent(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                    FlushEventListener.class.getName());
+        }
+    }
+}
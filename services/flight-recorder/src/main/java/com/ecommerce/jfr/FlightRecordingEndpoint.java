@@ -0,0 +1,182 @@
+package com.ecommerce.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Starts, stops and downloads JDK Flight Recorder recordings:
+ *
+ *   POST   /actuator/flightrecording  {"duration": "60s", "maxSize": "50MB", "settings": "profile"}
+ *   GET    /actuator/flightrecording            recordings started here
+ *   DELETE /actuator/flightrecording/{id}       stop early
+ *   GET    /actuator/flightrecording/{id}       the .jfr file, once stopped
+ *
+ * Recordings are bounded: one at a time, at most maxDuration long (they stop
+ * by themselves) and maxSize on disk, and only the last few files are kept.
+ * Nothing is recorded between recordings, so the custom events cost next to
+ * nothing the rest of the time.
+ */
+@WebEndpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingEndpoint.class);
+
+    private static final String DEFAULT_SETTINGS = "default";
+    private static final int STATUS_CONFLICT = 409;
+
+    private final Path directory;
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final int retained;
+    private final ConcurrentSkipListMap<Long, Recording> recordings = new ConcurrentSkipListMap<>();
+
+    /**
+     * A recording as reported by the endpoint
+     */
+    public record RecordingDescriptor(long id, String name, String state, Instant startTime, Duration duration,
+                                      long maxSizeBytes, String file) {
+
+        static RecordingDescriptor of(Recording recording) {
+            return new RecordingDescriptor(recording.getId(), recording.getName(), recording.getState().name(),
+                    recording.getStartTime(), recording.getDuration(), recording.getMaxSize(),
+                    recording.getDestination() != null ? recording.getDestination().toString() : null);
+        }
+    }
+
+    public FlightRecordingEndpoint(Path directory, Duration defaultDuration, Duration maxDuration,
+                                   DataSize maxSize, int retained) {
+        this.directory = directory;
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.retained = retained;
+    }
+
+    @ReadOperation
+    public List<RecordingDescriptor> recordings() {
+        return recordings.values().stream().map(RecordingDescriptor::of).toList();
+    }
+
+    /**
+     * Starts a recording with the JDK's "default" or "profile" settings. The
+     * duration and size are capped at the configured maximums.
+     */
+    @WriteOperation
+    public synchronized WebEndpointResponse<Object> start(@Nullable Duration duration, @Nullable DataSize maxSize,
+                                                          @Nullable String settings) {
+        if (recordings.values().stream().anyMatch(recording -> recording.getState() == RecordingState.RUNNING)) {
+            return new WebEndpointResponse<>(Map.of("error", "A recording is already running"), STATUS_CONFLICT);
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : DEFAULT_SETTINGS);
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>(Map.of("error", "Unknown settings: " + settings),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        try {
+            Files.createDirectories(directory);
+            Recording recording = new Recording(configuration);
+            recording.setName("recording-" + recording.getId());
+            recording.setDuration(min(duration != null ? duration : defaultDuration, maxDuration));
+            recording.setMaxSize(Math.min(maxSize != null ? maxSize.toBytes() : Long.MAX_VALUE,
+                    this.maxSize.toBytes()));
+            recording.setToDisk(true);
+            // Written here when the recording stops, by itself or through stop()
+            recording.setDestination(directory.resolve(recording.getName() + ".jfr"));
+            recording.start();
+            recordings.put(recording.getId(), recording);
+            discardOldRecordings();
+            logger.info("Started flight recording {} for {} with {} settings, writing to {}", recording.getId(),
+                    recording.getDuration(), configuration.getName(), recording.getDestination());
+            return new WebEndpointResponse<>(RecordingDescriptor.of(recording));
+        } catch (IOException e) {
+            return new WebEndpointResponse<>(Map.of("error", "Cannot write to " + directory + ": " + e.getMessage()),
+                    WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Stops a running recording, which writes its file
+     */
+    @DeleteOperation
+    public WebEndpointResponse<RecordingDescriptor> stop(@Selector long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            logger.info("Stopped flight recording {}, written to {}", id, recording.getDestination());
+        }
+        return new WebEndpointResponse<>(RecordingDescriptor.of(recording));
+    }
+
+    /**
+     * The file of a stopped recording
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (!isFinished(recording) || recording.getDestination() == null
+                || !Files.exists(recording.getDestination())) {
+            return new WebEndpointResponse<>(STATUS_CONFLICT);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(recording.getDestination()));
+    }
+
+    /**
+     * Closes the recordings and deletes the files beyond the last few
+     */
+    private void discardOldRecordings() {
+        List<Recording> finished = recordings.values().stream().filter(FlightRecordingEndpoint::isFinished).toList();
+        for (int i = 0; i < finished.size() - retained; i++) {
+            Recording recording = finished.get(i);
+            recordings.remove(recording.getId());
+            recording.close();
+            try {
+                if (recording.getDestination() != null) {
+                    Files.deleteIfExists(recording.getDestination());
+                }
+            } catch (IOException e) {
+                logger.warn("Cannot delete flight recording {}", recording.getDestination(), e);
+            }
+        }
+    }
+
+    private static boolean isFinished(Recording recording) {
+        return recording.getState() == RecordingState.STOPPED || recording.getState() == RecordingState.CLOSED;
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.jfr;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Emits a HibernateFlushEvent for every flush of the session it belongs to.
+ * Hibernate creates one per session (hibernate.session.events.auto).
+ */
+public class FlushEventListener implements SessionEventListener {
+
+    private HibernateFlushEvent event;
+
+    @Override
+    public void flushStart() {
+        event = new HibernateFlushEvent();
+        event.begin();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        HibernateFlushEvent flush = event;
+        event = null;
+        if (flush == null) {
+            return;
+        }
+        flush.end();
+        if (flush.shouldCommit()) {
+            flush.entities = numberOfEntities;
+            flush.collections = numberOfCollections;
+            flush.commit();
+        }
+    }
+}
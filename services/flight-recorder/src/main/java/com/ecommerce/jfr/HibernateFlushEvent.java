@@ -0,0 +1,30 @@
+package com.ecommerce.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Hibernate session flush: dirty checking plus the inserts, updates and
+ * deletes it issued. A flush usually runs at commit, after the service method
+ * returned, so it is recorded on its own; the thread ties it to the phase
+ * events of the request or record it belongs to.
+ */
+@Name("com.ecommerce.HibernateFlush")
+@Label("Hibernate Flush")
+@Category({"E-Commerce", "Hibernate"})
+@Description("Flush of a Hibernate session")
+@StackTrace(false)
+public class HibernateFlushEvent extends Event {
+
+    @Label("Entities")
+    @Description("Entities in the persistence context when it was flushed")
+    int entities;
+
+    @Label("Collections")
+    @Description("Collections in the persistence context when it was flushed")
+    int collections;
+}
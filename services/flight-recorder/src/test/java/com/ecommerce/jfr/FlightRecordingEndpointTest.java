@@ -0,0 +1,126 @@
+package com.ecommerce.jfr;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FlightRecordingEndpoint
+ */
+@DisplayName("FlightRecordingEndpoint Unit Tests")
+class FlightRecordingEndpointTest {
+
+    @TempDir
+    Path directory;
+
+    private FlightRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new FlightRecordingEndpoint(directory, Duration.ofSeconds(60), Duration.ofMinutes(5),
+                DataSize.ofMegabytes(50), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.recordings().forEach(recording -> endpoint.stop(recording.id()));
+    }
+
+    @Test
+    @DisplayName("Should cap the duration and size of a recording")
+    void testStart_Bounded() {
+        // Act
+        WebEndpointResponse<Object> response = endpoint.start(Duration.ofHours(1), DataSize.ofGigabytes(1), null);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        FlightRecordingEndpoint.RecordingDescriptor recording =
+                (FlightRecordingEndpoint.RecordingDescriptor) response.getBody();
+        assertEquals("RUNNING", recording.state());
+        assertEquals(Duration.ofMinutes(5), recording.duration());
+        assertEquals(DataSize.ofMegabytes(50).toBytes(), recording.maxSizeBytes());
+        assertTrue(recording.file().startsWith(directory.toString()));
+    }
+
+    @Test
+    @DisplayName("Should allow one recording at a time")
+    void testStart_AlreadyRunning() {
+        // Arrange
+        endpoint.start(null, null, null);
+
+        // Act
+        WebEndpointResponse<Object> response = endpoint.start(null, null, null);
+
+        // Assert
+        assertEquals(409, response.getStatus());
+        assertEquals(1, endpoint.recordings().size());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown settings")
+    void testStart_UnknownSettings() {
+        // Act
+        WebEndpointResponse<Object> response = endpoint.start(null, null, "no-such-settings");
+
+        // Assert
+        assertEquals(400, response.getStatus());
+        assertTrue(endpoint.recordings().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should write the file on stop and serve it")
+    void testStopAndDownload() throws Exception {
+        // Arrange
+        long id = ((FlightRecordingEndpoint.RecordingDescriptor) endpoint.start(null, null, "profile").getBody()).id();
+        assertEquals(409, endpoint.download(id).getStatus());
+
+        // Act
+        WebEndpointResponse<FlightRecordingEndpoint.RecordingDescriptor> stopped = endpoint.stop(id);
+        WebEndpointResponse<Resource> download = endpoint.download(id);
+
+        // Assert
+        assertNotEquals("RUNNING", stopped.getBody().state());
+        assertEquals(200, download.getStatus());
+        assertFalse(RecordingFile.readAllEvents(download.getBody().getFile().toPath()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep only the last recordings")
+    void testOldRecordingsDiscarded() {
+        // Arrange
+        long first = 0;
+        for (int i = 0; i < 4; i++) {
+            long id = ((FlightRecordingEndpoint.RecordingDescriptor) endpoint.start(null, null, null).getBody()).id();
+            first = i == 0 ? id : first;
+            endpoint.stop(id);
+        }
+
+        // Act
+        endpoint.start(null, null, null);
+
+        // Assert
+        assertEquals(3, endpoint.recordings().size());
+        assertEquals(404, endpoint.download(first).getStatus());
+        assertFalse(directory.resolve("recording-" + first + ".jfr").toFile().exists());
+    }
+
+    @Test
+    @DisplayName("Should answer 404 for an unknown recording")
+    void testUnknownRecording() {
+        // Act & Assert
+        assertEquals(404, endpoint.stop(-1).getStatus());
+        assertEquals(404, endpoint.download(-1).getStatus());
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FlushEventListener
+ */
+@DisplayName("FlushEventListener Unit Tests")
+class FlushEventListenerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should record a flush with its entity and collection counts")
+    void testFlushRecorded() throws Exception {
+        // Arrange
+        FlushEventListener listener = new FlushEventListener();
+        Path file = directory.resolve("flush.jfr");
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable(HibernateFlushEvent.class);
+            recording.start();
+            listener.flushStart();
+            listener.flushEnd(3, 1);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.ecommerce.HibernateFlush"))
+                .toList();
+        assertEquals(1, events.size());
+        assertEquals(3, events.get(0).getInt("entities"));
+        assertEquals(1, events.get(0).getInt("collections"));
+    }
+
+    @Test
+    @DisplayName("Should ignore a flush end without a start")
+    void testFlushEndWithoutStart() {
+        // Arrange
+        FlushEventListener listener = new FlushEventListener();
+
+        // Act & Assert
+        assertDoesNotThrow(() -> listener.flushEnd(1, 0));
+    }
+}
@@ -0,0 +1,140 @@
+package com.ecommerce.inventory.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultAfterRollbackProcessor;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.retrytopic.RetryTopicBeanNames;
+import org.springframework.kafka.retrytopic.RetryTopicSchedulerWrapper;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.backoff.FixedBackOff;
+
+/**
+ * Kafka listener container factories beyond the one Spring Boot auto-configures,
+ * and the retry / dead-letter infrastructure for the order-created consumer.
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    public static final String PARALLEL_CONTAINER_FACTORY = "parallelKafkaListenerContainerFactory";
+    public static final String TRANSACTIONAL_CONTAINER_FACTORY = "transactionalKafkaListenerContainerFactory";
+
+    /**
+     * Suffix of the dead-letter topic, e.g. order-created-dlt.
+     */
+    public static final String DLT_SUFFIX = "-dlt";
+
+    /**
+     * Container factory for ParallelOrderEventConsumer. The listener returns
+     * before the work for a record is done and acknowledges it later from a
+     * worker thread; async acks let those acknowledgements arrive out of order
+     * while offsets are still only committed up to the first unfinished record.
+     * Records that cannot be deserialized are dead-lettered without retrying.
+     */
+    @Bean(name = PARALLEL_CONTAINER_FACTORY)
+    @ConditionalOnProperty(name = "inventory.consumer.mode", havingValue = "parallel")
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> parallelKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            DeadLetterPublishingRecoverer orderCreatedDeadLetterRecoverer) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(orderCreatedDeadLetterRecoverer, new FixedBackOff(0L, 0L)));
+        return factory;
+    }
+
+    /**
+     * Batch container factory for TransactionalOrderEventConsumer. Every poll
+     * runs in a Kafka transaction that also commits the consumer offsets.
+     * After a rollback the batch is redelivered with a fixed back-off until it
+     * succeeds; failures that retrying cannot fix are turned into rejected
+     * results or dead letters by the listener instead of being thrown.
+     */
+    @Bean(name = TRANSACTIONAL_CONTAINER_FACTORY)
+    @ConditionalOnProperty(name = "inventory.consumer.mode", havingValue = "transactional")
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> transactionalKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Qualifier(KafkaProducerConfig.TRANSACTIONAL_PRODUCER_FACTORY) ProducerFactory<String, Object> transactionalProducerFactory,
+            @Value("${inventory.consumer.transactional.rollback-backoff-ms:1000}") long rollbackBackoffMillis) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setTransactionManager(
+                new KafkaTransactionManager<>(transactionalProducerFactory));
+        factory.setAfterRollbackProcessor(new DefaultAfterRollbackProcessor<>(
+                new FixedBackOff(rollbackBackoffMillis, FixedBackOff.UNLIMITED_ATTEMPTS)));
+        return factory;
+    }
+
+    /**
+     * Scheduler that resumes retry topic partitions once their back-off has elapsed.
+     */
+    @Bean(name = RetryTopicBeanNames.DEFAULT_SCHEDULER_WRAPPER_BEAN_NAME)
+    public RetryTopicSchedulerWrapper retryTopicSchedulerWrapper() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("kafka-retry-");
+        scheduler.initialize();
+        return new RetryTopicSchedulerWrapper(scheduler);
+    }
+
+    /**
+     * The parallel consumer acknowledges records from worker threads, so the
+     * container cannot route its failures through retry topics. Failed records
+     * go straight to the dead-letter topic instead, with the same failure headers.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "inventory.consumer.mode", havingValue = "parallel")
+    public DeadLetterPublishingRecoverer orderCreatedDeadLetterRecoverer(KafkaTemplate<String, Object> kafkaTemplate) {
+        return new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, exception) -> new TopicPartition(record.topic() + DLT_SUFFIX, -1));
+    }
+
+    /**
+     * Dead letters of the transactional consumer are published inside its
+     * Kafka transaction, so they need the transactional template.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "inventory.consumer.mode", havingValue = "transactional")
+    public DeadLetterPublishingRecoverer transactionalDeadLetterRecoverer(
+            @Qualifier(KafkaProducerConfig.TRANSACTIONAL_KAFKA_TEMPLATE) KafkaTemplate<String, Object> transactionalKafkaTemplate) {
+        return new DeadLetterPublishingRecoverer(transactionalKafkaTemplate,
+                (record, exception) -> new TopicPartition(record.topic() + DLT_SUFFIX, -1));
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${inventory.consumer.mode:serial}' != 'serial'")
+    public NewTopic orderCreatedDeadLetterTopic(@Value("${kafka.topic.order-created}") String orderCreatedTopic) {
+        return TopicBuilder.name(orderCreatedTopic + DLT_SUFFIX).build();
+    }
+
+    @Bean
+    public NewTopic inventoryResultTopic(@Value("${kafka.topic.inventory-result}") String inventoryResultTopic) {
+        return TopicBuilder.name(inventoryResultTopic).build();
+    }
+
+    /**
+     * Compacted: only the latest level per product is kept.
+     */
+    @Bean
+    public NewTopic stockLevelTopic(@Value("${kafka.topic.stock-levels}") String stockLevelTopic) {
+        return TopicBuilder.name(stockLevelTopic).compact().build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.ecommerce.inventory.config;
+
+import com.ecommerce.events.InventoryResultEvent;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.events.StockLevelEvent;
+import com.ecommerce.events.kafka.InventoryResultEventSerializer;
+import com.ecommerce.events.kafka.OrderCreatedEventSerializer;
+import com.ecommerce.events.kafka.StockLevelEventSerializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Producer used to forward failed records to the retry and dead-letter topics
+ * and to replay dead letters, plus, in transactional consumer mode, a second
+ * transactional producer for the inventory result events.
+ *
+ * Order created and inventory result events use the binary wire format, raw
+ * byte[] values (records that could not be deserialized, or dead letters being
+ * replayed) are written as is, and anything else is written as JSON.
+ */
+@Configuration
+public class KafkaProducerConfig {
+
+    public static final String TRANSACTIONAL_PRODUCER_FACTORY = "transactionalProducerFactory";
+    public static final String TRANSACTIONAL_KAFKA_TEMPLATE = "transactionalKafkaTemplate";
+
+    @Bean
+    @Primary
+    public ProducerFactory<String, Object> kafkaProducerFactory(
+            KafkaProperties kafkaProperties, ObjectProvider<DefaultKafkaProducerFactoryCustomizer> customizers) {
+        DefaultKafkaProducerFactory<String, Object> factory = new DefaultKafkaProducerFactory<>(
+                kafkaProperties.buildProducerProperties(null), new StringSerializer(), valueSerializer());
+        customizers.orderedStream().forEach(customizer -> customizer.customize(factory));
+        return factory;
+    }
+
+    @Bean
+    @Primary
+    public KafkaTemplate<String, Object> kafkaTemplate(ProducerFactory<String, Object> kafkaProducerFactory,
+                                                      KafkaProperties kafkaProperties) {
+        return template(kafkaProducerFactory, kafkaProperties);
+    }
+
+    /**
+     * Producer whose transactions are started by the transactional listener
+     * container. Not a KafkaTransactionManager bean, which would replace the
+     * JPA transaction manager Spring Boot configures.
+     */
+    @Bean(name = TRANSACTIONAL_PRODUCER_FACTORY)
+    @ConditionalOnProperty(name = "inventory.consumer.mode", havingValue = "transactional")
+    public ProducerFactory<String, Object> transactionalProducerFactory(
+            KafkaProperties kafkaProperties, ObjectProvider<DefaultKafkaProducerFactoryCustomizer> customizers,
+            @Value("${inventory.consumer.transactional.transaction-id-prefix:inventory-tx-}") String transactionIdPrefix) {
+        DefaultKafkaProducerFactory<String, Object> factory = new DefaultKafkaProducerFactory<>(
+                kafkaProperties.buildProducerProperties(null), new StringSerializer(), valueSerializer());
+        factory.setTransactionIdPrefix(transactionIdPrefix);
+        customizers.orderedStream().forEach(customizer -> customizer.customize(factory));
+        return factory;
+    }
+
+    @Bean(name = TRANSACTIONAL_KAFKA_TEMPLATE)
+    @ConditionalOnProperty(name = "inventory.consumer.mode", havingValue = "transactional")
+    public KafkaTemplate<String, Object> transactionalKafkaTemplate(
+            @Qualifier(TRANSACTIONAL_PRODUCER_FACTORY) ProducerFactory<String, Object> transactionalProducerFactory,
+            KafkaProperties kafkaProperties) {
+        return template(transactionalProducerFactory, kafkaProperties);
+    }
+
+    /**
+     * With spring.kafka.template.observation-enabled, sends are observed and
+     * carry the trace context in the record headers, as with Spring Boot's template.
+     */
+    private static KafkaTemplate<String, Object> template(ProducerFactory<String, Object> producerFactory,
+                                                          KafkaProperties kafkaProperties) {
+        KafkaTemplate<String, Object> template = new KafkaTemplate<>(producerFactory);
+        template.setObservationEnabled(kafkaProperties.getTemplate().isObservationEnabled());
+        return template;
+    }
+
+    private static Serializer<Object> valueSerializer() {
+        Map<Class<?>, Serializer<?>> valueSerializers = new LinkedHashMap<>();
+        valueSerializers.put(OrderCreatedEvent.class, new OrderCreatedEventSerializer());
+        valueSerializers.put(InventoryResultEvent.class, new InventoryResultEventSerializer());
+        valueSerializers.put(StockLevelEvent.class, new StockLevelEventSerializer());
+        valueSerializers.put(byte[].class, new ByteArraySerializer());
+        valueSerializers.put(Object.class, new JsonSerializer<>().noTypeInfo());
+        return new DelegatingByTypeSerializer(valueSerializers, true);
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.inventory.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Observes the methods of classes annotated with @Observed (InventoryServiceImpl):
+ * one timer per observation name tagged with class, method and error, and a
+ * span per call in sampled traces. HTTP, repository, Kafka, JDBC, JVM and
+ * Hikari metrics come from Spring Boot's actuator and the tracing module.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+}
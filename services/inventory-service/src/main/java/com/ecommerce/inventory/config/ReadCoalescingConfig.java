@@ -0,0 +1,23 @@
+package com.ecommerce.inventory.config;
+
+import com.ecommerce.coalescing.SingleFlight;
+import com.ecommerce.inventory.model.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.UUID;
+
+/**
+ * Concurrent lookups of the same product by id share one query (see InventoryServiceImpl.getProductById)
+ */
+@Configuration
+public class ReadCoalescingConfig {
+
+    @Bean
+    public SingleFlight<UUID, Product> productLookups(MeterRegistry registry,
+                                                      @Value("${inventory.read-coalescing.enabled:true}") boolean enabled) {
+        return new SingleFlight<>("product", registry, enabled);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.inventory.controller;
+
+import com.ecommerce.inventory.dto.DeadLetterReplayResponse;
+import com.ecommerce.inventory.service.DeadLetterReplayService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin/dead-letters")
+public class DeadLetterController {
+
+    private final DeadLetterReplayService deadLetterReplayService;
+
+    @Autowired
+    public DeadLetterController(DeadLetterReplayService deadLetterReplayService) {
+        this.deadLetterReplayService = deadLetterReplayService;
+    }
+
+    /**
+     * Re-publish up to limit dead-lettered order created events to the main topic.
+     */
+    @PostMapping("/order-created/replay")
+    public ResponseEntity<DeadLetterReplayResponse> replayOrderCreated(
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(deadLetterReplayService.replay(limit));
+    }
+}
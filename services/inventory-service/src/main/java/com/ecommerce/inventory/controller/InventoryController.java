@@ -100,7 +100,8 @@ public class InventoryController {
 
     @PostMapping("/inventory")
     public ResponseEntity<InventoryResponse> createInventory(@Valid @RequestBody InventoryRequest request) {
-        Product product = inventoryService.getProductById(request.getProductId());
+        // The row holds on to the product, so it gets an instance no concurrent request shares
+        Product product = inventoryService.getLatestProduct(request.getProductId());
         Inventory inventory = new Inventory(product, request.getQuantity(), request.getLocation());
         Inventory savedInventory = inventoryService.createInventory(inventory);
         return ResponseEntity.status(HttpStatus.CREATED).body(new InventoryResponse(savedInventory));
@@ -125,7 +126,7 @@ public class InventoryController {
     public ResponseEntity<InventoryResponse> updateInventory(
             @PathVariable UUID id,
             @Valid @RequestBody InventoryRequest request) {
-        Product product = inventoryService.getProductById(request.getProductId());
+        Product product = inventoryService.getLatestProduct(request.getProductId());
         Inventory inventory = new Inventory(product, request.getQuantity(), request.getLocation());
         Inventory updatedInventory = inventoryService.updateInventory(id, inventory);
         return ResponseEntity.ok(new InventoryResponse(updatedInventory));
@@ -0,0 +1,55 @@
+package com.ecommerce.inventory.controller;
+
+import com.ecommerce.inventory.dto.ReservationRequest;
+import com.ecommerce.inventory.dto.ReservationResponse;
+import com.ecommerce.inventory.model.StockReservation;
+import com.ecommerce.inventory.service.StockReservationService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/reservations")
+@ConditionalOnProperty(name = "inventory.reservation.enabled", havingValue = "true")
+public class ReservationController {
+
+    private final StockReservationService stockReservationService;
+
+    @Autowired
+    public ReservationController(StockReservationService stockReservationService) {
+        this.stockReservationService = stockReservationService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ReservationResponse> reserve(@Valid @RequestBody ReservationRequest request) {
+        Duration ttl = request.getTtlSeconds() != null ? Duration.ofSeconds(request.getTtlSeconds()) : null;
+        StockReservation reservation = stockReservationService.reserve(
+                request.getReferenceId(),
+                request.getProductId(),
+                request.getQuantity(),
+                ttl
+        );
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ReservationResponse(reservation));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReservationResponse> getReservation(@PathVariable UUID id) {
+        return ResponseEntity.ok(new ReservationResponse(stockReservationService.getReservation(id)));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ReservationResponse> release(@PathVariable UUID id) {
+        return ResponseEntity.ok(new ReservationResponse(stockReservationService.release(id)));
+    }
+
+    @GetMapping("/products/{productId}/available")
+    public ResponseEntity<Integer> getAvailableStock(@PathVariable UUID productId) {
+        return ResponseEntity.ok(stockReservationService.getAvailableStock(productId));
+    }
+}
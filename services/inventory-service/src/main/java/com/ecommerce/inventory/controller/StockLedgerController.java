@@ -0,0 +1,33 @@
+package com.ecommerce.inventory.controller;
+
+import com.ecommerce.inventory.dto.LedgerConsistencyReport;
+import com.ecommerce.inventory.service.StockLedger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/admin/stock-ledger")
+@ConditionalOnProperty(name = "inventory.stock.write-behind.enabled", havingValue = "true")
+public class StockLedgerController {
+
+    private final StockLedger stockLedger;
+
+    @Autowired
+    public StockLedgerController(StockLedger stockLedger) {
+        this.stockLedger = stockLedger;
+    }
+
+    @GetMapping("/consistency")
+    public ResponseEntity<LedgerConsistencyReport> checkConsistency() {
+        return ResponseEntity.ok(stockLedger.checkConsistency());
+    }
+
+    @GetMapping("/products/{productId}/pending")
+    public ResponseEntity<Long> getPendingDelta(@PathVariable UUID productId) {
+        return ResponseEntity.ok(stockLedger.pendingDelta(productId));
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.inventory.dto;
+
+/**
+ * Outcome of replaying records from the dead-letter topic.
+ */
+public class DeadLetterReplayResponse {
+
+    private String sourceTopic;
+    private String targetTopic;
+    private int replayed;
+
+    // Constructors
+    public DeadLetterReplayResponse() {
+    }
+
+    public DeadLetterReplayResponse(String sourceTopic, String targetTopic, int replayed) {
+        this.sourceTopic = sourceTopic;
+        this.targetTopic = targetTopic;
+        this.replayed = replayed;
+    }
+
+    // Getters and Setters
+    public String getSourceTopic() {
+        return sourceTopic;
+    }
+
+    public void setSourceTopic(String sourceTopic) {
+        this.sourceTopic = sourceTopic;
+    }
+
+    public String getTargetTopic() {
+        return targetTopic;
+    }
+
+    public void setTargetTopic(String targetTopic) {
+        this.targetTopic = targetTopic;
+    }
+
+    public int getReplayed() {
+        return replayed;
+    }
+
+    public void setReplayed(int replayed) {
+        this.replayed = replayed;
+    }
+}
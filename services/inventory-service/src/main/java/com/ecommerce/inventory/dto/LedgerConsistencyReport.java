@@ -0,0 +1,118 @@
+package com.ecommerce.inventory.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of comparing the stock delta log with the in-memory ledger counters.
+ * Consistent means every unflushed log record is accounted for in memory and
+ * no product has gone below zero stock.
+ */
+public class LedgerConsistencyReport {
+
+    private long appliedOffset;
+    private long logEndOffset;
+    private int pendingProducts;
+    private List<Mismatch> mismatches;
+    private List<UUID> negativeStockProducts;
+
+    // Constructors
+    public LedgerConsistencyReport() {
+    }
+
+    public LedgerConsistencyReport(long appliedOffset, long logEndOffset, int pendingProducts,
+                                   List<Mismatch> mismatches, List<UUID> negativeStockProducts) {
+        this.appliedOffset = appliedOffset;
+        this.logEndOffset = logEndOffset;
+        this.pendingProducts = pendingProducts;
+        this.mismatches = mismatches;
+        this.negativeStockProducts = negativeStockProducts;
+    }
+
+    public boolean isConsistent() {
+        return mismatches.isEmpty() && negativeStockProducts.isEmpty();
+    }
+
+    // Getters and Setters
+    public long getAppliedOffset() {
+        return appliedOffset;
+    }
+
+    public void setAppliedOffset(long appliedOffset) {
+        this.appliedOffset = appliedOffset;
+    }
+
+    public long getLogEndOffset() {
+        return logEndOffset;
+    }
+
+    public void setLogEndOffset(long logEndOffset) {
+        this.logEndOffset = logEndOffset;
+    }
+
+    public int getPendingProducts() {
+        return pendingProducts;
+    }
+
+    public void setPendingProducts(int pendingProducts) {
+        this.pendingProducts = pendingProducts;
+    }
+
+    public List<Mismatch> getMismatches() {
+        return mismatches;
+    }
+
+    public void setMismatches(List<Mismatch> mismatches) {
+        this.mismatches = mismatches;
+    }
+
+    public List<UUID> getNegativeStockProducts() {
+        return negativeStockProducts;
+    }
+
+    public void setNegativeStockProducts(List<UUID> negativeStockProducts) {
+        this.negativeStockProducts = negativeStockProducts;
+    }
+
+    /**
+     * A product whose unflushed log total differs from its in-memory counter.
+     */
+    public static class Mismatch {
+        private UUID productId;
+        private long loggedDelta;
+        private long pendingDelta;
+
+        public Mismatch() {
+        }
+
+        public Mismatch(UUID productId, long loggedDelta, long pendingDelta) {
+            this.productId = productId;
+            this.loggedDelta = loggedDelta;
+            this.pendingDelta = pendingDelta;
+        }
+
+        public UUID getProductId() {
+            return productId;
+        }
+
+        public void setProductId(UUID productId) {
+            this.productId = productId;
+        }
+
+        public long getLoggedDelta() {
+            return loggedDelta;
+        }
+
+        public void setLoggedDelta(long loggedDelta) {
+            this.loggedDelta = loggedDelta;
+        }
+
+        public long getPendingDelta() {
+            return pendingDelta;
+        }
+
+        public void setPendingDelta(long pendingDelta) {
+            this.pendingDelta = pendingDelta;
+        }
+    }
+}
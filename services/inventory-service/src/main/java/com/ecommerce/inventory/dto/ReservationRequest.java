@@ -0,0 +1,67 @@
+package com.ecommerce.inventory.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public class ReservationRequest {
+
+    @NotNull(message = "Reference ID is required")
+    private UUID referenceId;
+
+    @NotNull(message = "Product ID is required")
+    private UUID productId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    // Optional, falls back to inventory.reservation.default-ttl-seconds
+    @Min(value = 1, message = "TTL must be at least 1 second")
+    private Long ttlSeconds;
+
+    // Constructors
+    public ReservationRequest() {
+    }
+
+    public ReservationRequest(UUID referenceId, UUID productId, Integer quantity, Long ttlSeconds) {
+        this.referenceId = referenceId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    // Getters and Setters
+    public UUID getReferenceId() {
+        return referenceId;
+    }
+
+    public void setReferenceId(UUID referenceId) {
+        this.referenceId = referenceId;
+    }
+
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public void setProductId(UUID productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(Long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+}
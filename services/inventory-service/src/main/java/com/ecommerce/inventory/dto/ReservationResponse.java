@@ -0,0 +1,78 @@
+package com.ecommerce.inventory.dto;
+
+import com.ecommerce.inventory.model.StockReservation;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ReservationResponse {
+
+    private UUID id;
+    private UUID referenceId;
+    private UUID productId;
+    private Integer quantity;
+    private StockReservation.ReservationStatus status;
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public ReservationResponse() {
+    }
+
+    public ReservationResponse(StockReservation reservation) {
+        this.id = reservation.getId();
+        this.referenceId = reservation.getReferenceId();
+        this.productId = reservation.getProductId();
+        this.quantity = reservation.getQuantity();
+        this.status = reservation.getStatus();
+        this.expiresAt = reservation.getExpiresAt();
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getReferenceId() {
+        return referenceId;
+    }
+
+    public void setReferenceId(UUID referenceId) {
+        this.referenceId = referenceId;
+    }
+
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public void setProductId(UUID productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public StockReservation.ReservationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(StockReservation.ReservationStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.inventory.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.UUID;
+
+/**
+ * Thrown when a product does not have enough unreserved stock to satisfy a request.
+ * Mapped to HTTP 409 CONFLICT when it escapes a controller.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class InsufficientStockException extends RuntimeException {
+
+    private final UUID productId;
+    private final int requested;
+    private final int available;
+
+    public InsufficientStockException(UUID productId, int requested, int available) {
+        super("Insufficient stock for product " + productId + ": requested = " + requested
+                + ", available = " + available);
+        this.productId = productId;
+        this.requested = requested;
+        this.available = available;
+    }
+
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+}
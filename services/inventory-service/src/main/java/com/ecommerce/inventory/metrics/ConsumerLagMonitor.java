@@ -0,0 +1,148 @@
+package com.ecommerce.inventory.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the consumer group's lag per partition as the gauge
+ * kafka.consumer.group.lag (tags: group, topic, partition).
+ *
+ * Lag is read from the broker (committed offset vs. log end offset) rather than
+ * from the consumer client, so it keeps growing while consumers are stuck or
+ * down. Partitions the group has never committed are not reported.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.metrics.consumer-lag.enabled", havingValue = "true", matchIfMissing = true)
+public class ConsumerLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsumerLagMonitor.class);
+
+    private static final long ADMIN_TIMEOUT_SECONDS = 10;
+
+    private final KafkaAdmin kafkaAdmin;
+    private final MeterRegistry registry;
+    private final String groupId;
+    private final List<String> topics;
+    private final long intervalMillis;
+    private final Map<TopicPartition, AtomicLong> lagByPartition = new ConcurrentHashMap<>();
+
+    private Admin admin;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public ConsumerLagMonitor(KafkaAdmin kafkaAdmin,
+                              MeterRegistry registry,
+                              @Value("${spring.kafka.consumer.group-id}") String groupId,
+                              @Value("${inventory.metrics.consumer-lag.topics:${kafka.topic.order-created}}") List<String> topics,
+                              @Value("${inventory.metrics.consumer-lag.interval-ms:10000}") long intervalMillis) {
+        this.kafkaAdmin = kafkaAdmin;
+        this.registry = registry;
+        this.groupId = groupId;
+        this.topics = topics;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * For tests: use the given admin client instead of creating one.
+     */
+    ConsumerLagMonitor(Admin admin, MeterRegistry registry, String groupId, List<String> topics) {
+        this(null, registry, groupId, topics, 0);
+        this.admin = admin;
+    }
+
+    @PostConstruct
+    void start() {
+        admin = Admin.create(kafkaAdmin.getConfigurationProperties());
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "consumer-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshSafely, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (admin != null) {
+            admin.close(Duration.ofSeconds(5));
+        }
+    }
+
+    /**
+     * Read committed and end offsets once and update the gauges.
+     */
+    void refresh() throws Exception {
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+        committed.forEach((partition, offset) -> {
+            if (offset != null && topics.contains(partition.topic())) {
+                request.put(partition, OffsetSpec.latest());
+            }
+        });
+        if (request.isEmpty()) {
+            return;
+        }
+
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets = admin.listOffsets(request)
+                .all()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        endOffsets.forEach((partition, end) -> {
+            long lag = Math.max(0, end.offset() - committed.get(partition).offset());
+            gaugeFor(partition).set(lag);
+        });
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Failed to read consumer lag for group {}: {}", groupId, e.getMessage());
+        }
+    }
+
+    private AtomicLong gaugeFor(TopicPartition partition) {
+        return lagByPartition.computeIfAbsent(partition, key -> {
+            AtomicLong lag = new AtomicLong();
+            Gauge.builder("kafka.consumer.group.lag", lag, AtomicLong::get)
+                    .description("Records the consumer group has not committed yet")
+                    .baseUnit("records")
+                    .tag("group", groupId)
+                    .tag("topic", key.topic())
+                    .tag("partition", String.valueOf(key.partition()))
+                    .register(registry);
+            return lag;
+        });
+    }
+}
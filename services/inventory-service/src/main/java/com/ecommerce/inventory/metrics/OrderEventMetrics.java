@@ -0,0 +1,79 @@
+package com.ecommerce.inventory.metrics;
+
+import com.ecommerce.events.OrderCreatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency histograms for order created event processing.
+ *
+ * - inventory.order.event.latency: from order-service publishing the event to
+ *   the last item's stock update. Measured against the producer's wall clock,
+ *   so it includes any clock skew between the two hosts.
+ * - inventory.order.item.processing: time spent applying one item, tagged by outcome.
+ */
+@Component
+public class OrderEventMetrics {
+
+    private final Timer endToEndLatency;
+    private final Timer itemSuccess;
+    private final Timer itemFailure;
+
+    @Autowired
+    public OrderEventMetrics(MeterRegistry registry) {
+        this.endToEndLatency = Timer.builder("inventory.order.event.latency")
+                .description("Time from order created event publish to stock update")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(5))
+                .register(registry);
+        this.itemSuccess = itemTimer(registry, "success");
+        this.itemFailure = itemTimer(registry, "failure");
+    }
+
+    /**
+     * Run the stock update for one item and record how long it took.
+     */
+    public <T> T recordItem(Supplier<T> work) {
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = work.get();
+        } catch (RuntimeException e) {
+            itemFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        itemSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /**
+     * Record the end-to-end latency of an event whose items are all done.
+     * Events published before the timestamp was added are skipped.
+     */
+    public void recordProcessed(OrderCreatedEvent event) {
+        if (event.publishedAt() == null) {
+            return;
+        }
+        long latency = Math.max(0, System.currentTimeMillis() - event.publishedAt());
+        endToEndLatency.record(latency, TimeUnit.MILLISECONDS);
+    }
+
+    private static Timer itemTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("inventory.order.item.processing")
+                .description("Time spent applying the stock change for one order item")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+    }
+}
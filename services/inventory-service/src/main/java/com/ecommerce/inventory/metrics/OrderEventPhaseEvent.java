@@ -0,0 +1,76 @@
+package com.ecommerce.inventory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+/**
+ * JDK Flight Recorder event for one phase of handling an order created event:
+ * the whole record, the stock update of each item, and publishing the
+ * inventory result. Each item's transaction flushes inside its processItem
+ * phase, as a com.ecommerce.HibernateFlush event on the same thread.
+ *
+ * Only recorded while a recording is running (see the flightrecording
+ * actuator endpoint); otherwise the fields are never filled in.
+ */
+@Name("com.ecommerce.inventory.OrderEventPhase")
+@Label("Order Event Phase")
+@Category({"E-Commerce", "Inventory Service"})
+@Description("A phase of handling an order created event")
+@StackTrace(false)
+public class OrderEventPhaseEvent extends Event {
+
+    public static final String CONSUME = "consumeOrderCreatedEvent";
+    public static final String PROCESS_ITEM = "processItem";
+    public static final String PUBLISH_RESULT = "publishResult";
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Order Id")
+    String orderId;
+
+    @Label("Items")
+    int itemCount;
+
+    @Label("Product Id")
+    @Description("The item's product, processItem phases only")
+    String productId;
+
+    @Label("Succeeded")
+    @Description("Whether the stock could be updated, processItem phases only")
+    boolean succeeded;
+
+    /**
+     * Starts timing a phase
+     */
+    public static OrderEventPhaseEvent start(String phase) {
+        OrderEventPhaseEvent event = new OrderEventPhaseEvent();
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the phase and records it if a recording wants it
+     */
+    public void finish(UUID orderId, int itemCount) {
+        finish(orderId, itemCount, null, true);
+    }
+
+    public void finish(UUID orderId, int itemCount, UUID productId, boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.orderId = orderId != null ? orderId.toString() : null;
+            this.itemCount = itemCount;
+            this.productId = productId != null ? productId.toString() : null;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
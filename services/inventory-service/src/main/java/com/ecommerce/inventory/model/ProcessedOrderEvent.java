@@ -0,0 +1,76 @@
+package com.ecommerce.inventory.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Order created event whose stock changes have been applied, with the result
+ * that was emitted for it. Written in the same transaction as the stock
+ * updates, so a redelivered event is recognised and only its result is sent again.
+ */
+@Entity
+@Table(name = "processed_order_events")
+public class ProcessedOrderEvent {
+
+    @Id
+    @Column(name = "order_id")
+    private UUID orderId;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(length = 500)
+    private String reason;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        processedAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public ProcessedOrderEvent() {
+    }
+
+    public ProcessedOrderEvent(UUID orderId, String status, String reason) {
+        this.orderId = orderId;
+        this.status = status;
+        this.reason = reason;
+    }
+
+    // Getters and Setters
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(UUID orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+}
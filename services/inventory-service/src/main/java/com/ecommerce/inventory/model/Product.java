@@ -6,6 +6,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(ProductStockListener.class)
 @Table(name = "products")
 public class Product {
 
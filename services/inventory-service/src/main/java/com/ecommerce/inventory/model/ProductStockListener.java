@@ -0,0 +1,46 @@
+package com.ecommerce.inventory.model;
+
+import com.ecommerce.inventory.service.StockChangeListener;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener reporting every product insert, update and delete to the
+ * StockChangeListener, once the surrounding transaction has committed.
+ *
+ * Bulk UPDATEs (ProductRepository.adjustStock) bypass entity listeners. They only
+ * write back changes the reservation engine or the stock ledger already reported
+ * when they were made in memory.
+ */
+public class ProductStockListener {
+
+    private final ObjectProvider<StockChangeListener> stockChangeListener;
+
+    public ProductStockListener(ObjectProvider<StockChangeListener> stockChangeListener) {
+        this.stockChangeListener = stockChangeListener;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(Product product) {
+        StockChangeListener listener = stockChangeListener.getIfAvailable();
+        if (listener == null || product.getId() == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    listener.stockChanged(product.getId());
+                }
+            });
+        } else {
+            listener.stockChanged(product.getId());
+        }
+    }
+}
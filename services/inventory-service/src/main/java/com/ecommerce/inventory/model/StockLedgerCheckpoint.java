@@ -0,0 +1,64 @@
+package com.ecommerce.inventory.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Offset in the stock delta log up to which changes have been applied to the
+ * products table. Written in the same transaction as the stock updates, so a
+ * replay after a crash never applies a change twice.
+ */
+@Entity
+@Table(name = "stock_ledger_checkpoints")
+public class StockLedgerCheckpoint {
+
+    @Id
+    @Column(length = 50)
+    private String id;
+
+    @Column(name = "applied_offset", nullable = false)
+    private Long appliedOffset;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public StockLedgerCheckpoint() {
+    }
+
+    public StockLedgerCheckpoint(String id, Long appliedOffset) {
+        this.id = id;
+        this.appliedOffset = appliedOffset;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getAppliedOffset() {
+        return appliedOffset;
+    }
+
+    public void setAppliedOffset(Long appliedOffset) {
+        this.appliedOffset = appliedOffset;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -3,6 +3,8 @@ package com.ecommerce.inventory.repository;
 import com.ecommerce.inventory.model.Inventory;
 import com.ecommerce.inventory.model.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,7 +16,17 @@ public interface InventoryRepository extends JpaRepository<Inventory, UUID> {
 
     List<Inventory> findByProduct(Product product);
 
-    List<Inventory> findByLocation(String location);
+    /**
+     * Every inventory row with its product, in one query instead of one per product
+     */
+    @Query("SELECT i FROM Inventory i JOIN FETCH i.product")
+    List<Inventory> findAllWithProduct();
+
+    /**
+     * Inventory rows at a location with their products, in one query
+     */
+    @Query("SELECT i FROM Inventory i JOIN FETCH i.product WHERE i.location = :location")
+    List<Inventory> findByLocation(@Param("location") String location);
 
     Optional<Inventory> findByProductAndLocation(Product product, String location);
 }
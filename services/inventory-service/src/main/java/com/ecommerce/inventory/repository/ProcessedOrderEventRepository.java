@@ -0,0 +1,11 @@
+package com.ecommerce.inventory.repository;
+
+import com.ecommerce.inventory.model.ProcessedOrderEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ProcessedOrderEventRepository extends JpaRepository<ProcessedOrderEvent, UUID> {
+}
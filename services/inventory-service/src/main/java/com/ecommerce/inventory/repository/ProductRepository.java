@@ -1,9 +1,17 @@
 package com.ecommerce.inventory.repository;
 
 import com.ecommerce.inventory.model.Product;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,4 +21,24 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
     List<Product> findByNameContainingIgnoreCase(String name);
 
     List<Product> findByStockQuantityLessThan(Integer quantity);
+
+    /**
+     * Applies a relative stock change in a single UPDATE instead of a
+     * read-modify-write of the whole row.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :delta, p.updatedAt = :now WHERE p.id = :id")
+    int adjustStock(@Param("id") UUID id, @Param("delta") int delta, @Param("now") LocalDateTime now);
+
+    /**
+     * Loads and row-locks the given products until the transaction ends.
+     * Ordered by id so concurrent callers lock in the same order and cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT p.id FROM Product p")
+    List<UUID> findAllIds();
 }
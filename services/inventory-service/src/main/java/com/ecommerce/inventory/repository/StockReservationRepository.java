@@ -0,0 +1,30 @@
+package com.ecommerce.inventory.repository;
+
+import com.ecommerce.inventory.model.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
+
+    List<StockReservation> findByStatus(StockReservation.ReservationStatus status);
+
+    /**
+     * Moves a batch of reservations to a terminal status in one statement.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE StockReservation r SET r.status = :status, r.updatedAt = :now WHERE r.id IN :ids")
+    int updateStatus(@Param("ids") Collection<UUID> ids,
+                     @Param("status") StockReservation.ReservationStatus status,
+                     @Param("now") LocalDateTime now);
+}
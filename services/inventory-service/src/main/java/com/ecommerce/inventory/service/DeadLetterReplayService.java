@@ -0,0 +1,145 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.config.KafkaConsumerConfig;
+import com.ecommerce.inventory.dto.DeadLetterReplayResponse;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-publishes dead-lettered order created events to the main topic.
+ *
+ * Records are read as raw bytes with a dedicated consumer group, so each dead
+ * letter is replayed once; its offset is committed only after the re-publish
+ * has been acknowledged by the broker. Failure headers added on the way to the
+ * dead-letter topic are dropped, the original key, value and headers are kept.
+ */
+@Service
+public class DeadLetterReplayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterReplayService.class);
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+
+    private final ConsumerFactory<?, ?> consumerFactory;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String orderCreatedTopic;
+    private final String replayGroupId;
+
+    @Autowired
+    public DeadLetterReplayService(ConsumerFactory<?, ?> consumerFactory,
+                                   KafkaTemplate<String, Object> kafkaTemplate,
+                                   @Value("${kafka.topic.order-created}") String orderCreatedTopic,
+                                   @Value("${spring.kafka.consumer.group-id}") String groupId) {
+        this.consumerFactory = consumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.orderCreatedTopic = orderCreatedTopic;
+        this.replayGroupId = groupId + "-dlt-replay";
+    }
+
+    /**
+     * Replay up to limit records that have not been replayed yet.
+     */
+    public synchronized DeadLetterReplayResponse replay(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        String deadLetterTopic = orderCreatedTopic + KafkaConsumerConfig.DLT_SUFFIX;
+        int replayed = 0;
+
+        try (Consumer<byte[], byte[]> consumer = createConsumer(limit)) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(deadLetterTopic);
+            if (partitions == null || partitions.isEmpty()) {
+                return new DeadLetterReplayResponse(deadLetterTopic, orderCreatedTopic, 0);
+            }
+            consumer.assign(partitions.stream()
+                    .map(partition -> new TopicPartition(partition.topic(), partition.partition()))
+                    .toList());
+
+            while (replayed < limit) {
+                ConsumerRecords<byte[], byte[]> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    break;
+                }
+                List<CompletableFuture<?>> sends = new ArrayList<>();
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                for (ConsumerRecord<byte[], byte[]> record : records) {
+                    if (replayed == limit) {
+                        break;
+                    }
+                    sends.add(kafkaTemplate.send(toReplay(record)));
+                    offsets.put(new TopicPartition(record.topic(), record.partition()),
+                            new OffsetAndMetadata(record.offset() + 1));
+                    replayed++;
+                }
+                awaitSends(sends);
+                consumer.commitSync(offsets);
+            }
+        }
+
+        logger.info("Replayed {} dead-lettered records from {} to {}", replayed, deadLetterTopic, orderCreatedTopic);
+        return new DeadLetterReplayResponse(deadLetterTopic, orderCreatedTopic, replayed);
+    }
+
+    // ======================== HELPER METHODS ========================
+
+    @SuppressWarnings("unchecked")
+    private Consumer<byte[], byte[]> createConsumer(int limit) {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        overrides.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(limit));
+        return (Consumer<byte[], byte[]>) consumerFactory.createConsumer(replayGroupId, null, "-dlt-replay", overrides);
+    }
+
+    private ProducerRecord<String, Object> toReplay(ConsumerRecord<byte[], byte[]> record) {
+        RecordHeaders headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (!header.key().startsWith("kafka_dlt-") && !header.key().startsWith("retry_topic-")) {
+                headers.add(header);
+            }
+        }
+        String key = record.key() != null ? new String(record.key(), StandardCharsets.UTF_8) : null;
+        return new ProducerRecord<>(orderCreatedTopic, null, key, record.value(), headers);
+    }
+
+    private void awaitSends(List<CompletableFuture<?>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture<?>[0]))
+                    .get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while replaying dead letters", e);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to replay dead letters to " + orderCreatedTopic, e);
+        }
+    }
+}
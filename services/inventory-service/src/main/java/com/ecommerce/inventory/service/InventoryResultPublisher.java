@@ -0,0 +1,86 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.events.InventoryResultEvent;
+import com.ecommerce.events.OrderCreatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the allocation outcome of an order for the serial and parallel
+ * consumers, so order-service can confirm or cancel it.
+ *
+ * The consumers give back the stock taken for a rejected order's other items
+ * before its result is published, so a rejected order holds no stock. These
+ * modes are at-least-once: a redelivered event publishes its result again.
+ * The transactional consumer publishes its own, all-or-nothing results.
+ *
+ * A result counts as published once the broker acknowledged it, within the
+ * send timeout. A consumer whose result fails gives back the stock the order
+ * took and fails the record, so it is retried or dead-lettered instead of
+ * leaving the order pending.
+ */
+@Service
+public class InventoryResultPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryResultPublisher.class);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String inventoryResultTopic;
+    private final long sendTimeoutMillis;
+
+    @Autowired
+    public InventoryResultPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                                    @Value("${kafka.topic.inventory-result}") String inventoryResultTopic,
+                                    @Value("${inventory.result.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.inventoryResultTopic = inventoryResultTopic;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+    }
+
+    /**
+     * Publish the result and wait until the broker acknowledged it.
+     *
+     * @param unavailableProducts products whose full quantity could not be allocated
+     * @throws KafkaException if the result was not acknowledged within the send timeout
+     */
+    public void publish(OrderCreatedEvent event, List<UUID> unavailableProducts) {
+        try {
+            publishAsync(event, unavailableProducts).join();
+        } catch (CompletionException e) {
+            throw new KafkaException("Failed to publish inventory result for order: " + event.orderId(), e.getCause());
+        }
+    }
+
+    /**
+     * Publish the result without blocking the calling thread.
+     *
+     * @param unavailableProducts products whose full quantity could not be allocated
+     * @return a future completed once the broker acknowledged the result, or
+     *         failed if it did not within the send timeout
+     */
+    public CompletableFuture<Void> publishAsync(OrderCreatedEvent event, List<UUID> unavailableProducts) {
+        InventoryResultEvent result = unavailableProducts.isEmpty()
+                ? InventoryResultEvent.reserved(event.orderId(), event.orderNumber())
+                : InventoryResultEvent.rejected(event.orderId(), event.orderNumber(),
+                        "Insufficient stock for products: " + unavailableProducts);
+
+        return kafkaTemplate.send(inventoryResultTopic, event.orderId().toString(), result)
+                .orTimeout(sendTimeoutMillis, TimeUnit.MILLISECONDS)
+                .thenAccept(sendResult -> {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Published inventory result {} for order: {}", result.status(), event.orderId());
+                    }
+                });
+    }
+}
@@ -11,6 +11,9 @@ public interface InventoryService {
     // Product operations
     Product createProduct(Product product);
     Product getProductById(UUID id);
+    // Never shares a concurrent caller's query: for reads that are modified and written back,
+    // or attached to another entity
+    Product getLatestProduct(UUID id);
     List<Product> getAllProducts();
     Product updateProduct(UUID id, Product product);
     void deleteProduct(UUID id);
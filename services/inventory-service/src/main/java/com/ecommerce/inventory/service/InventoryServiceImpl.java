@@ -1,27 +1,42 @@
 package com.ecommerce.inventory.service;
 
+import com.ecommerce.coalescing.SingleFlight;
 import com.ecommerce.inventory.model.Inventory;
 import com.ecommerce.inventory.model.Product;
 import com.ecommerce.inventory.repository.InventoryRepository;
 import com.ecommerce.inventory.repository.ProductRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.UUID;
 
 @Service
 @Transactional
+@Observed(name = "inventory.service")
 public class InventoryServiceImpl implements InventoryService {
 
     private final ProductRepository productRepository;
     private final InventoryRepository inventoryRepository;
+    private final SingleFlight<UUID, Product> productLookups;
+    private final TransactionTemplate transactionTemplate;
+    private final StockReservationService stockReservationService;
 
     @Autowired
-    public InventoryServiceImpl(ProductRepository productRepository, InventoryRepository inventoryRepository) {
+    public InventoryServiceImpl(ProductRepository productRepository, InventoryRepository inventoryRepository,
+                                SingleFlight<UUID, Product> productLookups, TransactionTemplate transactionTemplate,
+                                @Nullable StockReservationService stockReservationService) {
         this.productRepository = productRepository;
         this.inventoryRepository = inventoryRepository;
+        this.productLookups = productLookups;
+        this.transactionTemplate = transactionTemplate;
+        this.stockReservationService = stockReservationService;
     }
 
     // Product operations
@@ -30,13 +45,32 @@ public class InventoryServiceImpl implements InventoryService {
         return productRepository.save(product);
     }
 
+    // Concurrent callers outside a transaction share one query and one detached instance;
+    // the query runs in a transaction of the caller that started it, so waiting callers hold
+    // no connection. Inside a transaction (updateProduct, deleteProduct) the product is
+    // loaded into it as before.
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Product getProductById(UUID id) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return findProduct(id);
+        }
+        return productLookups.execute(id, () -> transactionTemplate.execute(status -> findProduct(id)));
+    }
+
+    // Not read-only: stock updates read-modify-write through it and must never see a replica
+    @Override
+    public Product getLatestProduct(UUID id) {
+        return findProduct(id);
+    }
+
+    private Product findProduct(UUID id) {
         return productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
@@ -44,25 +78,36 @@ public class InventoryServiceImpl implements InventoryService {
     @Override
     public Product updateProduct(UUID id, Product product) {
         Product existingProduct = getProductById(id);
+        int stockChange = product.getStockQuantity() - existingProduct.getStockQuantity();
         existingProduct.setName(product.getName());
         existingProduct.setDescription(product.getDescription());
         existingProduct.setPrice(product.getPrice());
         existingProduct.setStockQuantity(product.getStockQuantity());
-        return productRepository.save(existingProduct);
+        Product savedProduct = productRepository.save(existingProduct);
+        // Keep the reservation engine's in-memory stock in line with the stored quantity
+        if (stockChange != 0 && stockReservationService != null) {
+            stockReservationService.applyStockChange(id, stockChange);
+        }
+        return savedProduct;
     }
 
     @Override
     public void deleteProduct(UUID id) {
         Product product = getProductById(id);
         productRepository.delete(product);
+        if (stockReservationService != null) {
+            stockReservationService.evictProduct(id);
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Product> searchProductsByName(String name) {
         return productRepository.findByNameContainingIgnoreCase(name);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Product> getLowStockProducts(Integer threshold) {
         return productRepository.findByStockQuantityLessThan(threshold);
     }
@@ -80,8 +125,9 @@ public class InventoryServiceImpl implements InventoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Inventory> getAllInventory() {
-        return inventoryRepository.findAll();
+        return inventoryRepository.findAllWithProduct();
     }
 
     @Override
@@ -99,6 +145,7 @@ public class InventoryServiceImpl implements InventoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Inventory> getInventoryByLocation(String location) {
         return inventoryRepository.findByLocation(location);
     }
@@ -1,64 +1,143 @@
 package com.ecommerce.inventory.service;
 
-import com.ecommerce.inventory.event.OrderCreatedEvent;
-import com.ecommerce.inventory.model.Product;
+import com.ecommerce.inventory.config.KafkaConsumerConfig;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.inventory.metrics.OrderEventMetrics;
+import com.ecommerce.inventory.metrics.OrderEventPhaseEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
 /**
  * Service for consuming events from Kafka
+ *
+ * Serial mode: the listener thread processes every item of a record before
+ * polling the next one. See ParallelOrderEventConsumer for the parallel mode.
+ *
+ * If an item cannot be served, or processing or publishing the result fails,
+ * the stock already taken for the order's other items is given back, so a
+ * rejected order holds no stock and a retried record starts from scratch.
+ *
+ * A record that fails is forwarded to a retry topic and retried there with
+ * exponential back-off, so the main topic keeps flowing. After the last attempt
+ * it lands on the dead-letter topic, from where it can be replayed.
  */
 @Service
+@ConditionalOnProperty(name = "inventory.consumer.mode", havingValue = "serial", matchIfMissing = true)
 public class KafkaConsumerService {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaConsumerService.class);
 
-    private final InventoryService inventoryService;
+    private final OrderEventProcessor orderEventProcessor;
+    private final OrderEventMetrics orderEventMetrics;
+    private final InventoryResultPublisher inventoryResultPublisher;
 
     @Autowired
-    public KafkaConsumerService(InventoryService inventoryService) {
-        this.inventoryService = inventoryService;
+    public KafkaConsumerService(OrderEventProcessor orderEventProcessor,
+                                OrderEventMetrics orderEventMetrics,
+                                InventoryResultPublisher inventoryResultPublisher) {
+        this.orderEventProcessor = orderEventProcessor;
+        this.orderEventMetrics = orderEventMetrics;
+        this.inventoryResultPublisher = inventoryResultPublisher;
     }
 
     /**
      * Listen for order created events and update inventory
      */
+    @RetryableTopic(
+            attempts = "${inventory.consumer.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${inventory.consumer.retry.initial-delay-ms:1000}",
+                    multiplierExpression = "${inventory.consumer.retry.multiplier:2.0}",
+                    maxDelayExpression = "${inventory.consumer.retry.max-delay-ms:30000}"),
+            dltTopicSuffix = KafkaConsumerConfig.DLT_SUFFIX)
     @KafkaListener(topics = "${kafka.topic.order-created}", groupId = "${spring.kafka.consumer.group-id}")
     public void consumeOrderCreatedEvent(OrderCreatedEvent event) {
-        logger.info("Received order created event: Order ID = {}, Order Number = {}",
-                event.getOrderId(), event.getOrderNumber());
-
-        // Process each item in the order
-        for (OrderCreatedEvent.OrderItemEvent item : event.getOrderItems()) {
-            // Get the product
-            Product product = inventoryService.getProductById(item.getProductId());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Received order created event: Order ID = {}, Order Number = {}",
+                    event.orderId(), event.orderNumber());
+        }
 
-            // Calculate new stock quantity
-            int currentStock = product.getStockQuantity();
-            int newStock = currentStock - item.getQuantity();
+        // Phases are JFR events (see OrderEventPhaseEvent), recorded only during a recording
+        OrderEventPhaseEvent consumeEvent = OrderEventPhaseEvent.start(OrderEventPhaseEvent.CONSUME);
+        int itemCount = event.orderItems().size();
 
-            if (newStock < 0) {
-                logger.warn("Insufficient stock for product {}: requested = {}, available = {}",
-                        item.getProductId(), item.getQuantity(), currentStock);
-                // In a real system, you might want to:
-                // 1. Send a notification
-                // 2. Cancel the order
-                // 3. Put it in a pending state
-                // For now, we'll just set it to 0
-                newStock = 0;
+        // Process each item in the order
+        List<UUID> unavailableProducts = new ArrayList<>();
+        List<OrderCreatedEvent.OrderItemEvent> takenItems = new ArrayList<>();
+        try {
+            for (OrderCreatedEvent.OrderItemEvent item : event.orderItems()) {
+                OrderEventPhaseEvent itemEvent = OrderEventPhaseEvent.start(OrderEventPhaseEvent.PROCESS_ITEM);
+                boolean processed = orderEventProcessor.processItem(event, item);
+                itemEvent.finish(event.orderId(), itemCount, item.productId(), processed);
+                if (processed) {
+                    takenItems.add(item);
+                } else {
+                    unavailableProducts.add(item.productId());
+                }
+            }
+            if (!unavailableProducts.isEmpty()) {
+                returnItems(event, takenItems);
             }
+            orderEventMetrics.recordProcessed(event);
+            OrderEventPhaseEvent publishEvent = OrderEventPhaseEvent.start(OrderEventPhaseEvent.PUBLISH_RESULT);
+            inventoryResultPublisher.publish(event, unavailableProducts);
+            publishEvent.finish(event.orderId(), itemCount);
+        } catch (RuntimeException e) {
+            returnItems(event, takenItems);
+            throw e;
+        }
+        consumeEvent.finish(event.orderId(), itemCount);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Successfully processed order created event for order: {}", event.orderId());
+        }
+    }
 
-            // Update product stock
-            product.setStockQuantity(newStock);
-            inventoryService.updateProduct(item.getProductId(), product);
+    /**
+     * Records that failed every attempt. They stay on the dead-letter topic
+     * until replayed through the admin endpoint.
+     */
+    @DltHandler
+    public void handleDeadLetter(ConsumerRecord<String, OrderCreatedEvent> record) {
+        logger.error("Order created event dead-lettered at {}-{}@{}: key = {}, original topic = {}, exception = {}: {}",
+                record.topic(),
+                record.partition(),
+                record.offset(),
+                record.key(),
+                header(record, KafkaHeaders.DLT_ORIGINAL_TOPIC),
+                header(record, KafkaHeaders.DLT_EXCEPTION_FQCN),
+                header(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE));
+    }
 
-            logger.info("Updated stock for product {}: {} -> {} (decreased by {})",
-                    item.getProductId(), currentStock, newStock, item.getQuantity());
+    /**
+     * Give back the stock of the given items, removing each from the list once
+     * returned so it is never returned twice.
+     */
+    private void returnItems(OrderCreatedEvent event, List<OrderCreatedEvent.OrderItemEvent> items) {
+        for (Iterator<OrderCreatedEvent.OrderItemEvent> taken = items.iterator(); taken.hasNext(); ) {
+            orderEventProcessor.returnItem(event, taken.next());
+            taken.remove();
         }
+    }
 
-        logger.info("Successfully processed order created event for order: {}", event.getOrderId());
+    private static String header(ConsumerRecord<?, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
     }
 }
@@ -0,0 +1,146 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.inventory.metrics.OrderEventMetrics;
+import com.ecommerce.inventory.model.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Applies the stock change for one item of an order created event, and gives
+ * it back when the order is rejected because of another item.
+ *
+ * Shared by the serial and the parallel consumer. Items of the same product
+ * must not be processed concurrently: the legacy path is a read-modify-write
+ * of the product row.
+ */
+@Service
+public class OrderEventProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderEventProcessor.class);
+
+    private final InventoryService inventoryService;
+    private final StockReservationService stockReservationService;
+    private final StockLedger stockLedger;
+    private final StockChangeListener stockChangeListener;
+    private final OrderEventMetrics orderEventMetrics;
+
+    @Autowired
+    public OrderEventProcessor(InventoryService inventoryService,
+                               @Nullable StockReservationService stockReservationService,
+                               @Nullable StockLedger stockLedger,
+                               @Nullable StockChangeListener stockChangeListener,
+                               OrderEventMetrics orderEventMetrics) {
+        this.inventoryService = inventoryService;
+        this.stockReservationService = stockReservationService;
+        this.stockLedger = stockLedger;
+        this.stockChangeListener = stockChangeListener;
+        this.orderEventMetrics = orderEventMetrics;
+    }
+
+    /**
+     * @return true if the full quantity of the item was available
+     */
+    public boolean processItem(OrderCreatedEvent event, OrderCreatedEvent.OrderItemEvent item) {
+        return orderEventMetrics.recordItem(() -> applyItem(event, item));
+    }
+
+    /**
+     * Give back the stock processItem took for an item. Only called for items
+     * processItem returned true for.
+     */
+    public void returnItem(OrderCreatedEvent event, OrderCreatedEvent.OrderItemEvent item) {
+        if (stockReservationService != null) {
+            stockReservationService.returnStock(item.productId(), item.quantity());
+        } else if (stockLedger != null) {
+            stockLedger.record(item.productId(), item.quantity());
+            if (stockChangeListener != null) {
+                stockChangeListener.stockChanged(item.productId());
+            }
+        } else {
+            Product product = inventoryService.getLatestProduct(item.productId());
+            product.setStockQuantity(product.getStockQuantity() + item.quantity());
+            inventoryService.updateProduct(item.productId(), product);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Returned {} units of product {} for rejected order {}",
+                    item.quantity(), item.productId(), event.orderId());
+        }
+    }
+
+    private boolean applyItem(OrderCreatedEvent event, OrderCreatedEvent.OrderItemEvent item) {
+        if (stockReservationService != null) {
+            return confirmReservation(event, item);
+        } else if (stockLedger != null) {
+            // The ledger does not know the current stock, the change is always accepted
+            stockLedger.record(item.productId(), -item.quantity());
+            if (stockChangeListener != null) {
+                stockChangeListener.stockChanged(item.productId());
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("Recorded stock change for product {}: -{}", item.productId(), item.quantity());
+            }
+            return true;
+        } else {
+            return decrementStock(item);
+        }
+    }
+
+    /**
+     * Confirm the hold placed for this order item under the order's reservation
+     * reference (or take the stock directly if none was placed). Never drives
+     * stock below zero.
+     */
+    private boolean confirmReservation(OrderCreatedEvent event, OrderCreatedEvent.OrderItemEvent item) {
+        // Orders placed without reserving carry no reference; their order id matches no hold
+        UUID referenceId = event.reservationId() != null ? event.reservationId() : event.orderId();
+        boolean confirmed = stockReservationService.confirm(referenceId, item.productId(), item.quantity());
+
+        if (confirmed) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Confirmed {} units of product {} for order {}",
+                        item.quantity(), item.productId(), event.orderId());
+            }
+        } else {
+            logger.warn("Insufficient stock for product {}: requested = {}, available = {}",
+                    item.productId(), item.quantity(),
+                    stockReservationService.getAvailableStock(item.productId()));
+        }
+        return confirmed;
+    }
+
+    /**
+     * Legacy path: read-modify-write of the product row. An item that does not
+     * fit leaves the stock unchanged.
+     */
+    private boolean decrementStock(OrderCreatedEvent.OrderItemEvent item) {
+        // Get the product, read after this worker's previous update of it
+        Product product = inventoryService.getLatestProduct(item.productId());
+
+        // Calculate new stock quantity
+        int currentStock = product.getStockQuantity();
+        int newStock = currentStock - item.quantity();
+
+        if (newStock < 0) {
+            // The order is rejected, so none of its stock is taken
+            logger.warn("Insufficient stock for product {}: requested = {}, available = {}",
+                    item.productId(), item.quantity(), currentStock);
+            return false;
+        }
+
+        // Update product stock
+        product.setStockQuantity(newStock);
+        inventoryService.updateProduct(item.productId(), product);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Updated stock for product {}: {} -> {} (decreased by {})",
+                    item.productId(), currentStock, newStock, item.quantity());
+        }
+        return true;
+    }
+}
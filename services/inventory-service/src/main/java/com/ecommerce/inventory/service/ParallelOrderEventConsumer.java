@@ -0,0 +1,214 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.config.KafkaConsumerConfig;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.inventory.metrics.OrderEventMetrics;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parallel consumer for order created events.
+ *
+ * Each item is handed to one of a fixed set of single-threaded workers chosen
+ * by product id, so updates to the same product are applied in the order they
+ * were consumed while different products proceed in parallel. The record is
+ * acknowledged once all of its items are done; the container commits offsets
+ * only up to the first record that is still in progress. A record with a failed
+ * item is published to the dead-letter topic before it is acknowledged.
+ *
+ * If an item cannot be served, or one fails, the stock taken for the record's
+ * other items is given back on their workers before the result is published
+ * or the record dead-lettered. A record whose result cannot be published is
+ * dead-lettered too, after giving back the stock it took.
+ *
+ * At most max-in-flight records are outstanding at a time; beyond that the
+ * listener thread waits for a worker to finish before taking the next record.
+ *
+ * Items carry the listener's observation to their worker, so their statements
+ * show up in the record's trace.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.consumer.mode", havingValue = "parallel")
+public class ParallelOrderEventConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelOrderEventConsumer.class);
+
+    private final OrderEventProcessor orderEventProcessor;
+    private final OrderEventMetrics orderEventMetrics;
+    private final DeadLetterPublishingRecoverer deadLetterRecoverer;
+    private final InventoryResultPublisher inventoryResultPublisher;
+    private final ExecutorService[] workers;
+    private final Semaphore inFlight;
+
+    @Autowired
+    public ParallelOrderEventConsumer(OrderEventProcessor orderEventProcessor,
+                                      OrderEventMetrics orderEventMetrics,
+                                      DeadLetterPublishingRecoverer deadLetterRecoverer,
+                                      InventoryResultPublisher inventoryResultPublisher,
+                                      @Value("${inventory.consumer.parallel.workers:16}") int workerCount,
+                                      @Value("${inventory.consumer.parallel.max-in-flight:1000}") int maxInFlight) {
+        this.orderEventProcessor = orderEventProcessor;
+        this.orderEventMetrics = orderEventMetrics;
+        this.deadLetterRecoverer = deadLetterRecoverer;
+        this.inventoryResultPublisher = inventoryResultPublisher;
+        this.workers = new ExecutorService[workerCount];
+        ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+        for (int i = 0; i < workerCount; i++) {
+            String name = "order-event-worker-" + i;
+            workers[i] = ContextExecutorService.wrap(Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }), snapshots::captureAll);
+        }
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Listen for order created events and fan their items out to the workers
+     */
+    @KafkaListener(topics = "${kafka.topic.order-created}", groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = KafkaConsumerConfig.PARALLEL_CONTAINER_FACTORY)
+    public void consumeOrderCreatedEvent(ConsumerRecord<String, OrderCreatedEvent> record,
+                                         Acknowledgment acknowledgment) throws InterruptedException {
+        OrderCreatedEvent event = record.value();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Received order created event: Order ID = {}, Order Number = {}",
+                    event.orderId(), event.orderNumber());
+        }
+
+        dispatch(event).thenCompose(unavailableProducts -> publishResult(event, unavailableProducts))
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        logger.error("Failed to process order created event for order: {}", event.orderId(), cause);
+                        deadLetter(record, cause);
+                    } else if (logger.isDebugEnabled()) {
+                        logger.debug("Successfully processed order created event for order: {}", event.orderId());
+                    }
+                    acknowledgment.acknowledge();
+                });
+    }
+
+    /**
+     * Publish the result without blocking a worker. If it fails, the stock of a
+     * reserved order is given back first, so the dead-lettered record starts
+     * from scratch when replayed; a rejected order has already given its back.
+     */
+    private CompletableFuture<Void> publishResult(OrderCreatedEvent event, List<UUID> unavailableProducts) {
+        orderEventMetrics.recordProcessed(event);
+        CompletableFuture<Void> published;
+        try {
+            published = inventoryResultPublisher.publishAsync(event, unavailableProducts);
+        } catch (RuntimeException e) {
+            published = CompletableFuture.failedFuture(e);
+        }
+        return published.handle((ignored, error) -> error).thenCompose(error -> {
+            if (error == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            List<OrderCreatedEvent.OrderItemEvent> takenItems = unavailableProducts.isEmpty()
+                    ? event.orderItems() : List.of();
+            return returnItems(event, takenItems).thenRun(() -> {
+                throw error instanceof CompletionException e ? e : new CompletionException(error);
+            });
+        });
+    }
+
+    /**
+     * Submit every item of the event to its product's worker.
+     *
+     * @return a future completed once all items are done, with the products
+     *         whose full quantity was not available
+     */
+    @SuppressWarnings("unchecked")
+    CompletableFuture<List<UUID>> dispatch(OrderCreatedEvent event) throws InterruptedException {
+        inFlight.acquire();
+        List<OrderCreatedEvent.OrderItemEvent> items = event.orderItems();
+        CompletableFuture<Boolean>[] futures = new CompletableFuture[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            OrderCreatedEvent.OrderItemEvent item = items.get(i);
+            futures[i] = CompletableFuture.supplyAsync(
+                    () -> orderEventProcessor.processItem(event, item), workerFor(item.productId()));
+        }
+        CompletableFuture<List<UUID>> done = CompletableFuture.allOf(futures)
+                .handle((ignored, error) -> error)
+                .thenCompose(error -> {
+                    List<UUID> unavailableProducts = new ArrayList<>();
+                    List<OrderCreatedEvent.OrderItemEvent> takenItems = new ArrayList<>();
+                    for (int i = 0; i < futures.length; i++) {
+                        if (futures[i].isCompletedExceptionally()) {
+                            continue;
+                        }
+                        if (futures[i].join()) {
+                            takenItems.add(items.get(i));
+                        } else {
+                            unavailableProducts.add(items.get(i).productId());
+                        }
+                    }
+                    if (error == null && unavailableProducts.isEmpty()) {
+                        return CompletableFuture.completedFuture(unavailableProducts);
+                    }
+                    return returnItems(event, takenItems).thenApply(returned -> {
+                        if (error != null) {
+                            throw error instanceof CompletionException e ? e : new CompletionException(error);
+                        }
+                        return unavailableProducts;
+                    });
+                });
+        done.whenComplete((ignored, error) -> inFlight.release());
+        return done;
+    }
+
+    private CompletableFuture<Void> returnItems(OrderCreatedEvent event, List<OrderCreatedEvent.OrderItemEvent> items) {
+        return CompletableFuture.allOf(items.stream()
+                .map(item -> CompletableFuture.runAsync(
+                        () -> orderEventProcessor.returnItem(event, item), workerFor(item.productId())))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+        for (ExecutorService worker : workers) {
+            worker.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void deadLetter(ConsumerRecord<String, OrderCreatedEvent> record, Throwable cause) {
+        try {
+            deadLetterRecoverer.accept(record, cause instanceof Exception e ? e : new RuntimeException(cause));
+        } catch (Exception e) {
+            logger.error("Failed to dead-letter order created event at {}-{}@{}",
+                    record.topic(), record.partition(), record.offset(), e);
+        }
+    }
+
+    private ExecutorService workerFor(UUID productId) {
+        return workers[Math.floorMod(productId.hashCode(), workers.length)];
+    }
+}
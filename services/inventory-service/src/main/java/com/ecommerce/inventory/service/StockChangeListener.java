@@ -0,0 +1,12 @@
+package com.ecommerce.inventory.service;
+
+import java.util.UUID;
+
+/**
+ * Told whenever the stock that can be ordered for a product may have changed.
+ * Called on hot paths, so implementations must only record the product id.
+ */
+public interface StockChangeListener {
+
+    void stockChanged(UUID productId);
+}
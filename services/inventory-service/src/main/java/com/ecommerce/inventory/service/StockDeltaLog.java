@@ -0,0 +1,254 @@
+package com.ecommerce.inventory.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of stock deltas backing the write-behind ledger.
+ *
+ * Records are fixed size (product id, delta, CRC32) and addressed by a global
+ * byte offset. The log is split into segment files named after the offset of
+ * their first record; segments that are fully applied are deleted.
+ *
+ * Appends are serialized, sync() is a group commit: one caller forces the file
+ * while the others wait, and everyone whose record was written before the
+ * force returns without forcing again.
+ *
+ * Locks are always taken syncLock first, then this: the active segment is only
+ * replaced while holding both, so sync() reads it under syncLock alone.
+ */
+final class StockDeltaLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockDeltaLog.class);
+
+    static final int RECORD_BYTES = 24;
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean fsync;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(RECORD_BYTES);
+    private final CRC32 writeCrc = new CRC32();
+    private final Object syncLock = new Object();
+
+    private FileChannel active;
+    private long activeBase;
+    private volatile long endOffset;
+    private volatile long durableOffset;
+
+    /**
+     * Open the log, truncating a torn record at the tail of the last segment.
+     *
+     * @param minimumOffset offset the log must start at if it is empty, so that
+     *                      offsets never go backwards relative to a checkpoint
+     */
+    StockDeltaLog(Path directory, long segmentBytes, boolean fsync, long minimumOffset) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+
+        List<Long> bases = segmentBases();
+        if (bases.isEmpty()) {
+            openSegment(minimumOffset);
+        } else {
+            long base = bases.get(bases.size() - 1);
+            active = FileChannel.open(segmentPath(base), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            activeBase = base;
+            long valid = validLength(active);
+            if (valid < active.size()) {
+                logger.warn("Truncating {} torn bytes at the end of stock delta log segment {}",
+                        active.size() - valid, base);
+                active.truncate(valid);
+            }
+            active.position(valid);
+            endOffset = base + valid;
+        }
+        durableOffset = endOffset;
+    }
+
+    /**
+     * Append one record and return the log offset just past it.
+     */
+    synchronized long append(UUID productId, int delta) throws IOException {
+        writeBuffer.clear();
+        writeBuffer.putLong(productId.getMostSignificantBits());
+        writeBuffer.putLong(productId.getLeastSignificantBits());
+        writeBuffer.putInt(delta);
+        writeCrc.reset();
+        writeCrc.update(writeBuffer.array(), 0, 20);
+        writeBuffer.putInt((int) writeCrc.getValue());
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            active.write(writeBuffer);
+        }
+        endOffset += RECORD_BYTES;
+        return endOffset;
+    }
+
+    /**
+     * Block until every record up to offset is on disk.
+     */
+    void sync(long offset) throws IOException {
+        if (!fsync || durableOffset >= offset) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durableOffset >= offset) {
+                return;
+            }
+            long target = endOffset;
+            active.force(false);
+            durableOffset = target;
+        }
+    }
+
+    long endOffset() {
+        return endOffset;
+    }
+
+    long durableOffset() {
+        return fsync ? durableOffset : endOffset;
+    }
+
+    /**
+     * Start a new segment once the active one has grown past the configured size.
+     */
+    void rollIfNeeded() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                if (endOffset - activeBase < segmentBytes) {
+                    return;
+                }
+                active.force(false);
+                active.close();
+                durableOffset = endOffset;
+                openSegment(endOffset);
+            }
+        }
+    }
+
+    /**
+     * Delete segments whose records all lie below offset. The active segment is kept.
+     */
+    synchronized void deleteBefore(long offset) throws IOException {
+        List<Long> bases = segmentBases();
+        for (int i = 0; i < bases.size() - 1; i++) {
+            long nextBase = bases.get(i + 1);
+            if (nextBase <= offset && bases.get(i) != activeBase) {
+                Files.deleteIfExists(segmentPath(bases.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Visit every record in [fromOffset, toOffset). Safe to call while appends
+     * are in progress as long as toOffset was read from endOffset() first.
+     */
+    void read(long fromOffset, long toOffset, RecordVisitor visitor) throws IOException {
+        List<Long> bases = segmentBases();
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES * 1024);
+        for (int i = 0; i < bases.size(); i++) {
+            long base = bases.get(i);
+            long limit = i + 1 < bases.size() ? bases.get(i + 1) : toOffset;
+            if (limit <= fromOffset || base >= toOffset) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(segmentPath(base), StandardOpenOption.READ)) {
+                long position = Math.max(fromOffset, base) - base;
+                long end = Math.min(limit, toOffset) - base;
+                channel.position(position);
+                buffer.clear();
+                while (position < end) {
+                    if (channel.read(buffer) < 0) {
+                        break;
+                    }
+                    buffer.flip();
+                    while (buffer.remaining() >= RECORD_BYTES && position < end) {
+                        UUID productId = new UUID(buffer.getLong(), buffer.getLong());
+                        int delta = buffer.getInt();
+                        buffer.getInt(); // CRC, already validated on open
+                        visitor.visit(base + position, productId, delta);
+                        position += RECORD_BYTES;
+                    }
+                    buffer.compact();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                if (active != null && active.isOpen()) {
+                    active.force(false);
+                    active.close();
+                }
+            }
+        }
+    }
+
+    // ======================== HELPER METHODS ========================
+
+    private void openSegment(long base) throws IOException {
+        active = FileChannel.open(segmentPath(base),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        active.position(active.size());
+        activeBase = base;
+        endOffset = base + active.size();
+    }
+
+    private long validLength(FileChannel channel) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+        CRC32 crc = new CRC32();
+        long position = 0;
+        while (true) {
+            record.clear();
+            int read = channel.read(record, position);
+            if (read < RECORD_BYTES) {
+                return position;
+            }
+            crc.reset();
+            crc.update(record.array(), 0, 20);
+            if ((int) crc.getValue() != record.getInt(20)) {
+                return position;
+            }
+            position += RECORD_BYTES;
+        }
+    }
+
+    private List<Long> segmentBases() throws IOException {
+        List<Long> bases = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SUFFIX.length())))
+                    .sorted()
+                    .forEach(bases::add);
+        }
+        return bases;
+    }
+
+    private Path segmentPath(long base) {
+        return directory.resolve(String.format("%020d%s", base, SUFFIX));
+    }
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        void visit(long offset, UUID productId, int delta);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.LedgerConsistencyReport;
+
+import java.util.UUID;
+
+/**
+ * Accumulates relative stock changes and writes them to products.stock_quantity
+ * later, in coalesced batches, instead of updating the product row per change.
+ */
+public interface StockLedger {
+
+    /**
+     * Record a stock change. Returns once the change is durable, not once it is
+     * visible in the products table.
+     */
+    void record(UUID productId, int delta);
+
+    /**
+     * Sum of recorded changes for a product that have not been flushed yet.
+     */
+    long pendingDelta(UUID productId);
+
+    /**
+     * Compare the unflushed part of the durable log with the in-memory counters.
+     */
+    LedgerConsistencyReport checkConsistency();
+}
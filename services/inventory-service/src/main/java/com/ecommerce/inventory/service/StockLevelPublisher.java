@@ -0,0 +1,183 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.events.StockLevelEvent;
+import com.ecommerce.inventory.model.Product;
+import com.ecommerce.inventory.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes the available stock of changed products to the compacted stock
+ * level topic, keyed by product id. Order-service rebuilds its local stock
+ * replica from that topic.
+ *
+ * Changes are only collected on the hot path. Every publish interval the
+ * changed products are read once and their current level is sent, so a product
+ * changing many times within an interval is published once. Available stock is
+ * the reservation engine's unreserved stock when reservations are enabled,
+ * otherwise the stored stock plus any unflushed ledger changes. With the
+ * transactional consumer, orders change products.stock_quantity directly, so
+ * the committed quantity is published as is.
+ *
+ * All products are published once on startup, so the topic always holds a
+ * level for every product. Deleted products are published as tombstones.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.stock-levels.enabled", havingValue = "true", matchIfMissing = true)
+public class StockLevelPublisher implements StockChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLevelPublisher.class);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ProductRepository productRepository;
+    private final ObjectProvider<StockReservationService> stockReservationService;
+    private final StockLedger stockLedger;
+    private final boolean reservationsEnabled;
+    private final boolean committedStockOnly;
+    private final String stockLevelTopic;
+    private final long publishIntervalMillis;
+
+    private final Set<UUID> changedProducts = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService scheduler;
+
+    // The reservation service reports changes to this publisher, so it is looked up lazily
+    @Autowired
+    public StockLevelPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                               ProductRepository productRepository,
+                               ObjectProvider<StockReservationService> stockReservationService,
+                               @Nullable StockLedger stockLedger,
+                               @Value("${inventory.reservation.enabled:false}") boolean reservationsEnabled,
+                               @Value("${inventory.consumer.mode:serial}") String consumerMode,
+                               @Value("${kafka.topic.stock-levels}") String stockLevelTopic,
+                               @Value("${inventory.stock-levels.publish-interval-ms:100}") long publishIntervalMillis) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.productRepository = productRepository;
+        this.stockReservationService = stockReservationService;
+        this.stockLedger = stockLedger;
+        this.reservationsEnabled = reservationsEnabled;
+        this.committedStockOnly = "transactional".equals(consumerMode);
+        this.stockLevelTopic = stockLevelTopic;
+        this.publishIntervalMillis = publishIntervalMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-levels");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::publishSafely, publishIntervalMillis, publishIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        publishChanged();
+    }
+
+    /**
+     * Publish every product once, for consumers rebuilding from an empty topic.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void publishAll() {
+        List<UUID> productIds = productRepository.findAllIds();
+        changedProducts.addAll(productIds);
+        logger.info("Scheduled stock levels of {} products for publishing", productIds.size());
+    }
+
+    @Override
+    public void stockChanged(UUID productId) {
+        changedProducts.add(productId);
+    }
+
+    /**
+     * Send the current level of every product changed since the last call.
+     *
+     * @return number of levels sent
+     */
+    int publishChanged() {
+        List<UUID> productIds = new ArrayList<>();
+        Iterator<UUID> changed = changedProducts.iterator();
+        while (changed.hasNext()) {
+            productIds.add(changed.next());
+            changed.remove();
+        }
+        if (productIds.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, Product> products;
+        try {
+            products = productRepository.findAllById(productIds).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+        } catch (RuntimeException e) {
+            changedProducts.addAll(productIds);
+            throw e;
+        }
+        long now = System.currentTimeMillis();
+        for (UUID productId : productIds) {
+            Product product = products.get(productId);
+            StockLevelEvent level = product != null
+                    ? new StockLevelEvent(productId, availableStock(product), now)
+                    : null;
+            kafkaTemplate.send(stockLevelTopic, productId.toString(), level)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            // Try again with whatever the level is by then
+                            logger.warn("Failed to publish stock level of product {}: {}", productId, ex.getMessage());
+                            changedProducts.add(productId);
+                        }
+                    });
+        }
+        return productIds.size();
+    }
+
+    private int availableStock(Product product) {
+        if (committedStockOnly) {
+            return product.getStockQuantity();
+        }
+        if (reservationsEnabled) {
+            return stockReservationService.getObject().getAvailableStock(product.getId());
+        }
+        long pending = stockLedger != null ? stockLedger.pendingDelta(product.getId()) : 0;
+        return Math.toIntExact(product.getStockQuantity() + pending);
+    }
+
+    private void publishSafely() {
+        try {
+            publishChanged();
+        } catch (Exception e) {
+            logger.error("Failed to publish stock levels", e);
+        }
+    }
+}
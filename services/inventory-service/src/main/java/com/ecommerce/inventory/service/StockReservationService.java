@@ -0,0 +1,506 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.exception.InsufficientStockException;
+import com.ecommerce.inventory.model.Product;
+import com.ecommerce.inventory.model.StockReservation;
+import com.ecommerce.inventory.model.StockReservation.ReservationStatus;
+import com.ecommerce.inventory.repository.ProductRepository;
+import com.ecommerce.inventory.repository.StockReservationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Stock reservation engine with TTL holds.
+ *
+ * The hot path (reserve / confirm / release) only touches in-memory state:
+ * one AtomicInteger of available stock per product and two concurrent maps of
+ * holds. No database row is locked while a request is being served.
+ *
+ * - Available stock is seeded from products.stock_quantity the first time a
+ *   product is touched and is authoritative for reservations from then on.
+ *   Stock changes made outside the engine (product updates through
+ *   InventoryService) are applied to it as a delta once they commit.
+ * - Expiry is driven by a hashed timer wheel advanced on a single scheduler thread.
+ * - New holds, status changes and consumed stock are queued and written to the
+ *   database in batches on the same scheduler thread, one transaction per batch.
+ *   Stock consumed by several confirmations of the same product is coalesced
+ *   into a single UPDATE. A batch that fails is queued again as a whole.
+ *
+ * When the write-behind stock ledger is enabled, consumed stock is recorded
+ * there instead and reaches the products table through its durable log.
+ *
+ * Every change of available stock is reported to the StockChangeListener, if any.
+ *
+ * Holds are kept per instance, so each product must be served by one
+ * inventory-service instance while this mode is enabled. Queued writes are
+ * lost if the process dies before the next flush.
+ *
+ * Cannot be combined with the transactional consumer: it takes stock from
+ * products.stock_quantity directly, which the engine would never see.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.reservation.enabled", havingValue = "true")
+public class StockReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationService.class);
+
+    private final ProductRepository productRepository;
+    private final StockReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StockLedger stockLedger;
+    private final StockChangeListener stockChangeListener;
+    private final Duration defaultTtl;
+    private final long tickMillis;
+    private final long flushIntervalMillis;
+
+    private final Map<UUID, AtomicInteger> availableStock = new ConcurrentHashMap<>();
+    private final Map<UUID, Hold> holdsById = new ConcurrentHashMap<>();
+    private final Map<HoldKey, Hold> holdsByKey = new ConcurrentHashMap<>();
+    private final TimerWheel<Hold> timerWheel;
+
+    // Write-behind queues, drained by flush()
+    private final Queue<Hold> newHolds = new ConcurrentLinkedQueue<>();
+    private final Queue<Hold> finishedHolds = new ConcurrentLinkedQueue<>();
+    private final Map<UUID, AtomicInteger> consumedStock = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public StockReservationService(ProductRepository productRepository,
+                                   StockReservationRepository reservationRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   @Nullable StockLedger stockLedger,
+                                   @Nullable StockChangeListener stockChangeListener,
+                                   @Value("${inventory.reservation.default-ttl-seconds:900}") long defaultTtlSeconds,
+                                   @Value("${inventory.reservation.tick-ms:100}") long tickMillis,
+                                   @Value("${inventory.reservation.wheel-size:512}") int wheelSize,
+                                   @Value("${inventory.reservation.flush-interval-ms:200}") long flushIntervalMillis,
+                                   @Value("${inventory.consumer.mode:serial}") String consumerMode) {
+        if ("transactional".equals(consumerMode)) {
+            throw new IllegalStateException("inventory.reservation.enabled and inventory.consumer.mode=transactional "
+                    + "cannot both be set: the transactional consumer takes stock without the reservation engine");
+        }
+        this.productRepository = productRepository;
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stockLedger = stockLedger;
+        this.stockChangeListener = stockChangeListener;
+        this.defaultTtl = Duration.ofSeconds(defaultTtlSeconds);
+        this.tickMillis = tickMillis;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.timerWheel = new TimerWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-reservations");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Both tasks run on the same thread, so the timer wheel is only advanced from here
+        scheduler.scheduleAtFixedRate(this::tickSafely, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        flush();
+    }
+
+    /**
+     * Restore holds that were still active when the service last stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverActiveHolds() {
+        long now = System.currentTimeMillis();
+        int restored = 0;
+        List<UUID> expired = new ArrayList<>();
+
+        for (StockReservation reservation : reservationRepository.findByStatus(ReservationStatus.HELD)) {
+            long expiresAt = toEpochMillis(reservation.getExpiresAt());
+            if (expiresAt <= now || !productRepository.existsById(reservation.getProductId())) {
+                expired.add(reservation.getId());
+                continue;
+            }
+            Hold hold = new Hold(reservation.getId(), reservation.getReferenceId(), reservation.getProductId(),
+                    reservation.getQuantity(), expiresAt);
+            stockFor(hold.productId).addAndGet(-hold.quantity);
+            holdsById.put(hold.id, hold);
+            holdsByKey.put(hold.key(), hold);
+            timerWheel.schedule(hold, expiresAt);
+            restored++;
+        }
+
+        if (!expired.isEmpty()) {
+            reservationRepository.updateStatus(expired, ReservationStatus.EXPIRED, LocalDateTime.now());
+        }
+        logger.info("Recovered {} active stock reservations, expired {} stale ones", restored, expired.size());
+    }
+
+    /**
+     * Place a hold of quantity units of productId for the given reference.
+     * The client sends the same reference as the reservationId of its order,
+     * and the order created event confirms the holds placed for it.
+     *
+     * @throws InsufficientStockException if not enough unreserved stock is left
+     */
+    public StockReservation reserve(UUID referenceId, UUID productId, int quantity, Duration ttl) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        AtomicInteger available = stockFor(productId);
+        take(available, productId, quantity);
+
+        long expiresAt = System.currentTimeMillis() + (ttl != null ? ttl : defaultTtl).toMillis();
+        Hold hold = new Hold(UUID.randomUUID(), referenceId, productId, quantity, expiresAt);
+        if (holdsByKey.putIfAbsent(hold.key(), hold) != null) {
+            available.addAndGet(quantity);
+            throw new IllegalStateException("Reservation already exists for reference " + referenceId
+                    + " and product " + productId);
+        }
+        holdsById.put(hold.id, hold);
+        timerWheel.schedule(hold, expiresAt);
+        newHolds.offer(hold);
+        notifyStockChanged(productId);
+
+        return hold.toEntity();
+    }
+
+    /**
+     * Consume stock for an order item.
+     *
+     * If a hold exists for (referenceId, productId) it is confirmed; a hold for a
+     * different quantity is topped up or partially given back. Without a hold the
+     * stock is taken directly, so orders placed without reserving still never
+     * drive stock below zero.
+     *
+     * @return false if there was not enough stock for the full quantity; nothing
+     *         is taken then, and a hold that could not be topped up is released
+     */
+    public boolean confirm(UUID referenceId, UUID productId, int quantity) {
+        AtomicInteger available = stockFor(productId);
+        Hold hold = holdsByKey.get(new HoldKey(referenceId, productId));
+
+        if (hold != null && hold.status.compareAndSet(ReservationStatus.HELD, ReservationStatus.CONFIRMED)) {
+            forget(hold);
+            int difference = quantity - hold.quantity;
+            if (difference > 0 && !tryTake(available, difference)) {
+                // The item cannot be served in full: give the held units back so the
+                // order is rejected instead of served short. No other transition can
+                // leave CONFIRMED, so the status can be overwritten.
+                logger.warn("Hold {} covers {} of {} units for product {}, releasing it",
+                        hold.id, hold.quantity, quantity, productId);
+                hold.status.set(ReservationStatus.RELEASED);
+                available.addAndGet(hold.quantity);
+                finishedHolds.offer(hold);
+                notifyStockChanged(productId);
+                return false;
+            } else if (difference < 0) {
+                available.addAndGet(-difference);
+            }
+            finishedHolds.offer(hold);
+        } else if (!tryTake(available, quantity)) {
+            return false;
+        }
+
+        if (stockLedger != null) {
+            stockLedger.record(productId, -quantity);
+        } else {
+            consumedStock.computeIfAbsent(productId, id -> new AtomicInteger()).addAndGet(quantity);
+        }
+        notifyStockChanged(productId);
+        return true;
+    }
+
+    /**
+     * Give back stock consumed by confirm(), for an order rejected because
+     * another of its items could not be served.
+     */
+    public void returnStock(UUID productId, int quantity) {
+        stockFor(productId).addAndGet(quantity);
+        if (stockLedger != null) {
+            stockLedger.record(productId, quantity);
+        } else {
+            consumedStock.computeIfAbsent(productId, id -> new AtomicInteger()).addAndGet(-quantity);
+        }
+        notifyStockChanged(productId);
+    }
+
+    /**
+     * Give a held quantity back before it expires.
+     */
+    public StockReservation release(UUID reservationId) {
+        Hold hold = holdsById.get(reservationId);
+        if (hold == null || !finish(hold, ReservationStatus.RELEASED)) {
+            throw new RuntimeException("Active reservation not found with id: " + reservationId);
+        }
+        return hold.toEntity();
+    }
+
+    public StockReservation getReservation(UUID reservationId) {
+        Hold hold = holdsById.get(reservationId);
+        if (hold != null) {
+            return hold.toEntity();
+        }
+        return reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new RuntimeException("Reservation not found with id: " + reservationId));
+    }
+
+    /**
+     * Stock that can still be reserved for a product.
+     */
+    public int getAvailableStock(UUID productId) {
+        return stockFor(productId).get();
+    }
+
+    /**
+     * Apply a change of products.stock_quantity made outside the engine once the
+     * surrounding transaction has committed. Products not loaded yet read the
+     * new quantity when they are first touched.
+     */
+    public void applyStockChange(UUID productId, int delta) {
+        afterCommit(() -> {
+            AtomicInteger available = availableStock.get(productId);
+            if (available != null) {
+                available.addAndGet(delta);
+                notifyStockChanged(productId);
+            }
+        });
+    }
+
+    /**
+     * Forget the available stock of a product once its deletion has committed.
+     */
+    public void evictProduct(UUID productId) {
+        afterCommit(() -> availableStock.remove(productId));
+    }
+
+    // ======================== TIMER AND WRITE-BEHIND ========================
+
+    /**
+     * Expire every hold whose TTL has passed. Must only be called from one thread.
+     */
+    int tick(long nowMillis) {
+        return timerWheel.advance(nowMillis, Hold::isHeld, hold -> finish(hold, ReservationStatus.EXPIRED));
+    }
+
+    /**
+     * Write queued hold changes and consumed stock to the database.
+     */
+    void flush() {
+        // Drain status changes before new holds: a hold that finishes before its
+        // insert is queued is then written with its final status by the insert.
+        List<Hold> finished = drain(finishedHolds);
+        List<Hold> created = drain(newHolds);
+        Map<UUID, Integer> consumed = new HashMap<>();
+        consumedStock.forEach((productId, adder) -> {
+            int quantity = adder.getAndSet(0);
+            if (quantity != 0) {
+                consumed.put(productId, quantity);
+            }
+        });
+        if (finished.isEmpty() && created.isEmpty() && consumed.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(finished, created, consumed));
+        } catch (RuntimeException e) {
+            // Nothing was committed; queue the batch again for the next attempt
+            finishedHolds.addAll(finished);
+            newHolds.addAll(created);
+            consumed.forEach((productId, quantity) ->
+                    consumedStock.computeIfAbsent(productId, id -> new AtomicInteger()).addAndGet(quantity));
+            throw e;
+        }
+    }
+
+    private void tickSafely() {
+        try {
+            tick(System.currentTimeMillis());
+        } catch (Exception e) {
+            logger.error("Failed to expire stock reservations", e);
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Failed to persist stock reservations", e);
+        }
+    }
+
+    // ======================== HELPER METHODS ========================
+
+    private void write(List<Hold> finished, List<Hold> created, Map<UUID, Integer> consumed) {
+        if (!created.isEmpty()) {
+            reservationRepository.saveAll(created.stream().map(Hold::toEntity).toList());
+        }
+
+        Map<ReservationStatus, List<UUID>> byStatus = new EnumMap<>(ReservationStatus.class);
+        for (Hold hold : finished) {
+            byStatus.computeIfAbsent(hold.status.get(), status -> new ArrayList<>()).add(hold.id);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        byStatus.forEach((status, ids) -> reservationRepository.updateStatus(ids, status, now));
+
+        consumed.forEach((productId, quantity) -> productRepository.adjustStock(productId, -quantity, now));
+    }
+
+    private static List<Hold> drain(Queue<Hold> queue) {
+        List<Hold> drained = new ArrayList<>();
+        Hold hold;
+        while ((hold = queue.poll()) != null) {
+            drained.add(hold);
+        }
+        return drained;
+    }
+
+    private AtomicInteger stockFor(UUID productId) {
+        AtomicInteger available = availableStock.get(productId);
+        if (available != null) {
+            return available;
+        }
+        // Loaded outside the map, so the query does not block other products in the same bin
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
+        AtomicInteger loaded = new AtomicInteger(product.getStockQuantity());
+        AtomicInteger existing = availableStock.putIfAbsent(productId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void take(AtomicInteger available, UUID productId, int quantity) {
+        if (!tryTake(available, quantity)) {
+            throw new InsufficientStockException(productId, quantity, available.get());
+        }
+    }
+
+    private boolean tryTake(AtomicInteger available, int quantity) {
+        int current;
+        do {
+            current = available.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!available.compareAndSet(current, current - quantity));
+        return true;
+    }
+
+    private boolean finish(Hold hold, ReservationStatus status) {
+        if (!hold.status.compareAndSet(ReservationStatus.HELD, status)) {
+            return false;
+        }
+        forget(hold);
+        stockFor(hold.productId).addAndGet(hold.quantity);
+        finishedHolds.offer(hold);
+        notifyStockChanged(hold.productId);
+        return true;
+    }
+
+    private void notifyStockChanged(UUID productId) {
+        if (stockChangeListener != null) {
+            stockChangeListener.stockChanged(productId);
+        }
+    }
+
+    private void forget(Hold hold) {
+        holdsById.remove(hold.id);
+        holdsByKey.remove(hold.key(), hold);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private record HoldKey(UUID referenceId, UUID productId) {
+    }
+
+    /**
+     * In-memory hold. The status only ever leaves HELD through a CAS, so
+     * confirm, release and expiry cannot both win for the same hold.
+     */
+    private static final class Hold {
+        private final UUID id;
+        private final UUID referenceId;
+        private final UUID productId;
+        private final int quantity;
+        private final long expiresAtMillis;
+        private final AtomicReference<ReservationStatus> status = new AtomicReference<>(ReservationStatus.HELD);
+
+        private Hold(UUID id, UUID referenceId, UUID productId, int quantity, long expiresAtMillis) {
+            this.id = id;
+            this.referenceId = referenceId;
+            this.productId = productId;
+            this.quantity = quantity;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private HoldKey key() {
+            return new HoldKey(referenceId, productId);
+        }
+
+        private boolean isHeld() {
+            return status.get() == ReservationStatus.HELD;
+        }
+
+        private StockReservation toEntity() {
+            return new StockReservation(id, referenceId, productId, quantity, status.get(),
+                    toLocalDateTime(expiresAtMillis));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.ecommerce.inventory.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Hashed timer wheel used to expire reservation holds.
+ *
+ * Any thread may schedule; only one thread may call advance(). New entries go
+ * through a lock-free queue and are moved into their bucket by the advancing
+ * thread, so the buckets themselves never need synchronization. Entries whose
+ * deadline is more than one rotation away simply stay in their bucket until a
+ * later visit. Cancelled entries are dropped the next time their bucket is
+ * visited instead of being searched for on cancel.
+ */
+final class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final List<Entry<T>>[] buckets;
+    private final Queue<Entry<T>> pending = new ConcurrentLinkedQueue<>();
+
+    // Last processed tick, only touched by the advancing thread
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, int ticksPerWheel, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        if (ticksPerWheel <= 0 || Integer.bitCount(ticksPerWheel) != 1) {
+            throw new IllegalArgumentException("ticksPerWheel must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = ticksPerWheel - 1;
+        this.buckets = new List[ticksPerWheel];
+        for (int i = 0; i < ticksPerWheel; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Schedule a task to expire at the given wall-clock time. Thread-safe.
+     */
+    void schedule(T task, long deadlineMillis) {
+        pending.offer(new Entry<>(task, deadlineMillis));
+    }
+
+    /**
+     * Process every tick up to nowMillis.
+     *
+     * @param isLive   entries failing this check are discarded without callback
+     * @param onExpire called for live entries whose deadline has passed
+     * @return number of expired entries
+     */
+    int advance(long nowMillis, Predicate<T> isLive, Consumer<T> onExpire) {
+        long target = (nowMillis - startMillis) / tickMillis;
+        transferPending();
+
+        // After a long pause one full rotation already visits every bucket
+        long ticks = Math.min(target - tick, buckets.length);
+        int expired = 0;
+        for (long i = 1; i <= ticks; i++) {
+            List<Entry<T>> bucket = buckets[(int) ((tick + i) & mask)];
+            int j = 0;
+            while (j < bucket.size()) {
+                Entry<T> entry = bucket.get(j);
+                boolean live = isLive.test(entry.task);
+                if (live && entry.deadlineMillis > nowMillis) {
+                    j++;
+                    continue;
+                }
+                // Swap-remove keeps removal O(1); order inside a bucket does not matter
+                int last = bucket.size() - 1;
+                bucket.set(j, bucket.get(last));
+                bucket.remove(last);
+                if (live) {
+                    onExpire.accept(entry.task);
+                    expired++;
+                }
+            }
+        }
+        if (target > tick) {
+            tick = target;
+        }
+        return expired;
+    }
+
+    private void transferPending() {
+        Entry<T> entry;
+        while ((entry = pending.poll()) != null) {
+            // Round up so a bucket is only visited once its entries are due
+            long deadlineTick = (entry.deadlineMillis - startMillis + tickMillis - 1) / tickMillis;
+            // Never drop an entry into a bucket that has already been passed
+            long slot = Math.max(deadlineTick, tick + 1);
+            buckets[(int) (slot & mask)].add(entry);
+        }
+    }
+
+    private record Entry<T>(T task, long deadlineMillis) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.events.InventoryResultEvent;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.inventory.config.KafkaConsumerConfig;
+import com.ecommerce.inventory.config.KafkaProducerConfig;
+import com.ecommerce.inventory.metrics.OrderEventMetrics;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Exactly-once consumer for order created events.
+ *
+ * Transactional mode: each poll is handled in one Kafka transaction that holds
+ * the inventory result event of every record and the consumer offsets, so the
+ * results become visible to read_committed consumers together with the offset
+ * commit. Batching amortises the transaction commit over the whole poll.
+ *
+ * Stock changes are committed to the database per record by
+ * TransactionalOrderEventProcessor, before the Kafka transaction. An aborted
+ * Kafka transaction redelivers the batch and the processor recognises the
+ * records it has already applied.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.consumer.mode", havingValue = "transactional")
+public class TransactionalOrderEventConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionalOrderEventConsumer.class);
+
+    private final TransactionalOrderEventProcessor processor;
+    private final KafkaTemplate<String, Object> transactionalKafkaTemplate;
+    private final DeadLetterPublishingRecoverer deadLetterRecoverer;
+    private final OrderEventMetrics orderEventMetrics;
+    private final String inventoryResultTopic;
+
+    @Autowired
+    public TransactionalOrderEventConsumer(TransactionalOrderEventProcessor processor,
+                                           @Qualifier(KafkaProducerConfig.TRANSACTIONAL_KAFKA_TEMPLATE)
+                                           KafkaTemplate<String, Object> transactionalKafkaTemplate,
+                                           DeadLetterPublishingRecoverer deadLetterRecoverer,
+                                           OrderEventMetrics orderEventMetrics,
+                                           @Value("${kafka.topic.inventory-result}") String inventoryResultTopic) {
+        this.processor = processor;
+        this.transactionalKafkaTemplate = transactionalKafkaTemplate;
+        this.deadLetterRecoverer = deadLetterRecoverer;
+        this.orderEventMetrics = orderEventMetrics;
+        this.inventoryResultTopic = inventoryResultTopic;
+    }
+
+    /**
+     * Runs inside the container's Kafka transaction. Throwing aborts it: no
+     * result of this batch is published and the whole batch is redelivered.
+     */
+    @KafkaListener(topics = "${kafka.topic.order-created}", groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = KafkaConsumerConfig.TRANSACTIONAL_CONTAINER_FACTORY, batch = "true")
+    public void consumeOrderCreatedEvents(List<ConsumerRecord<String, OrderCreatedEvent>> records) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Received {} order created events", records.size());
+        }
+
+        for (ConsumerRecord<String, OrderCreatedEvent> record : records) {
+            OrderCreatedEvent event = record.value();
+            if (event == null) {
+                handleEmptyRecord(record);
+                continue;
+            }
+
+            InventoryResultEvent result = processor.process(event);
+            transactionalKafkaTemplate.send(inventoryResultTopic, event.orderId().toString(), result);
+            orderEventMetrics.recordProcessed(event);
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("Processed order created event for order {}: {}", event.orderId(), result.status());
+            }
+        }
+    }
+
+    /**
+     * Records that could not be deserialized go to the dead-letter topic in
+     * the same transaction. Tombstones are skipped.
+     */
+    private void handleEmptyRecord(ConsumerRecord<String, OrderCreatedEvent> record) {
+        if (record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) == null) {
+            logger.warn("Skipping empty record at {}-{}@{}", record.topic(), record.partition(), record.offset());
+            return;
+        }
+        logger.error("Dead-lettering undecodable record at {}-{}@{}", record.topic(), record.partition(), record.offset());
+        deadLetterRecoverer.accept(record, new IllegalStateException("Order created event could not be deserialized"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.events.InventoryResultEvent;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.inventory.model.ProcessedOrderEvent;
+import com.ecommerce.inventory.model.Product;
+import com.ecommerce.inventory.repository.ProcessedOrderEventRepository;
+import com.ecommerce.inventory.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Applies all stock changes of an order created event in one database
+ * transaction, all or nothing, and records the outcome in processed_order_events.
+ *
+ * The database commits before the Kafka transaction that carries the result and
+ * the consumer offset. If the Kafka commit is lost the event is redelivered;
+ * the recorded outcome is then returned again without touching stock, so each
+ * order changes stock exactly once and its result is emitted exactly once.
+ *
+ * Works on products.stock_quantity directly: reservation holds and the
+ * write-behind ledger are not used in this mode.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.consumer.mode", havingValue = "transactional")
+public class TransactionalOrderEventProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionalOrderEventProcessor.class);
+
+    private final ProductRepository productRepository;
+    private final ProcessedOrderEventRepository processedOrderEventRepository;
+
+    @Autowired
+    public TransactionalOrderEventProcessor(ProductRepository productRepository,
+                                            ProcessedOrderEventRepository processedOrderEventRepository) {
+        this.productRepository = productRepository;
+        this.processedOrderEventRepository = processedOrderEventRepository;
+    }
+
+    @Transactional
+    public InventoryResultEvent process(OrderCreatedEvent event) {
+        Optional<ProcessedOrderEvent> processed = processedOrderEventRepository.findById(event.orderId());
+        if (processed.isPresent()) {
+            logger.info("Order {} was already processed, re-emitting its result", event.orderId());
+            return toResult(event, processed.get());
+        }
+
+        String rejection = applyStockChanges(event);
+        InventoryResultEvent result = rejection == null
+                ? InventoryResultEvent.reserved(event.orderId(), event.orderNumber())
+                : InventoryResultEvent.rejected(event.orderId(), event.orderNumber(), rejection);
+
+        processedOrderEventRepository.save(new ProcessedOrderEvent(event.orderId(), result.status().name(), rejection));
+        return result;
+    }
+
+    /**
+     * Take the stock for every item, or for none of them.
+     *
+     * @return the reason the order was rejected, or null if the stock was taken
+     */
+    private String applyStockChanges(OrderCreatedEvent event) {
+        // An order may list the same product more than once
+        Map<UUID, Integer> requested = new LinkedHashMap<>();
+        for (OrderCreatedEvent.OrderItemEvent item : event.orderItems()) {
+            requested.merge(item.productId(), item.quantity(), Integer::sum);
+        }
+        if (requested.isEmpty()) {
+            return null;
+        }
+
+        List<Product> products = productRepository.findAllByIdForUpdate(requested.keySet());
+        if (products.size() != requested.size()) {
+            for (Product product : products) {
+                requested.remove(product.getId());
+            }
+            return "Product not found with id: " + requested.keySet().iterator().next();
+        }
+
+        for (Product product : products) {
+            int quantity = requested.get(product.getId());
+            if (product.getStockQuantity() < quantity) {
+                logger.warn("Insufficient stock for product {}: requested = {}, available = {}",
+                        product.getId(), quantity, product.getStockQuantity());
+                return "Insufficient stock for product " + product.getId()
+                        + ": requested " + quantity + ", available " + product.getStockQuantity();
+            }
+        }
+
+        // Dirty products are flushed when the transaction commits
+        for (Product product : products) {
+            int quantity = requested.get(product.getId());
+            product.setStockQuantity(product.getStockQuantity() - quantity);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Updated stock for product {}: {} -> {} (decreased by {})",
+                        product.getId(), product.getStockQuantity() + quantity, product.getStockQuantity(), quantity);
+            }
+        }
+        return null;
+    }
+
+    private static InventoryResultEvent toResult(OrderCreatedEvent event, ProcessedOrderEvent processed) {
+        return new InventoryResultEvent(event.orderId(), event.orderNumber(),
+                InventoryResultEvent.Status.valueOf(processed.getStatus()), processed.getReason(),
+                System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,310 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.LedgerConsistencyReport;
+import com.ecommerce.inventory.model.Product;
+import com.ecommerce.inventory.model.StockLedgerCheckpoint;
+import com.ecommerce.inventory.repository.ProductRepository;
+import com.ecommerce.inventory.repository.StockLedgerCheckpointRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind stock ledger for hot products.
+ *
+ * record() appends the delta to a local append-only log, adds it to a per-product
+ * LongAdder and returns once the log record is on disk. A scheduler thread
+ * flushes the counters every few milliseconds: all deltas of a product since the
+ * last flush become one relative UPDATE of products.stock_quantity, committed
+ * together with the log offset they cover once the log is on disk up to that
+ * offset. On startup the log is replayed from that offset, so a delta is
+ * applied exactly once even if the process dies between the UPDATE and the
+ * deletion of the log segment.
+ *
+ * The log is local to the instance, so each product must be served by one
+ * inventory-service instance while this mode is enabled.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.stock.write-behind.enabled", havingValue = "true")
+public class WriteBehindStockLedger implements StockLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindStockLedger.class);
+
+    static final String CHECKPOINT_ID = "stock-ledger";
+
+    private final ProductRepository productRepository;
+    private final StockLedgerCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path logDirectory;
+    private final long flushIntervalMillis;
+    private final boolean fsync;
+    private final long segmentBytes;
+
+    private final Map<UUID, LongAdder> pending = new ConcurrentHashMap<>();
+    // Appends hold the read lock; a flush takes the write lock to cut the log
+    // at an offset that exactly matches what it drains from the counters
+    private final ReentrantReadWriteLock cutLock = new ReentrantReadWriteLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private StockDeltaLog log;
+    private volatile long appliedOffset;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public WriteBehindStockLedger(ProductRepository productRepository,
+                                  StockLedgerCheckpointRepository checkpointRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${inventory.stock.write-behind.log-dir:./data/stock-ledger}") String logDirectory,
+                                  @Value("${inventory.stock.write-behind.flush-interval-ms:50}") long flushIntervalMillis,
+                                  @Value("${inventory.stock.write-behind.fsync:true}") boolean fsync,
+                                  @Value("${inventory.stock.write-behind.segment-bytes:67108864}") long segmentBytes) {
+        this.productRepository = productRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.logDirectory = Paths.get(logDirectory);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.fsync = fsync;
+        this.segmentBytes = segmentBytes;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        replay();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-ledger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        flush();
+        log.close();
+    }
+
+    @Override
+    public void record(UUID productId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        sync(append(productId, delta));
+    }
+
+    @Override
+    public long pendingDelta(UUID productId) {
+        LongAdder adder = pending.get(productId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    @Override
+    public LedgerConsistencyReport checkConsistency() {
+        flushLock.lock();
+        try {
+            long from = appliedOffset;
+            long to;
+            Map<UUID, Long> inMemory = new HashMap<>();
+            cutLock.writeLock().lock();
+            try {
+                to = log.endOffset();
+                pending.forEach((productId, adder) -> {
+                    long sum = adder.sum();
+                    if (sum != 0) {
+                        inMemory.put(productId, sum);
+                    }
+                });
+            } finally {
+                cutLock.writeLock().unlock();
+            }
+
+            Map<UUID, Long> logged = readLog(from, to);
+            List<LedgerConsistencyReport.Mismatch> mismatches = new ArrayList<>();
+            logged.forEach((productId, delta) -> {
+                long inMemoryDelta = inMemory.getOrDefault(productId, 0L);
+                if (delta != inMemoryDelta) {
+                    mismatches.add(new LedgerConsistencyReport.Mismatch(productId, delta, inMemoryDelta));
+                }
+            });
+            inMemory.forEach((productId, delta) -> {
+                if (!logged.containsKey(productId)) {
+                    mismatches.add(new LedgerConsistencyReport.Mismatch(productId, 0, delta));
+                }
+            });
+
+            List<UUID> negativeStock = productRepository.findByStockQuantityLessThan(0).stream()
+                    .map(Product::getId)
+                    .toList();
+
+            return new LedgerConsistencyReport(from, to, inMemory.size(), mismatches, negativeStock);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Apply every delta recorded so far to the products table.
+     */
+    void flush() {
+        flushLock.lock();
+        try {
+            long to;
+            Map<UUID, Long> batch = new HashMap<>();
+            cutLock.writeLock().lock();
+            try {
+                to = log.endOffset();
+                pending.forEach((productId, adder) -> {
+                    long sum = adder.sumThenReset();
+                    if (sum != 0) {
+                        batch.put(productId, sum);
+                    }
+                });
+            } finally {
+                cutLock.writeLock().unlock();
+            }
+            if (to == appliedOffset) {
+                return;
+            }
+
+            try {
+                // A checkpoint past the durable end of the log could not be replayed after a crash
+                sync(to);
+                apply(batch, to);
+            } catch (RuntimeException e) {
+                // Nothing was committed; put the deltas back for the next attempt
+                batch.forEach((productId, delta) ->
+                        pending.computeIfAbsent(productId, id -> new LongAdder()).add(delta));
+                throw e;
+            }
+            appliedOffset = to;
+
+            try {
+                log.deleteBefore(to);
+                log.rollIfNeeded();
+            } catch (IOException e) {
+                logger.warn("Failed to compact stock delta log", e);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Open the log and apply every delta recorded after the last checkpoint.
+     */
+    void replay() throws IOException {
+        long checkpoint = checkpointRepository.findById(CHECKPOINT_ID)
+                .map(StockLedgerCheckpoint::getAppliedOffset)
+                .orElse(0L);
+        log = new StockDeltaLog(logDirectory, segmentBytes, fsync, checkpoint);
+        if (log.endOffset() < checkpoint) {
+            throw new IllegalStateException("Stock delta log in " + logDirectory + " ends at offset "
+                    + log.endOffset() + " but offset " + checkpoint + " was already applied");
+        }
+        appliedOffset = checkpoint;
+
+        Map<UUID, Long> replayed = readLog(checkpoint, log.endOffset());
+        replayed.forEach((productId, delta) -> pending.computeIfAbsent(productId, id -> new LongAdder()).add(delta));
+        logger.info("Replayed stock delta log from offset {} to {}: {} products with unapplied deltas",
+                checkpoint, log.endOffset(), replayed.size());
+        flush();
+    }
+
+    long appliedOffset() {
+        return appliedOffset;
+    }
+
+    long durableOffset() {
+        return log.durableOffset();
+    }
+
+    /**
+     * Append a delta to the log and the counters without waiting for the disk.
+     *
+     * @return the log offset the delta is durable at once synced
+     */
+    long append(UUID productId, int delta) {
+        cutLock.readLock().lock();
+        try {
+            long offset = log.append(productId, delta);
+            pending.computeIfAbsent(productId, id -> new LongAdder()).add(delta);
+            return offset;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to append to stock delta log", e);
+        } finally {
+            cutLock.readLock().unlock();
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Failed to flush stock ledger", e);
+        }
+    }
+
+    // ======================== HELPER METHODS ========================
+
+    private void apply(Map<UUID, Long> batch, long offset) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            batch.forEach((productId, delta) -> {
+                if (productRepository.adjustStock(productId, Math.toIntExact(delta), now) == 0) {
+                    logger.warn("Dropping stock delta {} for missing product {}", delta, productId);
+                }
+            });
+            StockLedgerCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT_ID)
+                    .orElseGet(() -> new StockLedgerCheckpoint(CHECKPOINT_ID, 0L));
+            checkpoint.setAppliedOffset(offset);
+            checkpointRepository.save(checkpoint);
+        });
+    }
+
+    private void sync(long offset) {
+        try {
+            log.sync(offset);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to sync stock delta log", e);
+        }
+    }
+
+    private Map<UUID, Long> readLog(long from, long to) {
+        Map<UUID, Long> totals = new HashMap<>();
+        try {
+            log.read(from, to, (offset, productId, delta) -> totals.merge(productId, (long) delta, Long::sum));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read stock delta log", e);
+        }
+        totals.values().removeIf(total -> total == 0);
+        return totals;
+    }
+}
@@ -0,0 +1,220 @@
+package com.ecommerce.inventory;
+
+import com.ecommerce.events.Money;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.inventory.model.Inventory;
+import com.ecommerce.inventory.model.Product;
+import com.ecommerce.inventory.service.InventoryService;
+import com.ecommerce.inventory.service.KafkaConsumerService;
+import com.ecommerce.testing.PerformanceProbe;
+import io.micrometer.tracing.Tracer;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Performance budgets of the inventory endpoints and of applying an
+ * order-created event: statements, bytes allocated and latency, against
+ * embedded Postgres and Kafka. A change that adds a query per row (N+1),
+ * allocates much more or slows an operation down fails here.
+ *
+ * Stock reservations and stock-level publishing are off so that every statement
+ * counted is issued by the operation measured rather than a background flush;
+ * the order-created event is applied to the product rows directly.
+ *
+ * Excluded from the default build, run with: mvn test -Pperformance
+ */
+@Tag("performance")
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.ecommerce.inventory=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "inventory.reservation.enabled=false",
+        "inventory.stock-levels.enabled=false"})
+@AutoConfigureMockMvc
+@EmbeddedKafka(partitions = 1, topics = {"order-created", "inventory-result", "stock-levels"})
+@DisplayName("Inventory Performance Tests")
+class InventoryPerformanceTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+    private static final Currency USD = Currency.getInstance("USD");
+
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 200;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    // Budgets per operation
+    // Read, re-read by updateProduct and update of each product row
+    private static final long ORDER_EVENT_STATEMENTS = 3 * ITEMS_PER_ORDER;
+    private static final long ORDER_EVENT_ALLOCATED_BYTES = 200_000;
+    private static final double ORDER_EVENT_P90_MILLIS = 50;
+    private static final long GET_PRODUCT_STATEMENTS = 1;
+    private static final long GET_PRODUCT_ALLOCATED_BYTES = 100_000;
+    private static final double GET_PRODUCT_P90_MILLIS = 25;
+    private static final long LIST_STATEMENTS = 1;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private KafkaConsumerService kafkaConsumerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private Tracer tracer;
+
+    private PerformanceProbe probe;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @BeforeEach
+    void setUp() {
+        probe = new PerformanceProbe(entityManagerFactory);
+    }
+
+    @Test
+    @DisplayName("Applying an order-created event should stay within its statement, allocation and latency budget")
+    void testConsumeOrderCreatedEvent_WithinBudget() throws Exception {
+        // Arrange
+        List<Product> products = createProducts(ITEMS_PER_ORDER);
+        List<OrderCreatedEvent.OrderItemEvent> items = new ArrayList<>();
+        for (Product product : products) {
+            items.add(new OrderCreatedEvent.OrderItemEvent(product.getId(), product.getName(), 1,
+                    Money.of(product.getPrice(), USD)));
+        }
+
+        // Act
+        PerformanceProbe.Measurement measurement = probe.measure(WARMUP, ITERATIONS, () ->
+                kafkaConsumerService.consumeOrderCreatedEvent(new OrderCreatedEvent(UUID.randomUUID(),
+                        "ORD-PERF", "Performance Test", "customer@example.com", Money.zero(USD), "PENDING",
+                        items, System.currentTimeMillis())));
+
+        // Assert
+        System.out.println("order-created event, " + ITEMS_PER_ORDER + " items: " + measurement);
+        assertTrue(measurement.statements() <= ORDER_EVENT_STATEMENTS, measurement::toString);
+        assertTrue(measurement.allocatedBytes() <= ORDER_EVENT_ALLOCATED_BYTES, measurement::toString);
+        assertTrue(measurement.p90Millis() <= ORDER_EVENT_P90_MILLIS, measurement::toString);
+    }
+
+    @Test
+    @DisplayName("Getting a product should stay within its statement, allocation and latency budget")
+    void testGetProductById_WithinBudget() throws Exception {
+        // Arrange
+        UUID productId = createProducts(1).get(0).getId();
+
+        // Act
+        PerformanceProbe.Measurement measurement = probe.measure(WARMUP, ITERATIONS, () ->
+                mockMvc.perform(get("/api/v1/products/{id}", productId)).andExpect(status().isOk()));
+
+        // Assert
+        System.out.println("GET /api/v1/products/{id}: " + measurement);
+        assertEquals(GET_PRODUCT_STATEMENTS, measurement.statements());
+        assertTrue(measurement.allocatedBytes() <= GET_PRODUCT_ALLOCATED_BYTES, measurement::toString);
+        assertTrue(measurement.p90Millis() <= GET_PRODUCT_P90_MILLIS, measurement::toString);
+        // A span left current would make every later operation on the thread part of its trace
+        assertNull(tracer.currentSpan(), "a span was left current after the request");
+    }
+
+    @Test
+    @DisplayName("Listing inventory should not issue a statement per product")
+    void testGetAllInventory_NoQueryPerProduct() throws Exception {
+        // Arrange
+        createInventory(5, "Warehouse A");
+        long fewRows = probe.statements(() -> mockMvc.perform(get("/api/v1/inventory")).andExpect(status().isOk()));
+        createInventory(20, "Warehouse A");
+
+        // Act
+        long moreRows = probe.statements(() -> mockMvc.perform(get("/api/v1/inventory")).andExpect(status().isOk()));
+
+        // Assert
+        assertEquals(fewRows, moreRows, "statements grew with the number of inventory rows");
+        assertTrue(moreRows <= LIST_STATEMENTS, "statements: " + moreRows);
+    }
+
+    @Test
+    @DisplayName("Listing inventory at a location should not issue a statement per product")
+    void testGetInventoryByLocation_NoQueryPerProduct() throws Exception {
+        // Arrange
+        String location = "Warehouse " + UUID.randomUUID();
+        createInventory(20, location);
+
+        // Act
+        long statements = probe.statements(() -> mockMvc.perform(get("/api/v1/inventory/location")
+                .param("location", location)).andExpect(status().isOk()));
+
+        // Assert
+        assertTrue(statements <= LIST_STATEMENTS, "statements: " + statements);
+    }
+
+    @Test
+    @DisplayName("Listing products should issue one statement")
+    void testGetAllProducts_OneStatement() throws Exception {
+        // Arrange
+        createProducts(20);
+
+        // Act
+        long statements = probe.statements(() -> mockMvc.perform(get("/api/v1/products")).andExpect(status().isOk()));
+
+        // Assert
+        assertTrue(statements <= LIST_STATEMENTS, "statements: " + statements);
+    }
+
+    private List<Product> createProducts(int count) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            products.add(inventoryService.createProduct(new Product("Product " + UUID.randomUUID(),
+                    "Performance test product", new BigDecimal("19.99"), 1_000_000)));
+        }
+        return products;
+    }
+
+    private void createInventory(int count, String location) {
+        for (Product product : createProducts(count)) {
+            inventoryService.createInventory(new Inventory(product, 100, location));
+        }
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start embedded Postgres", e);
+        }
+    }
+}
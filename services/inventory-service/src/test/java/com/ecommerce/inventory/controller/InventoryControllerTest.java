@@ -225,7 +225,7 @@ class InventoryControllerTest {
     @DisplayName("POST /api/v1/inventory - Should create inventory and return 201 CREATED")
     void testCreateInventory_Success() throws Exception {
         // Arrange
-        when(inventoryService.getProductById(testProductId)).thenReturn(createProductFromRequest());
+        when(inventoryService.getLatestProduct(testProductId)).thenReturn(createProductFromRequest());
         when(inventoryService.createInventory(any(Inventory.class)))
                 .thenReturn(createInventoryFromRequest());
 
@@ -238,6 +238,7 @@ class InventoryControllerTest {
                 .andExpect(jsonPath("$.location").value("Warehouse A"));
 
         verify(inventoryService, times(1)).createInventory(any(Inventory.class));
+        verify(inventoryService, never()).getProductById(any());
     }
 
     @Test
@@ -279,7 +280,7 @@ class InventoryControllerTest {
     void testUpdateInventory_Success() throws Exception {
         // Arrange
         InventoryRequest updateRequest = new InventoryRequest(testProductId, 150, "Warehouse B");
-        when(inventoryService.getProductById(testProductId)).thenReturn(createProductFromRequest());
+        when(inventoryService.getLatestProduct(testProductId)).thenReturn(createProductFromRequest());
         when(inventoryService.updateInventory(eq(testInventoryId), any(Inventory.class)))
                 .thenReturn(createInventoryFromRequest());
 
@@ -290,6 +291,7 @@ class InventoryControllerTest {
                 .andExpect(status().isOk());
 
         verify(inventoryService, times(1)).updateInventory(eq(testInventoryId), any(Inventory.class));
+        verify(inventoryService, never()).getProductById(any());
     }
 
     @Test
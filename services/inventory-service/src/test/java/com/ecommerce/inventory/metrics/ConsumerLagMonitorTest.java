@@ -0,0 +1,98 @@
+package com.ecommerce.inventory.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ConsumerLagMonitor
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConsumerLagMonitor Unit Tests")
+class ConsumerLagMonitorTest {
+
+    private static final String GROUP = "inventory-service-group";
+
+    @Mock
+    private Admin admin;
+
+    @Mock
+    private ListConsumerGroupOffsetsResult groupOffsets;
+
+    @Mock
+    private ListOffsetsResult endOffsets;
+
+    private SimpleMeterRegistry registry;
+    private ConsumerLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        monitor = new ConsumerLagMonitor(admin, registry, GROUP, List.of("order-created"));
+        when(admin.listConsumerGroupOffsets(GROUP)).thenReturn(groupOffsets);
+    }
+
+    @Test
+    @DisplayName("Should publish end offset minus committed offset per partition")
+    void testRefresh_PublishesLagPerPartition() throws Exception {
+        // Arrange
+        TopicPartition p0 = new TopicPartition("order-created", 0);
+        TopicPartition p1 = new TopicPartition("order-created", 1);
+        TopicPartition other = new TopicPartition("other-topic", 0);
+        when(groupOffsets.partitionsToOffsetAndMetadata()).thenReturn(KafkaFuture.completedFuture(Map.of(
+                p0, new OffsetAndMetadata(90),
+                p1, new OffsetAndMetadata(40),
+                other, new OffsetAndMetadata(5))));
+        when(admin.listOffsets(anyMap())).thenReturn(endOffsets);
+        when(endOffsets.all()).thenReturn(KafkaFuture.completedFuture(Map.of(
+                p0, new ListOffsetsResult.ListOffsetsResultInfo(100, -1, Optional.empty()),
+                p1, new ListOffsetsResult.ListOffsetsResultInfo(40, -1, Optional.empty()))));
+
+        // Act
+        monitor.refresh();
+
+        // Assert
+        assertEquals(10.0, lag("0"));
+        assertEquals(0.0, lag("1"));
+        assertNull(registry.find("kafka.consumer.group.lag").tag("topic", "other-topic").gauge());
+    }
+
+    @Test
+    @DisplayName("Should not query end offsets before the group has committed")
+    void testRefresh_NoCommittedOffsets() throws Exception {
+        // Arrange
+        when(groupOffsets.partitionsToOffsetAndMetadata()).thenReturn(KafkaFuture.completedFuture(Map.of()));
+
+        // Act
+        monitor.refresh();
+
+        // Assert
+        verify(admin, never()).listOffsets(anyMap());
+        assertNull(registry.find("kafka.consumer.group.lag").gauge());
+    }
+
+    private double lag(String partition) {
+        return registry.get("kafka.consumer.group.lag")
+                .tags("group", GROUP, "topic", "order-created", "partition", partition)
+                .gauge()
+                .value();
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.DeadLetterReplayResponse;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DeadLetterReplayService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DeadLetterReplayService Unit Tests")
+class DeadLetterReplayServiceTest {
+
+    private static final String DLT = "order-created-dlt";
+
+    @Mock
+    private ConsumerFactory<byte[], byte[]> consumerFactory;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private MockConsumer<byte[], byte[]> consumer;
+    private DeadLetterReplayService replayService;
+
+    @BeforeEach
+    void setUp() {
+        // Keep the consumer open after replay() so committed offsets can be checked
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+            @Override
+            public synchronized void close() {
+            }
+        };
+        consumer.updatePartitions(DLT, List.of(new PartitionInfo(DLT, 0, Node.noNode(), null, null)));
+        consumer.updateBeginningOffsets(Map.of(new TopicPartition(DLT, 0), 0L));
+        when(consumerFactory.createConsumer(anyString(), any(), anyString(), any(Properties.class)))
+                .thenReturn(consumer);
+
+        replayService = new DeadLetterReplayService(consumerFactory, kafkaTemplate, "order-created", "inventory");
+    }
+
+    @Test
+    @DisplayName("Should re-publish up to limit records and commit their offsets")
+    @SuppressWarnings("unchecked")
+    void testReplay_RepublishesAndCommits() {
+        // Arrange
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        consumer.schedulePollTask(() -> {
+            for (int offset = 0; offset < 3; offset++) {
+                ConsumerRecord<byte[], byte[]> record = new ConsumerRecord<>(DLT, 0, offset,
+                        ("order-" + offset).getBytes(StandardCharsets.UTF_8), "{}".getBytes(StandardCharsets.UTF_8));
+                record.headers().add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, "Product not found".getBytes());
+                record.headers().add("trace-id", "abc".getBytes());
+                consumer.addRecord(record);
+            }
+        });
+
+        // Act
+        DeadLetterReplayResponse response = replayService.replay(2);
+
+        // Assert
+        assertEquals(2, response.getReplayed());
+        assertEquals("order-created", response.getTargetTopic());
+        ArgumentCaptor<ProducerRecord<String, Object>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(2)).send(sent.capture());
+        ProducerRecord<String, Object> first = sent.getAllValues().get(0);
+        assertEquals("order-created", first.topic());
+        assertEquals("order-0", first.key());
+        assertNull(first.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE));
+        assertNotNull(first.headers().lastHeader("trace-id"));
+        assertEquals(2L, consumer.committed(Set.of(new TopicPartition(DLT, 0)))
+                .get(new TopicPartition(DLT, 0)).offset());
+    }
+
+    @Test
+    @DisplayName("Should replay nothing when the dead-letter topic is empty")
+    void testReplay_Empty() {
+        // Act
+        DeadLetterReplayResponse response = replayService.replay(10);
+
+        // Assert
+        assertEquals(0, response.getReplayed());
+        verifyNoInteractions(kafkaTemplate);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.events.InventoryResultEvent;
+import com.ecommerce.events.Money;
+import com.ecommerce.events.OrderCreatedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for InventoryResultPublisher
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InventoryResultPublisher Unit Tests")
+class InventoryResultPublisherTest {
+
+    private static final String TOPIC = "inventory-result";
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Test
+    @DisplayName("Should return once the broker acknowledged the result")
+    void testPublish_Acknowledged() {
+        // Arrange
+        InventoryResultPublisher publisher = new InventoryResultPublisher(kafkaTemplate, TOPIC, 1000);
+        OrderCreatedEvent event = event();
+        UUID unavailable = UUID.randomUUID();
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        publisher.publish(event, List.of(unavailable));
+
+        // Assert
+        ArgumentCaptor<Object> result = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq(TOPIC), eq(event.orderId().toString()), result.capture());
+        assertEquals(InventoryResultEvent.Status.REJECTED, ((InventoryResultEvent) result.getValue()).status());
+    }
+
+    @Test
+    @DisplayName("Should throw when the broker rejects the result")
+    void testPublish_SendFails() {
+        // Arrange
+        InventoryResultPublisher publisher = new InventoryResultPublisher(kafkaTemplate, TOPIC, 1000);
+        OrderCreatedEvent event = event();
+        IllegalStateException failure = new IllegalStateException("broker down");
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.failedFuture(failure));
+
+        // Act & Assert
+        KafkaException exception = assertThrows(KafkaException.class, () -> publisher.publish(event, List.of()));
+        assertSame(failure, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Should throw when the result is not acknowledged within the send timeout")
+    void testPublish_Timeout() {
+        // Arrange
+        InventoryResultPublisher publisher = new InventoryResultPublisher(kafkaTemplate, TOPIC, 50);
+        OrderCreatedEvent event = event();
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        // Act & Assert
+        KafkaException exception = assertThrows(KafkaException.class, () -> publisher.publish(event, List.of()));
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+    }
+
+    private static OrderCreatedEvent event() {
+        List<OrderCreatedEvent.OrderItemEvent> items = List.of(new OrderCreatedEvent.OrderItemEvent(
+                UUID.randomUUID(), "Laptop", 1, Money.of(new BigDecimal("999.99"), USD)));
+        return new OrderCreatedEvent(UUID.randomUUID(), "ORD-1", "John Doe", "john@example.com",
+                Money.of(new BigDecimal("999.99"), USD), "PENDING", items);
+    }
+}
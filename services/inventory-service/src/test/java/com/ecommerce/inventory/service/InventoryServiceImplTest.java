@@ -1,16 +1,22 @@
 package com.ecommerce.inventory.service;
 
+import com.ecommerce.coalescing.SingleFlight;
 import com.ecommerce.inventory.model.Inventory;
 import com.ecommerce.inventory.model.Product;
 import com.ecommerce.inventory.repository.InventoryRepository;
 import com.ecommerce.inventory.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -20,6 +26,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -40,6 +47,15 @@ class InventoryServiceImplTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
+    @Spy
+    private SingleFlight<UUID, Product> productLookups = new SingleFlight<>("product", new SimpleMeterRegistry(), true);
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Mock
+    private StockReservationService stockReservationService;
+
     @InjectMocks
     private InventoryServiceImpl inventoryService;
 
@@ -117,6 +133,40 @@ class InventoryServiceImplTest {
         verify(productRepository, times(1)).findById(nonExistentId);
     }
 
+    @Test
+    @DisplayName("Should share lookups by ID outside a transaction and read in the caller's transaction")
+    void testGetProductById_Coalescing() {
+        // Arrange
+        when(productRepository.findById(testProductId)).thenReturn(Optional.of(testProduct));
+
+        // Act
+        inventoryService.getProductById(testProductId);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            inventoryService.getProductById(testProductId);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        // Assert
+        verify(productLookups, times(1)).execute(eq(testProductId), any());
+        verify(productRepository, times(2)).findById(testProductId);
+    }
+
+    @Test
+    @DisplayName("Should read the latest product with a query of its own")
+    void testGetLatestProduct_NotCoalesced() {
+        // Arrange
+        when(productRepository.findById(testProductId)).thenReturn(Optional.of(testProduct));
+
+        // Act
+        Product result = inventoryService.getLatestProduct(testProductId);
+
+        // Assert
+        assertEquals(testProductId, result.getId());
+        verify(productLookups, never()).execute(any(), any());
+    }
+
     @Test
     @DisplayName("Should get all products successfully")
     void testGetAllProducts_Success() {
@@ -149,6 +199,7 @@ class InventoryServiceImplTest {
         assertNotNull(result);
         verify(productRepository, times(1)).findById(testProductId);
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(stockReservationService, times(1)).applyStockChange(testProductId, 25);
     }
 
     @Test
@@ -164,6 +215,7 @@ class InventoryServiceImplTest {
         // Assert
         verify(productRepository, times(1)).findById(testProductId);
         verify(productRepository, times(1)).delete(testProduct);
+        verify(stockReservationService, times(1)).evictProduct(testProductId);
     }
 
     @Test
@@ -256,7 +308,7 @@ class InventoryServiceImplTest {
     void testGetAllInventory_Success() {
         // Arrange
         List<Inventory> inventoryList = List.of(testInventory);
-        when(inventoryRepository.findAll()).thenReturn(inventoryList);
+        when(inventoryRepository.findAllWithProduct()).thenReturn(inventoryList);
 
         // Act
         List<Inventory> result = inventoryService.getAllInventory();
@@ -265,7 +317,7 @@ class InventoryServiceImplTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Warehouse A", result.get(0).getLocation());
-        verify(inventoryRepository, times(1)).findAll();
+        verify(inventoryRepository, times(1)).findAllWithProduct();
     }
 
     @Test
@@ -0,0 +1,169 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.events.Money;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.inventory.metrics.OrderEventMetrics;
+import com.ecommerce.inventory.metrics.OrderEventPhaseEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for KafkaConsumerService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KafkaConsumerService Unit Tests")
+class KafkaConsumerServiceTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Mock
+    private OrderEventProcessor orderEventProcessor;
+
+    @Mock
+    private InventoryResultPublisher inventoryResultPublisher;
+
+    private KafkaConsumerService consumerService;
+
+    @BeforeEach
+    void setUp() {
+        consumerService = new KafkaConsumerService(orderEventProcessor,
+                new OrderEventMetrics(new SimpleMeterRegistry()), inventoryResultPublisher);
+    }
+
+    @Test
+    @DisplayName("Should process every item, return the taken stock and publish the unavailable products")
+    void testConsumeOrderCreatedEvent() {
+        // Arrange
+        UUID available = UUID.randomUUID();
+        UUID unavailable = UUID.randomUUID();
+        OrderCreatedEvent event = event(available, unavailable);
+        when(orderEventProcessor.processItem(eq(event), any()))
+                .thenAnswer(invocation -> invocation.<OrderCreatedEvent.OrderItemEvent>getArgument(1)
+                        .productId().equals(available));
+
+        // Act
+        consumerService.consumeOrderCreatedEvent(event);
+
+        // Assert
+        verify(orderEventProcessor, times(2)).processItem(eq(event), any());
+        verify(orderEventProcessor).returnItem(event, event.orderItems().get(0));
+        verify(orderEventProcessor, never()).returnItem(event, event.orderItems().get(1));
+        verify(inventoryResultPublisher).publish(event, List.of(unavailable));
+    }
+
+    @Test
+    @DisplayName("Should return the taken stock and rethrow when an item fails")
+    void testConsumeOrderCreatedEvent_Failure() {
+        // Arrange
+        UUID failing = UUID.randomUUID();
+        OrderCreatedEvent event = event(UUID.randomUUID(), failing);
+        when(orderEventProcessor.processItem(eq(event), any())).thenAnswer(invocation -> {
+            if (invocation.<OrderCreatedEvent.OrderItemEvent>getArgument(1).productId().equals(failing)) {
+                throw new RuntimeException("Product not found");
+            }
+            return true;
+        });
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> consumerService.consumeOrderCreatedEvent(event));
+        verify(orderEventProcessor).returnItem(event, event.orderItems().get(0));
+        verifyNoInteractions(inventoryResultPublisher);
+    }
+
+    @Test
+    @DisplayName("Should return the taken stock and rethrow when the result is not published")
+    void testConsumeOrderCreatedEvent_PublishFailure() {
+        // Arrange
+        OrderCreatedEvent event = event(UUID.randomUUID(), UUID.randomUUID());
+        when(orderEventProcessor.processItem(eq(event), any())).thenReturn(true);
+        doThrow(new KafkaException("Failed to publish inventory result"))
+                .when(inventoryResultPublisher).publish(event, List.of());
+
+        // Act & Assert
+        assertThrows(KafkaException.class, () -> consumerService.consumeOrderCreatedEvent(event));
+        verify(orderEventProcessor).returnItem(event, event.orderItems().get(0));
+        verify(orderEventProcessor).returnItem(event, event.orderItems().get(1));
+    }
+
+    @Test
+    @DisplayName("Should not return the stock of a rejected order twice when its result is not published")
+    void testConsumeOrderCreatedEvent_RejectedPublishFailure() {
+        // Arrange
+        UUID available = UUID.randomUUID();
+        UUID unavailable = UUID.randomUUID();
+        OrderCreatedEvent event = event(available, unavailable);
+        when(orderEventProcessor.processItem(eq(event), any()))
+                .thenAnswer(invocation -> invocation.<OrderCreatedEvent.OrderItemEvent>getArgument(1)
+                        .productId().equals(available));
+        doThrow(new KafkaException("Failed to publish inventory result"))
+                .when(inventoryResultPublisher).publish(event, List.of(unavailable));
+
+        // Act & Assert
+        assertThrows(KafkaException.class, () -> consumerService.consumeOrderCreatedEvent(event));
+        verify(orderEventProcessor, times(1)).returnItem(event, event.orderItems().get(0));
+        verify(orderEventProcessor, never()).returnItem(event, event.orderItems().get(1));
+    }
+
+    @Test
+    @DisplayName("Should record each phase of handling the event as a flight recorder event")
+    void testConsumeOrderCreatedEvent_RecordsPhases(@TempDir Path directory) throws Exception {
+        // Arrange
+        UUID productId = UUID.randomUUID();
+        OrderCreatedEvent event = event(productId, UUID.randomUUID());
+        when(orderEventProcessor.processItem(eq(event), any())).thenReturn(true);
+        Path file = directory.resolve("consume.jfr");
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable(OrderEventPhaseEvent.class);
+            recording.start();
+            consumerService.consumeOrderCreatedEvent(event);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert
+        List<RecordedEvent> phases = RecordingFile.readAllEvents(file).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("com.ecommerce.inventory.OrderEventPhase"))
+                .toList();
+        assertEquals(List.of(OrderEventPhaseEvent.PROCESS_ITEM, OrderEventPhaseEvent.PROCESS_ITEM,
+                        OrderEventPhaseEvent.PUBLISH_RESULT, OrderEventPhaseEvent.CONSUME),
+                phases.stream().map(recorded -> recorded.getString("phase")).toList());
+        assertEquals(productId.toString(), phases.get(0).getString("productId"));
+        assertTrue(phases.get(0).getBoolean("succeeded"));
+        RecordedEvent consume = phases.get(3);
+        assertEquals(event.orderId().toString(), consume.getString("orderId"));
+        assertEquals(2, consume.getInt("itemCount"));
+    }
+
+    private static OrderCreatedEvent event(UUID... productIds) {
+        List<OrderCreatedEvent.OrderItemEvent> items = Arrays.stream(productIds)
+                .map(productId -> new OrderCreatedEvent.OrderItemEvent(productId, "Laptop", 1,
+                        Money.of(new BigDecimal("999.99"), USD)))
+                .toList();
+        return new OrderCreatedEvent(UUID.randomUUID(), "ORD-1", "John Doe", "john@example.com",
+                Money.of(new BigDecimal("999.99"), USD), "PENDING", items);
+    }
+}
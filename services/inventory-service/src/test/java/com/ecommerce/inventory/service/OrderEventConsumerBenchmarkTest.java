@@ -0,0 +1,292 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.events.InventoryResultEvent;
+import com.ecommerce.events.Money;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.events.codec.InventoryResultEventCodec;
+import com.ecommerce.events.kafka.OrderCreatedEventDeserializer;
+import com.ecommerce.events.kafka.OrderCreatedEventSerializer;
+import com.ecommerce.inventory.metrics.OrderEventMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.condition.EmbeddedKafkaCondition;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Throughput of the serial, parallel and transactional order event consumers
+ * against an embedded broker. Each item costs a fixed simulated database round trip.
+ *
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@EmbeddedKafka(partitions = OrderEventConsumerBenchmarkTest.PARTITIONS, brokerProperties = {
+        "transaction.state.log.replication.factor=1",
+        "transaction.state.log.min.isr=1"})
+@DisplayName("Order Event Consumer Benchmark")
+class OrderEventConsumerBenchmarkTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    static final int PARTITIONS = 4;
+    private static final int EVENTS = 2_000;
+    private static final int PRODUCTS = 200;
+    private static final long ITEM_LATENCY_MICROS = 1_000;
+
+    private static EmbeddedKafkaBroker broker;
+
+    @BeforeAll
+    static void setUpBroker() {
+        broker = EmbeddedKafkaCondition.getBroker();
+    }
+
+    @Test
+    @DisplayName("Parallel mode should outperform serial mode")
+    void testThroughput_ParallelVsSerial() throws Exception {
+        // Arrange
+        List<UUID> products = products();
+
+        // Act
+        double serial = run("serial", products);
+        double parallel = run("parallel", products);
+
+        // Assert
+        System.out.printf("order events/s: serial = %.0f, parallel = %.0f (%.1fx)%n",
+                serial, parallel, parallel / serial);
+        assertTrue(parallel > serial);
+    }
+
+    @Test
+    @DisplayName("Transactional mode should stay within 20% of at-least-once serial mode")
+    void testThroughput_TransactionalVsAtLeastOnce() throws Exception {
+        // Arrange
+        List<UUID> products = products();
+
+        // Act
+        double atLeastOnce = run("at-least-once", products);
+        double transactional = run("transactional", products);
+
+        // Assert
+        System.out.printf("order events/s: at-least-once = %.0f, transactional = %.0f (%.0f%%)%n",
+                atLeastOnce, transactional, 100 * transactional / atLeastOnce);
+        assertEquals(EVENTS, countCommittedResults("inventory-result-transactional"));
+        assertTrue(transactional >= 0.8 * atLeastOnce);
+    }
+
+    private static List<UUID> products() {
+        List<UUID> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(UUID.randomUUID());
+        }
+        return products;
+    }
+
+    private double run(String mode, List<UUID> products) throws Exception {
+        String topic = "order-created-" + mode;
+        broker.addTopics(new NewTopic(topic, PARTITIONS, (short) 1));
+        int items = publish(topic, products);
+
+        CountDownLatch processed = new CountDownLatch(items);
+        OrderEventProcessor processor = mock(OrderEventProcessor.class);
+        doAnswer(invocation -> {
+            TimeUnit.MICROSECONDS.sleep(ITEM_LATENCY_MICROS);
+            processed.countDown();
+            return true;
+        }).when(processor).processItem(any(), any());
+
+        OrderEventMetrics metrics = new OrderEventMetrics(new SimpleMeterRegistry());
+        ContainerProperties containerProperties = new ContainerProperties(topic);
+        ParallelOrderEventConsumer parallelConsumer = null;
+        DefaultKafkaProducerFactory<String, Object> resultProducerFactory = null;
+        if (mode.equals("parallel")) {
+            InventoryResultPublisher resultPublisher = mock(InventoryResultPublisher.class);
+            when(resultPublisher.publishAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+            ParallelOrderEventConsumer consumer = new ParallelOrderEventConsumer(
+                    processor, metrics, mock(DeadLetterPublishingRecoverer.class), resultPublisher, 16, 1000);
+            parallelConsumer = consumer;
+            containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+            containerProperties.setAsyncAcks(true);
+            containerProperties.setMessageListener((AcknowledgingMessageListener<String, OrderCreatedEvent>)
+                    (record, acknowledgment) -> {
+                        try {
+                            consumer.consumeOrderCreatedEvent(record, acknowledgment);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+        } else if (mode.equals("transactional")) {
+            // One simulated database transaction per order, same cost per item as the other modes
+            TransactionalOrderEventProcessor transactionalProcessor = mock(TransactionalOrderEventProcessor.class);
+            when(transactionalProcessor.process(any())).thenAnswer(invocation -> {
+                OrderCreatedEvent event = invocation.getArgument(0);
+                TimeUnit.MICROSECONDS.sleep(ITEM_LATENCY_MICROS * event.orderItems().size());
+                event.orderItems().forEach(item -> processed.countDown());
+                return InventoryResultEvent.reserved(event.orderId(), event.orderNumber());
+            });
+            broker.addTopics(new NewTopic("inventory-result-" + mode, PARTITIONS, (short) 1));
+            resultProducerFactory = transactionalProducerFactory();
+            // Initialise the transaction coordinator before timing, the first initTransactions creates its topic
+            resultProducerFactory.createProducer().close();
+            TransactionalOrderEventConsumer consumer = new TransactionalOrderEventConsumer(transactionalProcessor,
+                    new KafkaTemplate<>(resultProducerFactory), mock(DeadLetterPublishingRecoverer.class),
+                    metrics, "inventory-result-" + mode);
+            containerProperties.setTransactionManager(new KafkaTransactionManager<>(resultProducerFactory));
+            containerProperties.setMessageListener((BatchMessageListener<String, OrderCreatedEvent>)
+                    consumer::consumeOrderCreatedEvents);
+        } else {
+            KafkaConsumerService consumer = new KafkaConsumerService(processor, metrics, mock(InventoryResultPublisher.class));
+            containerProperties.setMessageListener((MessageListener<String, OrderCreatedEvent>)
+                    record -> consumer.consumeOrderCreatedEvent(record.value()));
+        }
+
+        ConcurrentMessageListenerContainer<String, OrderCreatedEvent> container =
+                new ConcurrentMessageListenerContainer<>(consumerFactory(mode), containerProperties);
+        container.setConcurrency(1);
+
+        long start = System.nanoTime();
+        container.start();
+        assertTrue(processed.await(5, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(EVENTS, awaitCommitted(mode, topic));
+        container.stop();
+        if (parallelConsumer != null) {
+            parallelConsumer.stop();
+        }
+        if (resultProducerFactory != null) {
+            resultProducerFactory.destroy();
+        }
+        return EVENTS / seconds;
+    }
+
+    private int publish(String topic, List<UUID> products) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, OrderCreatedEventSerializer.class);
+        DefaultKafkaProducerFactory<String, OrderCreatedEvent> producerFactory = new DefaultKafkaProducerFactory<>(props);
+        KafkaTemplate<String, OrderCreatedEvent> template = new KafkaTemplate<>(producerFactory);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int items = 0;
+        for (int i = 0; i < EVENTS; i++) {
+            List<OrderCreatedEvent.OrderItemEvent> orderItems = new ArrayList<>();
+            int itemCount = 1 + random.nextInt(3);
+            for (int j = 0; j < itemCount; j++) {
+                orderItems.add(new OrderCreatedEvent.OrderItemEvent(products.get(random.nextInt(products.size())),
+                        "Product", 1, Money.of(new BigDecimal("9.99"), USD)));
+            }
+            items += itemCount;
+            UUID orderId = UUID.randomUUID();
+            template.send(topic, orderId.toString(), new OrderCreatedEvent(orderId, "ORD-" + i, "John Doe",
+                    "john@example.com", Money.of(new BigDecimal("9.99"), USD), "PENDING", orderItems));
+        }
+        template.flush();
+        producerFactory.destroy();
+        return items;
+    }
+
+    private DefaultKafkaConsumerFactory<String, OrderCreatedEvent> consumerFactory(String group) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, group);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new OrderCreatedEventDeserializer());
+    }
+
+    private long awaitCommitted(String group, String topic) throws Exception {
+        Map<String, Object> props = Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        try (AdminClient admin = AdminClient.create(props)) {
+            long deadline = System.currentTimeMillis() + 30_000;
+            long committed = 0;
+            while (System.currentTimeMillis() < deadline) {
+                Map<TopicPartition, OffsetAndMetadata> offsets =
+                        admin.listConsumerGroupOffsets(group).partitionsToOffsetAndMetadata().get();
+                committed = offsets.entrySet().stream()
+                        .filter(entry -> entry.getKey().topic().equals(topic) && entry.getValue() != null)
+                        .mapToLong(entry -> entry.getValue().offset())
+                        .sum();
+                if (committed == EVENTS) {
+                    break;
+                }
+                Thread.sleep(100);
+            }
+            return committed;
+        }
+    }
+
+    private DefaultKafkaProducerFactory<String, Object> transactionalProducerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        Serializer<Object> valueSerializer = (topic, value) -> InventoryResultEventCodec.encode((InventoryResultEvent) value);
+        DefaultKafkaProducerFactory<String, Object> factory =
+                new DefaultKafkaProducerFactory<>(props, new StringSerializer(), valueSerializer);
+        factory.setTransactionIdPrefix("benchmark-tx-");
+        return factory;
+    }
+
+    /**
+     * Results visible to a read_committed consumer, i.e. from committed transactions only.
+     */
+    private long countCommittedResults(String topic) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        try (KafkaConsumer<byte[], byte[]> consumer =
+                     new KafkaConsumer<>(props, new ByteArrayDeserializer(), new ByteArrayDeserializer())) {
+            List<TopicPartition> partitions = consumer.partitionsFor(topic).stream()
+                    .map(info -> new TopicPartition(topic, info.partition()))
+                    .toList();
+            consumer.assign(partitions);
+            consumer.seekToBeginning(partitions);
+            long count = 0;
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (count < EVENTS && System.currentTimeMillis() < deadline) {
+                count += consumer.poll(Duration.ofMillis(500)).count();
+            }
+            return count;
+        }
+    }
+}
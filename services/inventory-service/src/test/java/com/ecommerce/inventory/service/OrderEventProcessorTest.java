@@ -0,0 +1,112 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.events.Money;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.events.codec.OrderCreatedEventCodec;
+import com.ecommerce.inventory.metrics.OrderEventMetrics;
+import com.ecommerce.inventory.model.Product;
+import com.ecommerce.inventory.model.StockReservation;
+import com.ecommerce.inventory.repository.ProductRepository;
+import com.ecommerce.inventory.repository.StockReservationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OrderEventProcessor with stock reservations enabled
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderEventProcessor Unit Tests")
+class OrderEventProcessorTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockReservationRepository reservationRepository;
+
+    private StockReservationService reservationService;
+    private OrderEventProcessor processor;
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        productId = UUID.randomUUID();
+        Product product = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
+        product.setId(productId);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+
+        // Scheduler is not started
+        reservationService = new StockReservationService(
+                productRepository, reservationRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                null, null, 60, 10, 64, 200, "serial");
+        processor = new OrderEventProcessor(inventoryService, reservationService, null, null,
+                new OrderEventMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @DisplayName("Should confirm the hold placed before ordering for the order's reservation reference")
+    void testProcessItem_ConfirmsReservation() {
+        // Arrange: the client reserves, then creates an order carrying the reference;
+        // order-service gives the order an id of its own
+        UUID reservationId = UUID.randomUUID();
+        StockReservation reservation = reservationService.reserve(reservationId, productId, 3, null);
+        OrderCreatedEvent.OrderItemEvent item = new OrderCreatedEvent.OrderItemEvent(productId, "Laptop", 3,
+                Money.of(new BigDecimal("999.99"), USD));
+        OrderCreatedEvent created = new OrderCreatedEvent(UUID.randomUUID(), "ORD-1", "John Doe", "john@example.com",
+                Money.of(new BigDecimal("2999.97"), USD), "PENDING", List.of(item), System.currentTimeMillis(),
+                reservationId);
+        OrderCreatedEvent received = OrderCreatedEventCodec.decode(OrderCreatedEventCodec.encode(created));
+
+        // Act
+        boolean processed = processor.processItem(received, received.orderItems().get(0));
+        reservationService.flush();
+
+        // Assert: the held units were consumed, not taken a second time
+        assertTrue(processed);
+        assertEquals(7, reservationService.getAvailableStock(productId));
+        verify(reservationRepository).updateStatus(
+                eq(List.of(reservation.getId())), eq(StockReservation.ReservationStatus.CONFIRMED), any());
+        verify(productRepository).adjustStock(eq(productId), eq(-3), any());
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    @DisplayName("Should take the stock directly for an order placed without reserving")
+    void testProcessItem_WithoutReservation() {
+        // Arrange
+        OrderCreatedEvent.OrderItemEvent item = new OrderCreatedEvent.OrderItemEvent(productId, "Laptop", 4,
+                Money.of(new BigDecimal("999.99"), USD));
+        OrderCreatedEvent event = new OrderCreatedEvent(UUID.randomUUID(), "ORD-2", "John Doe", "john@example.com",
+                Money.of(new BigDecimal("3999.96"), USD), "PENDING", List.of(item));
+
+        // Act
+        boolean processed = processor.processItem(event, item);
+
+        // Assert
+        assertTrue(processed);
+        assertEquals(6, reservationService.getAvailableStock(productId));
+    }
+}
@@ -0,0 +1,218 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.events.Money;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.inventory.metrics.OrderEventMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ParallelOrderEventConsumer
+ *
+ * Testing:
+ * - Items of the same product are processed in consumption order
+ * - A record is acknowledged only after all of its items are done
+ * - Failed records are dead-lettered
+ * - Records whose result cannot be published give back their stock and are dead-lettered
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ParallelOrderEventConsumer Unit Tests")
+class ParallelOrderEventConsumerTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Mock
+    private OrderEventProcessor orderEventProcessor;
+
+    @Mock
+    private DeadLetterPublishingRecoverer deadLetterRecoverer;
+
+    @Mock
+    private InventoryResultPublisher inventoryResultPublisher;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    private ParallelOrderEventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new ParallelOrderEventConsumer(orderEventProcessor,
+                new OrderEventMetrics(new SimpleMeterRegistry()), deadLetterRecoverer, inventoryResultPublisher, 4, 100);
+        lenient().when(inventoryResultPublisher.publishAsync(any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        consumer.stop();
+    }
+
+    @Test
+    @DisplayName("Should keep items of the same product in order")
+    void testDispatch_PreservesPerProductOrder() throws Exception {
+        // Arrange
+        UUID productId = UUID.randomUUID();
+        List<UUID> processedOrders = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            OrderCreatedEvent event = invocation.getArgument(0);
+            processedOrders.add(event.orderId());
+            return true;
+        }).when(orderEventProcessor).processItem(any(), any());
+
+        List<UUID> consumedOrders = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            OrderCreatedEvent event = event(productId);
+            consumedOrders.add(event.orderId());
+            consumer.consumeOrderCreatedEvent(record(event), acknowledgment);
+        }
+
+        // Act
+        consumer.stop();
+
+        // Assert
+        assertEquals(consumedOrders, processedOrders);
+        verify(acknowledgment, times(200)).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should acknowledge only after every item is processed")
+    void testConsume_AcknowledgesAfterCompletion() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        }).when(orderEventProcessor).processItem(any(), any());
+
+        // Act
+        consumer.consumeOrderCreatedEvent(record(event(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID())),
+                acknowledgment);
+
+        // Assert
+        verify(acknowledgment, after(100).never()).acknowledge();
+        release.countDown();
+        verify(acknowledgment, timeout(5000)).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should dead-letter and acknowledge a record whose item fails")
+    void testConsume_DeadLettersFailure() throws Exception {
+        // Arrange
+        RuntimeException failure = new RuntimeException("Product not found");
+        doThrow(failure).when(orderEventProcessor).processItem(any(), any());
+        ConsumerRecord<String, OrderCreatedEvent> record = record(event(UUID.randomUUID()));
+
+        // Act
+        consumer.consumeOrderCreatedEvent(record, acknowledgment);
+
+        // Assert
+        verify(acknowledgment, timeout(5000)).acknowledge();
+        verify(deadLetterRecoverer).accept(record, failure);
+    }
+
+    @Test
+    @DisplayName("Should return the taken stock and publish the products that were not available")
+    void testConsume_PublishesResult() throws Exception {
+        // Arrange
+        UUID available = UUID.randomUUID();
+        UUID unavailable = UUID.randomUUID();
+        OrderCreatedEvent event = event(available, unavailable);
+        when(orderEventProcessor.processItem(eq(event), any()))
+                .thenAnswer(invocation -> invocation.<OrderCreatedEvent.OrderItemEvent>getArgument(1)
+                        .productId().equals(available));
+
+        // Act
+        consumer.consumeOrderCreatedEvent(record(event), acknowledgment);
+
+        // Assert
+        verify(acknowledgment, timeout(5000)).acknowledge();
+        verify(orderEventProcessor).returnItem(event, event.orderItems().get(0));
+        verify(orderEventProcessor, never()).returnItem(event, event.orderItems().get(1));
+        verify(inventoryResultPublisher).publishAsync(event, List.of(unavailable));
+        verifyNoInteractions(deadLetterRecoverer);
+    }
+
+    @Test
+    @DisplayName("Should return the stock of a reserved order and dead-letter it when its result is not published")
+    void testConsume_PublishFailure() throws Exception {
+        // Arrange
+        OrderCreatedEvent event = event(UUID.randomUUID(), UUID.randomUUID());
+        when(orderEventProcessor.processItem(eq(event), any())).thenReturn(true);
+        KafkaException failure = new KafkaException("Failed to publish inventory result");
+        when(inventoryResultPublisher.publishAsync(event, List.of())).thenReturn(CompletableFuture.failedFuture(failure));
+        ConsumerRecord<String, OrderCreatedEvent> record = record(event);
+
+        // Act
+        consumer.consumeOrderCreatedEvent(record, acknowledgment);
+
+        // Assert
+        verify(acknowledgment, timeout(5000)).acknowledge();
+        verify(orderEventProcessor).returnItem(event, event.orderItems().get(0));
+        verify(orderEventProcessor).returnItem(event, event.orderItems().get(1));
+        verify(deadLetterRecoverer).accept(record, failure);
+    }
+
+    @Test
+    @DisplayName("Should return the taken stock before dead-lettering a record whose item fails")
+    void testConsume_ReturnsStockOnFailure() throws Exception {
+        // Arrange
+        UUID failing = UUID.randomUUID();
+        RuntimeException failure = new RuntimeException("Product not found");
+        OrderCreatedEvent event = event(UUID.randomUUID(), failing);
+        when(orderEventProcessor.processItem(eq(event), any())).thenAnswer(invocation -> {
+            if (invocation.<OrderCreatedEvent.OrderItemEvent>getArgument(1).productId().equals(failing)) {
+                throw failure;
+            }
+            return true;
+        });
+        ConsumerRecord<String, OrderCreatedEvent> record = record(event);
+
+        // Act
+        consumer.consumeOrderCreatedEvent(record, acknowledgment);
+
+        // Assert
+        verify(acknowledgment, timeout(5000)).acknowledge();
+        verify(orderEventProcessor).returnItem(event, event.orderItems().get(0));
+        verify(deadLetterRecoverer).accept(record, failure);
+        verifyNoInteractions(inventoryResultPublisher);
+    }
+
+    private ConsumerRecord<String, OrderCreatedEvent> record(OrderCreatedEvent event) {
+        return new ConsumerRecord<>("order-created", 0, 0L, event.orderId().toString(), event);
+    }
+
+    private OrderCreatedEvent event(UUID... productIds) {
+        List<OrderCreatedEvent.OrderItemEvent> items = new ArrayList<>();
+        for (UUID productId : productIds) {
+            items.add(new OrderCreatedEvent.OrderItemEvent(productId, "Laptop", 1, Money.of(new BigDecimal("999.99"), USD)));
+        }
+        return new OrderCreatedEvent(UUID.randomUUID(), "ORD-1", "John Doe", "john@example.com",
+                Money.of(new BigDecimal("999.99"), USD), "PENDING", items);
+    }
+}
@@ -0,0 +1,178 @@
+package com.ecommerce.inventory.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StockDeltaLog
+ */
+@DisplayName("StockDeltaLog Unit Tests")
+class StockDeltaLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back appended records after reopening")
+    void testAppend_SurvivesReopen() throws IOException {
+        // Arrange
+        UUID productId = UUID.randomUUID();
+        try (StockDeltaLog log = new StockDeltaLog(directory, 1024, true, 0)) {
+            log.append(productId, -3);
+            long end = log.append(productId, 5);
+            log.sync(end);
+        }
+
+        // Act
+        List<Integer> deltas = new ArrayList<>();
+        try (StockDeltaLog log = new StockDeltaLog(directory, 1024, true, 0)) {
+            log.read(0, log.endOffset(), (offset, id, delta) -> deltas.add(delta));
+
+            // Assert
+            assertEquals(2L * StockDeltaLog.RECORD_BYTES, log.endOffset());
+        }
+        assertEquals(List.of(-3, 5), deltas);
+    }
+
+    @Test
+    @DisplayName("Should truncate a torn record at the tail")
+    void testOpen_TruncatesTornTail() throws IOException {
+        // Arrange
+        try (StockDeltaLog log = new StockDeltaLog(directory, 1024, false, 0)) {
+            log.append(UUID.randomUUID(), -1);
+        }
+        Path segment = onlySegment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[10]));
+        }
+
+        // Act
+        try (StockDeltaLog log = new StockDeltaLog(directory, 1024, false, 0)) {
+            // Assert
+            assertEquals(StockDeltaLog.RECORD_BYTES, log.endOffset());
+        }
+        assertEquals(StockDeltaLog.RECORD_BYTES, Files.size(segment));
+    }
+
+    @Test
+    @DisplayName("Should roll segments and delete the applied ones")
+    void testRollAndDelete() throws IOException {
+        // Arrange: segments roll after two records
+        UUID productId = UUID.randomUUID();
+        try (StockDeltaLog log = new StockDeltaLog(directory, 2L * StockDeltaLog.RECORD_BYTES, false, 0)) {
+            log.append(productId, -1);
+            long applied = log.append(productId, -1);
+            log.rollIfNeeded();
+            log.append(productId, -7);
+
+            // Act
+            log.deleteBefore(applied);
+
+            // Assert
+            List<Integer> deltas = new ArrayList<>();
+            log.read(applied, log.endOffset(), (offset, id, delta) -> deltas.add(delta));
+            assertEquals(List.of(-7), deltas);
+            assertEquals(onlySegment().getFileName().toString(), String.format("%020d.log", applied));
+        }
+    }
+
+    @Test
+    @DisplayName("Should finish a group commit while a roll holds the log")
+    void testSync_WhileLogLocked() throws Exception {
+        // Arrange: a full segment, so the roll below has work to do
+        UUID productId = UUID.randomUUID();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (StockDeltaLog log = new StockDeltaLog(directory, 2L * StockDeltaLog.RECORD_BYTES, true, 0)) {
+            long offset = log.append(productId, -1);
+            long end = log.append(productId, -1);
+
+            // Act: hold the log's monitor the way rollIfNeeded() and append() do
+            synchronized (log) {
+                Future<?> syncing = executor.submit(() -> {
+                    log.sync(offset);
+                    return null;
+                });
+                syncing.get(10, TimeUnit.SECONDS);
+            }
+            log.rollIfNeeded();
+
+            // Assert
+            assertEquals(end, log.durableOffset());
+            assertEquals(end, log.append(productId, -1) - StockDeltaLog.RECORD_BYTES);
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(2, files.count());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should roll segments while group commits are in flight without deadlocking")
+    void testRollIfNeeded_ConcurrentSync() throws Exception {
+        // Arrange: segments roll after every other record, one thread appends and syncs as record() does
+        UUID productId = UUID.randomUUID();
+        int records = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (StockDeltaLog log = new StockDeltaLog(directory, 2L * StockDeltaLog.RECORD_BYTES, true, 0)) {
+            // Act
+            Future<?> appending = executor.submit(() -> {
+                for (int i = 0; i < records; i++) {
+                    log.sync(log.append(productId, -1));
+                }
+                return null;
+            });
+            Future<?> rolling = executor.submit(() -> {
+                while (!appending.isDone()) {
+                    log.rollIfNeeded();
+                }
+                return null;
+            });
+
+            // Assert
+            appending.get(30, TimeUnit.SECONDS);
+            rolling.get(30, TimeUnit.SECONDS);
+            assertEquals(log.endOffset(), log.durableOffset());
+            long[] total = new long[1];
+            log.read(0, log.endOffset(), (offset, id, delta) -> total[0] += delta);
+            assertEquals(-records, total[0]);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should start an empty log at the given minimum offset")
+    void testOpen_EmptyStartsAtMinimumOffset() throws IOException {
+        try (StockDeltaLog log = new StockDeltaLog(directory, 1024, false, 480)) {
+            assertEquals(480, log.endOffset());
+            assertEquals(480 + StockDeltaLog.RECORD_BYTES, log.append(UUID.randomUUID(), 1));
+        }
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.toList();
+            assertEquals(1, segments.size());
+            return segments.get(0);
+        }
+    }
+}
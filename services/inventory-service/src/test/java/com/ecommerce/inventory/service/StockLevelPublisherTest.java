@@ -0,0 +1,149 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.events.StockLevelEvent;
+import com.ecommerce.inventory.model.Product;
+import com.ecommerce.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StockLevelPublisher
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockLevelPublisher Unit Tests")
+class StockLevelPublisherTest {
+
+    private static final String TOPIC = "stock-levels";
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ObjectProvider<StockReservationService> stockReservationServiceProvider;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Test
+    @DisplayName("Should publish each changed product once with its unreserved stock")
+    void testPublishChanged_CoalescesChanges() {
+        // Arrange
+        StockLevelPublisher publisher = publisher(true, null);
+        Product product = product(10);
+        when(productRepository.findAllById(List.of(product.getId()))).thenReturn(List.of(product));
+        when(stockReservationServiceProvider.getObject()).thenReturn(stockReservationService);
+        when(stockReservationService.getAvailableStock(product.getId())).thenReturn(7);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        // Act
+        publisher.stockChanged(product.getId());
+        publisher.stockChanged(product.getId());
+        int published = publisher.publishChanged();
+
+        // Assert
+        assertEquals(1, published);
+        ArgumentCaptor<Object> level = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq(TOPIC), eq(product.getId().toString()), level.capture());
+        assertEquals(product.getId(), ((StockLevelEvent) level.getValue()).productId());
+        assertEquals(7, ((StockLevelEvent) level.getValue()).available());
+        assertEquals(0, publisher.publishChanged());
+    }
+
+    @Test
+    @DisplayName("Should add unflushed ledger changes and send tombstones for deleted products")
+    void testPublishChanged_LedgerAndTombstone() {
+        // Arrange
+        StockLevelPublisher publisher = publisher(false, stockLedger);
+        Product product = product(10);
+        UUID deletedId = UUID.randomUUID();
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
+        when(stockLedger.pendingDelta(product.getId())).thenReturn(-4L);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        // Act
+        publisher.stockChanged(product.getId());
+        publisher.stockChanged(deletedId);
+        publisher.publishChanged();
+
+        // Assert
+        ArgumentCaptor<Object> level = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq(TOPIC), eq(product.getId().toString()), level.capture());
+        assertEquals(6, ((StockLevelEvent) level.getValue()).available());
+        verify(kafkaTemplate).send(TOPIC, deletedId.toString(), null);
+        verifyNoInteractions(stockReservationServiceProvider);
+    }
+
+    @Test
+    @DisplayName("Should publish the committed stock with the transactional consumer")
+    void testPublishChanged_TransactionalConsumer() {
+        // Arrange
+        StockLevelPublisher publisher = new StockLevelPublisher(kafkaTemplate, productRepository,
+                stockReservationServiceProvider, stockLedger, false, "transactional", TOPIC, 100);
+        Product product = product(8);
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        // Act
+        publisher.stockChanged(product.getId());
+        publisher.publishChanged();
+
+        // Assert
+        ArgumentCaptor<Object> level = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq(TOPIC), eq(product.getId().toString()), level.capture());
+        assertEquals(8, ((StockLevelEvent) level.getValue()).available());
+        verifyNoInteractions(stockReservationServiceProvider, stockLedger);
+    }
+
+    @Test
+    @DisplayName("Should publish the level again when sending fails")
+    void testPublishChanged_RetriesFailedSend() {
+        // Arrange
+        StockLevelPublisher publisher = publisher(false, null);
+        Product product = product(3);
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .thenReturn(new CompletableFuture<>());
+
+        // Act
+        publisher.stockChanged(product.getId());
+        publisher.publishChanged();
+        int retried = publisher.publishChanged();
+
+        // Assert
+        assertEquals(1, retried);
+        verify(kafkaTemplate, times(2)).send(eq(TOPIC), eq(product.getId().toString()), any());
+    }
+
+    private StockLevelPublisher publisher(boolean reservationsEnabled, StockLedger ledger) {
+        return new StockLevelPublisher(kafkaTemplate, productRepository, stockReservationServiceProvider, ledger,
+                reservationsEnabled, "serial", TOPIC, 100);
+    }
+
+    private static Product product(int stock) {
+        Product product = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), stock);
+        product.setId(UUID.randomUUID());
+        return product;
+    }
+}
@@ -0,0 +1,292 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.exception.InsufficientStockException;
+import com.ecommerce.inventory.model.Product;
+import com.ecommerce.inventory.model.StockReservation;
+import com.ecommerce.inventory.repository.ProductRepository;
+import com.ecommerce.inventory.repository.StockReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StockReservationService
+ *
+ * Testing:
+ * - Holds reduce available stock without touching the database
+ * - Confirm, release and expiry transitions
+ * - Batched write-behind of holds and consumed stock
+ * - Refusing to start next to the transactional consumer
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockReservationService Unit Tests")
+class StockReservationServiceTest {
+
+    private static final long TICK_MS = 10;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockReservationRepository reservationRepository;
+
+    private StockReservationService reservationService;
+    private UUID productId;
+    private UUID orderId;
+
+    @BeforeEach
+    void setUp() {
+        productId = UUID.randomUUID();
+        orderId = UUID.randomUUID();
+
+        Product product = new Product("Laptop", "High-performance laptop", new BigDecimal("999.99"), 10);
+        product.setId(productId);
+        lenient().when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+
+        // Scheduler is not started, tick() and flush() are driven by the tests
+        reservationService = new StockReservationService(
+                productRepository, reservationRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                null, null, 60, TICK_MS, 64, 200, "serial");
+    }
+
+    @Test
+    @DisplayName("Should hold stock and reduce availability")
+    void testReserve_Success() {
+        // Act
+        StockReservation reservation = reservationService.reserve(orderId, productId, 3, null);
+
+        // Assert
+        assertEquals(StockReservation.ReservationStatus.HELD, reservation.getStatus());
+        assertEquals(7, reservationService.getAvailableStock(productId));
+        verify(productRepository, times(1)).findById(productId);
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a hold larger than available stock")
+    void testReserve_InsufficientStock() {
+        // Act & Assert
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class, () -> {
+            reservationService.reserve(orderId, productId, 11, null);
+        });
+
+        assertEquals(10, exception.getAvailable());
+        assertEquals(10, reservationService.getAvailableStock(productId));
+    }
+
+    @Test
+    @DisplayName("Should reject a second hold for the same reference and product")
+    void testReserve_Duplicate() {
+        // Arrange
+        reservationService.reserve(orderId, productId, 2, null);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> {
+            reservationService.reserve(orderId, productId, 2, null);
+        });
+        assertEquals(8, reservationService.getAvailableStock(productId));
+    }
+
+    @Test
+    @DisplayName("Should confirm a hold without taking the stock twice")
+    void testConfirm_WithHold() {
+        // Arrange
+        reservationService.reserve(orderId, productId, 4, null);
+
+        // Act
+        boolean confirmed = reservationService.confirm(orderId, productId, 4);
+
+        // Assert
+        assertTrue(confirmed);
+        assertEquals(6, reservationService.getAvailableStock(productId));
+    }
+
+    @Test
+    @DisplayName("Should take stock directly when no hold exists")
+    void testConfirm_WithoutHold() {
+        // Act
+        boolean confirmed = reservationService.confirm(orderId, productId, 10);
+        boolean oversold = reservationService.confirm(UUID.randomUUID(), productId, 1);
+
+        // Assert
+        assertTrue(confirmed);
+        assertFalse(oversold);
+        assertEquals(0, reservationService.getAvailableStock(productId));
+    }
+
+    @Test
+    @DisplayName("Should release a hold that cannot be topped up to the ordered quantity")
+    void testConfirm_HoldTooSmall() {
+        // Arrange: 2 held for the order, the other 8 taken by someone else
+        StockReservation reservation = reservationService.reserve(orderId, productId, 2, null);
+        assertTrue(reservationService.confirm(UUID.randomUUID(), productId, 8));
+
+        // Act
+        boolean confirmed = reservationService.confirm(orderId, productId, 5);
+        reservationService.flush();
+
+        // Assert: nothing of the order's item was consumed
+        assertFalse(confirmed);
+        assertEquals(2, reservationService.getAvailableStock(productId));
+        verify(reservationRepository).updateStatus(
+                eq(List.of(reservation.getId())), eq(StockReservation.ReservationStatus.RELEASED), any());
+        verify(productRepository).adjustStock(eq(productId), eq(-8), any());
+    }
+
+    @Test
+    @DisplayName("Should apply stock changes made outside the engine to available stock")
+    void testApplyStockChange() {
+        // Arrange
+        reservationService.reserve(orderId, productId, 4, null);
+
+        // Act: the product's stock is raised from 10 to 15
+        reservationService.applyStockChange(productId, 5);
+
+        // Assert: the hold still counts against the new quantity
+        assertEquals(11, reservationService.getAvailableStock(productId));
+    }
+
+    @Test
+    @DisplayName("Should reload the stock of an evicted product")
+    void testEvictProduct() {
+        // Arrange
+        assertEquals(10, reservationService.getAvailableStock(productId));
+
+        // Act
+        reservationService.evictProduct(productId);
+        reservationService.getAvailableStock(productId);
+
+        // Assert
+        verify(productRepository, times(2)).findById(productId);
+    }
+
+    @Test
+    @DisplayName("Should give back confirmed stock of a rejected order")
+    void testReturnStock() {
+        // Arrange
+        assertTrue(reservationService.confirm(orderId, productId, 3));
+
+        // Act
+        reservationService.returnStock(productId, 3);
+        reservationService.flush();
+
+        // Assert: the confirmation and its return cancel out before reaching the database
+        assertEquals(10, reservationService.getAvailableStock(productId));
+        verify(productRepository, never()).adjustStock(any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should give stock back on release")
+    void testRelease_Success() {
+        // Arrange
+        StockReservation reservation = reservationService.reserve(orderId, productId, 5, null);
+
+        // Act
+        StockReservation released = reservationService.release(reservation.getId());
+
+        // Assert
+        assertEquals(StockReservation.ReservationStatus.RELEASED, released.getStatus());
+        assertEquals(10, reservationService.getAvailableStock(productId));
+        assertThrows(RuntimeException.class, () -> reservationService.release(reservation.getId()));
+    }
+
+    @Test
+    @DisplayName("Should expire holds once their TTL has passed")
+    void testTick_ExpiresHold() {
+        // Arrange
+        reservationService.reserve(orderId, productId, 5, Duration.ofMillis(50));
+        long afterExpiry = System.currentTimeMillis() + 50 + 2 * TICK_MS;
+
+        // Act
+        int expired = reservationService.tick(afterExpiry);
+
+        // Assert
+        assertEquals(1, expired);
+        assertEquals(10, reservationService.getAvailableStock(productId));
+        // An expired hold can no longer be confirmed, the order takes stock directly
+        assertTrue(reservationService.confirm(orderId, productId, 5));
+        assertEquals(5, reservationService.getAvailableStock(productId));
+    }
+
+    @Test
+    @DisplayName("Should not expire a hold that was already confirmed")
+    void testTick_SkipsConfirmedHold() {
+        // Arrange
+        reservationService.reserve(orderId, productId, 5, Duration.ofMillis(50));
+        reservationService.confirm(orderId, productId, 5);
+
+        // Act
+        int expired = reservationService.tick(System.currentTimeMillis() + 50 + 2 * TICK_MS);
+
+        // Assert
+        assertEquals(0, expired);
+        assertEquals(5, reservationService.getAvailableStock(productId));
+    }
+
+    @Test
+    @DisplayName("Should write holds and coalesced stock changes on flush")
+    void testFlush_WritesBatch() {
+        // Arrange
+        StockReservation reservation = reservationService.reserve(orderId, productId, 2, null);
+        reservationService.confirm(orderId, productId, 2);
+        reservationService.confirm(UUID.randomUUID(), productId, 3);
+
+        // Act
+        reservationService.flush();
+
+        // Assert
+        verify(reservationRepository, times(1)).saveAll(anyList());
+        verify(reservationRepository, times(1)).updateStatus(
+                eq(List.of(reservation.getId())), eq(StockReservation.ReservationStatus.CONFIRMED), any());
+        // Both confirmations end up in a single UPDATE
+        verify(productRepository, times(1)).adjustStock(eq(productId), eq(-5), any());
+    }
+
+    @Test
+    @DisplayName("Should queue the whole batch again when a flush fails")
+    void testFlush_FailureKeepsBatch() {
+        // Arrange
+        StockReservation reservation = reservationService.reserve(orderId, productId, 2, null);
+        reservationService.confirm(orderId, productId, 2);
+        reservationService.confirm(UUID.randomUUID(), productId, 3);
+        when(reservationRepository.saveAll(anyList()))
+                .thenThrow(new RuntimeException("connection reset"))
+                .thenReturn(List.of());
+
+        // Act
+        assertThrows(RuntimeException.class, reservationService::flush);
+        reservationService.flush();
+
+        // Assert: the retry writes everything the failed flush had drained
+        verify(reservationRepository, times(2)).saveAll(anyList());
+        verify(reservationRepository, times(1)).updateStatus(
+                eq(List.of(reservation.getId())), eq(StockReservation.ReservationStatus.CONFIRMED), any());
+        verify(productRepository, times(1)).adjustStock(eq(productId), eq(-5), any());
+    }
+
+    @Test
+    @DisplayName("Should refuse to start with the transactional consumer")
+    void testConstructor_TransactionalConsumerMode() {
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new StockReservationService(productRepository, reservationRepository,
+                        new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                        null, null, 60, TICK_MS, 64, 200, "transactional"));
+        assertTrue(exception.getMessage().contains("inventory.consumer.mode=transactional"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.inventory.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TimerWheel
+ */
+@DisplayName("TimerWheel Unit Tests")
+class TimerWheelTest {
+
+    @Test
+    @DisplayName("Should expire entries only after their deadline")
+    void testAdvance_ExpiresAtDeadline() {
+        // Arrange
+        TimerWheel<String> wheel = new TimerWheel<>(10, 8, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("a", 25);
+        wheel.schedule("b", 55);
+
+        // Act & Assert
+        assertEquals(0, wheel.advance(20, task -> true, expired::add));
+        assertEquals(1, wheel.advance(30, task -> true, expired::add));
+        assertEquals(List.of("a"), expired);
+        assertEquals(1, wheel.advance(60, task -> true, expired::add));
+        assertEquals(List.of("a", "b"), expired);
+    }
+
+    @Test
+    @DisplayName("Should keep entries more than one rotation away")
+    void testAdvance_MultipleRotations() {
+        // Arrange: 8 buckets x 10ms = 80ms per rotation
+        TimerWheel<String> wheel = new TimerWheel<>(10, 8, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("late", 205);
+
+        // Act & Assert
+        assertEquals(0, wheel.advance(100, task -> true, expired::add));
+        assertEquals(0, wheel.advance(200, task -> true, expired::add));
+        assertEquals(1, wheel.advance(210, task -> true, expired::add));
+    }
+
+    @Test
+    @DisplayName("Should drop cancelled entries without calling back")
+    void testAdvance_DropsCancelled() {
+        // Arrange
+        TimerWheel<String> wheel = new TimerWheel<>(10, 8, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("cancelled", 15);
+
+        // Act
+        int count = wheel.advance(50, task -> false, expired::add);
+
+        // Assert
+        assertEquals(0, count);
+        assertTrue(expired.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should expire entries scheduled in the past on the next tick")
+    void testAdvance_PastDeadline() {
+        // Arrange
+        TimerWheel<String> wheel = new TimerWheel<>(10, 8, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.advance(100, task -> true, expired::add);
+        wheel.schedule("overdue", 40);
+
+        // Act
+        int count = wheel.advance(110, task -> true, expired::add);
+
+        // Assert
+        assertEquals(1, count);
+    }
+}
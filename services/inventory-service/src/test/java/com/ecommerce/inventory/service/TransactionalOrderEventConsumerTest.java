@@ -0,0 +1,116 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.events.InventoryResultEvent;
+import com.ecommerce.events.Money;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.inventory.metrics.OrderEventMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TransactionalOrderEventConsumer
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionalOrderEventConsumer Unit Tests")
+class TransactionalOrderEventConsumerTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    private static final String RESULT_TOPIC = "inventory-result";
+
+    @Mock
+    private TransactionalOrderEventProcessor processor;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private DeadLetterPublishingRecoverer deadLetterRecoverer;
+
+    private TransactionalOrderEventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new TransactionalOrderEventConsumer(processor, kafkaTemplate, deadLetterRecoverer,
+                new OrderEventMetrics(new SimpleMeterRegistry()), RESULT_TOPIC);
+    }
+
+    @Test
+    @DisplayName("Should send one result per record, keyed by order id")
+    void testConsume_SendsResults() {
+        // Arrange
+        OrderCreatedEvent first = event();
+        OrderCreatedEvent second = event();
+        InventoryResultEvent firstResult = InventoryResultEvent.reserved(first.orderId(), first.orderNumber());
+        InventoryResultEvent secondResult = InventoryResultEvent.rejected(second.orderId(), second.orderNumber(), "No stock");
+        when(processor.process(first)).thenReturn(firstResult);
+        when(processor.process(second)).thenReturn(secondResult);
+
+        // Act
+        consumer.consumeOrderCreatedEvents(List.of(record(0, first), record(1, second)));
+
+        // Assert
+        verify(kafkaTemplate).send(RESULT_TOPIC, first.orderId().toString(), firstResult);
+        verify(kafkaTemplate).send(RESULT_TOPIC, second.orderId().toString(), secondResult);
+        verifyNoInteractions(deadLetterRecoverer);
+    }
+
+    @Test
+    @DisplayName("Should dead-letter undecodable records and skip tombstones")
+    void testConsume_EmptyRecords() {
+        // Arrange
+        ConsumerRecord<String, OrderCreatedEvent> undecodable = record(0, null);
+        undecodable.headers().add(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, new byte[0]);
+        ConsumerRecord<String, OrderCreatedEvent> tombstone = record(1, null);
+
+        // Act
+        consumer.consumeOrderCreatedEvents(List.of(undecodable, tombstone));
+
+        // Assert
+        verify(deadLetterRecoverer).accept(eq(undecodable), any(Exception.class));
+        verify(deadLetterRecoverer, never()).accept(eq(tombstone), any(Exception.class));
+        verifyNoInteractions(processor, kafkaTemplate);
+    }
+
+    @Test
+    @DisplayName("Should propagate processing failures so the batch is rolled back")
+    void testConsume_FailureAbortsBatch() {
+        // Arrange
+        OrderCreatedEvent event = event();
+        when(processor.process(event)).thenThrow(new IllegalStateException("Database unavailable"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> consumer.consumeOrderCreatedEvents(List.of(record(0, event))));
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    private static ConsumerRecord<String, OrderCreatedEvent> record(long offset, OrderCreatedEvent event) {
+        return new ConsumerRecord<>("order-created", 0, offset, event != null ? event.orderId().toString() : null, event);
+    }
+
+    private static OrderCreatedEvent event() {
+        return new OrderCreatedEvent(UUID.randomUUID(), "ORD-1", "John Doe", "john@example.com",
+                Money.of(new BigDecimal("9.99"), USD), "PENDING",
+                List.of(new OrderCreatedEvent.OrderItemEvent(UUID.randomUUID(), "Laptop", 1, Money.of(new BigDecimal("9.99"), USD))));
+    }
+}
@@ -0,0 +1,150 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.events.InventoryResultEvent;
+import com.ecommerce.events.Money;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.inventory.model.ProcessedOrderEvent;
+import com.ecommerce.inventory.model.Product;
+import com.ecommerce.inventory.repository.ProcessedOrderEventRepository;
+import com.ecommerce.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TransactionalOrderEventProcessor
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionalOrderEventProcessor Unit Tests")
+class TransactionalOrderEventProcessorTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProcessedOrderEventRepository processedOrderEventRepository;
+
+    private TransactionalOrderEventProcessor processor;
+    private Product laptop;
+    private Product mouse;
+
+    @BeforeEach
+    void setUp() {
+        processor = new TransactionalOrderEventProcessor(productRepository, processedOrderEventRepository);
+        laptop = product("Laptop", 5);
+        mouse = product("Mouse", 1);
+    }
+
+    @Test
+    @DisplayName("Should take stock for every item and record the order as reserved")
+    void testProcess_Reserved() {
+        // Arrange
+        OrderCreatedEvent event = event(item(laptop, 2), item(mouse, 1));
+        when(processedOrderEventRepository.findById(event.orderId())).thenReturn(Optional.empty());
+        when(productRepository.findAllByIdForUpdate(Set.of(laptop.getId(), mouse.getId())))
+                .thenReturn(List.of(laptop, mouse));
+
+        // Act
+        InventoryResultEvent result = processor.process(event);
+
+        // Assert
+        assertEquals(InventoryResultEvent.Status.RESERVED, result.status());
+        assertEquals(event.orderId(), result.orderId());
+        assertEquals(3, laptop.getStockQuantity());
+        assertEquals(0, mouse.getStockQuantity());
+        ArgumentCaptor<ProcessedOrderEvent> saved = ArgumentCaptor.forClass(ProcessedOrderEvent.class);
+        verify(processedOrderEventRepository).save(saved.capture());
+        assertEquals("RESERVED", saved.getValue().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should take nothing when one item is short and record the order as rejected")
+    void testProcess_RejectedInsufficientStock() {
+        // Arrange
+        OrderCreatedEvent event = event(item(laptop, 2), item(mouse, 1), item(mouse, 1));
+        when(processedOrderEventRepository.findById(event.orderId())).thenReturn(Optional.empty());
+        when(productRepository.findAllByIdForUpdate(any())).thenReturn(List.of(laptop, mouse));
+
+        // Act
+        InventoryResultEvent result = processor.process(event);
+
+        // Assert
+        assertEquals(InventoryResultEvent.Status.REJECTED, result.status());
+        assertTrue(result.reason().contains(mouse.getId().toString()));
+        assertEquals(5, laptop.getStockQuantity());
+        assertEquals(1, mouse.getStockQuantity());
+        verify(processedOrderEventRepository).save(any(ProcessedOrderEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject an order for an unknown product")
+    void testProcess_RejectedUnknownProduct() {
+        // Arrange
+        UUID unknown = UUID.randomUUID();
+        OrderCreatedEvent event = event(item(laptop, 1),
+                new OrderCreatedEvent.OrderItemEvent(unknown, "Gone", 1, Money.of(BigDecimal.ONE, USD)));
+        when(processedOrderEventRepository.findById(event.orderId())).thenReturn(Optional.empty());
+        when(productRepository.findAllByIdForUpdate(any())).thenReturn(List.of(laptop));
+
+        // Act
+        InventoryResultEvent result = processor.process(event);
+
+        // Assert
+        assertEquals(InventoryResultEvent.Status.REJECTED, result.status());
+        assertEquals("Product not found with id: " + unknown, result.reason());
+        assertEquals(5, laptop.getStockQuantity());
+    }
+
+    @Test
+    @DisplayName("Should return the recorded result of a redelivered order without touching stock")
+    void testProcess_Redelivered() {
+        // Arrange
+        OrderCreatedEvent event = event(item(laptop, 2));
+        when(processedOrderEventRepository.findById(event.orderId()))
+                .thenReturn(Optional.of(new ProcessedOrderEvent(event.orderId(), "REJECTED", "Insufficient stock")));
+
+        // Act
+        InventoryResultEvent result = processor.process(event);
+
+        // Assert
+        assertEquals(InventoryResultEvent.Status.REJECTED, result.status());
+        assertEquals("Insufficient stock", result.reason());
+        verifyNoInteractions(productRepository);
+        verify(processedOrderEventRepository, never()).save(any());
+    }
+
+    private static Product product(String name, int stock) {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName(name);
+        product.setPrice(new BigDecimal("10.00"));
+        product.setStockQuantity(stock);
+        return product;
+    }
+
+    private static OrderCreatedEvent.OrderItemEvent item(Product product, int quantity) {
+        return new OrderCreatedEvent.OrderItemEvent(product.getId(), product.getName(), quantity, Money.of(product.getPrice(), USD));
+    }
+
+    private static OrderCreatedEvent event(OrderCreatedEvent.OrderItemEvent... items) {
+        return new OrderCreatedEvent(UUID.randomUUID(), "ORD-1", "John Doe", "john@example.com",
+                Money.of(new BigDecimal("10.00"), USD), "PENDING", List.of(items));
+    }
+}
@@ -0,0 +1,207 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.LedgerConsistencyReport;
+import com.ecommerce.inventory.model.Product;
+import com.ecommerce.inventory.model.StockLedgerCheckpoint;
+import com.ecommerce.inventory.repository.ProductRepository;
+import com.ecommerce.inventory.repository.StockLedgerCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WriteBehindStockLedger
+ *
+ * Testing:
+ * - Deltas of a product are coalesced into one UPDATE per flush
+ * - Failed flushes keep the deltas
+ * - Replay from the checkpoint after a restart
+ * - The checkpoint never runs ahead of the synced log
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WriteBehindStockLedger Unit Tests")
+class WriteBehindStockLedgerTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockLedgerCheckpointRepository checkpointRepository;
+
+    @TempDir
+    Path logDirectory;
+
+    private TransactionTemplate transactionTemplate;
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        productId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should coalesce deltas into one update per product")
+    void testFlush_CoalescesDeltas() throws IOException {
+        // Arrange
+        WriteBehindStockLedger ledger = newLedger();
+        when(productRepository.adjustStock(eq(productId), anyInt(), any())).thenReturn(1);
+        ledger.replay();
+        ledger.record(productId, -2);
+        ledger.record(productId, -3);
+
+        // Act
+        ledger.flush();
+
+        // Assert
+        verify(productRepository).adjustStock(eq(productId), eq(-5), any());
+        assertEquals(0, ledger.pendingDelta(productId));
+        ArgumentCaptor<StockLedgerCheckpoint> checkpoint = ArgumentCaptor.forClass(StockLedgerCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+        assertEquals(ledger.appliedOffset(), checkpoint.getValue().getAppliedOffset());
+    }
+
+    @Test
+    @DisplayName("Should keep deltas when the database update fails")
+    void testFlush_FailureKeepsDeltas() throws IOException {
+        // Arrange
+        WriteBehindStockLedger ledger = newLedger();
+        when(productRepository.adjustStock(eq(productId), anyInt(), any()))
+                .thenThrow(new RuntimeException("connection reset"));
+        ledger.replay();
+        ledger.record(productId, -4);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, ledger::flush);
+        assertEquals(-4, ledger.pendingDelta(productId));
+        assertEquals(0, ledger.appliedOffset());
+        assertTrue(ledger.checkConsistency().isConsistent());
+    }
+
+    @Test
+    @DisplayName("Should replay unapplied deltas after a restart")
+    void testStart_ReplaysFromCheckpoint() throws IOException {
+        // Arrange: first instance records two deltas but dies before flushing
+        WriteBehindStockLedger first = newLedger();
+        first.replay();
+        first.record(productId, -1);
+        first.record(productId, -6);
+        when(productRepository.adjustStock(eq(productId), anyInt(), any())).thenReturn(1);
+
+        // Act
+        WriteBehindStockLedger second = newLedger();
+        second.replay();
+
+        // Assert
+        verify(productRepository).adjustStock(eq(productId), eq(-7), any());
+        assertEquals(0, second.pendingDelta(productId));
+    }
+
+    @Test
+    @DisplayName("Should not replay deltas already covered by the checkpoint")
+    void testStart_SkipsAppliedDeltas() throws IOException {
+        // Arrange
+        WriteBehindStockLedger first = newLedger();
+        first.replay();
+        first.record(productId, -1);
+        first.record(productId, -6);
+        when(checkpointRepository.findById(WriteBehindStockLedger.CHECKPOINT_ID))
+                .thenReturn(Optional.of(new StockLedgerCheckpoint(WriteBehindStockLedger.CHECKPOINT_ID, 24L)));
+        when(productRepository.adjustStock(eq(productId), anyInt(), any())).thenReturn(1);
+
+        // Act
+        WriteBehindStockLedger second = newLedger();
+        second.replay();
+
+        // Assert: only the second record is past the checkpoint
+        verify(productRepository).adjustStock(eq(productId), eq(-6), any());
+    }
+
+    @Test
+    @DisplayName("Should restart after a crash that loses the unsynced tail of the log")
+    void testFlush_CheckpointOnlyDurableRecords() throws IOException {
+        // Arrange: one delta recorded, one appended by a caller that has not synced yet
+        WriteBehindStockLedger first = newLedger(true);
+        first.replay();
+        first.record(productId, -2);
+        first.append(productId, -3);
+        when(productRepository.adjustStock(eq(productId), anyInt(), any())).thenReturn(1);
+        first.flush();
+        ArgumentCaptor<StockLedgerCheckpoint> checkpoint = ArgumentCaptor.forClass(StockLedgerCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+
+        // Act: crash, losing whatever was not forced to disk, and restart
+        truncateLog(first.durableOffset());
+        when(checkpointRepository.findById(WriteBehindStockLedger.CHECKPOINT_ID))
+                .thenReturn(Optional.of(checkpoint.getValue()));
+        WriteBehindStockLedger second = newLedger(true);
+        second.replay();
+
+        // Assert: both deltas were applied once, and nothing is replayed twice
+        assertEquals(checkpoint.getValue().getAppliedOffset(), second.appliedOffset());
+        verify(productRepository).adjustStock(eq(productId), eq(-5), any());
+        verifyNoMoreInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should report products with negative stock")
+    void testCheckConsistency_NegativeStock() throws IOException {
+        // Arrange
+        WriteBehindStockLedger ledger = newLedger();
+        Product product = new Product();
+        product.setId(productId);
+        when(productRepository.findByStockQuantityLessThan(0)).thenReturn(List.of(product));
+        ledger.replay();
+        ledger.record(productId, -2);
+
+        // Act
+        LedgerConsistencyReport report = ledger.checkConsistency();
+
+        // Assert
+        assertFalse(report.isConsistent());
+        assertTrue(report.getMismatches().isEmpty());
+        assertEquals(List.of(productId), report.getNegativeStockProducts());
+        assertEquals(1, report.getPendingProducts());
+    }
+
+    private WriteBehindStockLedger newLedger() {
+        return newLedger(false);
+    }
+
+    private WriteBehindStockLedger newLedger(boolean fsync) {
+        return new WriteBehindStockLedger(productRepository, checkpointRepository, transactionTemplate,
+                logDirectory.toString(), 50, fsync, 1024 * 1024);
+    }
+
+    // The test uses a single segment starting at offset 0
+    private void truncateLog(long durableOffset) throws IOException {
+        try (Stream<Path> segments = Files.list(logDirectory)) {
+            for (Path segment : segments.toList()) {
+                try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                    channel.truncate(durableOffset);
+                }
+            }
+        }
+    }
+}
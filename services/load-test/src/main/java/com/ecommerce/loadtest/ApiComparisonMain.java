@@ -0,0 +1,246 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.order.OrderServiceApplication;
+import com.ecommerce.reactive.ReactiveOrderServiceApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Side-by-side benchmark of the two order APIs at high concurrency:
+ * order-service (Tomcat, JPA, KafkaTemplate) and order-service-reactive
+ * (Netty, R2DBC, reactor-kafka).
+ *
+ * Starts embedded Postgres and Kafka and both applications against the same
+ * database in this JVM, each with 10 database connections and with tracing,
+ * the stock replica and logging off so they do the same work. Creates the
+ * orders to read, then drives one API after the other with a ClosedModelWorkload
+ * and reports the throughput and latency percentiles of each.
+ *
+ * Examples, from services/ after mvn install -pl load-test -am -DskipTests:
+ *   mvn exec:java@compare-apis -pl load-test -Dexec.args="--concurrency=512 --duration=60s"
+ *   mvn exec:java@compare-apis -pl load-test -Dexec.args="--writes=0 --apis=reactive,servlet"
+ *   mvn exec:java@compare-apis -pl load-test -Dexec.args="--help"
+ */
+public final class ApiComparisonMain {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiComparisonMain.class);
+
+    private static final String ORDER_DATABASE = "orderdb";
+    private static final String ORDER_CREATED_TOPIC = "order-created";
+    private static final int PARTITIONS = 8;
+    private static final int CONNECTIONS = 10;
+
+    /** Histograms hold microseconds, reports show milliseconds */
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private ApiComparisonMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ComparisonOptions options;
+        try {
+            options = args.length == 1 && args[0].equals("--help") ? null : ComparisonOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(ComparisonOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options == null) {
+            System.out.print(ComparisonOptions.USAGE);
+            return;
+        }
+        System.exit(run(options));
+    }
+
+    static int run(ComparisonOptions options) throws Exception {
+        Path dataDirectory = Files.createTempDirectory("load-test");
+        try (EmbeddedInfrastructure infrastructure = EmbeddedInfrastructure.start(
+                new String[] {ORDER_DATABASE}, PARTITIONS, ORDER_CREATED_TOPIC)) {
+
+            // order-service first: it creates the tables both APIs use
+            ConfigurableApplicationContext orderService = ServiceLauncher.start(OrderServiceApplication.class,
+                    orderServiceProperties(options, infrastructure, dataDirectory));
+            ConfigurableApplicationContext reactiveOrderService = null;
+            try {
+                reactiveOrderService = ServiceLauncher.start(ReactiveOrderServiceApplication.class,
+                        reactiveOrderServiceProperties(options, infrastructure));
+                Map<String, URI> uris = Map.of(
+                        ComparisonOptions.SERVLET,
+                        URI.create("http://localhost:" + ServiceLauncher.port(orderService)),
+                        ComparisonOptions.REACTIVE,
+                        URI.create("http://localhost:" + ServiceLauncher.port(reactiveOrderService)));
+                return run(options, uris);
+            } finally {
+                if (reactiveOrderService != null) {
+                    reactiveOrderService.close();
+                }
+                orderService.close();
+            }
+        }
+    }
+
+    private static int run(ComparisonOptions options, Map<String, URI> uris) throws Exception {
+        UUID productId = UUID.randomUUID();
+        List<UUID> orderIds = seedOrders(options, uris.get(ComparisonOptions.SERVLET), productId);
+        logger.info("Created {} orders to read", orderIds.size());
+
+        List<ClosedModelWorkload.Result> results = new ArrayList<>();
+        for (String api : options.getApis()) {
+            ClosedModelWorkload workload = new ClosedModelWorkload(options, uris.get(api), orderIds, productId);
+            results.add(workload.run(api));
+        }
+
+        print(options, results, System.out);
+        Path written = write(options, results);
+        System.out.printf("%nPercentile distributions written to %s%n", written.toAbsolutePath());
+        return 0;
+    }
+
+    private static List<UUID> seedOrders(ComparisonOptions options, URI serviceUri, UUID productId)
+            throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient client = HttpClient.newHttpClient();
+        URI ordersUri = serviceUri.resolve("/api/v1/orders");
+        List<UUID> orderIds = new ArrayList<>(options.getOrders());
+        for (int i = 0; i < options.getOrders(); i++) {
+            Map<String, Object> order = Map.of(
+                    "customerName", "Load Test",
+                    "email", "customer-" + i + "@load.test",
+                    "orderItems", List.of(Map.of(
+                            "productId", productId,
+                            "productName", "Load Test Product",
+                            "quantity", 1 + i % 3,
+                            "price", new BigDecimal("19.99"))));
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(ordersUri)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(order)))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Creating order failed with " + response.statusCode()
+                        + ": " + response.body());
+            }
+            orderIds.add(UUID.fromString(objectMapper.readTree(response.body()).path("orderId").asText()));
+        }
+        return orderIds;
+    }
+
+    private static void print(ComparisonOptions options, List<ClosedModelWorkload.Result> results, PrintStream out) {
+        out.printf("%n%d concurrent clients for %.0fs per API, %.0f%% of requests creating an order, "
+                        + "the rest reading one of %d; latencies in ms%n%n",
+                options.getConcurrency(), options.getDuration().toMillis() / 1000.0, options.getWrites() * 100,
+                options.getOrders());
+        out.printf("%-10s %10s %8s %10s", "API", "requests", "failed", "req/s");
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9s", "p" + format(percentile));
+        }
+        out.printf(" %9s%n", "max");
+        for (ClosedModelWorkload.Result result : results) {
+            Histogram latency = result.latency();
+            out.printf("%-10s %10d %8d %10.1f", result.api(), result.requests(), result.failed(),
+                    result.throughput());
+            for (double percentile : PERCENTILES) {
+                out.printf(" %9.2f", latency.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+            }
+            out.printf(" %9.2f%n", latency.getMaxValue() / MICROS_PER_MILLI);
+        }
+    }
+
+    /**
+     * Writes API.hgrm of every API run to a new timestamped directory under the output directory
+     */
+    private static Path write(ComparisonOptions options, List<ClosedModelWorkload.Result> results)
+            throws IOException {
+        Path directory = options.getOutput()
+                .resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Files.createDirectories(directory);
+        for (ClosedModelWorkload.Result result : results) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(result.api() + ".hgrm")))) {
+                result.latency().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        return directory;
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static Map<String, Object> commonProperties(EmbeddedInfrastructure infrastructure) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.kafka.bootstrap-servers", infrastructure.getBootstrapServers());
+        // Only order-service traces; spans would be extra work for one side
+        properties.put("management.tracing.enabled", false);
+        properties.put("tracing.file.enabled", false);
+        // Console output would dominate the measurements
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.ecommerce.loadtest", "INFO");
+        properties.put("logging.level.com.ecommerce.order", "WARN");
+        properties.put("logging.level.com.ecommerce.reactive", "WARN");
+        return properties;
+    }
+
+    private static Map<String, Object> orderServiceProperties(ComparisonOptions options,
+                                                              EmbeddedInfrastructure infrastructure,
+                                                              Path dataDirectory) {
+        Map<String, Object> properties = commonProperties(infrastructure);
+        properties.put("spring.autoconfigure.exclude", LoadTestMain.R2DBC_AUTO_CONFIGURATION);
+        properties.put("spring.datasource.url", infrastructure.getJdbcUrl(ORDER_DATABASE));
+        properties.put("spring.datasource.username", EmbeddedInfrastructure.USERNAME);
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.hikari.maximum-pool-size", CONNECTIONS);
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("spring.jpa.properties.hibernate.format_sql", false);
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        // The reactive API has no stock replica, partitions, archive, read coalescing or admission control
+        properties.put("order.stock-replica.enabled", false);
+        properties.put("order.read-coalescing.enabled", false);
+        properties.put("order.admission.enabled", false);
+        properties.put("order.partitioning.enabled", false);
+        properties.put("order.archive.enabled", false);
+        properties.put("order.archive.dir", dataDirectory.resolve("order-archive").toString());
+        properties.putAll(options.getOrderServiceProperties());
+        return properties;
+    }
+
+    private static Map<String, Object> reactiveOrderServiceProperties(ComparisonOptions options,
+                                                                      EmbeddedInfrastructure infrastructure) {
+        Map<String, Object> properties = commonProperties(infrastructure);
+        // order-service's JDBC and JPA stack is on this classpath too
+        properties.put("spring.autoconfigure.exclude",
+                "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration");
+        properties.put("spring.r2dbc.url", infrastructure.getR2dbcUrl(ORDER_DATABASE));
+        properties.put("spring.r2dbc.username", EmbeddedInfrastructure.USERNAME);
+        properties.put("spring.r2dbc.password", "");
+        properties.put("spring.r2dbc.pool.initial-size", CONNECTIONS);
+        properties.put("spring.r2dbc.pool.max-size", CONNECTIONS);
+        properties.putAll(options.getReactiveOrderServiceProperties());
+        return properties;
+    }
+}
@@ -0,0 +1,155 @@
+package com.ecommerce.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed number of simulated clients, each sending its next request as soon
+ * as the previous one is answered
+ *
+ * Unlike OpenModelWorkload the load adapts to the service: this measures how
+ * many requests an API completes, and how long each takes, with concurrency
+ * requests always outstanding. Each client reads a random order by id or, for
+ * a writes share of its requests, creates one.
+ */
+public class ClosedModelWorkload {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClosedModelWorkload.class);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ComparisonOptions options;
+    private final URI ordersUri;
+    private final List<UUID> orderIds;
+    private final byte[] orderBody;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /**
+     * Requests, failures and latencies of the measured period of one run, latencies in microseconds
+     */
+    public record Result(String api, long requests, long failed, Duration duration, Histogram latency) {
+
+        /**
+         * Successful requests per second
+         */
+        public double throughput() {
+            return (requests - failed) / (duration.toNanos() / 1e9);
+        }
+    }
+
+    public ClosedModelWorkload(ComparisonOptions options, URI serviceUri, List<UUID> orderIds, UUID productId) {
+        this.options = options;
+        this.ordersUri = serviceUri.resolve("/api/v1/orders");
+        this.orderIds = orderIds;
+        this.orderBody = orderBody(productId);
+    }
+
+    /**
+     * Runs the warm-up and the measured period, returning once every client has stopped
+     */
+    public Result run(String api) throws InterruptedException {
+        Run run = new Run(options.getWarmup(), options.getDuration(), options.getConcurrency());
+        logger.info("{}: warming up for {}s with {} clients", api, options.getWarmup().toSeconds(),
+                options.getConcurrency());
+        for (int i = 0; i < options.getConcurrency(); i++) {
+            next(run);
+        }
+        long untilEnd = run.endNanos - System.nanoTime();
+        if (!run.stopped.await(untilEnd + REQUEST_TIMEOUT.toNanos(), TimeUnit.NANOSECONDS)) {
+            logger.warn("{}: {} clients still waiting for a response", api, run.stopped.getCount());
+        }
+        return new Result(api, run.requests.sum(), run.failed.sum(), options.getDuration(), run.latency);
+    }
+
+    private void next(Run run) {
+        long sentNanos = System.nanoTime();
+        if (sentNanos >= run.endNanos) {
+            run.stopped.countDown();
+            return;
+        }
+        boolean write = ThreadLocalRandom.current().nextDouble() < options.getWrites();
+        HttpRequest request = write
+                ? HttpRequest.newBuilder(ordersUri)
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(orderBody))
+                        .build()
+                : HttpRequest.newBuilder(URI.create(ordersUri + "/"
+                                + orderIds.get(ThreadLocalRandom.current().nextInt(orderIds.size()))))
+                        .timeout(REQUEST_TIMEOUT)
+                        .GET()
+                        .build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long respondedNanos = System.nanoTime();
+                    if (sentNanos >= run.measureFromNanos && respondedNanos < run.endNanos) {
+                        run.requests.increment();
+                        if (error != null || response.statusCode() != (write ? 201 : 200)) {
+                            run.failed.increment();
+                        } else {
+                            run.latency.recordValue((respondedNanos - sentNanos) / 1000);
+                        }
+                    }
+                    if (error != null) {
+                        logger.debug("Request failed", error);
+                    }
+                    next(run);
+                });
+    }
+
+    private static byte[] orderBody(UUID productId) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode order = objectMapper.createObjectNode()
+                .put("customerName", "Load Test")
+                .put("email", "customer@load.test");
+        order.putArray("orderItems").addObject()
+                .put("productId", productId.toString())
+                .put("productName", "Load Test Product")
+                .put("quantity", 1)
+                .put("price", new BigDecimal("19.99"));
+        try {
+            return objectMapper.writeValueAsBytes(order);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot write order", e);
+        }
+    }
+
+    /**
+     * State of one run, shared by its clients
+     */
+    private static final class Run {
+
+        final long measureFromNanos;
+        final long endNanos;
+        final CountDownLatch stopped;
+        final LongAdder requests = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final Histogram latency = new ConcurrentHistogram(3);
+
+        Run(Duration warmup, Duration duration, int clients) {
+            this.measureFromNanos = System.nanoTime() + warmup.toNanos();
+            this.endNanos = measureFromNanos + duration.toNanos();
+            this.stopped = new CountDownLatch(clients);
+        }
+    }
+}
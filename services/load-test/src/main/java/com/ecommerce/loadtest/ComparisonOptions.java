@@ -0,0 +1,136 @@
+package com.ecommerce.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line of ApiComparisonMain, every option as --name=value
+ *
+ * Options starting with --order-service. or --reactive-order-service. are
+ * passed on as properties of that application.
+ */
+public class ComparisonOptions {
+
+    static final String SERVLET = "servlet";
+    static final String REACTIVE = "reactive";
+
+    static final String ORDER_SERVICE_PREFIX = "order-service.";
+    static final String REACTIVE_ORDER_SERVICE_PREFIX = "reactive-order-service.";
+
+    static final String USAGE = """
+            Options (defaults in brackets):
+              --concurrency=N     requests outstanding at any time, one per simulated client [256]
+              --duration=D        measured period of each API, e.g. 30s or 2m [30s]
+              --warmup=D          load before each measured period, not recorded [10s]
+              --orders=N          orders created up front and read back by id [1000]
+              --writes=F          share of requests that create an order instead of reading one [0.1]
+              --apis=LIST         APIs to run, in this order: servlet, reactive or both [servlet,reactive]
+              --output=DIR        directory for the .hgrm percentile files [load-test-results]
+              --order-service.PROPERTY=VALUE, --reactive-order-service.PROPERTY=VALUE
+                                  extra properties of one application
+            """;
+
+    private int concurrency = 256;
+    private Duration duration = Duration.ofSeconds(30);
+    private Duration warmup = Duration.ofSeconds(10);
+    private int orders = 1000;
+    private double writes = 0.1;
+    private List<String> apis = List.of(SERVLET, REACTIVE);
+    private Path output = Paths.get("load-test-results");
+    private final Map<String, Object> orderServiceProperties = new LinkedHashMap<>();
+    private final Map<String, Object> reactiveOrderServiceProperties = new LinkedHashMap<>();
+
+    public static ComparisonOptions parse(String... args) {
+        ComparisonOptions options = new ComparisonOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.set(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        options.validate();
+        return options;
+    }
+
+    private void set(String name, String value) {
+        if (name.startsWith(ORDER_SERVICE_PREFIX)) {
+            orderServiceProperties.put(name.substring(ORDER_SERVICE_PREFIX.length()), value);
+            return;
+        }
+        if (name.startsWith(REACTIVE_ORDER_SERVICE_PREFIX)) {
+            reactiveOrderServiceProperties.put(name.substring(REACTIVE_ORDER_SERVICE_PREFIX.length()), value);
+            return;
+        }
+        switch (name) {
+            case "concurrency" -> concurrency = Integer.parseInt(value);
+            case "duration" -> duration = DurationStyle.detectAndParse(value);
+            case "warmup" -> warmup = DurationStyle.detectAndParse(value);
+            case "orders" -> orders = Integer.parseInt(value);
+            case "writes" -> writes = Double.parseDouble(value);
+            case "apis" -> apis = List.of(value.split(","));
+            case "output" -> output = Paths.get(value);
+            default -> throw new IllegalArgumentException("Unknown option: --" + name);
+        }
+    }
+
+    private void validate() {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive");
+        }
+        if (orders < 1) {
+            throw new IllegalArgumentException("Orders must be positive");
+        }
+        if (writes < 0 || writes > 1) {
+            throw new IllegalArgumentException("Writes must be between 0 and 1");
+        }
+        if (apis.isEmpty() || !List.of(SERVLET, REACTIVE).containsAll(apis)) {
+            throw new IllegalArgumentException("APIs must be servlet, reactive or both but got: " + apis);
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public int getOrders() {
+        return orders;
+    }
+
+    public double getWrites() {
+        return writes;
+    }
+
+    public List<String> getApis() {
+        return apis;
+    }
+
+    public Path getOutput() {
+        return output;
+    }
+
+    public Map<String, Object> getOrderServiceProperties() {
+        return orderServiceProperties;
+    }
+
+    public Map<String, Object> getReactiveOrderServiceProperties() {
+        return reactiveOrderServiceProperties;
+    }
+}
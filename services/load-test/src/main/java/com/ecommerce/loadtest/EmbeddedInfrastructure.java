@@ -0,0 +1,87 @@
+package com.ecommerce.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Postgres and a single Kafka broker for both services, started in this JVM
+ *
+ * Postgres runs as a child process from the binaries bundled with
+ * embedded-postgres, with one database per service. The broker runs in KRaft
+ * mode without ZooKeeper.
+ */
+public class EmbeddedInfrastructure implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedInfrastructure.class);
+
+    static final String USERNAME = "postgres";
+
+    private final EmbeddedPostgres postgres;
+    private final EmbeddedKafkaKraftBroker kafka;
+
+    private EmbeddedInfrastructure(EmbeddedPostgres postgres, EmbeddedKafkaKraftBroker kafka) {
+        this.postgres = postgres;
+        this.kafka = kafka;
+    }
+
+    /**
+     * Starts Postgres with the given databases and a broker with the given topics
+     */
+    public static EmbeddedInfrastructure start(String[] databases, int partitions, String... topics)
+            throws IOException, SQLException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String database : databases) {
+                statement.execute("CREATE DATABASE " + database);
+            }
+        } catch (SQLException e) {
+            postgres.close();
+            throw e;
+        }
+        logger.info("Postgres started on port {} with databases {}", postgres.getPort(), String.join(", ", databases));
+
+        EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, partitions);
+        try {
+            kafka.brokerProperty("auto.create.topics.enable", "true");
+            kafka.afterPropertiesSet();
+            for (String topic : topics) {
+                kafka.addTopics(new NewTopic(topic, partitions, (short) 1));
+            }
+        } catch (RuntimeException e) {
+            postgres.close();
+            throw e;
+        }
+        logger.info("Kafka started on {} with topics {}", kafka.getBrokersAsString(), String.join(", ", topics));
+        return new EmbeddedInfrastructure(postgres, kafka);
+    }
+
+    public String getJdbcUrl(String database) {
+        return postgres.getJdbcUrl(USERNAME, database);
+    }
+
+    public String getR2dbcUrl(String database) {
+        return "r2dbc:postgresql://localhost:" + postgres.getPort() + "/" + database;
+    }
+
+    public String getBootstrapServers() {
+        return kafka.getBrokersAsString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            kafka.destroy();
+        } finally {
+            postgres.close();
+        }
+    }
+}
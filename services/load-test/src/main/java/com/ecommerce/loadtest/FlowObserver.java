@@ -0,0 +1,121 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.events.InventoryResultEvent;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.events.kafka.InventoryResultEventDeserializer;
+import com.ecommerce.events.kafka.OrderCreatedEventDeserializer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads the order-created and inventory-result topics alongside the services
+ * and reports every record to the FlowTracker
+ *
+ * Each topic has its own consumer and thread, in a group of its own, from the
+ * beginning of the topic; neither commits offsets or affects the services'
+ * consumer groups.
+ */
+public class FlowObserver implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlowObserver.class);
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+
+    private final List<Reader<?>> readers;
+
+    public FlowObserver(String bootstrapServers, String orderCreatedTopic, String inventoryResultTopic,
+                        FlowTracker tracker) {
+        Reader<OrderCreatedEvent> orderCreated = new Reader<>(bootstrapServers, orderCreatedTopic,
+                new OrderCreatedEventDeserializer(), record -> {
+                    OrderCreatedEvent event = record.value();
+                    if (event != null && event.publishedAt() != null) {
+                        tracker.orderCreatedReceived(event.orderId(), event.publishedAt(), System.currentTimeMillis());
+                    }
+                });
+        Reader<InventoryResultEvent> inventoryResult = new Reader<>(bootstrapServers, inventoryResultTopic,
+                new InventoryResultEventDeserializer(), record -> {
+                    long receivedNanos = System.nanoTime();
+                    InventoryResultEvent event = record.value();
+                    if (event != null) {
+                        tracker.inventoryResultReceived(event.orderId(),
+                                event.status() == InventoryResultEvent.Status.RESERVED,
+                                event.publishedAt() != null ? event.publishedAt() : record.timestamp(),
+                                receivedNanos);
+                    }
+                });
+        this.readers = List.of(orderCreated, inventoryResult);
+    }
+
+    public void start() {
+        readers.forEach(Reader::start);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (Reader<?> reader : readers) {
+            reader.close();
+        }
+    }
+
+    private static class Reader<V> implements Runnable {
+
+        private final String topic;
+        private final KafkaConsumer<String, V> consumer;
+        private final Consumer<ConsumerRecord<String, V>> handler;
+        private final Thread thread;
+
+        Reader(String bootstrapServers, String topic, Deserializer<V> deserializer,
+               Consumer<ConsumerRecord<String, V>> handler) {
+            this.topic = topic;
+            this.consumer = new KafkaConsumer<>(Map.of(
+                    ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                    ConsumerConfig.GROUP_ID_CONFIG, "load-test-" + topic + "-" + UUID.randomUUID(),
+                    ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                    ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false,
+                    ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed"),
+                    new StringDeserializer(), deserializer);
+            this.handler = handler;
+            this.thread = new Thread(this, "load-test-" + topic);
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            try {
+                consumer.subscribe(List.of(topic));
+                while (!Thread.currentThread().isInterrupted()) {
+                    for (ConsumerRecord<String, V> record : consumer.poll(POLL_TIMEOUT)) {
+                        handler.accept(record);
+                    }
+                }
+            } catch (WakeupException e) {
+                // closing
+            } catch (RuntimeException e) {
+                logger.error("Stopped reading {}", topic, e);
+            } finally {
+                consumer.close();
+            }
+        }
+
+        void close() throws InterruptedException {
+            consumer.wakeup();
+            thread.join(5000);
+        }
+    }
+}
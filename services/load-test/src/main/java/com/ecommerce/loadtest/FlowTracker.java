@@ -0,0 +1,162 @@
+package com.ecommerce.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Joins what is seen of each order along the flow and records the latency of
+ * every stage, in microseconds.
+ *
+ * The HTTP response, the order-created record and the inventory-result record
+ * of an order reach the tracker on different threads and in any order; the
+ * order's stages are recorded once all three have arrived. Only orders sent
+ * at or after the start of the measurement are recorded.
+ */
+public class FlowTracker {
+
+    public enum Stage {
+        /** Intended send time to 201 Created, including time queued in the client */
+        HTTP("http"),
+        /** order-service published the event to the load test consumer receiving it */
+        ORDER_CREATED_DELIVERY("order-created-delivery"),
+        /** order-service published the event to inventory-service publishing the result, stock taken */
+        INVENTORY("inventory"),
+        /** Intended send time to the inventory result being received */
+        END_TO_END("end-to-end");
+
+        private final String fileName;
+
+        Stage(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+    }
+
+    private final Map<Stage, Histogram> histograms = new EnumMap<>(Stage.class);
+    private final Map<UUID, Flow> flows = new ConcurrentHashMap<>();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile long measureFromNanos = Long.MAX_VALUE;
+
+    public FlowTracker() {
+        for (Stage stage : Stage.values()) {
+            histograms.put(stage, new ConcurrentHistogram(3));
+        }
+    }
+
+    /**
+     * Orders intended to be sent from now on are recorded
+     */
+    public void startMeasuring(long nanos) {
+        measureFromNanos = nanos;
+    }
+
+    public void responded(UUID orderId, long intendedNanos, long respondedNanos) {
+        boolean measured = intendedNanos >= measureFromNanos;
+        if (measured) {
+            record(Stage.HTTP, (respondedNanos - intendedNanos) / 1000);
+        }
+        update(orderId, flow -> {
+            flow.responded = true;
+            flow.measured = measured;
+            flow.intendedNanos = intendedNanos;
+        });
+    }
+
+    public void orderCreatedReceived(UUID orderId, long publishedAtMillis, long receivedAtMillis) {
+        update(orderId, flow -> {
+            flow.orderCreatedPublishedAtMillis = publishedAtMillis;
+            flow.orderCreatedReceivedAtMillis = receivedAtMillis;
+        });
+    }
+
+    public void inventoryResultReceived(UUID orderId, boolean reserved, long publishedAtMillis, long receivedNanos) {
+        update(orderId, flow -> {
+            flow.resultReceived = true;
+            flow.reserved = reserved;
+            flow.resultPublishedAtMillis = publishedAtMillis;
+            flow.resultReceivedNanos = receivedNanos;
+        });
+    }
+
+    private void update(UUID orderId, Consumer<Flow> change) {
+        flows.compute(orderId, (id, flow) -> {
+            Flow current = flow == null ? new Flow() : flow;
+            change.accept(current);
+            if (!current.isComplete()) {
+                return current;
+            }
+            complete(current);
+            return null;
+        });
+    }
+
+    private void complete(Flow flow) {
+        if (!flow.measured) {
+            return;
+        }
+        completed.increment();
+        if (!flow.reserved) {
+            rejected.increment();
+        }
+        record(Stage.ORDER_CREATED_DELIVERY,
+                (flow.orderCreatedReceivedAtMillis - flow.orderCreatedPublishedAtMillis) * 1000);
+        record(Stage.INVENTORY, (flow.resultPublishedAtMillis - flow.orderCreatedPublishedAtMillis) * 1000);
+        record(Stage.END_TO_END, (flow.resultReceivedNanos - flow.intendedNanos) / 1000);
+    }
+
+    private void record(Stage stage, long micros) {
+        histograms.get(stage).recordValue(Math.max(0, micros));
+    }
+
+    public Histogram getHistogram(Stage stage) {
+        return histograms.get(stage);
+    }
+
+    /**
+     * Measured orders whose inventory result was received
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * Completed orders that inventory-service rejected
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Orders seen somewhere along the flow but not yet complete
+     */
+    public int getOutstanding() {
+        return flows.size();
+    }
+
+    private static class Flow {
+        boolean responded;
+        boolean measured;
+        long intendedNanos;
+        long orderCreatedPublishedAtMillis;
+        long orderCreatedReceivedAtMillis;
+        boolean resultReceived;
+        boolean reserved;
+        long resultPublishedAtMillis;
+        long resultReceivedNanos;
+
+        boolean isComplete() {
+            return responded && orderCreatedReceivedAtMillis != 0 && resultReceived;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.ecommerce.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Summary of a run on the console and one percentile distribution per stage in
+ * HdrHistogram's .hgrm format, which the HdrHistogram plotter reads
+ */
+public class LatencyReport {
+
+    /** Histograms hold microseconds, reports show milliseconds */
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final LoadTestOptions options;
+    private final FlowTracker tracker;
+    private final OpenModelWorkload workload;
+
+    public LatencyReport(LoadTestOptions options, FlowTracker tracker, OpenModelWorkload workload) {
+        this.options = options;
+        this.tracker = tracker;
+        this.workload = workload;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = options.getDuration().toMillis() / 1000.0;
+        out.printf("%nOffered %.1f orders/s (%s arrivals) for %.0fs, %d-%d lines per order, %d products, skew %.2f%n",
+                options.getRate(), options.isPoisson() ? "poisson" : "uniform", seconds,
+                options.getMinItems(), options.getMaxItems(), options.getProducts(), options.getSkew());
+        out.printf("Sent %d, created %d, failed %d, dropped %d (max in flight reached)%n",
+                workload.getSent(), workload.getCreated(), workload.getFailed(), workload.getDropped());
+        out.printf("Completed %d (%d rejected by inventory), %d outstanding after the drain%n",
+                tracker.getCompleted(), tracker.getRejected(), tracker.getOutstanding());
+        out.printf("Sustained %.1f orders/s end to end%n%n", tracker.getCompleted() / seconds);
+
+        out.printf("%-24s %10s", "Stage (ms)", "count");
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9s", "p" + format(percentile));
+        }
+        out.printf(" %9s%n", "max");
+        for (FlowTracker.Stage stage : FlowTracker.Stage.values()) {
+            Histogram histogram = tracker.getHistogram(stage);
+            out.printf("%-24s %10d", stage.getFileName(), histogram.getTotalCount());
+            for (double percentile : PERCENTILES) {
+                out.printf(" %9.2f", histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+            }
+            out.printf(" %9.2f%n", histogram.getMaxValue() / MICROS_PER_MILLI);
+        }
+    }
+
+    /**
+     * Writes STAGE.hgrm of every stage to a new timestamped directory under the output directory
+     *
+     * @return the directory written
+     */
+    public Path write() throws IOException {
+        Path directory = options.getOutput()
+                .resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Files.createDirectories(directory);
+        for (FlowTracker.Stage stage : FlowTracker.Stage.values()) {
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(directory.resolve(stage.getFileName() + ".hgrm")))) {
+                tracker.getHistogram(stage).outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        return directory;
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,216 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.inventory.InventoryServiceApplication;
+import com.ecommerce.order.OrderServiceApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test of the order flow:
+ * POST /api/v1/orders, order-created, KafkaConsumerService, stock update,
+ * inventory-result.
+ *
+ * Starts embedded Postgres and Kafka, both services against them in this JVM
+ * (with their own application.properties, logging turned down), seeds the
+ * products, then offers orders at a fixed rate and reports the latency of each
+ * stage (see FlowTracker.Stage) and the sustained throughput.
+ *
+ * Examples, from services/ after mvn install -pl load-test -am -DskipTests:
+ *   mvn exec:java -pl load-test -Dexec.args="--rate=200 --duration=60s"
+ *   mvn exec:java -pl load-test -Dexec.args="--rate=500 --items=1-10 --skew=1.2
+ *       --inventory-service.inventory.consumer.mode=parallel"
+ *   mvn exec:java -pl load-test -Dexec.args="--help"
+ */
+public final class LoadTestMain {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestMain.class);
+
+    private static final String ORDER_DATABASE = "orderdb";
+    private static final String INVENTORY_DATABASE = "inventorydb";
+    private static final String ORDER_CREATED_TOPIC = "order-created";
+    private static final String INVENTORY_RESULT_TOPIC = "inventory-result";
+    private static final BigDecimal PRODUCT_PRICE = new BigDecimal("19.99");
+    private static final long PROGRESS_INTERVAL_SECONDS = 10;
+
+    /**
+     * order-service-reactive puts R2DBC on this classpath; the servlet services have no R2DBC url
+     */
+    static final String R2DBC_AUTO_CONFIGURATION = "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration";
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = args.length == 1 && args[0].equals("--help") ? null : LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options == null) {
+            System.out.print(LoadTestOptions.USAGE);
+            return;
+        }
+        System.exit(run(options));
+    }
+
+    static int run(LoadTestOptions options) throws Exception {
+        Path dataDirectory = Files.createTempDirectory("load-test");
+        try (EmbeddedInfrastructure infrastructure = EmbeddedInfrastructure.start(
+                new String[] {ORDER_DATABASE, INVENTORY_DATABASE}, options.getPartitions(),
+                ORDER_CREATED_TOPIC, INVENTORY_RESULT_TOPIC)) {
+
+            ConfigurableApplicationContext inventoryService = ServiceLauncher.start(InventoryServiceApplication.class,
+                    inventoryServiceProperties(options, infrastructure, dataDirectory));
+            ConfigurableApplicationContext orderService = null;
+            try {
+                orderService = ServiceLauncher.start(OrderServiceApplication.class,
+                        orderServiceProperties(options, infrastructure, dataDirectory));
+                return run(options, infrastructure,
+                        URI.create("http://localhost:" + ServiceLauncher.port(orderService)),
+                        URI.create("http://localhost:" + ServiceLauncher.port(inventoryService)));
+            } finally {
+                if (orderService != null) {
+                    orderService.close();
+                }
+                inventoryService.close();
+            }
+        }
+    }
+
+    private static int run(LoadTestOptions options, EmbeddedInfrastructure infrastructure,
+                           URI orderServiceUri, URI inventoryServiceUri) throws Exception {
+        List<OpenModelWorkload.Product> products = seedProducts(options, inventoryServiceUri);
+        logger.info("Seeded {} products with {} in stock each", products.size(), options.getStock());
+
+        FlowTracker tracker = new FlowTracker();
+        OpenModelWorkload workload = new OpenModelWorkload(options, orderServiceUri, products, tracker);
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-test-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (FlowObserver observer = new FlowObserver(infrastructure.getBootstrapServers(),
+                ORDER_CREATED_TOPIC, INVENTORY_RESULT_TOPIC, tracker)) {
+            observer.start();
+            progress.scheduleAtFixedRate(() -> logger.info(
+                            "Sent {}, in flight {}, completed {}, outstanding {}",
+                            workload.getSent(), workload.getInFlight(), tracker.getCompleted(),
+                            tracker.getOutstanding()),
+                    PROGRESS_INTERVAL_SECONDS, PROGRESS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+            workload.run();
+            drain(options, workload, tracker);
+        } finally {
+            progress.shutdownNow();
+        }
+
+        LatencyReport report = new LatencyReport(options, tracker, workload);
+        report.print(System.out);
+        Path written = report.write();
+        System.out.printf("%nPercentile distributions written to %s%n", written.toAbsolutePath());
+        return 0;
+    }
+
+    /**
+     * Waits up to the drain time for every request to be answered and every order to complete
+     */
+    private static void drain(LoadTestOptions options, OpenModelWorkload workload, FlowTracker tracker)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + options.getDrain().toNanos();
+        while (System.nanoTime() < deadline && (workload.getInFlight() > 0 || tracker.getOutstanding() > 0)) {
+            Thread.sleep(100);
+        }
+    }
+
+    private static List<OpenModelWorkload.Product> seedProducts(LoadTestOptions options, URI inventoryServiceUri)
+            throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient client = HttpClient.newHttpClient();
+        URI productsUri = inventoryServiceUri.resolve("/api/v1/products");
+        List<OpenModelWorkload.Product> products = new ArrayList<>(options.getProducts());
+        for (int i = 0; i < options.getProducts(); i++) {
+            String name = "Load Test Product " + i;
+            Map<String, Object> product = Map.of(
+                    "name", name,
+                    "price", PRODUCT_PRICE,
+                    "stockQuantity", options.getStock());
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(productsUri)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(product)))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding product failed with " + response.statusCode()
+                        + ": " + response.body());
+            }
+            JsonNode created = objectMapper.readTree(response.body());
+            products.add(new OpenModelWorkload.Product(
+                    UUID.fromString(created.path("id").asText()), name, PRODUCT_PRICE));
+        }
+        return products;
+    }
+
+    private static Map<String, Object> commonProperties(EmbeddedInfrastructure infrastructure) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.autoconfigure.exclude", R2DBC_AUTO_CONFIGURATION);
+        properties.put("spring.datasource.username", EmbeddedInfrastructure.USERNAME);
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.kafka.bootstrap-servers", infrastructure.getBootstrapServers());
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("spring.jpa.properties.hibernate.format_sql", false);
+        // Console output would dominate the measurements
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.ecommerce.loadtest", "INFO");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        return properties;
+    }
+
+    private static Map<String, Object> inventoryServiceProperties(LoadTestOptions options,
+                                                                  EmbeddedInfrastructure infrastructure,
+                                                                  Path dataDirectory) {
+        Map<String, Object> properties = commonProperties(infrastructure);
+        properties.put("spring.datasource.url", infrastructure.getJdbcUrl(INVENTORY_DATABASE));
+        properties.put("inventory.stock.write-behind.log-dir", dataDirectory.resolve("stock-ledger").toString());
+        properties.putAll(options.getInventoryServiceProperties());
+        return properties;
+    }
+
+    private static Map<String, Object> orderServiceProperties(LoadTestOptions options,
+                                                              EmbeddedInfrastructure infrastructure,
+                                                              Path dataDirectory) {
+        Map<String, Object> properties = commonProperties(infrastructure);
+        properties.put("spring.datasource.url", infrastructure.getJdbcUrl(ORDER_DATABASE));
+        properties.put("logging.level.com.ecommerce.order", "WARN");
+        // A fresh database has neither partitioned tables nor orders old enough to archive
+        properties.put("order.partitioning.enabled", false);
+        properties.put("order.archive.enabled", false);
+        properties.put("order.archive.dir", dataDirectory.resolve("order-archive").toString());
+        properties.putAll(options.getOrderServiceProperties());
+        return properties;
+    }
+}
@@ -0,0 +1,191 @@
+package com.ecommerce.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line of LoadTestMain, every option as --name=value
+ *
+ * Options starting with --order-service. or --inventory-service. are passed on
+ * as properties of that service, e.g. --inventory-service.inventory.consumer.mode=parallel
+ */
+public class LoadTestOptions {
+
+    static final String ORDER_SERVICE_PREFIX = "order-service.";
+    static final String INVENTORY_SERVICE_PREFIX = "inventory-service.";
+
+    static final String USAGE = """
+            Options (defaults in brackets):
+              --rate=N            orders per second offered, independent of response times [100]
+              --arrivals=MODE     poisson or uniform inter-arrival times [poisson]
+              --duration=D        measured period, e.g. 60s or 5m [60s]
+              --warmup=D          load before the measured period, not recorded [15s]
+              --drain=D           how long to wait for outstanding orders afterwards [30s]
+              --items=MIN-MAX     order lines per order, uniformly distributed [1-5]
+              --quantity=N        units per order line [1]
+              --products=N        products seeded in inventory-service [1000]
+              --skew=S            Zipf exponent of product popularity, 0 for uniform [1.0]
+              --stock=N           initial stock of every product [10000000]
+              --partitions=N      partitions of the order-created and inventory-result topics [8]
+              --max-in-flight=N   requests without a response before arrivals are dropped [10000]
+              --output=DIR        directory for the .hgrm percentile files [load-test-results]
+              --order-service.PROPERTY=VALUE, --inventory-service.PROPERTY=VALUE
+                                  extra properties of one service
+            """;
+
+    private double rate = 100;
+    private boolean poisson = true;
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(15);
+    private Duration drain = Duration.ofSeconds(30);
+    private int minItems = 1;
+    private int maxItems = 5;
+    private int quantity = 1;
+    private int products = 1000;
+    private double skew = 1.0;
+    private int stock = 10_000_000;
+    private int partitions = 8;
+    private int maxInFlight = 10_000;
+    private Path output = Paths.get("load-test-results");
+    private final Map<String, Object> orderServiceProperties = new LinkedHashMap<>();
+    private final Map<String, Object> inventoryServiceProperties = new LinkedHashMap<>();
+
+    public static LoadTestOptions parse(String... args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.set(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        options.validate();
+        return options;
+    }
+
+    private void set(String name, String value) {
+        if (name.startsWith(ORDER_SERVICE_PREFIX)) {
+            orderServiceProperties.put(name.substring(ORDER_SERVICE_PREFIX.length()), value);
+            return;
+        }
+        if (name.startsWith(INVENTORY_SERVICE_PREFIX)) {
+            inventoryServiceProperties.put(name.substring(INVENTORY_SERVICE_PREFIX.length()), value);
+            return;
+        }
+        switch (name) {
+            case "rate" -> rate = Double.parseDouble(value);
+            case "arrivals" -> {
+                if (!value.equals("poisson") && !value.equals("uniform")) {
+                    throw new IllegalArgumentException("Arrivals must be poisson or uniform but got: " + value);
+                }
+                poisson = value.equals("poisson");
+            }
+            case "duration" -> duration = DurationStyle.detectAndParse(value);
+            case "warmup" -> warmup = DurationStyle.detectAndParse(value);
+            case "drain" -> drain = DurationStyle.detectAndParse(value);
+            case "items" -> {
+                int dash = value.indexOf('-');
+                minItems = Integer.parseInt(dash < 0 ? value : value.substring(0, dash));
+                maxItems = Integer.parseInt(dash < 0 ? value : value.substring(dash + 1));
+            }
+            case "quantity" -> quantity = Integer.parseInt(value);
+            case "products" -> products = Integer.parseInt(value);
+            case "skew" -> skew = Double.parseDouble(value);
+            case "stock" -> stock = Integer.parseInt(value);
+            case "partitions" -> partitions = Integer.parseInt(value);
+            case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+            case "output" -> output = Paths.get(value);
+            default -> throw new IllegalArgumentException("Unknown option: --" + name);
+        }
+    }
+
+    private void validate() {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        if (minItems < 1 || maxItems < minItems || maxItems > 50) {
+            throw new IllegalArgumentException("Items must be between 1 and 50 with MIN <= MAX");
+        }
+        if (quantity < 1 || quantity > 1000) {
+            throw new IllegalArgumentException("Quantity must be between 1 and 1000");
+        }
+        if (products < 1) {
+            throw new IllegalArgumentException("Products must be positive");
+        }
+        if (skew < 0) {
+            throw new IllegalArgumentException("Skew cannot be negative");
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public boolean isPoisson() {
+        return poisson;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getDrain() {
+        return drain;
+    }
+
+    public int getMinItems() {
+        return minItems;
+    }
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getProducts() {
+        return products;
+    }
+
+    public double getSkew() {
+        return skew;
+    }
+
+    public int getStock() {
+        return stock;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public Path getOutput() {
+        return output;
+    }
+
+    public Map<String, Object> getOrderServiceProperties() {
+        return orderServiceProperties;
+    }
+
+    public Map<String, Object> getInventoryServiceProperties() {
+        return inventoryServiceProperties;
+    }
+}
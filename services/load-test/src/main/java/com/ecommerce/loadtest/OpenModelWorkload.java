@@ -0,0 +1,199 @@
+package com.ecommerce.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends orders at a fixed arrival rate whatever the response times
+ *
+ * Arrival times are drawn (Poisson or evenly spaced) without regard to responses,
+ * and each request is sent asynchronously at its scheduled time, so a slow service
+ * does not slow the load down the way a closed loop of waiting clients would.
+ * Latencies are measured from the scheduled time, which counts time lost to a
+ * late send rather than hiding it (coordinated omission).
+ */
+public class OpenModelWorkload {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenModelWorkload.class);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final URI ordersUri;
+    private final List<Product> products;
+    private final ZipfDistribution popularity;
+    private final FlowTracker tracker;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SplittableRandom random = new SplittableRandom();
+    private final Semaphore inFlight;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * A product seeded in inventory-service, ordered by popularity rank
+     */
+    public record Product(UUID id, String name, BigDecimal price) {
+    }
+
+    public OpenModelWorkload(LoadTestOptions options, URI orderServiceUri, List<Product> products,
+                             FlowTracker tracker) {
+        this.options = options;
+        this.ordersUri = orderServiceUri.resolve("/api/v1/orders");
+        this.products = products;
+        this.popularity = new ZipfDistribution(products.size(), options.getSkew());
+        this.tracker = tracker;
+        this.inFlight = new Semaphore(options.getMaxInFlight());
+    }
+
+    /**
+     * Runs the warm-up and the measured period on the calling thread
+     *
+     * @return nanoTime at which the measured period started
+     */
+    public long run() {
+        double meanIntervalNanos = 1_000_000_000d / options.getRate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.getWarmup().toNanos();
+        long end = measureFrom + options.getDuration().toNanos();
+        tracker.startMeasuring(measureFrom);
+        logger.info("Warming up for {}s at {} orders/s", options.getWarmup().toSeconds(), options.getRate());
+
+        boolean measuring = false;
+        double next = start;
+        while (next < end) {
+            long intended = (long) next;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!measuring && intended >= measureFrom) {
+                measuring = true;
+                logger.info("Measuring for {}s", options.getDuration().toSeconds());
+            }
+            send(intended, measuring);
+            next += options.isPoisson()
+                    ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos
+                    : meanIntervalNanos;
+        }
+        return measureFrom;
+    }
+
+    private void send(long intendedNanos, boolean measured) {
+        if (!inFlight.tryAcquire()) {
+            count(dropped, measured);
+            return;
+        }
+        count(sent, measured);
+        HttpRequest request = HttpRequest.newBuilder(ordersUri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(orderBody()))
+                .build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    long respondedNanos = System.nanoTime();
+                    inFlight.release();
+                    if (error != null || response.statusCode() != 201) {
+                        count(failed, measured);
+                        if (error != null) {
+                            logger.debug("Order request failed", error);
+                        }
+                        return;
+                    }
+                    count(created, measured);
+                    tracker.responded(orderId(response.body()), intendedNanos, respondedNanos);
+                });
+    }
+
+    private static void count(LongAdder counter, boolean measured) {
+        if (measured) {
+            counter.increment();
+        }
+    }
+
+    private byte[] orderBody() {
+        long n = sequence.incrementAndGet();
+        ObjectNode order = objectMapper.createObjectNode()
+                .put("customerName", "Load Test")
+                // Distinct customers spread the orders over every shard
+                .put("email", "customer-" + (n % 100_000) + "@load.test");
+        ArrayNode items = order.putArray("orderItems");
+        int lines = options.getMinItems() == options.getMaxItems()
+                ? options.getMinItems()
+                : random.nextInt(options.getMinItems(), options.getMaxItems() + 1);
+        for (int i = 0; i < lines; i++) {
+            Product product = products.get(popularity.sample(random));
+            items.addObject()
+                    .put("productId", product.id().toString())
+                    .put("productName", product.name())
+                    .put("quantity", options.getQuantity())
+                    .put("price", product.price());
+        }
+        try {
+            return objectMapper.writeValueAsBytes(order);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot write order", e);
+        }
+    }
+
+    private UUID orderId(byte[] body) {
+        try {
+            JsonNode order = objectMapper.readTree(body);
+            return UUID.fromString(order.path("orderId").asText());
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected order response", e);
+        }
+    }
+
+    /**
+     * Requests without a response yet
+     */
+    public int getInFlight() {
+        return options.getMaxInFlight() - inFlight.availablePermits();
+    }
+
+    /**
+     * Orders sent in the measured period, and below their outcomes
+     */
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getCreated() {
+        return created.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+}
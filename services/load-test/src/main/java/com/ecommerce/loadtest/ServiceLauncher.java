@@ -0,0 +1,64 @@
+package com.ecommerce.loadtest;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Starts a service in this JVM with its own application.properties
+ *
+ * Both services ship an application.properties at the root of their jar, so the
+ * classpath lookup Spring Boot would do finds only one of them. Each service's
+ * file is instead read from the jar (or classes directory) of its application
+ * class, overridden with the given properties, and handed to the application as
+ * its only configuration.
+ */
+public final class ServiceLauncher {
+
+    private static final String APPLICATION_PROPERTIES = "application.properties";
+
+    private ServiceLauncher() {
+    }
+
+    public static ConfigurableApplicationContext start(Class<?> applicationClass, Map<String, Object> overrides) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        ownProperties(applicationClass).forEach((name, value) -> properties.put((String) name, value));
+        properties.putAll(overrides);
+        // Keep Spring Boot from loading the other service's application.properties
+        properties.put("spring.config.name", "load-test-none");
+
+        return new SpringApplicationBuilder(applicationClass)
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Port the embedded web server of a started service listens on
+     */
+    public static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    static Properties ownProperties(Class<?> applicationClass) {
+        URL location = applicationClass.getProtectionDomain().getCodeSource().getLocation();
+        String base = location.toString();
+        URI uri = URI.create(base.endsWith(".jar")
+                ? "jar:" + base + "!/" + APPLICATION_PROPERTIES
+                : base + APPLICATION_PROPERTIES);
+        Properties properties = new Properties();
+        try (InputStream in = uri.toURL().openStream()) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + uri, e);
+        }
+        return properties;
+    }
+}
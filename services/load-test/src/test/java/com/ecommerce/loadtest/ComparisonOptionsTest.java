@@ -0,0 +1,48 @@
+package com.ecommerce.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ComparisonOptions
+ */
+@DisplayName("ComparisonOptions Unit Tests")
+class ComparisonOptionsTest {
+
+    @Test
+    @DisplayName("Should parse benchmark options and pass application properties through")
+    void testParse_AllOptions() {
+        // Act
+        ComparisonOptions options = ComparisonOptions.parse(
+                "--concurrency=512", "--duration=1m", "--warmup=5s", "--orders=200", "--writes=0",
+                "--apis=reactive,servlet",
+                "--order-service.spring.datasource.hikari.maximum-pool-size=20",
+                "--reactive-order-service.spring.r2dbc.pool.max-size=20");
+
+        // Assert
+        assertEquals(512, options.getConcurrency());
+        assertEquals(Duration.ofMinutes(1), options.getDuration());
+        assertEquals(Duration.ofSeconds(5), options.getWarmup());
+        assertEquals(200, options.getOrders());
+        assertEquals(0, options.getWrites());
+        assertEquals(List.of("reactive", "servlet"), options.getApis());
+        assertEquals("20", options.getOrderServiceProperties().get("spring.datasource.hikari.maximum-pool-size"));
+        assertEquals("20", options.getReactiveOrderServiceProperties().get("spring.r2dbc.pool.max-size"));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown options and invalid values")
+    void testParse_Invalid() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> ComparisonOptions.parse("--rate=100"));
+        assertThrows(IllegalArgumentException.class, () -> ComparisonOptions.parse("--concurrency=0"));
+        assertThrows(IllegalArgumentException.class, () -> ComparisonOptions.parse("--writes=1.5"));
+        assertThrows(IllegalArgumentException.class, () -> ComparisonOptions.parse("--apis=grpc"));
+        assertThrows(IllegalArgumentException.class, () -> ComparisonOptions.parse("--duration=0s"));
+    }
+}
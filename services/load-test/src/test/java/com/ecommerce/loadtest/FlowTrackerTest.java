@@ -0,0 +1,83 @@
+package com.ecommerce.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FlowTracker
+ */
+@DisplayName("FlowTracker Unit Tests")
+class FlowTrackerTest {
+
+    private static final long MILLION = 1_000_000;
+
+    @Test
+    @DisplayName("Should record every stage once response, order-created and result have arrived")
+    void testComplete_RecordsStages() {
+        // Arrange
+        FlowTracker tracker = new FlowTracker();
+        tracker.startMeasuring(0);
+        UUID orderId = UUID.randomUUID();
+
+        // Act
+        tracker.responded(orderId, 100 * MILLION, 150 * MILLION);
+        tracker.orderCreatedReceived(orderId, 1_000, 1_020);
+        tracker.inventoryResultReceived(orderId, true, 1_090, 300 * MILLION);
+
+        // Assert
+        assertEquals(1, tracker.getCompleted());
+        assertEquals(0, tracker.getRejected());
+        assertEquals(0, tracker.getOutstanding());
+        assertEquals(50_000, tracker.getHistogram(FlowTracker.Stage.HTTP).getMaxValue(), 50);
+        assertEquals(20_000, tracker.getHistogram(FlowTracker.Stage.ORDER_CREATED_DELIVERY).getMaxValue(), 20);
+        assertEquals(90_000, tracker.getHistogram(FlowTracker.Stage.INVENTORY).getMaxValue(), 90);
+        assertEquals(200_000, tracker.getHistogram(FlowTracker.Stage.END_TO_END).getMaxValue(), 200);
+    }
+
+    @Test
+    @DisplayName("Should complete an order whose result arrives before its HTTP response")
+    void testComplete_ResultBeforeResponse() {
+        // Arrange
+        FlowTracker tracker = new FlowTracker();
+        tracker.startMeasuring(0);
+        UUID orderId = UUID.randomUUID();
+
+        // Act
+        tracker.inventoryResultReceived(orderId, false, 1_050, 200 * MILLION);
+        tracker.orderCreatedReceived(orderId, 1_000, 1_010);
+        int outstandingBeforeResponse = tracker.getOutstanding();
+        tracker.responded(orderId, 100 * MILLION, 210 * MILLION);
+
+        // Assert
+        assertEquals(1, outstandingBeforeResponse);
+        assertEquals(0, tracker.getOutstanding());
+        assertEquals(1, tracker.getCompleted());
+        assertEquals(1, tracker.getRejected());
+        assertEquals(1, tracker.getHistogram(FlowTracker.Stage.END_TO_END).getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Should not record orders sent before the measurement started")
+    void testComplete_WarmupNotRecorded() {
+        // Arrange
+        FlowTracker tracker = new FlowTracker();
+        tracker.startMeasuring(500 * MILLION);
+        UUID orderId = UUID.randomUUID();
+
+        // Act
+        tracker.responded(orderId, 100 * MILLION, 150 * MILLION);
+        tracker.orderCreatedReceived(orderId, 1_000, 1_020);
+        tracker.inventoryResultReceived(orderId, true, 1_090, 300 * MILLION);
+
+        // Assert
+        assertEquals(0, tracker.getCompleted());
+        assertEquals(0, tracker.getOutstanding());
+        for (FlowTracker.Stage stage : FlowTracker.Stage.values()) {
+            assertEquals(0, tracker.getHistogram(stage).getTotalCount());
+        }
+    }
+}
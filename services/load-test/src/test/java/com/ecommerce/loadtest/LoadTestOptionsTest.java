@@ -0,0 +1,60 @@
+package com.ecommerce.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoadTestOptions
+ */
+@DisplayName("LoadTestOptions Unit Tests")
+class LoadTestOptionsTest {
+
+    @Test
+    @DisplayName("Should parse workload options and pass service properties through")
+    void testParse_AllOptions() {
+        // Act
+        LoadTestOptions options = LoadTestOptions.parse(
+                "--rate=250.5", "--arrivals=uniform", "--duration=2m", "--warmup=500ms",
+                "--items=2-7", "--products=20", "--skew=0",
+                "--inventory-service.inventory.consumer.mode=parallel",
+                "--order-service.order.stock-replica.enabled=false");
+
+        // Assert
+        assertEquals(250.5, options.getRate());
+        assertFalse(options.isPoisson());
+        assertEquals(Duration.ofMinutes(2), options.getDuration());
+        assertEquals(Duration.ofMillis(500), options.getWarmup());
+        assertEquals(2, options.getMinItems());
+        assertEquals(7, options.getMaxItems());
+        assertEquals(20, options.getProducts());
+        assertEquals(0, options.getSkew());
+        assertEquals("parallel", options.getInventoryServiceProperties().get("inventory.consumer.mode"));
+        assertEquals("false", options.getOrderServiceProperties().get("order.stock-replica.enabled"));
+    }
+
+    @Test
+    @DisplayName("Should accept a single item count")
+    void testParse_FixedItems() {
+        // Act
+        LoadTestOptions options = LoadTestOptions.parse("--items=3");
+
+        // Assert
+        assertEquals(3, options.getMinItems());
+        assertEquals(3, options.getMaxItems());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown options and invalid values")
+    void testParse_Invalid() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--threads=8"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--rate"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--rate=0"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--items=5-2"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--arrivals=bursty"));
+    }
+}
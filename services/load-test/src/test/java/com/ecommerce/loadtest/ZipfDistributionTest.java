@@ -0,0 +1,58 @@
+package com.ecommerce.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ZipfDistribution
+ */
+@DisplayName("ZipfDistribution Unit Tests")
+class ZipfDistributionTest {
+
+    @Test
+    @DisplayName("Should be uniform with exponent 0")
+    void testProbability_ExponentZero() {
+        // Arrange
+        ZipfDistribution distribution = new ZipfDistribution(4, 0);
+
+        // Act & Assert
+        for (int rank = 0; rank < 4; rank++) {
+            assertEquals(0.25, distribution.probability(rank), 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("Should halve the probability of rank 2 relative to rank 1 with exponent 1")
+    void testProbability_ExponentOne() {
+        // Arrange
+        ZipfDistribution distribution = new ZipfDistribution(100, 1.0);
+
+        // Act & Assert
+        assertEquals(2.0, distribution.probability(0) / distribution.probability(1), 1e-9);
+        assertEquals(10.0, distribution.probability(0) / distribution.probability(9), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should sample ranks at their probabilities")
+    void testSample_MatchesProbabilities() {
+        // Arrange
+        ZipfDistribution distribution = new ZipfDistribution(10, 1.0);
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[10];
+        int samples = 100_000;
+
+        // Act
+        for (int i = 0; i < samples; i++) {
+            counts[distribution.sample(random)]++;
+        }
+
+        // Assert
+        for (int rank = 0; rank < 10; rank++) {
+            assertEquals(distribution.probability(rank), (double) counts[rank] / samples, 0.01);
+        }
+    }
+}
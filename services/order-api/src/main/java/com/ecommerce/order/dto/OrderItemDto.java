@@ -26,6 +26,7 @@ public class OrderItemDto {
 
     @NotNull(message = "Price is required")
     @DecimalMin(value = "0.01", message = "Price must be greater than 0")
+    @Digits(integer = 8, fraction = 2, message = "Price must have at most 8 integer digits and 2 decimals")
     private BigDecimal price;
 
     // Constructors
@@ -0,0 +1,40 @@
+package com.ecommerce.order.dto;
+
+import java.util.List;
+
+/**
+ * OrderPage - One page of orders, newest first
+ *
+ * nextCursor is passed back as "after" to get the following page;
+ * it is null on the last page.
+ */
+public class OrderPage {
+
+    private List<OrderResponse> orders;
+    private String nextCursor;
+
+    // Constructors
+    public OrderPage() {}
+
+    public OrderPage(List<OrderResponse> orders, String nextCursor) {
+        this.orders = orders;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<OrderResponse> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<OrderResponse> orders) {
+        this.orders = orders;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
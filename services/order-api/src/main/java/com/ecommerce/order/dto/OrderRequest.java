@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 
 import java.util.List;
+import java.util.UUID;
 
 /**
  * OrderRequest - DTO for creating/updating an order
@@ -25,6 +26,9 @@ public class OrderRequest {
     @Valid
     private List<OrderItemDto> orderItems;
 
+    // Optional, the referenceId of the stock reservations placed for this order in inventory-service
+    private UUID reservationId;
+
     // Constructors
     public OrderRequest() {}
 
@@ -58,4 +62,12 @@ public class OrderRequest {
     public void setOrderItems(List<OrderItemDto> orderItems) {
         this.orderItems = orderItems;
     }
+
+    public UUID getReservationId() {
+        return reservationId;
+    }
+
+    public void setReservationId(UUID reservationId) {
+        this.reservationId = reservationId;
+    }
 }
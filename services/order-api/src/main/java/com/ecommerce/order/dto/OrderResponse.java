@@ -1,9 +1,10 @@
 package com.ecommerce.order.dto;
 
-import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Currency;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,12 +13,17 @@ import java.util.UUID;
  */
 public class OrderResponse {
 
+    /**
+     * Currency of every amount of the orders API, request prices included
+     */
+    public static final Currency CURRENCY = Currency.getInstance("USD");
+
     private UUID orderId;
     private String orderNumber;
     private String customerName;
     private String email;
     private BigDecimal totalAmount;
-    private Order.OrderStatus status;
+    private OrderStatus status;
     private List<OrderItemDto> orderItems;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -27,7 +33,7 @@ public class OrderResponse {
     public OrderResponse() {}
 
     public OrderResponse(UUID orderId, String orderNumber, String customerName, String email,
-                        BigDecimal totalAmount, Order.OrderStatus status, List<OrderItemDto> orderItems,
+                        BigDecimal totalAmount, OrderStatus status, List<OrderItemDto> orderItems,
                         LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
         this.orderId = orderId;
         this.orderNumber = orderNumber;
@@ -82,11 +88,11 @@ public class OrderResponse {
         this.totalAmount = totalAmount;
     }
 
-    public Order.OrderStatus getStatus() {
+    public OrderStatus getStatus() {
         return status;
     }
 
-    public void setStatus(Order.OrderStatus status) {
+    public void setStatus(OrderStatus status) {
         this.status = status;
     }
 
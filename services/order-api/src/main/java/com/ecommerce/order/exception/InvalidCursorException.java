@@ -0,0 +1,16 @@
+package com.ecommerce.order.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a page cursor was not produced by this service.
+ * Mapped to HTTP 400 BAD REQUEST when it escapes a controller.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor, Throwable cause) {
+        super("Invalid page cursor: " + cursor, cause);
+    }
+}
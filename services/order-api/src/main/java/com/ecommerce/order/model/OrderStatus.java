@@ -0,0 +1,13 @@
+package com.ecommerce.order.model;
+
+/**
+ * Order Status Enum - Defines all possible order states
+ */
+public enum OrderStatus {
+    PENDING,      // Order created, awaiting payment
+    CONFIRMED,    // Payment confirmed
+    PROCESSING,   // Being prepared
+    SHIPPED,      // Dispatched for delivery
+    DELIVERED,    // Delivered to customer
+    CANCELLED     // Order cancelled
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Position in the newest-first order listing: the (createdAt, orderId) of
+ * the last order on the previous page. Sent to clients as an opaque
+ * URL-safe string.
+ */
+public record OrderCursor(LocalDateTime createdAt, UUID orderId) {
+
+    /**
+     * Before every order: the far future and the largest UUID
+     */
+    public static final OrderCursor FIRST = new OrderCursor(LocalDateTime.of(9999, 12, 31, 0, 0), new UUID(-1L, -1L));
+
+    /**
+     * The ORDER BY createdAt DESC, orderId DESC of the page queries. UUIDs are
+     * compared as unsigned bytes like Postgres does, not like UUID.compareTo.
+     */
+    public static final Comparator<OrderResponse> NEWEST_FIRST = Comparator
+            .comparing(OrderResponse::getCreatedAt)
+            .thenComparing(OrderResponse::getOrderId, OrderCursor::compareUnsigned)
+            .reversed();
+
+    public static OrderCursor of(OrderResponse order) {
+        return new OrderCursor(order.getCreatedAt(), order.getOrderId());
+    }
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            return new OrderCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(cursor, e);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + "|" + orderId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int cmp = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return cmp != 0 ? cmp : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
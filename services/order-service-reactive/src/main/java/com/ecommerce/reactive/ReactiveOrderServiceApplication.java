@@ -0,0 +1,12 @@
+package com.ecommerce.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveOrderServiceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveOrderServiceApplication.class, args);
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.reactive.config;
+
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.events.kafka.OrderCreatedEventSerializer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+
+import java.util.Map;
+
+/**
+ * Reactive Kafka producer for order-created events
+ *
+ * One KafkaProducer behind a KafkaSender; sends are non-blocking and complete
+ * on the producer's network thread when the broker acknowledges them.
+ */
+@Configuration
+public class KafkaSenderConfig {
+
+    @Bean(destroyMethod = "close")
+    public KafkaSender<String, OrderCreatedEvent> orderCreatedSender(
+            @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers) {
+        SenderOptions<String, OrderCreatedEvent> options = SenderOptions.<String, OrderCreatedEvent>create(
+                        Map.of(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers))
+                .withKeySerializer(new StringSerializer())
+                .withValueSerializer(new OrderCreatedEventSerializer());
+        return KafkaSender.create(options);
+    }
+}
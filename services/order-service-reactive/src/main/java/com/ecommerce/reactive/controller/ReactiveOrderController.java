@@ -0,0 +1,152 @@
+package com.ecommerce.reactive.controller;
+
+import com.ecommerce.order.dto.OrderPage;
+import com.ecommerce.order.dto.OrderRequest;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.reactive.service.ReactiveOrderService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * ReactiveOrderController - order-service's /api/v1/orders on WebFlux
+ *
+ * Same paths, parameters, bodies and status codes as OrderController (see
+ * there for examples). Handlers return at once; the response is written on
+ * the event loop when the service's publisher completes.
+ */
+@RestController
+@RequestMapping("/api/v1/orders")
+public class ReactiveOrderController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveOrderController.class);
+    private final ReactiveOrderService orderService;
+
+    public ReactiveOrderController(ReactiveOrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    /**
+     * CREATE: POST /api/v1/orders, 201 CREATED with the order
+     */
+    @PostMapping
+    public Mono<ResponseEntity<OrderResponse>> createOrder(@Valid @RequestBody OrderRequest orderRequest) {
+        if (log.isDebugEnabled()) {
+            log.debug("POST /api/v1/orders - Creating order for: {}", orderRequest.getCustomerName());
+        }
+
+        return orderService.createOrder(orderRequest)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    /**
+     * READ: GET /api/v1/orders/{id}
+     */
+    @GetMapping("/{id}")
+    public Mono<OrderResponse> getOrderById(@PathVariable("id") UUID orderId) {
+        if (log.isDebugEnabled()) {
+            log.debug("GET /api/v1/orders/{} - Fetching order", orderId);
+        }
+
+        return orderService.getOrderById(orderId);
+    }
+
+    /**
+     * READ: GET /api/v1/orders, a JSON array written as the orders stream in
+     */
+    @GetMapping
+    public Flux<OrderResponse> getAllOrders() {
+        log.debug("GET /api/v1/orders - Fetching all orders");
+
+        return orderService.getAllOrders();
+    }
+
+    /**
+     * READ: GET /api/v1/orders/page?status={status}&after={cursor}&limit={limit}
+     * 400 BAD REQUEST for an unknown cursor
+     */
+    @GetMapping("/page")
+    public Mono<OrderPage> getOrdersPage(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (log.isDebugEnabled()) {
+            log.debug("GET /api/v1/orders/page - Fetching {} orders with status {}", limit, status);
+        }
+
+        return orderService.getOrdersPage(status, after, limit);
+    }
+
+    /**
+     * UPDATE: PUT /api/v1/orders/{id}
+     */
+    @PutMapping("/{id}")
+    public Mono<OrderResponse> updateOrder(
+            @PathVariable("id") UUID orderId,
+            @Valid @RequestBody OrderRequest orderRequest) {
+        if (log.isDebugEnabled()) {
+            log.debug("PUT /api/v1/orders/{} - Updating order", orderId);
+        }
+
+        return orderService.updateOrder(orderId, orderRequest);
+    }
+
+    /**
+     * DELETE: DELETE /api/v1/orders/{id}, 204 NO CONTENT
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteOrder(@PathVariable("id") UUID orderId) {
+        if (log.isDebugEnabled()) {
+            log.debug("DELETE /api/v1/orders/{} - Deleting order", orderId);
+        }
+
+        return orderService.deleteOrder(orderId)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+
+    /**
+     * READ: GET /api/v1/orders/number/{orderNumber}
+     */
+    @GetMapping("/number/{orderNumber}")
+    public Mono<OrderResponse> getOrderByOrderNumber(@PathVariable String orderNumber) {
+        if (log.isDebugEnabled()) {
+            log.debug("GET /api/v1/orders/number/{} - Fetching order", orderNumber);
+        }
+
+        return orderService.getOrderByOrderNumber(orderNumber);
+    }
+
+    /**
+     * READ: GET /api/v1/orders/customer?email={email}
+     */
+    @GetMapping("/customer")
+    public Flux<OrderResponse> getOrdersByEmail(@RequestParam String email) {
+        if (log.isDebugEnabled()) {
+            log.debug("GET /api/v1/orders/customer?email={} - Fetching orders", email);
+        }
+
+        return orderService.getOrdersByEmail(email);
+    }
+
+    /**
+     * PATCH: PATCH /api/v1/orders/{id}/status?status={status}
+     */
+    @PatchMapping("/{id}/status")
+    public Mono<OrderResponse> updateOrderStatus(
+            @PathVariable("id") UUID orderId,
+            @RequestParam OrderStatus status) {
+        if (log.isDebugEnabled()) {
+            log.debug("PATCH /api/v1/orders/{}/status - Updating status to {}", orderId, status);
+        }
+
+        return orderService.updateOrderStatus(orderId, status);
+    }
+}
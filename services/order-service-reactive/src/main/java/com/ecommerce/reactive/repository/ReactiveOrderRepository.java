@@ -0,0 +1,292 @@
+package com.ecommerce.reactive.repository;
+
+import com.ecommerce.order.dto.OrderItemDto;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.model.OrderStatus;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ReactiveOrderRepository - Data access for orders over R2DBC
+ *
+ * Plain SQL on order-service's orders and order_items tables, mapped straight
+ * to the response DTOs. Every read of orders with their items is one LEFT JOIN
+ * whose rows are sorted by order, so the rows of an order arrive together and
+ * are folded into one OrderResponse as they stream in.
+ */
+@Repository
+public class ReactiveOrderRepository {
+
+    private static final String SELECT_WITH_ITEMS =
+            "SELECT o.order_id, o.order_number, o.customer_name, o.email, o.total_amount, o.status, " +
+            "o.created_at, o.updated_at, o.version, " +
+            "i.item_id, i.product_id, i.product_name, i.quantity, i.price ";
+
+    private static final String NEWEST_FIRST = " ORDER BY o.created_at DESC, o.order_id DESC";
+
+    private static final String KEYSET_BEFORE =
+            "(created_at < :createdAt OR (created_at = :createdAt AND order_id < :orderId))";
+
+    private static final String INSERT_ITEM =
+            "INSERT INTO order_items (item_id, product_id, product_name, quantity, price, order_id, order_created_at) " +
+            "VALUES ($1, $2, $3, $4, $5, $6, $7)";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveOrderRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Order with its items, in one query
+     */
+    public Mono<OrderResponse> findByIdWithItems(UUID orderId) {
+        return withItems(databaseClient.sql(SELECT_WITH_ITEMS +
+                        "FROM orders o LEFT JOIN order_items i ON i.order_id = o.order_id " +
+                        "WHERE o.order_id = :orderId")
+                .bind("orderId", orderId))
+                .next();
+    }
+
+    /**
+     * Every order with its items, newest first
+     */
+    public Flux<OrderResponse> findAllWithItems() {
+        return withItems(databaseClient.sql(SELECT_WITH_ITEMS +
+                "FROM orders o LEFT JOIN order_items i ON i.order_id = o.order_id" + NEWEST_FIRST));
+    }
+
+    /**
+     * Orders of a customer with their items, newest first
+     */
+    public Flux<OrderResponse> findByEmailWithItems(String email) {
+        return withItems(databaseClient.sql(SELECT_WITH_ITEMS +
+                        "FROM orders o LEFT JOIN order_items i ON i.order_id = o.order_id " +
+                        "WHERE o.email = :email" + NEWEST_FIRST)
+                .bind("email", email));
+    }
+
+    /**
+     * Lookup by order number in every partition
+     */
+    public Mono<OrderResponse> findByOrderNumber(String orderNumber) {
+        return withItems(databaseClient.sql(SELECT_WITH_ITEMS +
+                        "FROM orders o LEFT JOIN order_items i ON i.order_id = o.order_id " +
+                        "WHERE o.order_number = :orderNumber")
+                .bind("orderNumber", orderNumber))
+                .next();
+    }
+
+    /**
+     * Lookup by order number, limited to orders created in [from, to) so only
+     * those partitions are searched when orders is partitioned
+     */
+    public Mono<OrderResponse> findByOrderNumberCreatedBetween(String orderNumber, LocalDateTime from,
+                                                               LocalDateTime to) {
+        return withItems(databaseClient.sql(SELECT_WITH_ITEMS +
+                        "FROM orders o LEFT JOIN order_items i ON i.order_id = o.order_id " +
+                        "WHERE o.order_number = :orderNumber AND o.created_at >= :from AND o.created_at < :to")
+                .bind("orderNumber", orderNumber)
+                .bind("from", from)
+                .bind("to", to))
+                .next();
+    }
+
+    /**
+     * Keyset page: the first limit orders after (createdAt, orderId) in
+     * newest-first order, optionally in one status, with their items. The page
+     * is cut in a subquery so the LIMIT counts orders, not item rows.
+     */
+    public Flux<OrderResponse> findPageBefore(OrderStatus status, LocalDateTime createdAt, UUID orderId,
+                                              int limit) {
+        String where = status == null ? KEYSET_BEFORE : "status = :status AND " + KEYSET_BEFORE;
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(SELECT_WITH_ITEMS +
+                        "FROM (SELECT * FROM orders WHERE " + where +
+                        " ORDER BY created_at DESC, order_id DESC LIMIT :limit) o " +
+                        "LEFT JOIN order_items i ON i.order_id = o.order_id" + NEWEST_FIRST)
+                .bind("createdAt", createdAt)
+                .bind("orderId", orderId)
+                .bind("limit", limit);
+        if (status != null) {
+            spec = spec.bind("status", status.name());
+        }
+        return withItems(spec);
+    }
+
+    /**
+     * Partition-aware existence check: only orders created since the given time are searched
+     */
+    public Mono<Boolean> existsByOrderNumberCreatedSince(String orderNumber, LocalDateTime since) {
+        return databaseClient.sql("SELECT 1 FROM orders WHERE order_number = :orderNumber AND created_at >= :since")
+                .bind("orderNumber", orderNumber)
+                .bind("since", since)
+                .map(row -> true)
+                .first()
+                .hasElement();
+    }
+
+    /**
+     * Inserts a new order and its items
+     */
+    public Mono<Void> insert(OrderResponse order) {
+        return databaseClient.sql("INSERT INTO orders (order_id, order_number, customer_name, email, total_amount, " +
+                        "status, created_at, updated_at, version) VALUES (:orderId, :orderNumber, :customerName, " +
+                        ":email, :totalAmount, :status, :createdAt, :updatedAt, :version)")
+                .bind("orderId", order.getOrderId())
+                .bind("orderNumber", order.getOrderNumber())
+                .bind("customerName", order.getCustomerName())
+                .bind("email", order.getEmail())
+                .bind("totalAmount", order.getTotalAmount())
+                .bind("status", order.getStatus().name())
+                .bind("createdAt", order.getCreatedAt())
+                .bind("updatedAt", order.getUpdatedAt())
+                .bind("version", order.getVersion())
+                .then()
+                .then(insertItems(order.getOrderId(), order.getCreatedAt(), order.getOrderItems()));
+    }
+
+    /**
+     * Replaces the customer, total and items of an order and bumps its version
+     *
+     * @return the order as updated, empty if there is no such order
+     */
+    public Mono<OrderResponse> update(UUID orderId, String customerName, String email, BigDecimal totalAmount,
+                                      List<OrderItemDto> items, LocalDateTime now) {
+        return databaseClient.sql("UPDATE orders SET customer_name = :customerName, email = :email, " +
+                        "total_amount = :totalAmount, updated_at = :now, version = version + 1 " +
+                        "WHERE order_id = :orderId RETURNING order_number, status, created_at, version")
+                .bind("customerName", customerName)
+                .bind("email", email)
+                .bind("totalAmount", totalAmount)
+                .bind("now", now)
+                .bind("orderId", orderId)
+                .map(row -> new OrderResponse(orderId, row.get("order_number", String.class), customerName, email,
+                        totalAmount, OrderStatus.valueOf(row.get("status", String.class)), items,
+                        row.get("created_at", LocalDateTime.class), now, row.get("version", Long.class)))
+                .one()
+                .flatMap(order -> deleteItems(orderId)
+                        .then(insertItems(orderId, order.getCreatedAt(), items))
+                        .thenReturn(order));
+    }
+
+    /**
+     * Sets the status of an order and bumps its version
+     *
+     * @return number of orders updated, 0 or 1
+     */
+    public Mono<Long> updateStatus(UUID orderId, OrderStatus status, LocalDateTime now) {
+        return databaseClient.sql("UPDATE orders SET status = :status, updated_at = :now, version = version + 1 " +
+                        "WHERE order_id = :orderId")
+                .bind("status", status.name())
+                .bind("now", now)
+                .bind("orderId", orderId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Deletes an order and its items
+     *
+     * @return number of orders deleted, 0 or 1
+     */
+    public Mono<Long> deleteById(UUID orderId) {
+        return deleteItems(orderId)
+                .then(databaseClient.sql("DELETE FROM orders WHERE order_id = :orderId")
+                        .bind("orderId", orderId)
+                        .fetch()
+                        .rowsUpdated());
+    }
+
+    private Mono<Void> deleteItems(UUID orderId) {
+        return databaseClient.sql("DELETE FROM order_items WHERE order_id = :orderId")
+                .bind("orderId", orderId)
+                .then();
+    }
+
+    /**
+     * All items of an order in one batched statement; the item ids must be set
+     */
+    private Mono<Void> insertItems(UUID orderId, LocalDateTime orderCreatedAt, List<OrderItemDto> items) {
+        if (items.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(INSERT_ITEM);
+                    for (int i = 0; i < items.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        OrderItemDto item = items.get(i);
+                        statement.bind(0, item.getItemId())
+                                .bind(1, item.getProductId())
+                                .bind(2, item.getProductName())
+                                .bind(3, item.getQuantity())
+                                .bind(4, item.getPrice())
+                                .bind(5, orderId)
+                                .bind(6, orderCreatedAt);
+                    }
+                    return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+                })
+                .then();
+    }
+
+    /**
+     * Folds the rows of a SELECT_WITH_ITEMS query, sorted by order, into one
+     * OrderResponse per order
+     */
+    private static Flux<OrderResponse> withItems(DatabaseClient.GenericExecuteSpec spec) {
+        return spec.map(OrderRow::of)
+                .all()
+                .bufferUntilChanged(row -> row.order().getOrderId())
+                .map(rows -> {
+                    OrderResponse order = rows.get(0).order();
+                    List<OrderItemDto> items = new ArrayList<>(rows.size());
+                    for (OrderRow row : rows) {
+                        if (row.item() != null) {
+                            items.add(row.item());
+                        }
+                    }
+                    order.setOrderItems(items);
+                    return order;
+                });
+    }
+
+    /**
+     * One row of a SELECT_WITH_ITEMS query: its order and its item, null for an order without items
+     */
+    private record OrderRow(OrderResponse order, OrderItemDto item) {
+
+        static OrderRow of(Readable row) {
+            OrderResponse order = new OrderResponse(
+                    row.get("order_id", UUID.class),
+                    row.get("order_number", String.class),
+                    row.get("customer_name", String.class),
+                    row.get("email", String.class),
+                    row.get("total_amount", BigDecimal.class),
+                    OrderStatus.valueOf(row.get("status", String.class)),
+                    null,
+                    row.get("created_at", LocalDateTime.class),
+                    row.get("updated_at", LocalDateTime.class),
+                    row.get("version", Long.class));
+            UUID itemId = row.get("item_id", UUID.class);
+            OrderItemDto item = itemId == null ? null : new OrderItemDto(
+                    itemId,
+                    row.get("product_id", UUID.class),
+                    row.get("product_name", String.class),
+                    row.get("quantity", Integer.class),
+                    row.get("price", BigDecimal.class));
+            return new OrderRow(order, item);
+        }
+    }
+}
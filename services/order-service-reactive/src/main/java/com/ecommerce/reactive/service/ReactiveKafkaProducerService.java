@@ -0,0 +1,58 @@
+package com.ecommerce.reactive.service;
+
+import com.ecommerce.events.OrderCreatedEvent;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+
+import java.util.UUID;
+
+/**
+ * Service for publishing events to Kafka with reactor-kafka
+ *
+ * Like order-service's KafkaProducerService, an order does not wait for the
+ * broker: the send is started and its outcome only logged.
+ */
+@Service
+public class ReactiveKafkaProducerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveKafkaProducerService.class);
+
+    private final KafkaSender<String, OrderCreatedEvent> sender;
+    private final String orderCreatedTopic;
+
+    public ReactiveKafkaProducerService(KafkaSender<String, OrderCreatedEvent> sender,
+                                        @Value("${kafka.topic.order-created}") String orderCreatedTopic) {
+        this.sender = sender;
+        this.orderCreatedTopic = orderCreatedTopic;
+    }
+
+    /**
+     * Publish order created event to Kafka, keyed by order id
+     */
+    public void publishOrderCreatedEvent(OrderCreatedEvent event) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Publishing order created event: Order ID = {}, Order Number = {}",
+                    event.orderId(), event.orderNumber());
+        }
+
+        SenderRecord<String, OrderCreatedEvent, UUID> record = SenderRecord.create(
+                new ProducerRecord<>(orderCreatedTopic, event.orderId().toString(), event), event.orderId());
+        sender.send(Mono.just(record)).subscribe(
+                result -> {
+                    if (result.exception() != null) {
+                        logger.error("Failed to publish order created event: Order ID = {}",
+                                result.correlationMetadata(), result.exception());
+                    } else if (logger.isDebugEnabled()) {
+                        logger.debug("Successfully published order created event: Order ID = {}, Offset = {}",
+                                result.correlationMetadata(), result.recordMetadata().offset());
+                    }
+                },
+                ex -> logger.error("Failed to publish order created event: Order ID = {}", event.orderId(), ex));
+    }
+}
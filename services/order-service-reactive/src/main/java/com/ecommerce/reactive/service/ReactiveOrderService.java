@@ -0,0 +1,64 @@
+package com.ecommerce.reactive.service;
+
+import com.ecommerce.order.dto.OrderPage;
+import com.ecommerce.order.dto.OrderRequest;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.model.OrderStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * ReactiveOrderService - order-service's OrderService as non-blocking publishers
+ *
+ * Same operations, arguments and errors; nothing happens until the returned
+ * Mono or Flux is subscribed.
+ */
+public interface ReactiveOrderService {
+
+    /**
+     * Create a new PENDING order and publish its order-created event
+     */
+    Mono<OrderResponse> createOrder(OrderRequest orderRequest);
+
+    /**
+     * Get order by ID, an error if there is none
+     */
+    Mono<OrderResponse> getOrderById(UUID orderId);
+
+    /**
+     * Get all orders, newest first
+     */
+    Flux<OrderResponse> getAllOrders();
+
+    /**
+     * Get one page of orders, newest first, after the cursor of the previous page
+     */
+    Mono<OrderPage> getOrdersPage(OrderStatus status, String after, int limit);
+
+    /**
+     * Replace the customer and items of an order
+     */
+    Mono<OrderResponse> updateOrder(UUID orderId, OrderRequest orderRequest);
+
+    /**
+     * Delete an order, an error if there is none
+     */
+    Mono<Void> deleteOrder(UUID orderId);
+
+    /**
+     * Get order by order number, an error if there is none
+     */
+    Mono<OrderResponse> getOrderByOrderNumber(String orderNumber);
+
+    /**
+     * Get orders by customer email
+     */
+    Flux<OrderResponse> getOrdersByEmail(String email);
+
+    /**
+     * Update order status
+     */
+    Mono<OrderResponse> updateOrderStatus(UUID orderId, OrderStatus newStatus);
+}
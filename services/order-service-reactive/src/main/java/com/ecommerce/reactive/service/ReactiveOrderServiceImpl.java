@@ -0,0 +1,291 @@
+package com.ecommerce.reactive.service;
+
+import com.ecommerce.events.Money;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.order.dto.OrderItemDto;
+import com.ecommerce.order.dto.OrderPage;
+import com.ecommerce.order.dto.OrderRequest;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.reactive.repository.ReactiveOrderRepository;
+import com.ecommerce.order.service.OrderCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ReactiveOrderServiceImpl - Implementation of ReactiveOrderService
+ *
+ * The rules of order-service's OrderServiceImpl for an unsharded database
+ * without the stock replica check or the order archive. @Transactional works
+ * as there, through the R2DBC transaction manager: a transaction spans the
+ * subscription of the returned publisher.
+ */
+@Service
+@Transactional
+public class ReactiveOrderServiceImpl implements ReactiveOrderService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveOrderServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 100;
+    private final ReactiveOrderRepository orderRepository;
+    private final ReactiveKafkaProducerService kafkaProducerService;
+
+    public ReactiveOrderServiceImpl(ReactiveOrderRepository orderRepository,
+                                    ReactiveKafkaProducerService kafkaProducerService) {
+        this.orderRepository = orderRepository;
+        this.kafkaProducerService = kafkaProducerService;
+    }
+
+    /**
+     * Create a new order
+     */
+    @Override
+    public Mono<OrderResponse> createOrder(OrderRequest orderRequest) {
+        if (log.isDebugEnabled()) {
+            log.debug("Creating new order for customer: {}", orderRequest.getCustomerName());
+        }
+
+        return generateOrderNumber().flatMap(orderNumber -> {
+            // 1. Items with their ids, and the total
+            Money totalAmount = Money.zero(OrderResponse.CURRENCY);
+            List<OrderItemDto> items = new ArrayList<>(orderRequest.getOrderItems().size());
+            List<OrderCreatedEvent.OrderItemEvent> itemEvents = new ArrayList<>(orderRequest.getOrderItems().size());
+            for (OrderItemDto itemDto : orderRequest.getOrderItems()) {
+                Money price = Money.of(itemDto.getPrice(), OrderResponse.CURRENCY);
+                totalAmount = totalAmount.plus(price.times(itemDto.getQuantity()));
+                items.add(new OrderItemDto(UUID.randomUUID(), itemDto.getProductId(), itemDto.getProductName(),
+                        itemDto.getQuantity(), price.toBigDecimal()));
+                itemEvents.add(new OrderCreatedEvent.OrderItemEvent(itemDto.getProductId(),
+                        itemDto.getProductName(), itemDto.getQuantity(), price));
+            }
+
+            // 2. The order as it will be stored; Postgres keeps microseconds
+            LocalDateTime now = now();
+            OrderResponse order = new OrderResponse(UUID.randomUUID(), orderNumber, orderRequest.getCustomerName(),
+                    orderRequest.getEmail(), totalAmount.toBigDecimal(), OrderStatus.PENDING, items,
+                    now, now, 0L);
+            OrderCreatedEvent event = new OrderCreatedEvent(order.getOrderId(), orderNumber,
+                    order.getCustomerName(), order.getEmail(), totalAmount, order.getStatus().name(), itemEvents,
+                    System.currentTimeMillis(), orderRequest.getReservationId());
+
+            // 3. Save, then publish to Kafka without waiting for the broker
+            return orderRepository.insert(order)
+                    .then(Mono.fromRunnable(() -> publishOrderCreatedEvent(event)))
+                    .thenReturn(order)
+                    .doOnNext(saved -> {
+                        if (log.isDebugEnabled()) {
+                            log.debug("Order created successfully with ID: {} and order number: {}",
+                                    saved.getOrderId(), saved.getOrderNumber());
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Get order by ID
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<OrderResponse> getOrderById(UUID orderId) {
+        if (log.isDebugEnabled()) {
+            log.debug("Fetching order with ID: {}", orderId);
+        }
+
+        return orderRepository.findByIdWithItems(orderId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Order not found with ID: " + orderId)));
+    }
+
+    /**
+     * Get all orders
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<OrderResponse> getAllOrders() {
+        log.debug("Fetching all orders");
+
+        return orderRepository.findAllWithItems();
+    }
+
+    /**
+     * Get one page of orders, newest first (keyset pagination on (createdAt, orderId))
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<OrderPage> getOrdersPage(OrderStatus status, String after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return Mono.fromCallable(() -> after == null || after.isBlank()
+                        ? OrderCursor.FIRST
+                        : OrderCursor.decode(after))
+                .flatMap(cursor -> {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Fetching {} orders with status {} after {}", pageSize, status, cursor);
+                    }
+                    return orderRepository.findPageBefore(status, cursor.createdAt(), cursor.orderId(), pageSize)
+                            .collectList();
+                })
+                .map(orders -> {
+                    String next = orders.size() == pageSize
+                            ? OrderCursor.of(orders.get(orders.size() - 1)).encode()
+                            : null;
+                    return new OrderPage(orders, next);
+                });
+    }
+
+    /**
+     * Update an existing order
+     */
+    @Override
+    public Mono<OrderResponse> updateOrder(UUID orderId, OrderRequest orderRequest) {
+        if (log.isDebugEnabled()) {
+            log.debug("Updating order with ID: {}", orderId);
+        }
+
+        Money totalAmount = Money.zero(OrderResponse.CURRENCY);
+        List<OrderItemDto> items = new ArrayList<>(orderRequest.getOrderItems().size());
+        for (OrderItemDto itemDto : orderRequest.getOrderItems()) {
+            Money price = Money.of(itemDto.getPrice(), OrderResponse.CURRENCY);
+            totalAmount = totalAmount.plus(price.times(itemDto.getQuantity()));
+            items.add(new OrderItemDto(UUID.randomUUID(), itemDto.getProductId(), itemDto.getProductName(),
+                    itemDto.getQuantity(), price.toBigDecimal()));
+        }
+
+        return orderRepository.update(orderId, orderRequest.getCustomerName(), orderRequest.getEmail(),
+                        totalAmount.toBigDecimal(), items, now())
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Order not found with ID: " + orderId)))
+                .doOnNext(updated -> {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Order updated successfully: {}", orderId);
+                    }
+                });
+    }
+
+    /**
+     * Delete an order
+     */
+    @Override
+    public Mono<Void> deleteOrder(UUID orderId) {
+        if (log.isDebugEnabled()) {
+            log.debug("Deleting order with ID: {}", orderId);
+        }
+
+        return orderRepository.deleteById(orderId)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(new RuntimeException("Order not found with ID: " + orderId))
+                        : Mono.empty())
+                .then();
+    }
+
+    /**
+     * Get order by order number
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<OrderResponse> getOrderByOrderNumber(String orderNumber) {
+        if (log.isDebugEnabled()) {
+            log.debug("Fetching order with order number: {}", orderNumber);
+        }
+
+        // Order numbers embed their creation date, which limits the search to its partition
+        LocalDate createdOn = creationDateOf(orderNumber);
+        Mono<OrderResponse> found = createdOn != null
+                ? orderRepository.findByOrderNumberCreatedBetween(orderNumber,
+                        createdOn.minusDays(1).atStartOfDay(), createdOn.plusDays(2).atStartOfDay())
+                : orderRepository.findByOrderNumber(orderNumber);
+        return found.switchIfEmpty(Mono.error(
+                () -> new RuntimeException("Order not found with order number: " + orderNumber)));
+    }
+
+    /**
+     * Get orders by customer email
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<OrderResponse> getOrdersByEmail(String email) {
+        if (log.isDebugEnabled()) {
+            log.debug("Fetching orders for email: {}", email);
+        }
+
+        return orderRepository.findByEmailWithItems(email);
+    }
+
+    /**
+     * Update order status
+     */
+    @Override
+    public Mono<OrderResponse> updateOrderStatus(UUID orderId, OrderStatus newStatus) {
+        if (log.isDebugEnabled()) {
+            log.debug("Updating order {} status to {}", orderId, newStatus);
+        }
+
+        return orderRepository.updateStatus(orderId, newStatus, now())
+                .flatMap(updated -> updated == 0
+                        ? Mono.error(new RuntimeException("Order not found with ID: " + orderId))
+                        : orderRepository.findByIdWithItems(orderId));
+    }
+
+    // ======================== HELPER METHODS ========================
+
+    /**
+     * Generate unique order number
+     * Format: ORD-YYYYMMDD-HHMMSS-RANDOM
+     * Example: ORD-20241214-143052-A4B9
+     *
+     * Every subscription draws a new random part; a number already taken since
+     * yesterday is skipped and the check repeated with the next one.
+     */
+    Mono<String> generateOrderNumber() {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        LocalDateTime since = LocalDate.now().minusDays(1).atStartOfDay();
+        return Mono.fromSupplier(() -> String.format("ORD-%s-%s", timestamp,
+                        UUID.randomUUID().toString().substring(0, 4).toUpperCase()))
+                .filterWhen(orderNumber -> orderRepository.existsByOrderNumberCreatedSince(orderNumber, since)
+                        .map(exists -> !exists))
+                .repeatWhenEmpty(repeats -> repeats);
+    }
+
+    /**
+     * Timestamps as Postgres stores them, so responses match later reads
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * Creation date embedded in an order number, null for numbers in another format
+     * Example: ORD-20241214-143052-A4B9 -> 2024-12-14
+     */
+    private static LocalDate creationDateOf(String orderNumber) {
+        if (orderNumber == null || orderNumber.length() < 12 || !orderNumber.startsWith("ORD-")) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(orderNumber.substring(4, 12), DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Publish order created event to Kafka
+     */
+    private void publishOrderCreatedEvent(OrderCreatedEvent event) {
+        try {
+            kafkaProducerService.publishOrderCreatedEvent(event);
+        } catch (Exception e) {
+            log.error("Failed to publish order created event for order: {}", event.orderId(), e);
+            // Don't fail the order creation if Kafka publishing fails
+        }
+    }
+}
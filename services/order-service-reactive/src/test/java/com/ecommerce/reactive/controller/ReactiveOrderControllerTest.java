@@ -0,0 +1,145 @@
+package com.ecommerce.reactive.controller;
+
+import com.ecommerce.order.dto.OrderItemDto;
+import com.ecommerce.order.dto.OrderRequest;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.exception.InvalidCursorException;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.reactive.service.ReactiveOrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReactiveOrderController: the same contract as OrderController
+ *
+ * @WebFluxTest - Loads only the WebFlux layer, the service is a mock
+ */
+@WebFluxTest(ReactiveOrderController.class)
+@DisplayName("ReactiveOrderController Unit Tests")
+class ReactiveOrderControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveOrderService orderService;
+
+    private final UUID orderId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("POST /api/v1/orders - Should create order and return 201 CREATED")
+    void testCreateOrder() {
+        // Arrange
+        when(orderService.createOrder(any(OrderRequest.class))).thenReturn(Mono.just(order()));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/v1/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("john@example.com"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.orderId").isEqualTo(orderId.toString())
+                .jsonPath("$.status").isEqualTo("PENDING")
+                .jsonPath("$.totalAmount").isEqualTo(999.99)
+                .jsonPath("$.orderItems.length()").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/orders - Should return 400 BAD REQUEST for an invalid order")
+    void testCreateOrderInvalid() {
+        // Act & Assert
+        webTestClient.post().uri("/api/v1/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("not-an-email"))
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/orders - Should return the orders as a JSON array")
+    void testGetAllOrders() {
+        // Arrange
+        when(orderService.getAllOrders()).thenReturn(Flux.just(order(), order()));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/v1/orders")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].orderNumber").isEqualTo("ORD-20251215-120000-TEST");
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/orders/page - Should return 400 BAD REQUEST for an unknown cursor")
+    void testGetOrdersPageInvalidCursor() {
+        // Arrange
+        when(orderService.getOrdersPage(any(), any(), anyInt()))
+                .thenReturn(Mono.error(new InvalidCursorException("bogus", new IllegalArgumentException())));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/v1/orders/page?after=bogus")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("DELETE /api/v1/orders/{id} - Should return 204 NO CONTENT")
+    void testDeleteOrder() {
+        // Arrange
+        when(orderService.deleteOrder(orderId)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        webTestClient.delete().uri("/api/v1/orders/{id}", orderId)
+                .exchange()
+                .expectStatus().isNoContent()
+                .expectBody().isEmpty();
+        verify(orderService).deleteOrder(orderId);
+    }
+
+    @Test
+    @DisplayName("PATCH /api/v1/orders/{id}/status - Should update the status")
+    void testUpdateOrderStatus() {
+        // Arrange
+        OrderResponse confirmed = order();
+        confirmed.setStatus(OrderStatus.CONFIRMED);
+        when(orderService.updateOrderStatus(orderId, OrderStatus.CONFIRMED)).thenReturn(Mono.just(confirmed));
+
+        // Act & Assert
+        webTestClient.patch().uri("/api/v1/orders/{id}/status?status=CONFIRMED", orderId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("CONFIRMED");
+    }
+
+    private static OrderRequest request(String email) {
+        return new OrderRequest("John Doe", email, List.of(
+                new OrderItemDto(null, UUID.randomUUID(), "Laptop", 1, new BigDecimal("999.99"))));
+    }
+
+    private OrderResponse order() {
+        return new OrderResponse(orderId, "ORD-20251215-120000-TEST", "John Doe", "john@example.com",
+                new BigDecimal("999.99"), OrderStatus.PENDING,
+                List.of(new OrderItemDto(UUID.randomUUID(), UUID.randomUUID(), "Laptop", 1, new BigDecimal("999.99"))),
+                LocalDateTime.now(), LocalDateTime.now(), 0L);
+    }
+}
@@ -0,0 +1,173 @@
+package com.ecommerce.reactive.service;
+
+import com.ecommerce.events.Money;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.order.dto.OrderItemDto;
+import com.ecommerce.order.dto.OrderRequest;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.exception.InvalidCursorException;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.reactive.repository.ReactiveOrderRepository;
+import com.ecommerce.order.service.OrderCursor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReactiveOrderServiceImpl
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveOrderServiceImpl Unit Tests")
+class ReactiveOrderServiceImplTest {
+
+    @Mock
+    private ReactiveOrderRepository orderRepository;
+
+    @Mock
+    private ReactiveKafkaProducerService kafkaProducerService;
+
+    @InjectMocks
+    private ReactiveOrderServiceImpl orderService;
+
+    @Test
+    @DisplayName("Should create a pending order, save it and publish its event")
+    void testCreateOrder() {
+        // Arrange
+        UUID productId = UUID.randomUUID();
+        OrderRequest request = new OrderRequest("John Doe", "john@example.com", List.of(
+                new OrderItemDto(null, productId, "Laptop", 1, new BigDecimal("999.99")),
+                new OrderItemDto(null, UUID.randomUUID(), "Mouse", 2, new BigDecimal("25.00"))));
+        when(orderRepository.existsByOrderNumberCreatedSince(anyString(), any())).thenReturn(Mono.just(false));
+        when(orderRepository.insert(any())).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(orderService.createOrder(request))
+                .assertNext(order -> {
+                    assertNotNull(order.getOrderId());
+                    assertTrue(order.getOrderNumber().startsWith("ORD-"));
+                    assertEquals(OrderStatus.PENDING, order.getStatus());
+                    assertEquals(new BigDecimal("1049.99"), order.getTotalAmount());
+                    assertEquals(2, order.getOrderItems().size());
+                    assertNotNull(order.getOrderItems().get(0).getItemId());
+                    assertEquals(0L, order.getVersion());
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<OrderCreatedEvent> event = ArgumentCaptor.forClass(OrderCreatedEvent.class);
+        verify(kafkaProducerService).publishOrderCreatedEvent(event.capture());
+        assertEquals(Money.of(new BigDecimal("1049.99"), OrderResponse.CURRENCY), event.getValue().totalAmount());
+        assertEquals(productId, event.getValue().orderItems().get(0).productId());
+        assertEquals("PENDING", event.getValue().status());
+    }
+
+    @Test
+    @DisplayName("Should draw another order number while the drawn one is taken")
+    void testGenerateOrderNumberRetries() {
+        // Arrange
+        when(orderRepository.existsByOrderNumberCreatedSince(anyString(), any()))
+                .thenReturn(Mono.just(true), Mono.just(true), Mono.just(false));
+
+        // Act & Assert
+        StepVerifier.create(orderService.generateOrderNumber())
+                .assertNext(orderNumber -> assertTrue(orderNumber.matches("ORD-\\d{8}-\\d{6}-[0-9A-F]{4}")))
+                .verifyComplete();
+        verify(orderRepository, times(3)).existsByOrderNumberCreatedSince(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should not publish an event for an order that could not be saved")
+    void testCreateOrderSaveFails() {
+        // Arrange
+        OrderRequest request = new OrderRequest("John Doe", "john@example.com", List.of(
+                new OrderItemDto(null, UUID.randomUUID(), "Laptop", 1, new BigDecimal("999.99"))));
+        when(orderRepository.existsByOrderNumberCreatedSince(anyString(), any())).thenReturn(Mono.just(false));
+        when(orderRepository.insert(any())).thenReturn(Mono.error(new IllegalStateException("connection lost")));
+
+        // Act & Assert
+        StepVerifier.create(orderService.createOrder(request))
+                .verifyError(IllegalStateException.class);
+        verifyNoInteractions(kafkaProducerService);
+    }
+
+    @Test
+    @DisplayName("Should signal an error when the order does not exist")
+    void testGetOrderByIdNotFound() {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        when(orderRepository.findByIdWithItems(orderId)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(orderService.getOrderById(orderId))
+                .expectErrorMessage("Order not found with ID: " + orderId)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should return a next cursor for a full page only")
+    void testGetOrdersPage() {
+        // Arrange
+        List<OrderResponse> orders = IntStream.range(0, 2)
+                .mapToObj(i -> new OrderResponse(UUID.randomUUID(), "ORD-" + i, "John Doe", "john@example.com",
+                        BigDecimal.TEN, OrderStatus.PENDING, List.of(),
+                        LocalDateTime.of(2025, 1, 1, 12, 0).minusMinutes(i), null, 0L))
+                .toList();
+        when(orderRepository.findPageBefore(eq(OrderStatus.PENDING), any(), any(), anyInt()))
+                .thenReturn(Flux.fromIterable(orders));
+
+        // Act & Assert
+        StepVerifier.create(orderService.getOrdersPage(OrderStatus.PENDING, null, 2))
+                .assertNext(page -> {
+                    assertEquals(2, page.getOrders().size());
+                    assertEquals(OrderCursor.of(orders.get(1)).encode(), page.getNextCursor());
+                })
+                .verifyComplete();
+        verify(orderRepository).findPageBefore(OrderStatus.PENDING,
+                OrderCursor.FIRST.createdAt(), OrderCursor.FIRST.orderId(), 2);
+
+        StepVerifier.create(orderService.getOrdersPage(OrderStatus.PENDING, null, 3))
+                .assertNext(page -> assertNull(page.getNextCursor()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor it did not issue")
+    void testGetOrdersPageInvalidCursor() {
+        // Act & Assert
+        StepVerifier.create(orderService.getOrdersPage(null, "not-a-cursor", 20))
+                .verifyError(InvalidCursorException.class);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should signal an error when deleting an order that does not exist")
+    void testDeleteOrderNotFound() {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        when(orderRepository.deleteById(orderId)).thenReturn(Mono.just(0L));
+
+        // Act & Assert
+        StepVerifier.create(orderService.deleteOrder(orderId))
+                .expectErrorMessage("Order not found with ID: " + orderId)
+                .verify();
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecommerce.order.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * A limit on requests in flight that adapts to their latency: additive
+ * increase, multiplicative decrease (AIMD), as TCP does with its window.
+ *
+ * A request that takes longer than the latency threshold is a sign the
+ * limit is above what the service behind it (the connection pool, the
+ * database) can take, and the limit drops by a tenth. It drops at most
+ * once per threshold, so that one slow period, reported by every request
+ * in flight, counts once. Every other request raises the limit by 1/limit,
+ * about 1 per round of limit requests, but only while at least half of the
+ * limit is in use: idle capacity says nothing about what the service can take.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    static final double BACKOFF_RATIO = 0.9;
+    static final int MIN_LIMIT = 1;
+
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastDecreaseNanos;  // guarded by this
+
+    /**
+     * @param maxLimit the limit to start at and never exceed
+     * @param latencyThresholdMillis latency above which a request counts against the limit
+     */
+    public AdaptiveConcurrencyLimit(int maxLimit, long latencyThresholdMillis) {
+        this(maxLimit, latencyThresholdMillis, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(int maxLimit, long latencyThresholdMillis, LongSupplier nanoClock) {
+        if (maxLimit < MIN_LIMIT) {
+            throw new IllegalArgumentException("Max limit must be at least " + MIN_LIMIT + ", got " + maxLimit);
+        }
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.nanoClock = nanoClock;
+        this.limit = maxLimit;
+        this.lastDecreaseNanos = nanoClock.getAsLong() - latencyThresholdNanos;
+    }
+
+    /**
+     * @return true, and the request counts as in flight until release, when under the limit
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Ends an acquired request and adapts the limit to its latency
+     */
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (latencyNanos > latencyThresholdNanos) {
+                long now = nanoClock.getAsLong();
+                if (now - lastDecreaseNanos >= latencyThresholdNanos) {
+                    limit = Math.max(MIN_LIMIT, limit * BACKOFF_RATIO);
+                    lastDecreaseNanos = now;
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,116 @@
+package com.ecommerce.order.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Admission control: sheds requests the service cannot serve in time instead
+ * of queueing them in Tomcat, where they would wait for a connection from
+ * the Hikari pool and slow every request down with them.
+ *
+ * Reads (GET, HEAD, OPTIONS) and writes have budgets of their own, each an
+ * AdaptiveConcurrencyLimit on requests in flight that shrinks when requests
+ * get slower than its latency threshold and grows back while they are fast.
+ * A request over its budget is answered 503 SERVICE UNAVAILABLE with a
+ * Retry-After header straight away, so the requests that are admitted keep
+ * their latency.
+ *
+ * Runs after the HTTP server observation, so shed requests show in
+ * http.server.requests, and before the request log, which they would flood.
+ * Meters, tagged with type=read or type=write:
+ * - order.admission.limit: current limit
+ * - order.admission.in.flight: requests in flight
+ * - order.admission.rejected: requests shed
+ *
+ * Actuator requests (metric scrapes, health checks) are always admitted.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+    private final AdaptiveConcurrencyLimit reads;
+    private final AdaptiveConcurrencyLimit writes;
+    private final Counter readsRejected;
+    private final Counter writesRejected;
+
+    @Autowired
+    public AdmissionControlFilter(MeterRegistry registry,
+                                  @Value("${order.admission.enabled:true}") boolean enabled,
+                                  @Value("${order.admission.reads.max-limit:100}") int readsMaxLimit,
+                                  @Value("${order.admission.reads.latency-threshold-ms:100}") long readsThresholdMillis,
+                                  @Value("${order.admission.writes.max-limit:20}") int writesMaxLimit,
+                                  @Value("${order.admission.writes.latency-threshold-ms:250}") long writesThresholdMillis,
+                                  @Value("${order.admission.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        this.reads = new AdaptiveConcurrencyLimit(readsMaxLimit, readsThresholdMillis);
+        this.writes = new AdaptiveConcurrencyLimit(writesMaxLimit, writesThresholdMillis);
+        this.readsRejected = register(registry, "read", reads);
+        this.writesRejected = register(registry, "write", writes);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean read = isRead(request.getMethod());
+        AdaptiveConcurrencyLimit limit = read ? reads : writes;
+        if (!limit.tryAcquire()) {
+            (read ? readsRejected : writesRejected).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Over capacity, retry later");
+            return;
+        }
+
+        // Only latency adapts the limit: errors here include orders not found (500),
+        // and a starved connection pool shows as latency long before it times out
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - start);
+        }
+    }
+
+    private static boolean isRead(String method) {
+        return switch (method) {
+            case "GET", "HEAD", "OPTIONS" -> true;
+            default -> false;
+        };
+    }
+
+    private static Counter register(MeterRegistry registry, String type, AdaptiveConcurrencyLimit limit) {
+        Gauge.builder("order.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Requests allowed in flight")
+                .tag("type", type)
+                .register(registry);
+        Gauge.builder("order.admission.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requests in flight")
+                .tag("type", type)
+                .register(registry);
+        return Counter.builder("order.admission.rejected")
+                .description("Requests answered 503 because their budget was used up")
+                .tag("type", type)
+                .register(registry);
+    }
+}
@@ -0,0 +1,134 @@
+package com.ecommerce.order.archive;
+
+import com.ecommerce.order.model.Order;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Local store of archived orders: a directory of immutable, memory-mapped
+ * segment files written by OrderArchiver.
+ *
+ * Lookups go through the segments newest first. A crash between writing a
+ * segment and deleting its orders from the database archives those orders
+ * again on the next run; the copies are identical, so either one may be found.
+ */
+@Component
+public class OrderArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchive.class);
+
+    static final String SUFFIX = ".oseg";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final int rowGroupSize;
+    private final List<OrderSegment> segments = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Autowired
+    public OrderArchive(@Value("${order.archive.dir:./data/order-archive}") String directory,
+                        @Value("${order.archive.row-group-size:1024}") int rowGroupSize) {
+        this.directory = Paths.get(directory);
+        this.rowGroupSize = rowGroupSize;
+    }
+
+    /**
+     * Map every complete segment in the directory. Temporary files left by an
+     * interrupted write are deleted: their orders are still in the database.
+     */
+    @PostConstruct
+    void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            listing.forEach(files::add);
+        }
+        files.sort(Comparator.comparing(Path::getFileName).reversed());
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(SUFFIX + TEMP_SUFFIX)) {
+                Files.delete(file);
+            } else if (name.endsWith(SUFFIX)) {
+                segments.add(OrderSegment.open(file));
+            }
+        }
+        logger.info("Opened {} order archive segments in {}", segments.size(), directory.toAbsolutePath());
+    }
+
+    public Optional<Order> findById(UUID orderId) {
+        for (OrderSegment segment : segments) {
+            Optional<Order> order = segment.findById(orderId);
+            if (order.isPresent()) {
+                return order;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<Order> findByOrderNumber(String orderNumber) {
+        for (OrderSegment segment : segments) {
+            Optional<Order> order = segment.findByOrderNumber(orderNumber);
+            if (order.isPresent()) {
+                return order;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Write the orders (with their items loaded) to a new segment and make it
+     * visible to lookups. Once this returns the segment is durable on disk.
+     */
+    public void append(List<Order> orders) {
+        // Names sort in write order, newest segments are searched first
+        String name = String.format("orders-%013d-%06d%s",
+                System.currentTimeMillis(), sequence.incrementAndGet() % 1_000_000, SUFFIX);
+        Path file = directory.resolve(name);
+        Path temp = directory.resolve(name + TEMP_SUFFIX);
+        try {
+            OrderSegmentWriter.write(temp, orders, rowGroupSize);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+            segments.add(0, OrderSegment.open(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write order archive segment " + file, e);
+        }
+        logger.info("Archived {} orders to {}", orders.size(), file);
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Make the rename durable. Not supported on every platform, where it is skipped.
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            logger.debug("Could not sync archive directory {}: {}", directory, e.getMessage());
+        }
+    }
+}
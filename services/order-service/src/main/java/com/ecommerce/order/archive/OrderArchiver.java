@@ -0,0 +1,133 @@
+package com.ecommerce.order.archive;
+
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.shard.OrderShards;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves delivered and cancelled orders older than older-than-months out of
+ * the database into the OrderArchive.
+ *
+ * Each batch runs in one transaction: the orders are locked, written to a new
+ * segment that is forced to disk, and only then deleted. If the delete fails
+ * the transaction rolls back and the orders stay in the database; the segment
+ * is left behind as a harmless duplicate.
+ */
+@Component
+public class OrderArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiver.class);
+
+    static final List<OrderStatus> ARCHIVED_STATUSES =
+            List.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+    private final OrderRepository orderRepository;
+    private final OrderArchive orderArchive;
+    private final OrderShards orderShards;
+    private final boolean enabled;
+    private final int olderThanMonths;
+    private final int batchSize;
+    private final long intervalMillis;
+
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public OrderArchiver(OrderRepository orderRepository,
+                         OrderArchive orderArchive,
+                         OrderShards orderShards,
+                         @Value("${order.archive.enabled:true}") boolean enabled,
+                         @Value("${order.archive.older-than-months:6}") int olderThanMonths,
+                         @Value("${order.archive.batch-size:10000}") int batchSize,
+                         @Value("${order.archive.interval-ms:3600000}") long intervalMillis) {
+        this.orderRepository = orderRepository;
+        this.orderArchive = orderArchive;
+        this.orderShards = orderShards;
+        this.enabled = enabled;
+        this.olderThanMonths = olderThanMonths;
+        this.batchSize = batchSize;
+        this.intervalMillis = intervalMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::archiveSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Archive batches, shard by shard, until no order created before the cutoff is left.
+     *
+     * @return number of orders archived
+     */
+    int archiveBefore(LocalDateTime cutoff) {
+        int archived = 0;
+        for (int shard = 0; shard < orderShards.count(); shard++) {
+            while (!Thread.currentThread().isInterrupted()) {
+                Integer count = orderShards.inTransaction(shard, () -> archiveBatch(cutoff));
+                if (count == null || count == 0) {
+                    break;
+                }
+                archived += count;
+            }
+        }
+        return archived;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<UUID> orderIds = orderRepository
+                .findForArchivingBefore(ARCHIVED_STATUSES, cutoff, PageRequest.of(0, batchSize))
+                .stream()
+                .map(Order::getOrderId)
+                .toList();
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        List<Order> orders = orderRepository.findAllWithItemsByIdIn(orderIds);
+        orderArchive.append(orders);
+
+        orderRepository.deleteItemsByOrderIdIn(orderIds);
+        return orderRepository.deleteAllByIdInCreatedBefore(orderIds, cutoff);
+    }
+
+    private void archiveSafely() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusMonths(olderThanMonths);
+            int archived = archiveBefore(cutoff);
+            if (archived > 0) {
+                logger.info("Archived {} orders created before {}", archived, cutoff);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to archive orders", e);
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.ecommerce.order.archive;
+
+import com.ecommerce.events.Money;
+import com.ecommerce.events.codec.BinaryReader;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderItem;
+import com.ecommerce.order.model.OrderStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read-only view of one memory-mapped archive segment.
+ *
+ * Layout (fixed-width integers are big-endian):
+ *
+ *   "OSEG" version
+ *   row groups      one Deflate-compressed chunk per column, see the column constants
+ *   directory       varint row group count, then per group its row count and
+ *                   (offset, compressed length, raw length) of every chunk
+ *   id index        (msb, lsb, row) per order sorted by order id, 20 bytes each
+ *   number index    (hash, row) per order sorted by order number hash, 12 bytes each
+ *   trailer         directory, id index and number index offsets, order count, "OSEG"
+ *
+ * The indexes are fixed width and uncompressed, so lookups binary search them
+ * in place and then only inflate the chunks of the row group that holds the
+ * order. Thread-safe: the mapped buffer is only read with absolute gets.
+ */
+final class OrderSegment {
+
+    static final byte[] MAGIC = "OSEG".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    static final ZoneOffset UTC = ZoneOffset.UTC;
+
+    // Order columns, one value per order
+    static final int ORDER_ID = 0;
+    static final int ORDER_NUMBER = 1;
+    static final int CUSTOMER_NAME = 2;
+    static final int EMAIL = 3;
+    static final int TOTAL_AMOUNT = 4;
+    static final int STATUS = 5;
+    static final int CREATED_AT = 6;
+    static final int UPDATED_AT = 7;
+    static final int VERSION_COLUMN = 8;
+    static final int ITEM_COUNT = 9;
+    // Item columns, one value per item, in order of their orders
+    static final int ITEM_ID = 10;
+    static final int PRODUCT_ID = 11;
+    static final int PRODUCT_NAME = 12;
+    static final int QUANTITY = 13;
+    static final int PRICE = 14;
+    static final int COLUMN_COUNT = 15;
+
+    private static final int TRAILER_SIZE = 4 * 4 + 4;
+    private static final int ID_ENTRY_SIZE = 20;
+    private static final int NUMBER_ENTRY_SIZE = 12;
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final int idIndexOffset;
+    private final int numberIndexOffset;
+    private final int orderCount;
+    private final RowGroup[] rowGroups;
+
+    private OrderSegment(Path file, ByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        int size = buffer.capacity();
+        if (size < MAGIC.length + 1 + TRAILER_SIZE || !hasMagic(0) || !hasMagic(size - MAGIC.length)) {
+            throw new IOException("Not an order segment: " + file);
+        }
+        if (buffer.get(MAGIC.length) != VERSION) {
+            throw new IOException("Unsupported order segment version " + buffer.get(MAGIC.length) + ": " + file);
+        }
+        int trailer = size - TRAILER_SIZE;
+        int directoryOffset = buffer.getInt(trailer);
+        this.idIndexOffset = buffer.getInt(trailer + 4);
+        this.numberIndexOffset = buffer.getInt(trailer + 8);
+        this.orderCount = buffer.getInt(trailer + 12);
+
+        byte[] directoryBytes = new byte[idIndexOffset - directoryOffset];
+        buffer.get(directoryOffset, directoryBytes);
+        BinaryReader directory = new BinaryReader(directoryBytes);
+        this.rowGroups = new RowGroup[directory.readVarInt()];
+        int firstRow = 0;
+        for (int g = 0; g < rowGroups.length; g++) {
+            int rows = directory.readVarInt();
+            int[] chunks = new int[COLUMN_COUNT * 3];
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = directory.readVarInt();
+            }
+            rowGroups[g] = new RowGroup(firstRow, rows, chunks);
+            firstRow += rows;
+        }
+    }
+
+    /**
+     * Map the file read-only. The mapping stays valid after the channel is closed.
+     */
+    static OrderSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new OrderSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    int orderCount() {
+        return orderCount;
+    }
+
+    Optional<Order> findById(UUID orderId) {
+        long msb = orderId.getMostSignificantBits();
+        long lsb = orderId.getLeastSignificantBits();
+        int low = 0;
+        int high = orderCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = idIndexOffset + mid * ID_ENTRY_SIZE;
+            int cmp = Long.compare(buffer.getLong(entry), msb);
+            if (cmp == 0) {
+                cmp = Long.compare(buffer.getLong(entry + 8), lsb);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return Optional.of(readOrder(buffer.getInt(entry + 16)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    Optional<Order> findByOrderNumber(String orderNumber) {
+        long hash = hash(orderNumber);
+        // First entry with this hash, then check each one: hashes can collide
+        int low = 0;
+        int high = orderCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getLong(numberIndexOffset + mid * NUMBER_ENTRY_SIZE) < hash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < orderCount; i++) {
+            int entry = numberIndexOffset + i * NUMBER_ENTRY_SIZE;
+            if (buffer.getLong(entry) != hash) {
+                break;
+            }
+            Order order = readOrder(buffer.getInt(entry + 8));
+            if (order.getOrderNumber().equals(orderNumber)) {
+                return Optional.of(order);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Decode one order: every column of its row group is inflated and read up
+     * to the order's position (values are variable length).
+     */
+    private Order readOrder(int row) {
+        RowGroup group = rowGroupOf(row);
+        int index = row - group.firstRow();
+
+        BinaryReader itemCounts = column(group, ITEM_COUNT);
+        int firstItem = 0;
+        for (int i = 0; i < index; i++) {
+            firstItem += itemCounts.readVarInt();
+        }
+        int itemCount = itemCounts.readVarInt();
+
+        BinaryReader createdColumn = column(group, CREATED_AT);
+        long createdMicros = 0;
+        for (int i = 0; i <= index; i++) {
+            createdMicros += createdColumn.readSignedVarLong();
+        }
+        long updated = nth(column(group, UPDATED_AT), index, BinaryReader::readVarLong);
+        long version = nth(column(group, VERSION_COLUMN), index, BinaryReader::readVarLong);
+
+        Order order = new Order();
+        order.setOrderId(nth(column(group, ORDER_ID), index, BinaryReader::readUuid));
+        order.setOrderNumber(nth(column(group, ORDER_NUMBER), index, BinaryReader::readString));
+        order.setCustomerName(nth(column(group, CUSTOMER_NAME), index, BinaryReader::readString));
+        order.setEmail(nth(column(group, EMAIL), index, BinaryReader::readString));
+        order.setTotalAmount(Money.of(nth(column(group, TOTAL_AMOUNT), index, BinaryReader::readDecimal), Order.CURRENCY));
+        order.setStatus(status(nth(column(group, STATUS), index, BinaryReader::readVarInt)));
+        order.setCreatedAt(dateTime(createdMicros));
+        order.setUpdatedAt(updated == 0 ? null : dateTime(createdMicros + unzigzag(updated - 1)));
+        order.setVersion(version == 0 ? null : version - 1);
+
+        BinaryReader itemIds = skip(column(group, ITEM_ID), firstItem, BinaryReader::readUuid);
+        BinaryReader productIds = skip(column(group, PRODUCT_ID), firstItem, BinaryReader::readUuid);
+        BinaryReader productNames = skip(column(group, PRODUCT_NAME), firstItem, BinaryReader::readString);
+        BinaryReader quantities = skip(column(group, QUANTITY), firstItem, BinaryReader::readVarInt);
+        BinaryReader prices = skip(column(group, PRICE), firstItem, BinaryReader::readDecimal);
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = new OrderItem();
+            item.setItemId(itemIds.readUuid());
+            item.setProductId(productIds.readUuid());
+            item.setProductName(productNames.readString());
+            item.setQuantity(quantities.readVarInt());
+            item.setPrice(Money.of(prices.readDecimal(), Order.CURRENCY));
+            item.setOrder(order);
+            item.setOrderCreatedAt(order.getCreatedAt());
+            items.add(item);
+        }
+        order.setOrderItems(items);
+        return order;
+    }
+
+    /**
+     * Code of a status in the STATUS column. Codes are part of the format:
+     * never renumber or reuse one, give a new status the next free code.
+     */
+    static int statusCode(OrderStatus status) {
+        return switch (status) {
+            case PENDING -> 0;
+            case CONFIRMED -> 1;
+            case PROCESSING -> 2;
+            case SHIPPED -> 3;
+            case DELIVERED -> 4;
+            case CANCELLED -> 5;
+        };
+    }
+
+    private OrderStatus status(int code) {
+        return switch (code) {
+            case 0 -> OrderStatus.PENDING;
+            case 1 -> OrderStatus.CONFIRMED;
+            case 2 -> OrderStatus.PROCESSING;
+            case 3 -> OrderStatus.SHIPPED;
+            case 4 -> OrderStatus.DELIVERED;
+            case 5 -> OrderStatus.CANCELLED;
+            default -> throw new IllegalStateException("Unknown status code " + code + " in order segment " + file);
+        };
+    }
+
+    private RowGroup rowGroupOf(int row) {
+        int low = 0;
+        int high = rowGroups.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (rowGroups[mid].firstRow() <= row) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return rowGroups[low];
+    }
+
+    private BinaryReader column(RowGroup group, int column) {
+        int offset = group.chunks()[column * 3];
+        byte[] compressed = new byte[group.chunks()[column * 3 + 1]];
+        byte[] raw = new byte[group.chunks()[column * 3 + 2]];
+        buffer.get(offset, compressed);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int read = inflater.inflate(raw, length, raw.length - length);
+                if (read == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += read;
+            }
+            if (length != raw.length) {
+                throw new IllegalStateException("Truncated column " + column + " in order segment " + file);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt column " + column + " in order segment " + file, e);
+        } finally {
+            inflater.end();
+        }
+        return new BinaryReader(raw);
+    }
+
+    private boolean hasMagic(int offset) {
+        byte[] bytes = new byte[MAGIC.length];
+        buffer.get(offset, bytes);
+        return Arrays.equals(bytes, MAGIC);
+    }
+
+    private static <T> T nth(BinaryReader reader, int index, Function<BinaryReader, T> read) {
+        return read.apply(skip(reader, index, read));
+    }
+
+    private static BinaryReader skip(BinaryReader reader, int count, Function<BinaryReader, ?> read) {
+        for (int i = 0; i < count; i++) {
+            read.apply(reader);
+        }
+        return reader;
+    }
+
+    private static LocalDateTime dateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, UTC);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units of the order number.
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * @param chunks offset, compressed length and raw length of each column chunk
+     */
+    private record RowGroup(int firstRow, int rowCount, int[] chunks) {
+    }
+}
@@ -0,0 +1,174 @@
+package com.ecommerce.order.archive;
+
+import com.ecommerce.events.codec.BinaryWriter;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderItem;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.Deflater;
+
+import static com.ecommerce.order.archive.OrderSegment.*;
+
+/**
+ * Writes archived orders and their items to a new segment file.
+ *
+ * Orders are split into row groups of rowGroupSize; every column of a row
+ * group is encoded on its own and Deflate-compressed, so values of the same
+ * kind (timestamps, statuses, amounts) sit next to each other and compress
+ * well. See OrderSegment for the layout.
+ */
+final class OrderSegmentWriter {
+
+    private OrderSegmentWriter() {
+    }
+
+    /**
+     * Write the segment and force it to disk before returning.
+     * Items must be loaded; the file must not exist yet.
+     */
+    static void write(Path file, List<Order> orders, int rowGroupSize) throws IOException {
+        if (rowGroupSize <= 0) {
+            throw new IllegalArgumentException("rowGroupSize must be positive: " + rowGroupSize);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+
+            // Row groups, with their chunk positions collected for the directory
+            int groupCount = (orders.size() + rowGroupSize - 1) / rowGroupSize;
+            BinaryWriter directory = new BinaryWriter(16 + groupCount * COLUMN_COUNT * 8);
+            directory.writeVarInt(groupCount);
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+            try {
+                for (int first = 0; first < orders.size(); first += rowGroupSize) {
+                    List<Order> group = orders.subList(first, Math.min(orders.size(), first + rowGroupSize));
+                    directory.writeVarInt(group.size());
+                    for (byte[] column : encodeColumns(group)) {
+                        byte[] compressed = deflate(deflater, column);
+                        directory.writeVarInt(out.size());
+                        directory.writeVarInt(compressed.length);
+                        directory.writeVarInt(column.length);
+                        out.write(compressed);
+                    }
+                }
+            } finally {
+                deflater.end();
+            }
+
+            int directoryOffset = out.size();
+            out.write(directory.toByteArray());
+
+            int idIndexOffset = out.size();
+            for (int row : sortedRows(orders, Comparator.comparing(Order::getOrderId))) {
+                out.writeLong(orders.get(row).getOrderId().getMostSignificantBits());
+                out.writeLong(orders.get(row).getOrderId().getLeastSignificantBits());
+                out.writeInt(row);
+            }
+
+            int numberIndexOffset = out.size();
+            for (int row : sortedRows(orders, Comparator.comparingLong(order -> hash(order.getOrderNumber())))) {
+                out.writeLong(hash(orders.get(row).getOrderNumber()));
+                out.writeInt(row);
+            }
+
+            out.writeInt(directoryOffset);
+            out.writeInt(idIndexOffset);
+            out.writeInt(numberIndexOffset);
+            out.writeInt(orders.size());
+            out.write(MAGIC);
+            out.flush();
+            channel.force(true);
+        }
+    }
+
+    /**
+     * One encoded (uncompressed) column per entry, in the order of the column constants.
+     * Timestamps are microseconds, delta encoded against the previous row.
+     */
+    private static byte[][] encodeColumns(List<Order> orders) {
+        int itemCount = orders.stream().mapToInt(order -> order.getOrderItems().size()).sum();
+        BinaryWriter[] columns = new BinaryWriter[COLUMN_COUNT];
+        for (int i = 0; i < ITEM_ID; i++) {
+            columns[i] = new BinaryWriter(orders.size() * 16);
+        }
+        for (int i = ITEM_ID; i < COLUMN_COUNT; i++) {
+            columns[i] = new BinaryWriter(itemCount * 16);
+        }
+
+        long previousCreated = 0;
+        for (Order order : orders) {
+            long created = micros(order.getCreatedAt());
+            columns[ORDER_ID].writeUuid(order.getOrderId());
+            columns[ORDER_NUMBER].writeString(order.getOrderNumber());
+            columns[CUSTOMER_NAME].writeString(order.getCustomerName());
+            columns[EMAIL].writeString(order.getEmail());
+            columns[TOTAL_AMOUNT].writeDecimal(order.getTotalAmount().toBigDecimal());
+            columns[STATUS].writeVarInt(OrderSegment.statusCode(order.getStatus()));
+            columns[CREATED_AT].writeSignedVarLong(created - previousCreated);
+            // 0 for null, otherwise the zigzag delta from createdAt plus one
+            columns[UPDATED_AT].writeVarLong(order.getUpdatedAt() == null
+                    ? 0 : zigzag(micros(order.getUpdatedAt()) - created) + 1);
+            columns[VERSION_COLUMN].writeVarLong(order.getVersion() == null ? 0 : order.getVersion() + 1);
+            columns[ITEM_COUNT].writeVarInt(order.getOrderItems().size());
+            previousCreated = created;
+
+            for (OrderItem item : order.getOrderItems()) {
+                columns[ITEM_ID].writeUuid(item.getItemId());
+                columns[PRODUCT_ID].writeUuid(item.getProductId());
+                columns[PRODUCT_NAME].writeString(item.getProductName());
+                columns[QUANTITY].writeVarInt(item.getQuantity());
+                columns[PRICE].writeDecimal(item.getPrice().toBigDecimal());
+            }
+        }
+
+        byte[][] encoded = new byte[COLUMN_COUNT][];
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            encoded[i] = columns[i].toByteArray();
+        }
+        return encoded;
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] input) {
+        deflater.reset();
+        deflater.setInput(input);
+        deflater.finish();
+        byte[] buffer = new byte[Math.max(64, input.length / 2)];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            length += deflater.deflate(buffer, length, buffer.length - length);
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private static int[] sortedRows(List<Order> orders, Comparator<Order> comparator) {
+        return IntStream.range(0, orders.size())
+                .boxed()
+                .sorted(Comparator.comparing(orders::get, comparator))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static long micros(LocalDateTime time) {
+        return time.toEpochSecond(UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
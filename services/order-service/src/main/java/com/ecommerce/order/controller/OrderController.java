@@ -1,8 +1,10 @@
 package com.ecommerce.order.controller;
 
+import com.ecommerce.order.dto.OrderPage;
 import com.ecommerce.order.dto.OrderRequest;
 import com.ecommerce.order.dto.OrderResponse;
 import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderStatus;
 import com.ecommerce.order.service.OrderService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -57,11 +59,15 @@ public class OrderController {
      */
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody OrderRequest orderRequest) {
-        log.info("POST /api/v1/orders - Creating order for: {}", orderRequest.getCustomerName());
+        if (log.isDebugEnabled()) {
+            log.debug("POST /api/v1/orders - Creating order for: {}", orderRequest.getCustomerName());
+        }
 
         OrderResponse response = orderService.createOrder(orderRequest);
 
-        log.info("Order created successfully: {}", response.getOrderNumber());
+        if (log.isDebugEnabled()) {
+            log.debug("Order created successfully: {}", response.getOrderNumber());
+        }
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
         // Returns HTTP 201 CREATED with the order details
     }
@@ -80,7 +86,9 @@ public class OrderController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponse> getOrderById(@PathVariable("id") UUID orderId) {
-        log.info("GET /api/v1/orders/{} - Fetching order", orderId);
+        if (log.isDebugEnabled()) {
+            log.debug("GET /api/v1/orders/{} - Fetching order", orderId);
+        }
 
         OrderResponse response = orderService.getOrderById(orderId);
 
@@ -99,14 +107,43 @@ public class OrderController {
      */
     @GetMapping
     public ResponseEntity<List<OrderResponse>> getAllOrders() {
-        log.info("GET /api/v1/orders - Fetching all orders");
+        log.debug("GET /api/v1/orders - Fetching all orders");
 
         List<OrderResponse> orders = orderService.getAllOrders();
 
-        log.info("Found {} orders", orders.size());
+        if (log.isDebugEnabled()) {
+            log.debug("Found {} orders", orders.size());
+        }
         return ResponseEntity.ok(orders);
     }
 
+    /**
+     * READ: Get one page of orders, newest first
+     *
+     * Endpoint: GET /api/v1/orders/page?status={status}&after={cursor}&limit={limit}
+     * Query Parameters: status (optional), after (optional, nextCursor of the previous page), limit (default 20)
+     * Response: 200 OK with OrderPage, 400 BAD REQUEST for an unknown cursor
+     *
+     * Example Request:
+     * GET http://localhost:8080/api/v1/orders/page?status=PENDING&limit=50
+     */
+    @GetMapping("/page")
+    public ResponseEntity<OrderPage> getOrdersPage(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (log.isDebugEnabled()) {
+            log.debug("GET /api/v1/orders/page - Fetching {} orders with status {}", limit, status);
+        }
+
+        OrderPage page = orderService.getOrdersPage(status, after, limit);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Found {} orders", page.getOrders().size());
+        }
+        return ResponseEntity.ok(page);
+    }
+
     /**
      * UPDATE: Update an existing order
      *
@@ -128,11 +165,13 @@ public class OrderController {
             @PathVariable("id") UUID orderId,
             @Valid @RequestBody OrderRequest orderRequest) {
 
-        log.info("PUT /api/v1/orders/{} - Updating order", orderId);
+        if (log.isDebugEnabled()) {
+            log.debug("PUT /api/v1/orders/{} - Updating order", orderId);
+        }
 
         OrderResponse response = orderService.updateOrder(orderId, orderRequest);
 
-        log.info("Order updated successfully");
+        log.debug("Order updated successfully");
         return ResponseEntity.ok(response);
     }
 
@@ -148,11 +187,13 @@ public class OrderController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteOrder(@PathVariable("id") UUID orderId) {
-        log.info("DELETE /api/v1/orders/{} - Deleting order", orderId);
+        if (log.isDebugEnabled()) {
+            log.debug("DELETE /api/v1/orders/{} - Deleting order", orderId);
+        }
 
         orderService.deleteOrder(orderId);
 
-        log.info("Order deleted successfully");
+        log.debug("Order deleted successfully");
         return ResponseEntity.noContent().build();
         // Returns HTTP 204 NO CONTENT (success, no body)
     }
@@ -169,7 +210,9 @@ public class OrderController {
      */
     @GetMapping("/number/{orderNumber}")
     public ResponseEntity<OrderResponse> getOrderByOrderNumber(@PathVariable String orderNumber) {
-        log.info("GET /api/v1/orders/number/{} - Fetching order", orderNumber);
+        if (log.isDebugEnabled()) {
+            log.debug("GET /api/v1/orders/number/{} - Fetching order", orderNumber);
+        }
 
         OrderResponse response = orderService.getOrderByOrderNumber(orderNumber);
 
@@ -190,11 +233,15 @@ public class OrderController {
      */
     @GetMapping("/customer")
     public ResponseEntity<List<OrderResponse>> getOrdersByEmail(@RequestParam String email) {
-        log.info("GET /api/v1/orders/customer?email={} - Fetching orders", email);
+        if (log.isDebugEnabled()) {
+            log.debug("GET /api/v1/orders/customer?email={} - Fetching orders", email);
+        }
 
         List<OrderResponse> orders = orderService.getOrdersByEmail(email);
 
-        log.info("Found {} orders for email: {}", orders.size(), email);
+        if (log.isDebugEnabled()) {
+            log.debug("Found {} orders for email: {}", orders.size(), email);
+        }
         return ResponseEntity.ok(orders);
     }
 
@@ -216,13 +263,15 @@ public class OrderController {
     @PatchMapping("/{id}/status")
     public ResponseEntity<OrderResponse> updateOrderStatus(
             @PathVariable("id") UUID orderId,
-            @RequestParam Order.OrderStatus status) {
+            @RequestParam OrderStatus status) {
 
-        log.info("PATCH /api/v1/orders/{}/status - Updating status to {}", orderId, status);
+        if (log.isDebugEnabled()) {
+            log.debug("PATCH /api/v1/orders/{}/status - Updating status to {}", orderId, status);
+        }
 
         OrderResponse response = orderService.updateOrderStatus(orderId, status);
 
-        log.info("Order status updated successfully");
+        log.debug("Order status updated successfully");
         return ResponseEntity.ok(response);
     }
 }
@@ -0,0 +1,71 @@
+package com.ecommerce.order.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+/**
+ * JDK Flight Recorder event for one phase of creating an order, so a slow
+ * request can be split into order number generation, save, Kafka send and
+ * response mapping. The flush at commit is a com.ecommerce.HibernateFlush
+ * event on the same thread, right after the createOrder phase.
+ *
+ * Only recorded while a recording is running (see the flightrecording
+ * actuator endpoint); otherwise begin, end and shouldCommit do next to nothing
+ * and the fields are never filled in.
+ */
+@Name("com.ecommerce.order.OrderPhase")
+@Label("Order Phase")
+@Category({"E-Commerce", "Order Service"})
+@Description("A phase of creating an order")
+@StackTrace(false)
+public class OrderPhaseEvent extends Event {
+
+    public static final String CREATE_ORDER = "createOrder";
+    public static final String GENERATE_ORDER_NUMBER = "generateOrderNumber";
+    public static final String SAVE = "save";
+    public static final String PUBLISH = "publishOrderCreatedEvent";
+    public static final String MAP_TO_RESPONSE = "mapToResponse";
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Order Id")
+    String orderId;
+
+    @Label("Order Number")
+    String orderNumber;
+
+    @Label("Items")
+    int itemCount;
+
+    /**
+     * Starts timing a phase
+     */
+    public static OrderPhaseEvent start(String phase) {
+        OrderPhaseEvent event = new OrderPhaseEvent();
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the phase and records it if a recording wants it
+     *
+     * @param orderId null before the order is saved
+     */
+    public void finish(UUID orderId, String orderNumber, int itemCount) {
+        end();
+        if (shouldCommit()) {
+            this.orderId = orderId != null ? orderId.toString() : null;
+            this.orderNumber = orderNumber;
+            this.itemCount = itemCount;
+            commit();
+        }
+    }
+}
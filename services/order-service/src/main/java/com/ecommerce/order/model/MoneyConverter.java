@@ -0,0 +1,26 @@
+package com.ecommerce.order.model;
+
+import com.ecommerce.events.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Stores Money as a DECIMAL column in Order.CURRENCY
+ *
+ * The only place order amounts become BigDecimal on the way to and from the database.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal amount) {
+        return amount == null ? null : Money.of(amount, Order.CURRENCY);
+    }
+}
@@ -1,12 +1,14 @@
 package com.ecommerce.order.model;
 
+import com.ecommerce.events.Money;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.shard.ShardedOrderId;
 import jakarta.persistence.*;
-import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Currency;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,24 +19,30 @@ import java.util.UUID;
  * @Entity - Marks this class as a JPA entity (database table)
  * @Table - Specifies the table name in database
  * @Id - Marks the primary key field
- * @GeneratedValue - Auto-generates the ID value
+ * @ShardedOrderId - Generates the ID (a random UUID that names its shard, see OrderShards)
  * @Column - Configures column properties (nullable, unique, length)
  * @Enumerated - Maps Java enum to database column
  * @OneToMany - One order has many order items (relationship)
- * @CreationTimestamp - Auto-sets timestamp when entity is created
+ * @PrePersist - Sets createdAt (the partition key) when entity is created
  * @UpdateTimestamp - Auto-updates timestamp when entity is modified
  */
 @Entity
 @Table(name = "orders")
 public class Order {
 
+    /**
+     * Currency of every amount - Orders have no currency column, all
+     * prices and totals are in the API's one
+     */
+    public static final Currency CURRENCY = OrderResponse.CURRENCY;
+
     /**
      * Primary Key - Unique identifier for each order
      * UUID = Universally Unique Identifier (128-bit number)
      * Example: "550e8400-e29b-41d4-a716-446655440000"
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @ShardedOrderId
     @Column(name = "order_id", updatable = false, nullable = false)
     private UUID orderId;
 
@@ -58,13 +66,14 @@ public class Order {
     private String email;
 
     /**
-     * Total Amount - Uses BigDecimal for precise money calculations
+     * Total Amount - Money in cents, stored as a DECIMAL column by MoneyConverter
      * precision = 10: total digits (including decimals)
      * scale = 2: digits after decimal point
      * Example: 12345.67 (total 7 digits, 2 after decimal)
      */
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
-    private BigDecimal totalAmount;
+    private Money totalAmount;
 
     /**
      * Order Status - Uses Enum for type safety
@@ -75,6 +84,14 @@ public class Order {
     @Column(name = "status", nullable = false, length = 20)
     private OrderStatus status;
 
+    /**
+     * Reservation Id - Reference of the stock holds the client placed in
+     * inventory-service before ordering; inventory-service confirms those holds
+     * when the order is created. Null when the client did not reserve
+     */
+    @Column(name = "reservation_id", updatable = false)
+    private UUID reservationId;
+
     /**
      * Order Items - One-to-Many relationship
      * One order can have many items
@@ -87,10 +104,11 @@ public class Order {
     private List<OrderItem> orderItems = new ArrayList<>();
 
     /**
-     * Created At - Automatically set when order is created
+     * Created At - Set when the order is first saved
+     * Also the partition key: orders and order_items are range partitioned by
+     * month on it, so it is set in onCreate() where the items can copy it
      */
-    @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     /**
@@ -108,6 +126,20 @@ public class Order {
     @Column(name = "version")
     private Long version;
 
+    /**
+     * Runs before the order is first inserted, and before its items are
+     * cascaded, so every item lands in the partition of its order
+     */
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        for (OrderItem item : orderItems) {
+            item.setOrderCreatedAt(createdAt);
+        }
+    }
+
     /**
      * No-args constructor - Required by JPA
      */
@@ -118,7 +150,7 @@ public class Order {
      * All-args constructor - Creates an Order with all fields
      */
     public Order(UUID orderId, String orderNumber, String customerName, String email,
-                 BigDecimal totalAmount, OrderStatus status, List<OrderItem> orderItems,
+                 Money totalAmount, OrderStatus status, List<OrderItem> orderItems,
                  LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
         this.orderId = orderId;
         this.orderNumber = orderNumber;
@@ -191,14 +223,14 @@ public class Order {
     /**
      * Getter for totalAmount
      */
-    public BigDecimal getTotalAmount() {
+    public Money getTotalAmount() {
         return totalAmount;
     }
 
     /**
      * Setter for totalAmount
      */
-    public void setTotalAmount(BigDecimal totalAmount) {
+    public void setTotalAmount(Money totalAmount) {
         this.totalAmount = totalAmount;
     }
 
@@ -273,14 +305,16 @@ public class Order {
     }
 
     /**
-     * Order Status Enum - Defines all possible order states
+     * Getter for reservationId
+     */
+    public UUID getReservationId() {
+        return reservationId;
+    }
+
+    /**
+     * Setter for reservationId
      */
-    public enum OrderStatus {
-        PENDING,      // Order created, awaiting payment
-        CONFIRMED,    // Payment confirmed
-        PROCESSING,   // Being prepared
-        SHIPPED,      // Dispatched for delivery
-        DELIVERED,    // Delivered to customer
-        CANCELLED     // Order cancelled
+    public void setReservationId(UUID reservationId) {
+        this.reservationId = reservationId;
     }
 }
@@ -1,8 +1,9 @@
 package com.ecommerce.order.model;
 
+import com.ecommerce.events.Money;
 import jakarta.persistence.*;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
@@ -52,8 +53,9 @@ public class OrderItem {
      * Price - Price per unit at the time of order
      * Stored to preserve historical pricing
      */
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "price", nullable = false, precision = 10, scale = 2)
-    private BigDecimal price;
+    private Money price;
 
     /**
      * Order - Many-to-One relationship
@@ -72,6 +74,25 @@ public class OrderItem {
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
+    /**
+     * Order Created At - Copy of the order's createdAt
+     * order_items is partitioned by month like orders, so every item carries
+     * the partition key of its order (NOT NULL in db/orders-partitioning.sql;
+     * nullable here so ddl-auto can add it to an existing unpartitioned table)
+     */
+    @Column(name = "order_created_at", updatable = false)
+    private LocalDateTime orderCreatedAt;
+
+    /**
+     * Items added to an order that already exists take its createdAt here
+     */
+    @PrePersist
+    protected void onCreate() {
+        if (orderCreatedAt == null && order != null) {
+            orderCreatedAt = order.getCreatedAt();
+        }
+    }
+
     /**
      * No-args constructor - Required by JPA
      */
@@ -82,7 +103,7 @@ public class OrderItem {
      * All-args constructor - Creates an OrderItem with all fields
      */
     public OrderItem(UUID itemId, UUID productId, String productName, Integer quantity,
-                     BigDecimal price, Order order) {
+                     Money price, Order order) {
         this.itemId = itemId;
         this.productId = productId;
         this.productName = productName;
@@ -150,14 +171,14 @@ public class OrderItem {
     /**
      * Getter for price
      */
-    public BigDecimal getPrice() {
+    public Money getPrice() {
         return price;
     }
 
     /**
      * Setter for price
      */
-    public void setPrice(BigDecimal price) {
+    public void setPrice(Money price) {
         this.price = price;
     }
 
@@ -175,15 +196,29 @@ public class OrderItem {
         this.order = order;
     }
 
+    /**
+     * Getter for orderCreatedAt
+     */
+    public LocalDateTime getOrderCreatedAt() {
+        return orderCreatedAt;
+    }
+
+    /**
+     * Setter for orderCreatedAt
+     */
+    public void setOrderCreatedAt(LocalDateTime orderCreatedAt) {
+        this.orderCreatedAt = orderCreatedAt;
+    }
+
     /**
      * Helper method to calculate line total
-     * Line Total = Quantity × Price
+     * Line Total = Quantity × Price, in minor units (no BigDecimal arithmetic)
      * Example: 3 laptops × $999.99 = $2999.97
      */
-    public BigDecimal getLineTotal() {
+    public Money getLineTotal() {
         if (price == null || quantity == null) {
-            return BigDecimal.ZERO;
+            return Money.zero(Order.CURRENCY);
         }
-        return price.multiply(BigDecimal.valueOf(quantity));
+        return price.times(quantity);
     }
 }
@@ -1,11 +1,21 @@
 package com.ecommerce.order.repository;
 
 import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -66,7 +76,7 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      * @param status Order status (PENDING, CONFIRMED, etc.)
      * @return List of orders with this status
      */
-    java.util.List<Order> findByStatus(Order.OrderStatus status);
+    java.util.List<Order> findByStatus(OrderStatus status);
 
     /**
      * Custom Query Method: Check if order number already exists
@@ -78,6 +88,28 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      */
     boolean existsByOrderNumber(String orderNumber);
 
+    /**
+     * Partition-aware lookup by order number
+     *
+     * orders is partitioned by month on created_at. Without a created_at
+     * condition Postgres has to probe the order_number index of every
+     * partition; with one it only touches the partitions in [from, to).
+     *
+     * @param from earliest createdAt to search (inclusive)
+     * @param to latest createdAt to search (exclusive)
+     */
+    @Query("SELECT o FROM Order o WHERE o.orderNumber = :orderNumber " +
+            "AND o.createdAt >= :from AND o.createdAt < :to")
+    Optional<Order> findByOrderNumberCreatedBetween(@Param("orderNumber") String orderNumber,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to);
+
+    /**
+     * Partition-aware existence check: only orders created since the given
+     * time (and therefore only the partitions from that month on) are searched
+     */
+    boolean existsByOrderNumberAndCreatedAtGreaterThanEqual(String orderNumber, LocalDateTime since);
+
     /**
      * Custom JPQL Query: Find orders by customer name (case-insensitive search)
      *
@@ -111,4 +143,112 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      */
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.orderId = :orderId")
     Optional<Order> findByIdWithItems(@Param("orderId") UUID orderId);
+
+    /**
+     * Every order with its items, in one query (see findByIdWithItems)
+     */
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems")
+    List<Order> findAllWithItems();
+
+    /**
+     * Orders of a customer with their items, in one query (see findByIdWithItems)
+     */
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.email = :email")
+    List<Order> findByEmailWithItems(@Param("email") String email);
+
+    /**
+     * Bulk status transition: moves every listed order that is still in
+     * currentStatus to newStatus with a single UPDATE.
+     *
+     * Bulk JPQL updates bypass the persistence context, so updatedAt and the
+     * optimistic lock version are maintained here instead of by Hibernate.
+     * Orders in any other status are left alone, which makes repeating the
+     * same transition harmless.
+     *
+     * Only orders created since createdSince are updated, so the UPDATE only
+     * touches the most recent partitions.
+     *
+     * @return number of orders that changed status
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :newStatus, o.updatedAt = :now, o.version = o.version + 1 " +
+            "WHERE o.orderId IN :orderIds AND o.status = :currentStatus AND o.createdAt >= :createdSince")
+    int updateStatusWhereStatus(@Param("orderIds") Collection<UUID> orderIds,
+                                @Param("currentStatus") OrderStatus currentStatus,
+                                @Param("newStatus") OrderStatus newStatus,
+                                @Param("createdSince") LocalDateTime createdSince,
+                                @Param("now") LocalDateTime now);
+
+    /**
+     * Same transition for orders of any age. Scans every partition, so it is
+     * only meant for the few orders the bounded variant above did not match.
+     *
+     * @return number of orders that changed status
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :newStatus, o.updatedAt = :now, o.version = o.version + 1 " +
+            "WHERE o.orderId IN :orderIds AND o.status = :currentStatus")
+    int updateStatusWhereStatus(@Param("orderIds") Collection<UUID> orderIds,
+                                @Param("currentStatus") OrderStatus currentStatus,
+                                @Param("newStatus") OrderStatus newStatus,
+                                @Param("now") LocalDateTime now);
+
+    /**
+     * Oldest orders in one of the given statuses created before the cutoff,
+     * locked until the end of the transaction so they cannot change while
+     * they are archived. Rows locked by another transaction are skipped
+     * (lock timeout -2 is SKIP LOCKED) and picked up by a later run.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM Order o WHERE o.status IN :statuses AND o.createdAt < :before ORDER BY o.createdAt")
+    List<Order> findForArchivingBefore(@Param("statuses") Collection<OrderStatus> statuses,
+                                       @Param("before") LocalDateTime before,
+                                       Pageable pageable);
+
+    /**
+     * Load the items of many orders in one query (see findByIdWithItems)
+     */
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.orderId IN :orderIds")
+    List<Order> findAllWithItemsByIdIn(@Param("orderIds") Collection<UUID> orderIds);
+
+    /**
+     * Bulk delete of the items of the given orders, run before deleteAllByIdInCreatedBefore
+     * because order_items references orders
+     */
+    @Modifying
+    @Query("DELETE FROM OrderItem i WHERE i.order.orderId IN :orderIds")
+    int deleteItemsByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
+
+    /**
+     * Bulk delete of orders created before the given time. The created_at
+     * condition keeps the DELETE to the partitions the orders can be in.
+     */
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.orderId IN :orderIds AND o.createdAt < :before")
+    int deleteAllByIdInCreatedBefore(@Param("orderIds") Collection<UUID> orderIds,
+                                     @Param("before") LocalDateTime before);
+
+    /**
+     * Keyset page: the first orders after (createdAt, orderId) in
+     * newest-first order. Unlike OFFSET, the cost does not depend on how
+     * deep the page is.
+     */
+    @Query("SELECT o FROM Order o WHERE o.createdAt < :createdAt " +
+            "OR (o.createdAt = :createdAt AND o.orderId < :orderId) " +
+            "ORDER BY o.createdAt DESC, o.orderId DESC")
+    List<Order> findPageBefore(@Param("createdAt") LocalDateTime createdAt,
+                               @Param("orderId") UUID orderId,
+                               Pageable pageable);
+
+    /**
+     * Keyset page of the orders in one status (see findPageBefore)
+     */
+    @Query("SELECT o FROM Order o WHERE o.status = :status AND (o.createdAt < :createdAt " +
+            "OR (o.createdAt = :createdAt AND o.orderId < :orderId)) " +
+            "ORDER BY o.createdAt DESC, o.orderId DESC")
+    List<Order> findPageByStatusBefore(@Param("status") OrderStatus status,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("orderId") UUID orderId,
+                                       Pageable pageable);
 }
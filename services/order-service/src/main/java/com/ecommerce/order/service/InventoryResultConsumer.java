@@ -0,0 +1,124 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.events.InventoryResultEvent;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.shard.OrderShards;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Consumes inventory result events and moves pending orders to CONFIRMED
+ * (stock reserved) or CANCELLED (stock rejected).
+ *
+ * Results are consumed in batches and applied with at most two bulk UPDATEs
+ * per batch and shard, in one transaction per shard. Only PENDING orders
+ * change, so a redelivered batch or a duplicate result has no effect.
+ * Results arrive within seconds of the order, so the UPDATEs only consider
+ * orders in the active partitions. Results that match no order there, such as
+ * a late result of an older order, are applied again across all partitions.
+ */
+@Service
+public class InventoryResultConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryResultConsumer.class);
+
+    private final OrderRepository orderRepository;
+    private final OrderPartitionManager orderPartitionManager;
+    private final OrderShards orderShards;
+
+    @Autowired
+    public InventoryResultConsumer(OrderRepository orderRepository, OrderPartitionManager orderPartitionManager,
+                                   OrderShards orderShards) {
+        this.orderRepository = orderRepository;
+        this.orderPartitionManager = orderPartitionManager;
+        this.orderShards = orderShards;
+    }
+
+    @KafkaListener(topics = "${kafka.topic.inventory-result}", groupId = "${spring.kafka.consumer.group-id}",
+            batch = "true")
+    public void consumeInventoryResults(List<ConsumerRecord<String, InventoryResultEvent>> records) {
+        // The latest result per order wins
+        Map<UUID, InventoryResultEvent.Status> statusByOrder = new LinkedHashMap<>();
+        for (ConsumerRecord<String, InventoryResultEvent> record : records) {
+            InventoryResultEvent result = record.value();
+            if (result == null || result.orderId() == null || result.status() == null) {
+                logger.warn("Skipping unreadable inventory result at {}-{}@{}",
+                        record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            if (result.status() == InventoryResultEvent.Status.REJECTED) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Order {} rejected by inventory: {}", result.orderId(), result.reason());
+                }
+            }
+            statusByOrder.put(result.orderId(), result.status());
+        }
+
+        // Orders of different shards are updated in one transaction per shard
+        Map<Integer, List<UUID>> confirmedByShard = new TreeMap<>();
+        Map<Integer, List<UUID>> cancelledByShard = new TreeMap<>();
+        statusByOrder.forEach((orderId, status) ->
+                (status == InventoryResultEvent.Status.RESERVED ? confirmedByShard : cancelledByShard)
+                        .computeIfAbsent(orderShards.shardOf(orderId), shard -> new ArrayList<>())
+                        .add(orderId));
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime createdSince = orderPartitionManager.activeSince();
+        Set<Integer> shards = new TreeSet<>(confirmedByShard.keySet());
+        shards.addAll(cancelledByShard.keySet());
+        int confirmedCount = 0;
+        int cancelledCount = 0;
+        for (int shard : shards) {
+            List<UUID> confirmed = confirmedByShard.getOrDefault(shard, List.of());
+            List<UUID> cancelled = cancelledByShard.getOrDefault(shard, List.of());
+            int[] counts = orderShards.inTransaction(shard, () -> new int[]{
+                    transition(confirmed, OrderStatus.CONFIRMED, createdSince, now),
+                    transition(cancelled, OrderStatus.CANCELLED, createdSince, now)});
+            confirmedCount += counts[0];
+            cancelledCount += counts[1];
+        }
+
+        logger.info("Applied {} inventory results: {} orders confirmed, {} cancelled",
+                records.size(), confirmedCount, cancelledCount);
+    }
+
+    /**
+     * Move the pending orders among orderIds to newStatus.
+     *
+     * @return number of orders that changed status
+     */
+    private int transition(List<UUID> orderIds, OrderStatus newStatus, LocalDateTime createdSince,
+                           LocalDateTime now) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        int updated = orderRepository.updateStatusWhereStatus(
+                orderIds, OrderStatus.PENDING, newStatus, createdSince, now);
+        if (updated == orderIds.size()) {
+            return updated;
+        }
+        // Some orders are older than the active partitions or no longer pending; orders
+        // updated above are not pending anymore, so repeating the UPDATE leaves them alone
+        int older = orderRepository.updateStatusWhereStatus(orderIds, OrderStatus.PENDING, newStatus, now);
+        if (older > 0) {
+            logger.warn("Moved {} orders created before {} to {}", older, createdSince, newStatus);
+        }
+        return updated + older;
+    }
+}
@@ -1,6 +1,6 @@
 package com.ecommerce.order.service;
 
-import com.ecommerce.order.event.OrderCreatedEvent;
+import com.ecommerce.events.OrderCreatedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,19 +33,23 @@ public class KafkaProducerService {
      * Publish order created event to Kafka
      */
     public void publishOrderCreatedEvent(OrderCreatedEvent event) {
-        logger.info("Publishing order created event: Order ID = {}, Order Number = {}",
-                event.getOrderId(), event.getOrderNumber());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Publishing order created event: Order ID = {}, Order Number = {}",
+                    event.orderId(), event.orderNumber());
+        }
 
         CompletableFuture<SendResult<String, OrderCreatedEvent>> future =
-                kafkaTemplate.send(orderCreatedTopic, event.getOrderId().toString(), event);
+                kafkaTemplate.send(orderCreatedTopic, event.orderId().toString(), event);
 
         future.whenComplete((result, ex) -> {
             if (ex == null) {
-                logger.info("Successfully published order created event: Order ID = {}, Offset = {}",
-                        event.getOrderId(), result.getRecordMetadata().offset());
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Successfully published order created event: Order ID = {}, Offset = {}",
+                            event.orderId(), result.getRecordMetadata().offset());
+                }
             } else {
                 logger.error("Failed to publish order created event: Order ID = {}",
-                        event.getOrderId(), ex);
+                        event.orderId(), ex);
             }
         });
     }
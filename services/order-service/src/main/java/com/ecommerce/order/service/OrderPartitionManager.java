@@ -0,0 +1,221 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.order.shard.OrderShards;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains the monthly partitions of orders and order_items once they have
+ * been converted with db/orders-partitioning.sql.
+ *
+ * - Partitions for the current month and months-ahead future months are
+ *   created ahead of time, so inserts never hit a missing partition.
+ * - Partitions older than retention-months are detached (CONCURRENTLY, so
+ *   writers are not blocked) and moved to the archive schema. Detaching only
+ *   changes catalog entries; the data is not copied. A month whose orders
+ *   partition still holds rows is kept: order lookups only fall back to the
+ *   OrderArchive, so its orders must have been moved there (and deleted) by
+ *   the OrderArchiver first.
+ *
+ * Also defines the "active" months that queries on recent orders are limited
+ * to, so Postgres prunes every other partition.
+ *
+ * Every order shard is maintained in turn. Does nothing on a shard whose
+ * orders table is not partitioned.
+ */
+@Component
+public class OrderPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderPartitionManager.class);
+
+    static final String ORDERS = "orders";
+    static final String ORDER_ITEMS = "order_items";
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderShards orderShards;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final int activeMonths;
+    private final String archiveSchema;
+    private final long intervalMillis;
+
+    private ScheduledExecutorService scheduler;
+    private boolean warnedNotPartitioned;
+
+    @Autowired
+    public OrderPartitionManager(JdbcTemplate jdbcTemplate,
+                                 OrderShards orderShards,
+                                 @Value("${order.partitioning.enabled:true}") boolean enabled,
+                                 @Value("${order.partitioning.months-ahead:3}") int monthsAhead,
+                                 @Value("${order.partitioning.retention-months:24}") int retentionMonths,
+                                 @Value("${order.partitioning.active-months:2}") int activeMonths,
+                                 @Value("${order.partitioning.archive-schema:orders_archive}") String archiveSchema,
+                                 @Value("${order.partitioning.interval-ms:3600000}") long intervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.orderShards = orderShards;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.activeMonths = Math.max(1, activeMonths);
+        this.archiveSchema = archiveSchema;
+        this.intervalMillis = intervalMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-partitions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::maintainSafely, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Start of the oldest active month: orders created since then are in the
+     * active-months most recent partitions.
+     */
+    public LocalDateTime activeSince() {
+        return YearMonth.now().minusMonths(activeMonths - 1).atDay(1).atStartOfDay();
+    }
+
+    /**
+     * Create missing partitions and archive expired ones.
+     */
+    void maintain(YearMonth currentMonth) {
+        if (!isPartitioned(ORDERS)) {
+            if (!warnedNotPartitioned) {
+                logger.warn("Table {} is not partitioned, run db/orders-partitioning.sql to enable partitioning",
+                        ORDERS);
+                warnedNotPartitioned = true;
+            }
+            return;
+        }
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartitions(currentMonth.plusMonths(i));
+        }
+        if (retentionMonths > 0) {
+            archivePartitionsBefore(currentMonth.minusMonths(retentionMonths));
+        }
+    }
+
+    private void createPartitions(YearMonth month) {
+        // orders first: order_items references it
+        for (String table : List.of(ORDERS, ORDER_ITEMS)) {
+            String partition = partitionName(table, month);
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    partition, table, month.atDay(1), month.plusMonths(1).atDay(1)));
+        }
+    }
+
+    private void archivePartitionsBefore(YearMonth cutoff) {
+        Set<YearMonth> holdingOrders = new HashSet<>();
+        for (String partition : attachedPartitions(ORDERS)) {
+            YearMonth month = monthOf(ORDERS, partition);
+            if (month != null && month.isBefore(cutoff) && holdsRows(partition)) {
+                logger.warn("Not archiving partition {}: it still holds orders the order archiver has not moved out",
+                        partition);
+                holdingOrders.add(month);
+            }
+        }
+        // order_items first: its rows reference the orders partition of the same month
+        for (String table : List.of(ORDER_ITEMS, ORDERS)) {
+            for (String partition : attachedPartitions(table)) {
+                YearMonth month = monthOf(table, partition);
+                if (month == null || !month.isBefore(cutoff) || holdingOrders.contains(month)) {
+                    continue;
+                }
+                jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+                jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition + " CONCURRENTLY");
+                jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + archiveSchema);
+                logger.info("Archived partition {} to schema {}", partition, archiveSchema);
+            }
+        }
+    }
+
+    private boolean holdsRows(String partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class));
+    }
+
+    private List<String> attachedPartitions(String table) {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i"
+                        + " JOIN pg_class c ON c.oid = i.inhrelid"
+                        + " JOIN pg_class p ON p.oid = i.inhparent"
+                        + " JOIN pg_namespace n ON n.oid = p.relnamespace"
+                        + " WHERE p.relname = ? AND n.nspname = current_schema()",
+                String.class, table);
+    }
+
+    private boolean isPartitioned(String table) {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT c.relkind::text FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace"
+                        + " WHERE c.relname = ? AND n.nspname = current_schema()",
+                String.class, table);
+        return kinds.contains("p");
+    }
+
+    private void maintainSafely() {
+        YearMonth now = YearMonth.now();
+        orderShards.forEachShard(shard -> {
+            try {
+                maintain(now);
+            } catch (Exception e) {
+                // An interrupted CONCURRENTLY detach leaves the partition pending:
+                // finish it with ALTER TABLE ... DETACH PARTITION ... FINALIZE
+                logger.error("Failed to maintain order partitions on shard {}", shard, e);
+            }
+        });
+    }
+
+    static String partitionName(String table, YearMonth month) {
+        return table + "_p" + month.format(SUFFIX);
+    }
+
+    /**
+     * @return the month of a partition named by partitionName, null for any other name
+     */
+    static YearMonth monthOf(String table, String partition) {
+        String prefix = table + "_p";
+        if (!partition.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(prefix.length()), SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.ecommerce.order.service;
 
+import com.ecommerce.order.dto.OrderPage;
 import com.ecommerce.order.dto.OrderRequest;
 import com.ecommerce.order.dto.OrderResponse;
 import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderStatus;
 
 import java.util.List;
 import java.util.UUID;
@@ -61,6 +63,16 @@ public interface OrderService {
      */
     List<OrderResponse> getAllOrders();
 
+    /**
+     * Get one page of orders, newest first
+     *
+     * @param status Only orders in this status, all orders when null
+     * @param after nextCursor of the previous page, null for the first page
+     * @param limit Page size (at most 100)
+     * @return The orders and the cursor of the next page
+     */
+    OrderPage getOrdersPage(OrderStatus status, String after, int limit);
+
     /**
      * Update an existing order
      *
@@ -114,5 +126,5 @@ public interface OrderService {
      * @param newStatus New order status
      * @return Updated OrderResponse
      */
-    OrderResponse updateOrderStatus(UUID orderId, Order.OrderStatus newStatus);
+    OrderResponse updateOrderStatus(UUID orderId, OrderStatus newStatus);
 }
@@ -1,20 +1,37 @@
 package com.ecommerce.order.service;
 
+import com.ecommerce.coalescing.SingleFlight;
+import com.ecommerce.datasource.ReadYourWrites;
+import com.ecommerce.events.Money;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.order.archive.OrderArchive;
 import com.ecommerce.order.dto.OrderItemDto;
+import com.ecommerce.order.dto.OrderPage;
 import com.ecommerce.order.dto.OrderRequest;
 import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.metrics.OrderPhaseEvent;
 import com.ecommerce.order.model.Order;
 import com.ecommerce.order.model.OrderItem;
+import com.ecommerce.order.model.OrderStatus;
 import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.shard.OrderShards;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,16 +40,28 @@ import java.util.stream.Collectors;
  */
 @Service
 @Transactional
+@Observed(name = "order.service")
 public class OrderServiceImpl implements OrderService {
 
     private static final Logger log = LoggerFactory.getLogger(OrderServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 100;
     private final OrderRepository orderRepository;
     private final KafkaProducerService kafkaProducerService;
+    private final StockReplica stockReplica;
+    private final OrderArchive orderArchive;
+    private final OrderShards orderShards;
+    private final SingleFlight<UUID, OrderResponse> orderLookups;
 
     // Constructor for dependency injection
-    public OrderServiceImpl(OrderRepository orderRepository, KafkaProducerService kafkaProducerService) {
+    public OrderServiceImpl(OrderRepository orderRepository, KafkaProducerService kafkaProducerService,
+                            StockReplica stockReplica, OrderArchive orderArchive, OrderShards orderShards,
+                            SingleFlight<UUID, OrderResponse> orderLookups) {
         this.orderRepository = orderRepository;
         this.kafkaProducerService = kafkaProducerService;
+        this.stockReplica = stockReplica;
+        this.orderArchive = orderArchive;
+        this.orderShards = orderShards;
+        this.orderLookups = orderLookups;
     }
 
     /**
@@ -40,59 +69,108 @@ public class OrderServiceImpl implements OrderService {
      */
     @Override
     public OrderResponse createOrder(OrderRequest orderRequest) {
-        log.info("Creating new order for customer: {}", orderRequest.getCustomerName());
-
-        // 1. Create Order entity
-        Order order = new Order();
-        order.setOrderNumber(generateOrderNumber());  // Generate unique order number
-        order.setCustomerName(orderRequest.getCustomerName());
-        order.setEmail(orderRequest.getEmail());
-        order.setStatus(Order.OrderStatus.PENDING);  // Initial status
-
-        // 2. Create OrderItems and calculate total
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        List<OrderItem> orderItems = orderRequest.getOrderItems().stream()
-                .map(itemDto -> {
-                    OrderItem item = new OrderItem();
-                    item.setProductId(itemDto.getProductId());
-                    item.setProductName(itemDto.getProductName());
-                    item.setQuantity(itemDto.getQuantity());
-                    item.setPrice(itemDto.getPrice());
-                    item.setOrder(order);  // Set the relationship
-                    return item;
-                })
-                .collect(Collectors.toList());
-
-        // Calculate total amount
-        for (OrderItem item : orderItems) {
-            totalAmount = totalAmount.add(item.getLineTotal());
+        if (log.isDebugEnabled()) {
+            log.debug("Creating new order for customer: {}", orderRequest.getCustomerName());
         }
 
-        order.setTotalAmount(totalAmount);
-        order.setOrderItems(orderItems);
-
-        // 3. Save to database
-        Order savedOrder = orderRepository.save(order);
-        log.info("Order created successfully with ID: {} and order number: {}",
-                savedOrder.getOrderId(), savedOrder.getOrderNumber());
-
-        // 4. Publish event to Kafka
-        publishOrderCreatedEvent(savedOrder);
+        // 0. Reject items the local stock replica already knows cannot be served
+        stockReplica.verifyAvailable(orderRequest.getOrderItems());
+
+        // Phases are JFR events (see OrderPhaseEvent), recorded only during a recording
+        OrderPhaseEvent createEvent = OrderPhaseEvent.start(OrderPhaseEvent.CREATE_ORDER);
+        int itemCount = orderRequest.getOrderItems().size();
+
+        // All orders of a customer are on the shard of their email
+        int shard = orderShards.shardForEmail(orderRequest.getEmail());
+        return orderShards.onShard(shard, () -> {
+            // 1. Create Order entity
+            Order order = new Order();
+            OrderPhaseEvent numberEvent = OrderPhaseEvent.start(OrderPhaseEvent.GENERATE_ORDER_NUMBER);
+            order.setOrderNumber(generateOrderNumber(shard));  // Generate unique order number
+            numberEvent.finish(null, order.getOrderNumber(), itemCount);
+            order.setCustomerName(orderRequest.getCustomerName());
+            order.setEmail(orderRequest.getEmail());
+            order.setStatus(OrderStatus.PENDING);  // Initial status
+            order.setReservationId(orderRequest.getReservationId());
+
+            // 2. Create OrderItems and calculate total
+            Money totalAmount = Money.zero(Order.CURRENCY);
+            List<OrderItem> orderItems = orderRequest.getOrderItems().stream()
+                    .map(itemDto -> {
+                        OrderItem item = new OrderItem();
+                        item.setProductId(itemDto.getProductId());
+                        item.setProductName(itemDto.getProductName());
+                        item.setQuantity(itemDto.getQuantity());
+                        item.setPrice(Money.of(itemDto.getPrice(), Order.CURRENCY));
+                        item.setOrder(order);  // Set the relationship
+                        return item;
+                    })
+                    .collect(Collectors.toList());
 
-        // 5. Convert to response DTO and return
-        return mapToResponse(savedOrder);
+            // Calculate total amount
+            for (OrderItem item : orderItems) {
+                totalAmount = totalAmount.plus(item.getLineTotal());
+            }
+
+            order.setTotalAmount(totalAmount);
+            order.setOrderItems(orderItems);
+
+            // 3. Save to database
+            OrderPhaseEvent saveEvent = OrderPhaseEvent.start(OrderPhaseEvent.SAVE);
+            Order savedOrder = orderRepository.save(order);
+            saveEvent.finish(savedOrder.getOrderId(), savedOrder.getOrderNumber(), itemCount);
+            if (log.isDebugEnabled()) {
+                log.debug("Order created successfully with ID: {} and order number: {}",
+                        savedOrder.getOrderId(), savedOrder.getOrderNumber());
+            }
+
+            // 4. Publish event to Kafka
+            OrderPhaseEvent publishEvent = OrderPhaseEvent.start(OrderPhaseEvent.PUBLISH);
+            publishOrderCreatedEvent(savedOrder);
+            publishEvent.finish(savedOrder.getOrderId(), savedOrder.getOrderNumber(), itemCount);
+
+            // 5. Convert to response DTO and return
+            OrderPhaseEvent mapEvent = OrderPhaseEvent.start(OrderPhaseEvent.MAP_TO_RESPONSE);
+            OrderResponse response = mapToResponse(savedOrder);
+            mapEvent.finish(savedOrder.getOrderId(), savedOrder.getOrderNumber(), itemCount);
+
+            createEvent.finish(savedOrder.getOrderId(), savedOrder.getOrderNumber(), itemCount);
+            return response;
+        });
     }
 
     /**
      * Get order by ID
+     *
+     * Concurrent lookups of the same order share one query and one response
+     * (see SingleFlight); the query runs in a read-only transaction of the
+     * caller that started it, so waiting callers hold no connection. A caller
+     * already in a transaction reads the order in it instead, and a caller
+     * pinned to the primary (ReadYourWrites) runs its own query, since a
+     * running lookup may be reading a replica.
      */
     @Override
-    @Transactional(readOnly = true)  // Read-only transaction (performance optimization)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public OrderResponse getOrderById(UUID orderId) {
-        log.info("Fetching order with ID: {}", orderId);
+        if (log.isDebugEnabled()) {
+            log.debug("Fetching order with ID: {}", orderId);
+        }
 
-        // findByIdWithItems uses JOIN FETCH to load items in one query
+        int shard = orderShards.shardOf(orderId);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return orderShards.onShard(shard, () -> findOrderById(orderId));
+        }
+        if (ReadYourWrites.isPinnedToPrimary()) {
+            return orderShards.read(shard, () -> findOrderById(orderId));
+        }
+        return orderLookups.execute(orderId, () -> orderShards.read(shard, () -> findOrderById(orderId)));
+    }
+
+    private OrderResponse findOrderById(UUID orderId) {
+        // findByIdWithItems uses JOIN FETCH to load items in one query;
+        // old delivered and cancelled orders have moved to the archive
         Order order = orderRepository.findByIdWithItems(orderId)
+                .or(() -> orderArchive.findById(orderId))
                 .orElseThrow(() -> new RuntimeException("Order not found with ID: " + orderId));
         // TODO: Replace RuntimeException with custom OrderNotFoundException in Part 4
 
@@ -105,54 +183,106 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional(readOnly = true)
     public List<OrderResponse> getAllOrders() {
-        log.info("Fetching all orders");
-
-        List<Order> orders = orderRepository.findAll();
-        log.info("Found {} orders", orders.size());
-
-        return orders.stream()
-                .map(this::mapToResponse)
+        log.debug("Fetching all orders");
+
+        // Every shard is read in parallel; items are loaded inside each shard's transaction
+        List<OrderResponse> orders = orderShards.readEachShard(shard -> orderRepository.findAllWithItems().stream()
+                        .map(this::mapToResponse)
+                        .collect(Collectors.toList()))
+                .stream()
+                .flatMap(List::stream)
                 .collect(Collectors.toList());
+        if (log.isDebugEnabled()) {
+            log.debug("Found {} orders", orders.size());
+        }
+
+        return orders;
     }
 
     /**
-     * Update an existing order
+     * Get one page of orders, newest first
+     *
+     * Keyset pagination on (createdAt, orderId): every shard returns its first
+     * limit orders after the cursor and the pages are merged, so the cost of a
+     * page does not grow with its position.
      */
     @Override
-    public OrderResponse updateOrder(UUID orderId, OrderRequest orderRequest) {
-        log.info("Updating order with ID: {}", orderId);
-
-        // 1. Find existing order
-        Order order = orderRepository.findByIdWithItems(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found with ID: " + orderId));
-
-        // 2. Update basic fields
-        order.setCustomerName(orderRequest.getCustomerName());
-        order.setEmail(orderRequest.getEmail());
+    @Transactional(readOnly = true)
+    public OrderPage getOrdersPage(OrderStatus status, String after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        OrderCursor cursor = after == null || after.isBlank() ? OrderCursor.FIRST : OrderCursor.decode(after);
+        if (log.isDebugEnabled()) {
+            log.debug("Fetching {} orders with status {} after {}", pageSize, status, cursor);
+        }
 
-        // 3. Clear existing items and add new ones
-        order.getOrderItems().clear();
+        Pageable firstRows = PageRequest.of(0, pageSize);
+        List<List<OrderResponse>> pages = orderShards.readEachShard(shard -> {
+            List<Order> page = status == null
+                    ? orderRepository.findPageBefore(cursor.createdAt(), cursor.orderId(), firstRows)
+                    : orderRepository.findPageByStatusBefore(status, cursor.createdAt(), cursor.orderId(), firstRows);
+            loadItems(page);
+            return page.stream()
+                    .map(this::mapToResponse)
+                    .collect(Collectors.toList());
+        });
+        List<OrderResponse> orders = OrderShards.mergeSorted(pages, OrderCursor.NEWEST_FIRST, pageSize);
 
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        for (OrderItemDto itemDto : orderRequest.getOrderItems()) {
-            OrderItem item = new OrderItem();
-            item.setProductId(itemDto.getProductId());
-            item.setProductName(itemDto.getProductName());
-            item.setQuantity(itemDto.getQuantity());
-            item.setPrice(itemDto.getPrice());
-            item.setOrder(order);
-            order.getOrderItems().add(item);
+        String next = orders.size() == pageSize ? OrderCursor.of(orders.get(orders.size() - 1)).encode() : null;
+        return new OrderPage(orders, next);
+    }
 
-            totalAmount = totalAmount.add(item.getLineTotal());
+    /**
+     * Update an existing order
+     */
+    @Override
+    public OrderResponse updateOrder(UUID orderId, OrderRequest orderRequest) {
+        if (log.isDebugEnabled()) {
+            log.debug("Updating order with ID: {}", orderId);
         }
 
-        order.setTotalAmount(totalAmount);
-
-        // 4. Save updated order
-        Order updatedOrder = orderRepository.save(order);
-        log.info("Order updated successfully: {}", orderId);
-
-        return mapToResponse(updatedOrder);
+        int shard = orderShards.shardOf(orderId);
+        return orderShards.onShard(shard, () -> {
+            // 1. Find existing order
+            Order order = orderRepository.findByIdWithItems(orderId)
+                    .orElseThrow(() -> new RuntimeException("Order not found with ID: " + orderId));
+
+            // An order stays on its shard; its customer's orders must stay findable by email
+            if (!orderRequest.getEmail().equals(order.getEmail())
+                    && orderShards.shardForEmail(orderRequest.getEmail()) != shard) {
+                throw new IllegalArgumentException("Cannot change the email of order " + orderId
+                        + " to one that belongs to another shard");
+            }
+
+            // 2. Update basic fields
+            order.setCustomerName(orderRequest.getCustomerName());
+            order.setEmail(orderRequest.getEmail());
+
+            // 3. Clear existing items and add new ones
+            order.getOrderItems().clear();
+
+            Money totalAmount = Money.zero(Order.CURRENCY);
+            for (OrderItemDto itemDto : orderRequest.getOrderItems()) {
+                OrderItem item = new OrderItem();
+                item.setProductId(itemDto.getProductId());
+                item.setProductName(itemDto.getProductName());
+                item.setQuantity(itemDto.getQuantity());
+                item.setPrice(Money.of(itemDto.getPrice(), Order.CURRENCY));
+                item.setOrder(order);
+                order.getOrderItems().add(item);
+
+                totalAmount = totalAmount.plus(item.getLineTotal());
+            }
+
+            order.setTotalAmount(totalAmount);
+
+            // 4. Save updated order
+            Order updatedOrder = orderRepository.save(order);
+            if (log.isDebugEnabled()) {
+                log.debug("Order updated successfully: {}", orderId);
+            }
+
+            return mapToResponse(updatedOrder);
+        });
     }
 
     /**
@@ -160,20 +290,27 @@ public class OrderServiceImpl implements OrderService {
      */
     @Override
     public void deleteOrder(UUID orderId) {
-        log.info("Deleting order with ID: {}", orderId);
-
-        // Check if order exists
-        if (!orderRepository.existsById(orderId)) {
-            throw new RuntimeException("Order not found with ID: " + orderId);
+        if (log.isDebugEnabled()) {
+            log.debug("Deleting order with ID: {}", orderId);
         }
 
-        // TODO: Add business logic to prevent deletion of completed orders
-        // if (order.getStatus() == OrderStatus.DELIVERED) {
-        //     throw new IllegalStateException("Cannot delete delivered orders");
-        // }
-
-        orderRepository.deleteById(orderId);
-        log.info("Order deleted successfully: {}", orderId);
+        orderShards.onShard(orderShards.shardOf(orderId), () -> {
+            // Check if order exists
+            if (!orderRepository.existsById(orderId)) {
+                throw new RuntimeException("Order not found with ID: " + orderId);
+            }
+
+            // TODO: Add business logic to prevent deletion of completed orders
+            // if (order.getStatus() == OrderStatus.DELIVERED) {
+            //     throw new IllegalStateException("Cannot delete delivered orders");
+            // }
+
+            orderRepository.deleteById(orderId);
+            if (log.isDebugEnabled()) {
+                log.debug("Order deleted successfully: {}", orderId);
+            }
+            return null;
+        });
     }
 
     /**
@@ -182,12 +319,23 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional(readOnly = true)
     public OrderResponse getOrderByOrderNumber(String orderNumber) {
-        log.info("Fetching order with order number: {}", orderNumber);
-
-        Order order = orderRepository.findByOrderNumber(orderNumber)
-                .orElseThrow(() -> new RuntimeException("Order not found with order number: " + orderNumber));
+        if (log.isDebugEnabled()) {
+            log.debug("Fetching order with order number: {}", orderNumber);
+        }
 
-        return mapToResponse(order);
+        return orderShards.onShard(orderShards.shardOf(orderNumber), () -> {
+            // Order numbers embed their creation date, which limits the search to its partition
+            LocalDate createdOn = creationDateOf(orderNumber);
+            Optional<Order> found = createdOn != null
+                    ? orderRepository.findByOrderNumberCreatedBetween(orderNumber,
+                            createdOn.minusDays(1).atStartOfDay(), createdOn.plusDays(2).atStartOfDay())
+                    : orderRepository.findByOrderNumber(orderNumber);
+            Order order = found
+                    .or(() -> orderArchive.findByOrderNumber(orderNumber))
+                    .orElseThrow(() -> new RuntimeException("Order not found with order number: " + orderNumber));
+
+            return mapToResponse(order);
+        });
     }
 
     /**
@@ -196,61 +344,102 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional(readOnly = true)
     public List<OrderResponse> getOrdersByEmail(String email) {
-        log.info("Fetching orders for email: {}", email);
+        if (log.isDebugEnabled()) {
+            log.debug("Fetching orders for email: {}", email);
+        }
 
-        List<Order> orders = orderRepository.findByEmail(email);
-        log.info("Found {} orders for email: {}", orders.size(), email);
+        return orderShards.onShard(orderShards.shardForEmail(email), () -> {
+            List<Order> orders = orderRepository.findByEmailWithItems(email);
+            if (log.isDebugEnabled()) {
+                log.debug("Found {} orders for email: {}", orders.size(), email);
+            }
 
-        return orders.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+            return orders.stream()
+                    .map(this::mapToResponse)
+                    .collect(Collectors.toList());
+        });
     }
 
     /**
      * Update order status
      */
     @Override
-    public OrderResponse updateOrderStatus(UUID orderId, Order.OrderStatus newStatus) {
-        log.info("Updating order {} status to {}", orderId, newStatus);
+    public OrderResponse updateOrderStatus(UUID orderId, OrderStatus newStatus) {
+        if (log.isDebugEnabled()) {
+            log.debug("Updating order {} status to {}", orderId, newStatus);
+        }
 
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found with ID: " + orderId));
+        return orderShards.onShard(orderShards.shardOf(orderId), () -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new RuntimeException("Order not found with ID: " + orderId));
 
-        // TODO: Add status transition validation in Part 4
-        // validateStatusTransition(order.getStatus(), newStatus);
+            // TODO: Add status transition validation in Part 4
+            // validateStatusTransition(order.getStatus(), newStatus);
 
-        order.setStatus(newStatus);
-        Order updatedOrder = orderRepository.save(order);
-        log.info("Order status updated successfully");
+            order.setStatus(newStatus);
+            Order updatedOrder = orderRepository.save(order);
+            log.debug("Order status updated successfully");
 
-        return mapToResponse(updatedOrder);
+            return mapToResponse(updatedOrder);
+        });
     }
 
     // ======================== HELPER METHODS ========================
 
     /**
      * Generate unique order number
-     * Format: ORD-YYYYMMDD-HHMMSS-RANDOM
-     * Example: ORD-20241214-143052-A4B9
+     * Format: ORD-YYYYMMDD-HHMMSS-RANDOM, with a shard suffix when sharded (see OrderShards)
+     * Example: ORD-20241214-143052-A4B9, ORD-20241214-143052-A4B9-S03
      */
-    private String generateOrderNumber() {
+    String generateOrderNumber(int shard) {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
         String random = UUID.randomUUID().toString().substring(0, 4).toUpperCase();
-        String orderNumber = String.format("ORD-%s-%s", timestamp, random);
+        String orderNumber = orderShards.withShard(String.format("ORD-%s-%s", timestamp, random), shard);
 
         // Ensure uniqueness (very unlikely to collide, but good practice)
-        while (orderRepository.existsByOrderNumber(orderNumber)) {
+        // A collision needs the same second, so only today's partition is searched
+        LocalDateTime since = LocalDate.now().minusDays(1).atStartOfDay();
+        while (orderRepository.existsByOrderNumberAndCreatedAtGreaterThanEqual(orderNumber, since)) {
             random = UUID.randomUUID().toString().substring(0, 4).toUpperCase();
-            orderNumber = String.format("ORD-%s-%s", timestamp, random);
+            orderNumber = orderShards.withShard(String.format("ORD-%s-%s", timestamp, random), shard);
         }
 
         return orderNumber;
     }
 
+    /**
+     * Loads the items of the given orders with one query instead of one per order
+     *
+     * A LIMIT query cannot JOIN FETCH a collection (Hibernate would page in
+     * memory), so pages are read first and their items fetched into the same
+     * persistence context afterwards.
+     */
+    private void loadItems(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        orderRepository.findAllWithItemsByIdIn(orders.stream().map(Order::getOrderId).toList());
+    }
+
+    /**
+     * Creation date embedded in an order number, null for numbers in another format
+     * Example: ORD-20241214-143052-A4B9 -> 2024-12-14
+     */
+    private static LocalDate creationDateOf(String orderNumber) {
+        if (orderNumber == null || orderNumber.length() < 12 || !orderNumber.startsWith("ORD-")) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(orderNumber.substring(4, 12), DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
     /**
      * Map Order entity to OrderResponse DTO
      */
-    private OrderResponse mapToResponse(Order order) {
+    OrderResponse mapToResponse(Order order) {
         List<OrderItemDto> itemDtos = order.getOrderItems().stream()
                 .map(item -> {
                     OrderItemDto dto = new OrderItemDto();
@@ -258,7 +447,7 @@ public class OrderServiceImpl implements OrderService {
                     dto.setProductId(item.getProductId());
                     dto.setProductName(item.getProductName());
                     dto.setQuantity(item.getQuantity());
-                    dto.setPrice(item.getPrice());
+                    dto.setPrice(toBigDecimal(item.getPrice()));
                     return dto;
                 })
                 .collect(Collectors.toList());
@@ -268,7 +457,7 @@ public class OrderServiceImpl implements OrderService {
                 order.getOrderNumber(),
                 order.getCustomerName(),
                 order.getEmail(),
-                order.getTotalAmount(),
+                toBigDecimal(order.getTotalAmount()),
                 order.getStatus(),
                 itemDtos,
                 order.getCreatedAt(),
@@ -277,21 +466,20 @@ public class OrderServiceImpl implements OrderService {
         );
     }
 
+    /**
+     * Amounts become BigDecimal only here, for the JSON response
+     */
+    private static BigDecimal toBigDecimal(Money amount) {
+        return amount == null ? null : amount.toBigDecimal();
+    }
+
     /**
      * Publish order created event to Kafka
      */
     private void publishOrderCreatedEvent(Order order) {
         try {
-            com.ecommerce.order.event.OrderCreatedEvent event = new com.ecommerce.order.event.OrderCreatedEvent();
-            event.setOrderId(order.getOrderId());
-            event.setOrderNumber(order.getOrderNumber());
-            event.setCustomerName(order.getCustomerName());
-            event.setEmail(order.getEmail());
-            event.setTotalAmount(order.getTotalAmount());
-            event.setStatus(order.getStatus().name());
-
-            List<com.ecommerce.order.event.OrderCreatedEvent.OrderItemEvent> itemEvents = order.getOrderItems().stream()
-                    .map(item -> new com.ecommerce.order.event.OrderCreatedEvent.OrderItemEvent(
+            List<OrderCreatedEvent.OrderItemEvent> itemEvents = order.getOrderItems().stream()
+                    .map(item -> new OrderCreatedEvent.OrderItemEvent(
                             item.getProductId(),
                             item.getProductName(),
                             item.getQuantity(),
@@ -299,10 +487,22 @@ public class OrderServiceImpl implements OrderService {
                     ))
                     .collect(Collectors.toList());
 
-            event.setOrderItems(itemEvents);
+            OrderCreatedEvent event = new OrderCreatedEvent(
+                    order.getOrderId(),
+                    order.getOrderNumber(),
+                    order.getCustomerName(),
+                    order.getEmail(),
+                    order.getTotalAmount(),
+                    order.getStatus().name(),
+                    itemEvents,
+                    System.currentTimeMillis(),
+                    order.getReservationId()
+            );
 
             kafkaProducerService.publishOrderCreatedEvent(event);
-            log.info("Order created event published to Kafka for order: {}", order.getOrderId());
+            if (log.isDebugEnabled()) {
+                log.debug("Order created event published to Kafka for order: {}", order.getOrderId());
+            }
         } catch (Exception e) {
             log.error("Failed to publish order created event for order: {}", order.getOrderId(), e);
             // Don't fail the order creation if Kafka publishing fails
@@ -0,0 +1,186 @@
+package com.ecommerce.order.service;
+
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * productId -> available stock map specialized for UUID keys and int values.
+ *
+ * Open addressing with linear probing over parallel long/long/int arrays, so
+ * lookups neither allocate nor chase pointers. Written by one thread, read by
+ * many: readers use a StampedLock optimistic read and only fall back to the
+ * read lock if a write happened meanwhile. The arrays of one capacity live in
+ * a single Table that is swapped on resize, so an optimistic reader always
+ * probes arrays of matching length.
+ */
+public class ProductStockMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final StampedLock lock = new StampedLock();
+    private Table table;
+    private int size;
+
+    public ProductStockMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public ProductStockMap(int expectedSize) {
+        this.table = new Table(capacityFor(expectedSize));
+    }
+
+    /**
+     * @return the stock of the product, or missingValue if it is not known
+     */
+    public int get(UUID productId, int missingValue) {
+        long msb = productId.getMostSignificantBits();
+        long lsb = productId.getLeastSignificantBits();
+
+        long stamp = lock.tryOptimisticRead();
+        int value = table.get(msb, lsb, missingValue);
+        if (lock.validate(stamp)) {
+            return value;
+        }
+        stamp = lock.readLock();
+        try {
+            return table.get(msb, lsb, missingValue);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void put(UUID productId, int available) {
+        long stamp = lock.writeLock();
+        try {
+            if (table.put(productId.getMostSignificantBits(), productId.getLeastSignificantBits(), available)) {
+                size++;
+                if (size * 4L > table.capacity() * 3L) {
+                    table = table.resized(table.capacity() * 2);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(UUID productId) {
+        long stamp = lock.writeLock();
+        try {
+            if (table.remove(productId.getMostSignificantBits(), productId.getLeastSignificantBits())) {
+                size--;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3L < expectedSize * 4L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static final class Table {
+        private final long[] msbs;
+        private final long[] lsbs;
+        private final int[] values;
+        private final boolean[] used;
+        private final int mask;
+
+        private Table(int capacity) {
+            this.msbs = new long[capacity];
+            this.lsbs = new long[capacity];
+            this.values = new int[capacity];
+            this.used = new boolean[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private int capacity() {
+            return values.length;
+        }
+
+        private int get(long msb, long lsb, int missingValue) {
+            for (int i = indexFor(msb, lsb); used[i]; i = (i + 1) & mask) {
+                if (msbs[i] == msb && lsbs[i] == lsb) {
+                    return values[i];
+                }
+            }
+            return missingValue;
+        }
+
+        /**
+         * @return true if the key was not present before
+         */
+        private boolean put(long msb, long lsb, int value) {
+            int i = indexFor(msb, lsb);
+            while (used[i]) {
+                if (msbs[i] == msb && lsbs[i] == lsb) {
+                    values[i] = value;
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            msbs[i] = msb;
+            lsbs[i] = lsb;
+            values[i] = value;
+            used[i] = true;
+            return true;
+        }
+
+        /**
+         * Backward-shift deletion: entries after the freed slot that probed past
+         * it are moved up, so lookups never need tombstones.
+         */
+        private boolean remove(long msb, long lsb) {
+            int i = indexFor(msb, lsb);
+            while (used[i] && !(msbs[i] == msb && lsbs[i] == lsb)) {
+                i = (i + 1) & mask;
+            }
+            if (!used[i]) {
+                return false;
+            }
+            int free = i;
+            for (int j = (free + 1) & mask; used[j]; j = (j + 1) & mask) {
+                int home = indexFor(msbs[j], lsbs[j]);
+                // Move j up unless its home slot lies cyclically in (free, j]
+                if (((j - home) & mask) >= ((j - free) & mask)) {
+                    msbs[free] = msbs[j];
+                    lsbs[free] = lsbs[j];
+                    values[free] = values[j];
+                    free = j;
+                }
+            }
+            used[free] = false;
+            return true;
+        }
+
+        private Table resized(int capacity) {
+            Table resized = new Table(capacity);
+            for (int i = 0; i < used.length; i++) {
+                if (used[i]) {
+                    resized.put(msbs[i], lsbs[i], values[i]);
+                }
+            }
+            return resized;
+        }
+
+        private int indexFor(long msb, long lsb) {
+            long h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            return (int) h & mask;
+        }
+    }
+}
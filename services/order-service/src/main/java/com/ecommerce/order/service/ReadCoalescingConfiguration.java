@@ -0,0 +1,23 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.coalescing.SingleFlight;
+import com.ecommerce.order.dto.OrderResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.UUID;
+
+/**
+ * Concurrent lookups of the same order by id share one query (see OrderServiceImpl.getOrderById)
+ */
+@Configuration
+public class ReadCoalescingConfiguration {
+
+    @Bean
+    public SingleFlight<UUID, OrderResponse> orderLookups(MeterRegistry registry,
+                                                          @Value("${order.read-coalescing.enabled:true}") boolean enabled) {
+        return new SingleFlight<>("order", registry, enabled);
+    }
+}
@@ -0,0 +1,160 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.events.StockLevelEvent;
+import com.ecommerce.order.dto.OrderItemDto;
+import com.ecommerce.order.exception.InsufficientStockException;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * In-memory replica of the available stock inventory-service publishes to the
+ * compacted stock-levels topic, used to reject orders that obviously cannot be
+ * served before they are saved.
+ *
+ * Every instance reads the whole topic from the beginning under its own
+ * consumer group, so it sees every product. The replica counts as fresh while
+ * the consumer has caught up with the end of every partition within the last
+ * max-staleness-ms. A stale or still-loading replica, and products it does not
+ * know yet, never reject an order: inventory-service still has the final word.
+ */
+@Service
+public class StockReplica {
+
+    static final String LISTENER_ID = "stock-replica";
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReplica.class);
+
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+
+    private final ProductStockMap stock = new ProductStockMap(1024);
+    private final long maxStalenessMillis;
+
+    private volatile long caughtUpAt;
+
+    @Autowired
+    public StockReplica(@Value("${order.stock-replica.max-staleness-ms:5000}") long maxStalenessMillis) {
+        this.maxStalenessMillis = maxStalenessMillis;
+    }
+
+    /**
+     * @throws InsufficientStockException if the replica is fresh and shows
+     *         less stock than the order asks for of some product
+     */
+    public void verifyAvailable(List<OrderItemDto> orderItems) {
+        if (!isFresh()) {
+            logger.debug("Stock replica is stale, skipping stock check");
+            return;
+        }
+        if (orderItems.size() == 1) {
+            OrderItemDto item = orderItems.get(0);
+            verify(item.getProductId(), item.getQuantity());
+            return;
+        }
+        Map<UUID, Integer> requested = new HashMap<>();
+        for (OrderItemDto item : orderItems) {
+            requested.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        requested.forEach(this::verify);
+    }
+
+    public boolean isFresh() {
+        long lastCaughtUp = caughtUpAt;
+        return lastCaughtUp != 0 && System.currentTimeMillis() - lastCaughtUp <= maxStalenessMillis;
+    }
+
+    @KafkaListener(id = LISTENER_ID, topics = "${kafka.topic.stock-levels}",
+            groupId = "${spring.application.name}-stock-replica-${random.uuid}",
+            autoStartup = "${order.stock-replica.enabled:true}", batch = "true",
+            properties = {
+                    "auto.offset.reset=earliest",
+                    "spring.deserializer.value.delegate.class=com.ecommerce.events.kafka.StockLevelEventDeserializer"
+            })
+    public void consumeStockLevels(List<ConsumerRecord<String, StockLevelEvent>> records, Consumer<?, ?> consumer) {
+        apply(records);
+        if (isCaughtUp(consumer)) {
+            markCaughtUp(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * No records within the idle interval: fresh, as long as nothing is left to fetch.
+     */
+    @EventListener(condition = "event.listenerId.startsWith('" + LISTENER_ID + "')")
+    public void onIdle(ListenerContainerIdleEvent event) {
+        if (isCaughtUp(event.getConsumer())) {
+            markCaughtUp(System.currentTimeMillis());
+        }
+    }
+
+    void apply(List<ConsumerRecord<String, StockLevelEvent>> records) {
+        for (ConsumerRecord<String, StockLevelEvent> record : records) {
+            UUID productId = parseProductId(record.key());
+            if (productId == null
+                    || record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null) {
+                logger.warn("Skipping unreadable stock level at {}-{}@{}",
+                        record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            StockLevelEvent level = record.value();
+            if (level == null) {
+                stock.remove(productId);
+            } else if (level.available() != null) {
+                stock.put(productId, level.available());
+            }
+        }
+    }
+
+    void markCaughtUp(long atMillis) {
+        if (caughtUpAt == 0) {
+            logger.info("Stock replica loaded with {} products", stock.size());
+        }
+        caughtUpAt = atMillis;
+    }
+
+    private void verify(UUID productId, int quantity) {
+        int available = stock.get(productId, UNKNOWN);
+        if (available != UNKNOWN && available < quantity) {
+            throw new InsufficientStockException(productId, quantity, Math.max(available, 0));
+        }
+    }
+
+    private static boolean isCaughtUp(Consumer<?, ?> consumer) {
+        if (consumer.assignment().isEmpty()) {
+            return false;
+        }
+        for (TopicPartition partition : consumer.assignment()) {
+            OptionalLong lag = consumer.currentLag(partition);
+            if (lag.isEmpty() || lag.getAsLong() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static UUID parseProductId(String key) {
+        if (key == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(key);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.ecommerce.order.shard;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Decides which shard an order lives on and runs work against shards.
+ *
+ * Shard 0 is spring.datasource, shards 1..n are order.sharding.urls. Orders
+ * are placed by a hash of the customer email, so all orders of a customer
+ * are on one shard. The shard is also embedded in the order id and number so
+ * either one resolves it without a lookup:
+ *
+ * - order id: a version 8 UUID whose first byte is the shard
+ * - order number: the usual number with a "-Snn" suffix, nn the shard in hex
+ *
+ * Ids and numbers without these marks were created before sharding and live
+ * on shard 0. With no order.sharding.urls there is one shard and nothing is
+ * routed or marked.
+ */
+@Component
+public class OrderShards {
+
+    static final int MAX_SHARDS = 256;
+
+    private static final String NUMBER_SHARD_PREFIX = "-S";
+
+    private final int count;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ExecutorService executor;
+
+    @Autowired
+    public OrderShards(PlatformTransactionManager transactionManager,
+                       @Value("${order.sharding.urls:}") String[] urls) {
+        this.count = 1 + urls.length;
+        if (count > MAX_SHARDS) {
+            throw new IllegalArgumentException("At most " + MAX_SHARDS + " order shards are supported, got " + count);
+        }
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        if (count > 1) {
+            // A transaction already bound to another shard must not be joined
+            this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            AtomicInteger threads = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(count, runnable -> {
+                Thread thread = new Thread(runnable, "order-shard-" + threads.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.executor = null;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    public int shardForEmail(String email) {
+        if (!isSharded()) {
+            return 0;
+        }
+        // 64-bit FNV-1a of the normalized email; must never change once orders are placed
+        String key = email.trim().toLowerCase(Locale.ROOT);
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return (int) Long.remainderUnsigned(hash, count);
+    }
+
+    public int shardOf(UUID orderId) {
+        if (!isSharded() || orderId.version() != 8) {
+            return 0;
+        }
+        return known((int) (orderId.getMostSignificantBits() >>> 56));
+    }
+
+    public int shardOf(String orderNumber) {
+        int at = orderNumber.length() - NUMBER_SHARD_PREFIX.length() - 2;
+        if (!isSharded() || at < 0 || !orderNumber.startsWith(NUMBER_SHARD_PREFIX, at)) {
+            return 0;
+        }
+        try {
+            return known(Integer.parseInt(orderNumber.substring(at + NUMBER_SHARD_PREFIX.length()), 16));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * @return the order number marked with its shard (unchanged when sharding is off)
+     */
+    public String withShard(String orderNumber, int shard) {
+        return isSharded() ? orderNumber + String.format("%s%02X", NUMBER_SHARD_PREFIX, shard) : orderNumber;
+    }
+
+    /**
+     * Random UUID with version 8 and the shard in the first byte (114 random bits remain).
+     */
+    public static UUID newOrderId(int shard) {
+        UUID random = UUID.randomUUID();
+        long msb = (random.getMostSignificantBits() & 0x00FFFFFFFFFF0FFFL)
+                | ((long) shard << 56)
+                | 0x8000L;
+        return new UUID(msb, random.getLeastSignificantBits());
+    }
+
+    /**
+     * Run work with the shard selected. The caller's transaction, if any, must
+     * not have run a statement yet: its connection is already bound to a shard.
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        if (!isSharded()) {
+            return work.get();
+        }
+        Integer previous = ShardContext.current();
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    /**
+     * Run work on the shard in a transaction of its own. When sharding is off
+     * the caller's transaction, if any, is joined as before.
+     */
+    public <T> T inTransaction(int shard, Supplier<T> work) {
+        return onShard(shard, () -> writeTransaction.execute(status -> work.get()));
+    }
+
+    /**
+     * Run work on the shard in a read-only transaction, the caller's if it has one.
+     */
+    public <T> T read(int shard, Supplier<T> work) {
+        return onShard(shard, () -> readTransaction.execute(status -> work.get()));
+    }
+
+    /**
+     * Run work on every shard in turn, each with the shard selected.
+     */
+    public void forEachShard(IntConsumer work) {
+        for (int shard = 0; shard < count; shard++) {
+            int current = shard;
+            onShard(shard, () -> {
+                work.accept(current);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Scatter-gather: run work on all shards in parallel, each in a read-only
+     * transaction of its own, and return the results by shard.
+     */
+    public <T> List<T> readEachShard(IntFunction<T> work) {
+        if (!isSharded()) {
+            return Collections.singletonList(readTransaction.execute(status -> work.apply(0)));
+        }
+        List<Future<T>> futures = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            int current = shard;
+            futures.add(executor.submit(() -> onShard(current,
+                    () -> readTransaction.execute(status -> work.apply(current)))));
+        }
+        List<T> results = new ArrayList<>(count);
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading order shards", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Failed to read order shards", e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * Merge per-shard results that are each sorted by comparator into one
+     * sorted list of at most limit elements.
+     */
+    public static <T> List<T> mergeSorted(List<List<T>> sorted, Comparator<? super T> comparator, int limit) {
+        // Heap of (shard, position) heads, ordered by their current element
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, sorted.size()),
+                (a, b) -> comparator.compare(sorted.get(a[0]).get(a[1]), sorted.get(b[0]).get(b[1])));
+        for (int i = 0; i < sorted.size(); i++) {
+            if (!sorted.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+        List<T> merged = new ArrayList<>(Math.min(limit, sorted.stream().mapToInt(List::size).sum()));
+        while (merged.size() < limit && !heads.isEmpty()) {
+            int[] head = heads.poll();
+            merged.add(sorted.get(head[0]).get(head[1]));
+            if (++head[1] < sorted.get(head[0]).size()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Shards beyond the configured ones (ids made with a larger configuration) map to shard 0.
+     */
+    private int known(int shard) {
+        return shard < count ? shard : 0;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.order.shard;
+
+/**
+ * The order shard the current thread works on.
+ *
+ * Read by ShardRoutingDataSource when a physical connection is taken, and by
+ * the order id generator to embed the shard in new ids. Unset when sharding
+ * is off, and outside OrderShards.onShard.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return the current shard, null if none is selected
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+}
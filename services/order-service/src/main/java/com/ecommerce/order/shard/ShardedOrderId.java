@@ -0,0 +1,18 @@
+package com.ecommerce.order.shard;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the id with ShardedOrderIdGenerator: a random UUID, with the shard
+ * the entity is written to embedded when sharding is on.
+ */
+@IdGeneratorType(ShardedOrderIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ShardedOrderId {
+}
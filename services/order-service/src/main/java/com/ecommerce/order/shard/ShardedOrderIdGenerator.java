@@ -0,0 +1,27 @@
+package com.ecommerce.order.shard;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.util.EnumSet;
+import java.util.UUID;
+
+/**
+ * Random UUIDs, carrying the current shard (see OrderShards.newOrderId) while
+ * one is selected in ShardContext.
+ */
+public class ShardedOrderIdGenerator implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        Integer shard = ShardContext.current();
+        return shard == null ? UUID.randomUUID() : OrderShards.newOrderId(shard);
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EnumSet.of(EventType.INSERT);
+    }
+}
@@ -0,0 +1,135 @@
+package com.ecommerce.order.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single order database with the shards: spring.datasource is
+ * shard 0, order.sharding.urls are shards 1..n. Does nothing unless that
+ * property is set. Cannot be combined with datasource.replicas.urls: the
+ * shards have no replicas, so startup fails when both are set.
+ *
+ * Hibernate's schema management (spring.jpa.hibernate.ddl-auto) only sees
+ * the default connection, so the same action is applied to the other shards
+ * right after the session factory is built.
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.sharding.urls")
+public class ShardingConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfiguration.class);
+
+    public ShardingConfiguration(@Value("${datasource.replicas.urls:}") String replicaUrls) {
+        if (!replicaUrls.isBlank()) {
+            throw new IllegalStateException("order.sharding.urls and datasource.replicas.urls cannot both be set: "
+                    + "order shards have no read replicas, remove one of them");
+        }
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource shard0DataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(
+            HikariDataSource shard0DataSource,
+            DataSourceProperties properties,
+            @Value("${order.sharding.urls}") String[] urls,
+            @Value("${order.sharding.username:${spring.datasource.username:}}") String username,
+            @Value("${order.sharding.password:${spring.datasource.password:}}") String password,
+            @Value("${order.sharding.pool-size:10}") int poolSize) {
+        List<HikariDataSource> shards = new ArrayList<>();
+        shard0DataSource.setPoolName("order-shard-0");
+        shards.add(shard0DataSource);
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(urls[i].trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            pool.setPoolName("order-shard-" + (i + 1));
+            pool.setMaximumPoolSize(poolSize);
+            shards.add(pool);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    /**
+     * The DataSource JPA and JDBC use: takes the physical connection on the
+     * first statement, by which time the shard has been selected.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    /**
+     * Pool metrics (hikaricp.*) of shards 1..n, which are not beans; Spring Boot
+     * instruments shard 0 like any HikariDataSource bean.
+     */
+    @Bean
+    public MeterBinder shardPoolMetrics(ShardRoutingDataSource shardRoutingDataSource) {
+        return registry -> shardRoutingDataSource.getResolvedDataSources().values().forEach(dataSource -> {
+            if (dataSource instanceof HikariDataSource pool
+                    && pool.getMetricRegistry() == null && pool.getMetricsTrackerFactory() == null) {
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+        });
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardSchemaManagement(@Value("${order.sharding.urls}") String[] urls) {
+        Integrator integrator = new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                                  SessionFactoryImplementor sessionFactory) {
+                for (int shard = 1; shard <= urls.length; shard++) {
+                    ShardContext.set(shard);
+                    try {
+                        SchemaManagementToolCoordinator.process(metadata, sessionFactory.getServiceRegistry(),
+                                sessionFactory.getProperties(), action -> { });
+                    } finally {
+                        ShardContext.set(null);
+                    }
+                    logger.info("Applied schema management to order shard {}", shard);
+                }
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                     SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        };
+        return properties -> properties.put("hibernate.integrator_provider",
+                (IntegratorProvider) () -> List.of(integrator));
+    }
+}
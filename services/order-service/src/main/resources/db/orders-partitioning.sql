@@ -0,0 +1,86 @@
+-- Converts orders and order_items into tables range partitioned by month on
+-- the order's created_at. OrderPartitionManager creates the partitions of
+-- future months and archives expired ones from then on.
+--
+-- Run once, with order-service stopped:
+--   psql -h localhost -U postgres -d orderdb -f orders-partitioning.sql
+--
+-- Postgres requires the partition key in every primary key and unique
+-- constraint, so:
+-- - orders is keyed by (order_id, created_at), order_items by
+--   (item_id, order_created_at)
+-- - order_number is only unique together with created_at. Order numbers
+--   embed their creation second, and the service checks for collisions
+--   within the current partitions before using one.
+
+BEGIN;
+
+ALTER TABLE order_items RENAME TO order_items_unpartitioned;
+ALTER TABLE orders RENAME TO orders_unpartitioned;
+
+CREATE TABLE orders (
+    order_id       uuid           NOT NULL,
+    order_number   varchar(50)    NOT NULL,
+    customer_name  varchar(100)   NOT NULL,
+    email          varchar(100)   NOT NULL,
+    total_amount   numeric(10, 2) NOT NULL,
+    status         varchar(20)    NOT NULL,
+    reservation_id uuid,
+    created_at     timestamp(6)   NOT NULL,
+    updated_at     timestamp(6),
+    version        bigint,
+    PRIMARY KEY (order_id, created_at),
+    UNIQUE (order_number, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX orders_email_created_at_idx ON orders (email, created_at);
+CREATE INDEX orders_status_created_at_idx ON orders (status, created_at);
+
+CREATE TABLE order_items (
+    item_id          uuid           NOT NULL,
+    order_id         uuid           NOT NULL,
+    order_created_at timestamp(6)   NOT NULL,
+    product_id       uuid           NOT NULL,
+    product_name     varchar(200)   NOT NULL,
+    quantity         integer        NOT NULL,
+    price            numeric(10, 2) NOT NULL,
+    PRIMARY KEY (item_id, order_created_at),
+    FOREIGN KEY (order_id, order_created_at) REFERENCES orders (order_id, created_at)
+) PARTITION BY RANGE (order_created_at);
+
+CREATE INDEX order_items_order_idx ON order_items (order_id, order_created_at);
+
+-- One partition per month from the oldest order up to three months ahead
+DO $$
+DECLARE
+    month timestamp;
+BEGIN
+    FOR month IN
+        SELECT generate_series(
+                   date_trunc('month', COALESCE((SELECT min(created_at) FROM orders_unpartitioned), now())),
+                   date_trunc('month', now()) + interval '3 months',
+                   interval '1 month')
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                       'orders_p' || to_char(month, 'YYYY_MM'), month, month + interval '1 month');
+        EXECUTE format('CREATE TABLE %I PARTITION OF order_items FOR VALUES FROM (%L) TO (%L)',
+                       'order_items_p' || to_char(month, 'YYYY_MM'), month, month + interval '1 month');
+    END LOOP;
+END $$;
+
+INSERT INTO orders (order_id, order_number, customer_name, email, total_amount, status,
+                    created_at, updated_at, version)
+SELECT order_id, order_number, customer_name, email, total_amount, status,
+       COALESCE(created_at, updated_at, now()), updated_at, version
+FROM orders_unpartitioned;
+
+INSERT INTO order_items (item_id, order_id, order_created_at, product_id, product_name, quantity, price)
+SELECT i.item_id, i.order_id, COALESCE(o.created_at, o.updated_at, now()),
+       i.product_id, i.product_name, i.quantity, i.price
+FROM order_items_unpartitioned i
+JOIN orders_unpartitioned o ON o.order_id = i.order_id;
+
+DROP TABLE order_items_unpartitioned;
+DROP TABLE orders_unpartitioned;
+
+COMMIT;
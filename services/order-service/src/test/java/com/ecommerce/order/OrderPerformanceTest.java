@@ -0,0 +1,223 @@
+package com.ecommerce.order;
+
+import com.ecommerce.order.dto.OrderItemDto;
+import com.ecommerce.order.dto.OrderRequest;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.service.OrderService;
+import com.ecommerce.testing.PerformanceProbe;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Performance budgets of the order endpoints: statements per request, bytes
+ * allocated per request and latency, against embedded Postgres and Kafka.
+ * A change that adds a query per order (N+1), allocates much more per request
+ * or slows a request down fails here.
+ *
+ * Latency ceilings are loose enough for a shared CI machine; they catch
+ * order-of-magnitude regressions, the statement and allocation budgets the rest.
+ *
+ * Excluded from the default build, run with: mvn test -Pperformance
+ */
+@Tag("performance")
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.ecommerce.order=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "order.partitioning.enabled=false",
+        "order.archive.enabled=false"})
+@AutoConfigureMockMvc
+@EmbeddedKafka(partitions = 1, topics = {"order-created", "inventory-result", "stock-levels"})
+@DisplayName("Order Performance Tests")
+class OrderPerformanceTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 200;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    // Budgets per request
+    private static final long CREATE_ORDER_STATEMENTS = 5;
+    private static final long CREATE_ORDER_ALLOCATED_BYTES = 250_000;
+    private static final double CREATE_ORDER_P90_MILLIS = 100;
+    private static final long GET_ORDER_STATEMENTS = 1;
+    private static final long GET_ORDER_ALLOCATED_BYTES = 150_000;
+    private static final double GET_ORDER_P90_MILLIS = 25;
+    private static final long LIST_STATEMENTS = 1;
+    private static final long PAGE_STATEMENTS = 2;
+    private static final long PAGE_ALLOCATED_BYTES = 1_500_000;
+    private static final double PAGE_P90_MILLIS = 100;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private PerformanceProbe probe;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @BeforeEach
+    void setUp() {
+        probe = new PerformanceProbe(entityManagerFactory);
+    }
+
+    @Test
+    @DisplayName("Creating an order should stay within its statement, allocation and latency budget")
+    void testCreateOrder_WithinBudget() throws Exception {
+        // Arrange
+        String body = objectMapper.writeValueAsString(orderRequest(uniqueEmail()));
+
+        // Act
+        PerformanceProbe.Measurement measurement = probe.measure(WARMUP, ITERATIONS, () ->
+                mockMvc.perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON).content(body))
+                        .andExpect(status().isCreated()));
+
+        // Assert
+        System.out.println("POST /api/v1/orders: " + measurement);
+        assertTrue(measurement.statements() <= CREATE_ORDER_STATEMENTS, measurement::toString);
+        assertTrue(measurement.allocatedBytes() <= CREATE_ORDER_ALLOCATED_BYTES, measurement::toString);
+        assertTrue(measurement.p90Millis() <= CREATE_ORDER_P90_MILLIS, measurement::toString);
+    }
+
+    @Test
+    @DisplayName("Getting an order should load it and its items with one statement")
+    void testGetOrderById_WithinBudget() throws Exception {
+        // Arrange
+        UUID orderId = createOrders(uniqueEmail(), 1).get(0).getOrderId();
+
+        // Act
+        PerformanceProbe.Measurement measurement = probe.measure(WARMUP, ITERATIONS, () ->
+                mockMvc.perform(get("/api/v1/orders/{id}", orderId)).andExpect(status().isOk()));
+
+        // Assert
+        System.out.println("GET /api/v1/orders/{id}: " + measurement);
+        assertEquals(GET_ORDER_STATEMENTS, measurement.statements());
+        assertTrue(measurement.allocatedBytes() <= GET_ORDER_ALLOCATED_BYTES, measurement::toString);
+        assertTrue(measurement.p90Millis() <= GET_ORDER_P90_MILLIS, measurement::toString);
+    }
+
+    @Test
+    @DisplayName("Listing all orders should not issue a statement per order")
+    void testGetAllOrders_NoQueryPerOrder() throws Exception {
+        // Arrange
+        createOrders(uniqueEmail(), 5);
+        long fewOrders = probe.statements(() -> mockMvc.perform(get("/api/v1/orders")).andExpect(status().isOk()));
+        createOrders(uniqueEmail(), 20);
+
+        // Act
+        long moreOrders = probe.statements(() -> mockMvc.perform(get("/api/v1/orders")).andExpect(status().isOk()));
+
+        // Assert
+        assertEquals(fewOrders, moreOrders, "statements grew with the number of orders");
+        assertTrue(moreOrders <= LIST_STATEMENTS, "statements: " + moreOrders);
+    }
+
+    @Test
+    @DisplayName("Listing a customer's orders should not issue a statement per order")
+    void testGetOrdersByEmail_NoQueryPerOrder() throws Exception {
+        // Arrange
+        String email = uniqueEmail();
+        createOrders(email, 20);
+
+        // Act
+        long statements = probe.statements(() -> mockMvc.perform(get("/api/v1/orders/customer").param("email", email))
+                .andExpect(status().isOk()));
+
+        // Assert
+        assertTrue(statements <= LIST_STATEMENTS, "statements: " + statements);
+    }
+
+    @Test
+    @DisplayName("A page of orders should stay within its statement, allocation and latency budget")
+    void testGetOrdersPage_WithinBudget() throws Exception {
+        // Arrange
+        createOrders(uniqueEmail(), 50);
+
+        // Act
+        PerformanceProbe.Measurement measurement = probe.measure(WARMUP, ITERATIONS, () ->
+                mockMvc.perform(get("/api/v1/orders/page").param("limit", "50")).andExpect(status().isOk()));
+
+        // Assert
+        System.out.println("GET /api/v1/orders/page?limit=50: " + measurement);
+        assertTrue(measurement.statements() <= PAGE_STATEMENTS, measurement::toString);
+        assertTrue(measurement.allocatedBytes() <= PAGE_ALLOCATED_BYTES, measurement::toString);
+        assertTrue(measurement.p90Millis() <= PAGE_P90_MILLIS, measurement::toString);
+    }
+
+    private List<OrderResponse> createOrders(String email, int count) {
+        List<OrderResponse> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            orders.add(orderService.createOrder(orderRequest(email)));
+        }
+        return orders;
+    }
+
+    private static OrderRequest orderRequest(String email) {
+        List<OrderItemDto> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            OrderItemDto item = new OrderItemDto();
+            item.setProductId(UUID.randomUUID());
+            item.setProductName("Product " + i);
+            item.setQuantity(i + 1);
+            item.setPrice(new BigDecimal("19.99"));
+            items.add(item);
+        }
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Performance Test");
+        request.setEmail(email);
+        request.setOrderItems(items);
+        return request;
+    }
+
+    private static String uniqueEmail() {
+        return "customer-" + UUID.randomUUID() + "@example.com";
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start embedded Postgres", e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.ecommerce.order.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimit
+ */
+@DisplayName("AdaptiveConcurrencyLimit Unit Tests")
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AtomicLong nanoTime = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    @DisplayName("Should admit requests up to the limit and again once one is released")
+    void testAcquireUpToLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 100, nanoTime::get);
+
+        // Act & Assert
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        limit.release(FAST);
+        assertTrue(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should back off by a tenth once per threshold when requests are slow")
+    void testSlowRequestsShrinkLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 100, nanoTime::get);
+
+        // Act: ten slow requests at once count as one slow period
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+        }
+        for (int i = 0; i < 10; i++) {
+            limit.release(SLOW);
+        }
+        int afterOnePeriod = limit.getLimit();
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        limit.tryAcquire();
+        limit.release(SLOW);
+
+        // Assert
+        assertEquals(90, afterOnePeriod);
+        assertEquals(81, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should never back off below one request")
+    void testMinimumLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 100, nanoTime::get);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            limit.tryAcquire();
+            limit.release(SLOW);
+        }
+
+        // Assert
+        assertEquals(AdaptiveConcurrencyLimit.MIN_LIMIT, limit.getLimit());
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should grow back while requests are fast and the limit is in use, up to the max")
+    void testFastRequestsGrowLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 100, nanoTime::get);
+        limit.tryAcquire();
+        limit.release(SLOW);
+        assertEquals(9, limit.getLimit());
+
+        // Act: full rounds of fast requests
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 9; i++) {
+                limit.tryAcquire();
+            }
+            for (int i = 0; i < 9; i++) {
+                limit.release(FAST);
+            }
+        }
+
+        // Assert
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should not grow while most of the limit is idle")
+    void testIdleLimitDoesNotGrow() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 100, nanoTime::get);
+        limit.tryAcquire();
+        limit.release(SLOW);
+
+        // Act: one request at a time
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(FAST);
+        }
+
+        // Assert
+        assertEquals(9, limit.getLimit());
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.order.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdmissionControlFilter
+ */
+@DisplayName("AdmissionControlFilter Unit Tests")
+class AdmissionControlFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // One read and one write in flight at most
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(registry, true, 1, 100, 1, 250, 2);
+
+    @Test
+    @DisplayName("Should shed a request over its budget with 503 and Retry-After")
+    void testOverBudgetRejected() throws Exception {
+        // Arrange: a read still in flight when the next one arrives
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        FilterChain inFlight = (request, response) ->
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/orders/2"), rejected, new MockFilterChain());
+
+        // Act
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/orders/1"), admitted, inFlight);
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_OK, admitted.getStatus());
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, rejected.getStatus());
+        assertEquals("2", rejected.getHeader("Retry-After"));
+        assertEquals(1, registry.get("order.admission.rejected").tag("type", "read").counter().count());
+        assertEquals(0, registry.get("order.admission.in.flight").tag("type", "read").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should give reads and writes separate budgets")
+    void testReadsAndWritesSeparate() throws Exception {
+        // Arrange: a write arriving while the only read slot is taken
+        AtomicReference<MockHttpServletResponse> write = new AtomicReference<>(new MockHttpServletResponse());
+        FilterChain readInFlight = (request, response) ->
+                filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/orders"), write.get(), new MockFilterChain());
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/orders/1"), new MockHttpServletResponse(),
+                readInFlight);
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_OK, write.get().getStatus());
+        assertEquals(0, registry.get("order.admission.rejected").tag("type", "write").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should always admit actuator requests")
+    void testActuatorAdmitted() throws Exception {
+        // Arrange
+        MockHttpServletResponse health = new MockHttpServletResponse();
+        FilterChain inFlight = (request, response) ->
+                filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), health, new MockFilterChain());
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/orders/1"), new MockHttpServletResponse(),
+                inFlight);
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_OK, health.getStatus());
+    }
+}
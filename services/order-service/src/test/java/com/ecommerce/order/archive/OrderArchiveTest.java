@@ -0,0 +1,165 @@
+package com.ecommerce.order.archive;
+
+import com.ecommerce.events.Money;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderItem;
+import com.ecommerce.order.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OrderArchive and the segment format
+ */
+@DisplayName("OrderArchive Unit Tests")
+class OrderArchiveTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123_456_000);
+
+    @TempDir
+    Path directory;
+
+    private OrderArchive archive;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Small row groups so lookups cross group boundaries
+        archive = new OrderArchive(directory.toString(), 4);
+        archive.open();
+    }
+
+    @Test
+    @DisplayName("Should find every archived order by id and order number with all fields and items")
+    void testAppend_RoundTrip() {
+        // Arrange
+        List<Order> orders = orders(10);
+        orders.get(3).setUpdatedAt(null);
+        orders.get(5).setCustomerName("Zoë Ångström");
+        orders.get(7).setOrderItems(new ArrayList<>());
+
+        // Act
+        archive.append(orders);
+
+        // Assert
+        for (Order expected : orders) {
+            assertSameOrder(expected, archive.findById(expected.getOrderId()).orElseThrow());
+            assertSameOrder(expected, archive.findByOrderNumber(expected.getOrderNumber()).orElseThrow());
+        }
+        assertEquals(Optional.empty(), archive.findById(UUID.randomUUID()));
+        assertEquals(Optional.empty(), archive.findByOrderNumber("ORD-20250301-000000-NONE"));
+    }
+
+    @Test
+    @DisplayName("Should reopen the segments written before a restart and drop unfinished ones")
+    void testOpen_ExistingSegments() throws Exception {
+        // Arrange
+        List<Order> first = orders(3);
+        List<Order> second = orders(2);
+        archive.append(first);
+        archive.append(second);
+        Files.write(directory.resolve("orders-9999999999999-000001.oseg.tmp"), new byte[]{1, 2, 3});
+
+        // Act
+        OrderArchive reopened = new OrderArchive(directory.toString(), 4);
+        reopened.open();
+
+        // Assert
+        assertEquals(2, reopened.segmentCount());
+        assertTrue(reopened.findById(first.get(2).getOrderId()).isPresent());
+        assertTrue(reopened.findByOrderNumber(second.get(1).getOrderNumber()).isPresent());
+        assertFalse(Files.exists(directory.resolve("orders-9999999999999-000001.oseg.tmp")));
+    }
+
+    @Test
+    @DisplayName("Should write every status as its fixed code, whatever the enum order")
+    void testAppend_StatusCodes() {
+        // Arrange
+        List<Order> orders = orders(OrderStatus.values().length);
+        for (int i = 0; i < orders.size(); i++) {
+            orders.get(i).setStatus(OrderStatus.values()[i]);
+        }
+
+        // Act
+        archive.append(orders);
+
+        // Assert
+        for (Order expected : orders) {
+            assertEquals(expected.getStatus(), archive.findById(expected.getOrderId()).orElseThrow().getStatus());
+        }
+        // Segments already written hold these codes
+        assertEquals(0, OrderSegment.statusCode(OrderStatus.PENDING));
+        assertEquals(1, OrderSegment.statusCode(OrderStatus.CONFIRMED));
+        assertEquals(2, OrderSegment.statusCode(OrderStatus.PROCESSING));
+        assertEquals(3, OrderSegment.statusCode(OrderStatus.SHIPPED));
+        assertEquals(4, OrderSegment.statusCode(OrderStatus.DELIVERED));
+        assertEquals(5, OrderSegment.statusCode(OrderStatus.CANCELLED));
+    }
+
+    private static void assertSameOrder(Order expected, Order actual) {
+        assertEquals(expected.getOrderId(), actual.getOrderId());
+        assertEquals(expected.getOrderNumber(), actual.getOrderNumber());
+        assertEquals(expected.getCustomerName(), actual.getCustomerName());
+        assertEquals(expected.getEmail(), actual.getEmail());
+        assertEquals(expected.getTotalAmount(), actual.getTotalAmount());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+        assertEquals(expected.getVersion(), actual.getVersion());
+        assertEquals(expected.getOrderItems().size(), actual.getOrderItems().size());
+        for (int i = 0; i < expected.getOrderItems().size(); i++) {
+            OrderItem expectedItem = expected.getOrderItems().get(i);
+            OrderItem actualItem = actual.getOrderItems().get(i);
+            assertEquals(expectedItem.getItemId(), actualItem.getItemId());
+            assertEquals(expectedItem.getProductId(), actualItem.getProductId());
+            assertEquals(expectedItem.getProductName(), actualItem.getProductName());
+            assertEquals(expectedItem.getQuantity(), actualItem.getQuantity());
+            assertEquals(expectedItem.getPrice(), actualItem.getPrice());
+            assertSame(actual, actualItem.getOrder());
+        }
+    }
+
+    private static List<Order> orders(int count) {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setOrderId(UUID.randomUUID());
+            order.setOrderNumber("ORD-20250301-0930" + String.format("%02d", i) + "-" + UUID.randomUUID().toString().substring(0, 8));
+            order.setCustomerName("Customer " + i);
+            order.setEmail("customer" + i + "@example.com");
+            order.setStatus(i % 2 == 0 ? OrderStatus.DELIVERED : OrderStatus.CANCELLED);
+            order.setCreatedAt(START.plusMinutes(i * 7L));
+            order.setUpdatedAt(START.plusDays(2).minusSeconds(i));
+            order.setVersion((long) i);
+
+            List<OrderItem> items = new ArrayList<>();
+            Money total = Money.zero(Order.CURRENCY);
+            for (int j = 0; j <= i % 3; j++) {
+                OrderItem item = new OrderItem();
+                item.setItemId(UUID.randomUUID());
+                item.setProductId(UUID.randomUUID());
+                item.setProductName("Product " + j);
+                item.setQuantity(j + 1);
+                item.setPrice(Money.of(new BigDecimal("19.99").add(BigDecimal.valueOf(j)), Order.CURRENCY));
+                item.setOrder(order);
+                items.add(item);
+                total = total.plus(item.getLineTotal());
+            }
+            order.setOrderItems(items);
+            order.setTotalAmount(total);
+            orders.add(order);
+        }
+        return orders;
+    }
+}
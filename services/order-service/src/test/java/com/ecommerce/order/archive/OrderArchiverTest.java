@@ -0,0 +1,96 @@
+package com.ecommerce.order.archive;
+
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.shard.OrderShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OrderArchiver
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderArchiver Unit Tests")
+class OrderArchiverTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderArchive orderArchive;
+
+    private OrderArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        archiver = new OrderArchiver(orderRepository, orderArchive,
+                new OrderShards(mock(PlatformTransactionManager.class), new String[0]), true, 6, 2, 0);
+    }
+
+    @Test
+    @DisplayName("Should write each batch to the archive before deleting it, until none are left")
+    void testArchiveBefore_WritesThenDeletes() {
+        // Arrange
+        Order first = order();
+        Order second = order();
+        List<UUID> ids = List.of(first.getOrderId(), second.getOrderId());
+        when(orderRepository.findForArchivingBefore(eq(OrderArchiver.ARCHIVED_STATUSES), eq(CUTOFF), any(Pageable.class)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of());
+        when(orderRepository.findAllWithItemsByIdIn(ids)).thenReturn(List.of(first, second));
+        when(orderRepository.deleteAllByIdInCreatedBefore(ids, CUTOFF)).thenReturn(2);
+
+        // Act
+        int archived = archiver.archiveBefore(CUTOFF);
+
+        // Assert
+        assertEquals(2, archived);
+        InOrder inOrder = inOrder(orderArchive, orderRepository);
+        inOrder.verify(orderArchive).append(List.of(first, second));
+        inOrder.verify(orderRepository).deleteItemsByOrderIdIn(ids);
+        inOrder.verify(orderRepository).deleteAllByIdInCreatedBefore(ids, CUTOFF);
+    }
+
+    @Test
+    @DisplayName("Should keep the orders in the database when the segment cannot be written")
+    void testArchiveBefore_WriteFails() {
+        // Arrange
+        Order order = order();
+        when(orderRepository.findForArchivingBefore(any(), any(), any())).thenReturn(List.of(order));
+        when(orderRepository.findAllWithItemsByIdIn(any())).thenReturn(List.of(order));
+        doThrow(new UncheckedIOException(new IOException("disk full"))).when(orderArchive).append(any());
+
+        // Act & Assert
+        assertThrows(UncheckedIOException.class, () -> archiver.archiveBefore(CUTOFF));
+        verify(orderRepository, never()).deleteItemsByOrderIdIn(any());
+        verify(orderRepository, never()).deleteAllByIdInCreatedBefore(any(), any());
+    }
+
+    private static Order order() {
+        Order order = new Order();
+        order.setOrderId(UUID.randomUUID());
+        order.setStatus(OrderStatus.DELIVERED);
+        order.setCreatedAt(CUTOFF.minusMonths(1));
+        return order;
+    }
+}
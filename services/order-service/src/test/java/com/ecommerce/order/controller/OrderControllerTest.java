@@ -4,14 +4,17 @@ import com.ecommerce.order.dto.OrderItemDto;
 import com.ecommerce.order.dto.OrderRequest;
 import com.ecommerce.order.dto.OrderResponse;
 import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderStatus;
 import com.ecommerce.order.service.OrderService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -40,8 +43,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @WebMvcTest - Loads only the web layer (controllers), not the full Spring context
  * @MockBean - Creates a mock of OrderService (business logic is not tested here)
  * MockMvc - Allows us to test controllers without starting a real server
+ * @Import(SimpleMeterRegistry) - The admission control filter registers meters; the web slice has no registry
  */
 @WebMvcTest(OrderController.class)
+@Import(SimpleMeterRegistry.class)
 @DisplayName("OrderController Integration Tests")
 class OrderControllerTest {
 
@@ -92,7 +97,7 @@ class OrderControllerTest {
                 "John Doe",
                 "john@example.com",
                 new BigDecimal("1049.99"),
-                Order.OrderStatus.PENDING,
+                OrderStatus.PENDING,
                 List.of(itemDto1, itemDto2),
                 LocalDateTime.now(),
                 LocalDateTime.now(),
@@ -223,7 +228,7 @@ class OrderControllerTest {
                 "Jane Doe Updated",
                 "jane.updated@example.com",
                 new BigDecimal("1049.99"),
-                Order.OrderStatus.PENDING,
+                OrderStatus.PENDING,
                 testOrderResponse.getOrderItems(),
                 LocalDateTime.now(),
                 LocalDateTime.now(),
@@ -324,14 +329,14 @@ class OrderControllerTest {
     @DisplayName("PATCH /api/v1/orders/{id}/status - Should update status and return 200 OK")
     void testUpdateOrderStatus_Success() throws Exception {
         // Arrange
-        Order.OrderStatus newStatus = Order.OrderStatus.CONFIRMED;
+        OrderStatus newStatus = OrderStatus.CONFIRMED;
         OrderResponse confirmedResponse = new OrderResponse(
                 testOrderId,
                 testOrderNumber,
                 "John Doe",
                 "john@example.com",
                 new BigDecimal("1049.99"),
-                Order.OrderStatus.CONFIRMED,  // Updated status
+                OrderStatus.CONFIRMED,  // Updated status
                 testOrderResponse.getOrderItems(),
                 LocalDateTime.now(),
                 LocalDateTime.now(),
@@ -0,0 +1,64 @@
+package com.ecommerce.order.metrics;
+
+import com.ecommerce.coalescing.SingleFlight;
+import com.ecommerce.order.archive.OrderArchive;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.service.KafkaProducerService;
+import com.ecommerce.order.service.OrderService;
+import com.ecommerce.order.service.OrderServiceImpl;
+import com.ecommerce.order.service.StockReplica;
+import com.ecommerce.order.shard.OrderShards;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MetricsConfiguration: OrderServiceImpl's methods are observed
+ * and timed with low-cardinality tags only (class, method, error).
+ */
+@DisplayName("MetricsConfiguration Unit Tests")
+class MetricsConfigurationTest {
+
+    private SimpleMeterRegistry registry;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(registry));
+        OrderServiceImpl target = new OrderServiceImpl(mock(OrderRepository.class), mock(KafkaProducerService.class),
+                mock(StockReplica.class), mock(OrderArchive.class), mock(OrderShards.class),
+                new SingleFlight<>("order", registry, true));
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addAspect(new MetricsConfiguration().observedAspect(observationRegistry));
+        orderService = proxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should time service methods per method, not per argument")
+    void testServiceMethodTimed() {
+        // Act
+        orderService.getOrderById(UUID.randomUUID());
+        orderService.getOrderById(UUID.randomUUID());
+
+        // Assert
+        Timer timer = registry.find("order.service")
+                .tag("method", "getOrderById")
+                .tag("error", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+        assertEquals(1, registry.find("order.service").timers().size());
+    }
+}
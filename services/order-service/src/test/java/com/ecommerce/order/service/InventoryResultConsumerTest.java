@@ -0,0 +1,145 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.events.InventoryResultEvent;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.shard.OrderShards;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for InventoryResultConsumer
+ *
+ * What we're testing:
+ * - A batch of results becomes one bulk update per target status
+ * - Duplicate results for an order collapse to the latest one
+ * - Unreadable records are skipped
+ * - Results for orders outside the active partitions are applied across all partitions
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InventoryResultConsumer Unit Tests")
+class InventoryResultConsumerTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private OrderPartitionManager orderPartitionManager;
+    private InventoryResultConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        // Never started, only used for the active partition window
+        orderPartitionManager = new OrderPartitionManager(null, null, false, 3, 24, 2, "orders_archive", 0);
+        consumer = new InventoryResultConsumer(orderRepository, orderPartitionManager,
+                new OrderShards(mock(PlatformTransactionManager.class), new String[0]));
+    }
+
+    @Test
+    @DisplayName("Should confirm reserved and cancel rejected orders in one update each")
+    void testConsume_BulkUpdatesByStatus() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        List<ConsumerRecord<String, InventoryResultEvent>> records = List.of(
+                record(0, InventoryResultEvent.reserved(first, "ORD-1")),
+                record(1, InventoryResultEvent.rejected(second, "ORD-2", "Insufficient stock")),
+                record(2, InventoryResultEvent.reserved(third, "ORD-3")));
+
+        allMatchInActivePartitions();
+
+        // Act
+        consumer.consumeInventoryResults(records);
+
+        // Assert
+        verify(orderRepository).updateStatusWhereStatus(eq(List.of(first, third)),
+                eq(OrderStatus.PENDING), eq(OrderStatus.CONFIRMED),
+                eq(orderPartitionManager.activeSince()), any());
+        verify(orderRepository).updateStatusWhereStatus(eq(List.of(second)),
+                eq(OrderStatus.PENDING), eq(OrderStatus.CANCELLED),
+                eq(orderPartitionManager.activeSince()), any());
+        verifyNoMoreInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should apply only the latest result of an order within a batch")
+    void testConsume_LatestResultWins() {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        List<ConsumerRecord<String, InventoryResultEvent>> records = List.of(
+                record(0, InventoryResultEvent.reserved(orderId, "ORD-1")),
+                record(1, InventoryResultEvent.rejected(orderId, "ORD-1", "Insufficient stock")));
+
+        allMatchInActivePartitions();
+
+        // Act
+        consumer.consumeInventoryResults(records);
+
+        // Assert
+        verify(orderRepository).updateStatusWhereStatus(eq(List.of(orderId)),
+                eq(OrderStatus.PENDING), eq(OrderStatus.CANCELLED),
+                eq(orderPartitionManager.activeSince()), any());
+        verifyNoMoreInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should skip records that could not be deserialized")
+    void testConsume_SkipsUnreadableRecords() {
+        // Arrange
+        List<ConsumerRecord<String, InventoryResultEvent>> records = List.of(record(0, null));
+
+        // Act
+        consumer.consumeInventoryResults(records);
+
+        // Assert
+        verify(orderRepository, never()).updateStatusWhereStatus(anyCollection(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should apply results of orders older than the active partitions across all partitions")
+    void testConsume_OlderOrders() {
+        // Arrange: only the first order is in the active partitions
+        UUID recent = UUID.randomUUID();
+        UUID older = UUID.randomUUID();
+        List<ConsumerRecord<String, InventoryResultEvent>> records = List.of(
+                record(0, InventoryResultEvent.reserved(recent, "ORD-1")),
+                record(1, InventoryResultEvent.reserved(older, "ORD-2")));
+        when(orderRepository.updateStatusWhereStatus(anyCollection(), any(), any(), any(), any())).thenReturn(1);
+        when(orderRepository.updateStatusWhereStatus(anyCollection(), any(), any(), any())).thenReturn(1);
+
+        // Act
+        consumer.consumeInventoryResults(records);
+
+        // Assert
+        verify(orderRepository).updateStatusWhereStatus(eq(List.of(recent, older)),
+                eq(OrderStatus.PENDING), eq(OrderStatus.CONFIRMED),
+                eq(orderPartitionManager.activeSince()), any());
+        verify(orderRepository).updateStatusWhereStatus(eq(List.of(recent, older)),
+                eq(OrderStatus.PENDING), eq(OrderStatus.CONFIRMED), any());
+        verifyNoMoreInteractions(orderRepository);
+    }
+
+    private static ConsumerRecord<String, InventoryResultEvent> record(long offset, InventoryResultEvent result) {
+        return new ConsumerRecord<>("inventory-result", 0, offset, null, result);
+    }
+
+    private void allMatchInActivePartitions() {
+        when(orderRepository.updateStatusWhereStatus(anyCollection(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Collection<?>>getArgument(0).size());
+    }
+}
@@ -1,6 +1,8 @@
 package com.ecommerce.order.service;
 
-import com.ecommerce.order.event.OrderCreatedEvent;
+import com.ecommerce.events.Money;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.order.model.Order;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -55,7 +57,7 @@ class KafkaProducerServiceTest {
                 UUID.randomUUID(),
                 "Test Product",
                 2,
-                new BigDecimal("99.99")
+                Money.of(new BigDecimal("99.99"), Order.CURRENCY)
         ));
 
         testEvent = new OrderCreatedEvent(
@@ -63,7 +65,7 @@ class KafkaProducerServiceTest {
                 "ORD-20251216-TEST",
                 "Test User",
                 "test@example.com",
-                new BigDecimal("199.98"),
+                Money.of(new BigDecimal("199.98"), Order.CURRENCY),
                 "PENDING",
                 items
         );
@@ -76,7 +78,7 @@ class KafkaProducerServiceTest {
         CompletableFuture<SendResult<String, OrderCreatedEvent>> future =
                 CompletableFuture.completedFuture(mock(SendResult.class));
 
-        when(kafkaTemplate.send(eq(TEST_TOPIC), eq(testEvent.getOrderId().toString()), eq(testEvent)))
+        when(kafkaTemplate.send(eq(TEST_TOPIC), eq(testEvent.orderId().toString()), eq(testEvent)))
                 .thenReturn(future);
 
         // Act
@@ -85,7 +87,7 @@ class KafkaProducerServiceTest {
         // Assert
         verify(kafkaTemplate, times(1)).send(
                 eq(TEST_TOPIC),
-                eq(testEvent.getOrderId().toString()),
+                eq(testEvent.orderId().toString()),
                 eq(testEvent)
         );
     }
@@ -127,7 +129,7 @@ class KafkaProducerServiceTest {
         // Assert
         verify(kafkaTemplate).send(
                 anyString(),
-                eq(testEvent.getOrderId().toString()),
+                eq(testEvent.orderId().toString()),
                 any(OrderCreatedEvent.class)
         );
     }
@@ -163,7 +165,7 @@ class KafkaProducerServiceTest {
                 "ORD-20251216-TEST2",
                 "Test User 2",
                 "test2@example.com",
-                new BigDecimal("299.99"),
+                Money.of(new BigDecimal("299.99"), Order.CURRENCY),
                 "PENDING",
                 new ArrayList<>()
         );
@@ -187,13 +189,13 @@ class KafkaProducerServiceTest {
 
         verify(kafkaTemplate).send(
                 eq(TEST_TOPIC),
-                eq(event1.getOrderId().toString()),
+                eq(event1.orderId().toString()),
                 eq(event1)
         );
 
         verify(kafkaTemplate).send(
                 eq(TEST_TOPIC),
-                eq(event2.getOrderId().toString()),
+                eq(event2.orderId().toString()),
                 eq(event2)
         );
     }
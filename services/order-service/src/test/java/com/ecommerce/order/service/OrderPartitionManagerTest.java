@@ -0,0 +1,142 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.order.shard.OrderShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OrderPartitionManager
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderPartitionManager Unit Tests")
+class OrderPartitionManagerTest {
+
+    private static final YearMonth NOW = YearMonth.of(2025, 12);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private OrderPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new OrderPartitionManager(jdbcTemplate, unsharded(), true, 2, 12, 2, "orders_archive", 0);
+    }
+
+    @Test
+    @DisplayName("Should create partitions for the current and future months")
+    void testMaintain_CreatesFuturePartitions() {
+        // Arrange
+        partitioned(true);
+        attached(OrderPartitionManager.ORDER_ITEMS);
+        attached(OrderPartitionManager.ORDERS);
+
+        // Act
+        manager.maintain(NOW);
+
+        // Assert
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(6)).execute(sql.capture());
+        assertEquals("CREATE TABLE IF NOT EXISTS orders_p2025_12 PARTITION OF orders"
+                + " FOR VALUES FROM ('2025-12-01') TO ('2026-01-01')", sql.getAllValues().get(0));
+        assertEquals("CREATE TABLE IF NOT EXISTS order_items_p2026_02 PARTITION OF order_items"
+                + " FOR VALUES FROM ('2026-02-01') TO ('2026-03-01')", sql.getAllValues().get(5));
+    }
+
+    @Test
+    @DisplayName("Should detach expired partitions, items first, and move them to the archive schema")
+    void testMaintain_ArchivesExpiredPartitions() {
+        // Arrange
+        partitioned(true);
+        attached(OrderPartitionManager.ORDER_ITEMS, "order_items_p2024_11", "order_items_p2024_12");
+        attached(OrderPartitionManager.ORDERS, "orders_p2024_11", "orders_p2024_12", "orders_legacy");
+        holdsRows("orders_p2024_11", false);
+
+        // Act
+        manager.maintain(NOW);
+
+        // Assert
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE order_items DETACH PARTITION order_items_p2024_11 CONCURRENTLY");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE order_items_p2024_11 SET SCHEMA orders_archive");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE orders DETACH PARTITION orders_p2024_11 CONCURRENTLY");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE orders_p2024_11 SET SCHEMA orders_archive");
+        verify(jdbcTemplate, never()).execute(contains("p2024_12 CONCURRENTLY"));
+        verify(jdbcTemplate, never()).execute(contains("orders_legacy"));
+    }
+
+    @Test
+    @DisplayName("Should keep an expired month whose orders have not all been archived")
+    void testMaintain_KeepsPartitionsHoldingOrders() {
+        // Arrange
+        partitioned(true);
+        attached(OrderPartitionManager.ORDER_ITEMS, "order_items_p2024_10", "order_items_p2024_11");
+        attached(OrderPartitionManager.ORDERS, "orders_p2024_10", "orders_p2024_11");
+        holdsRows("orders_p2024_10", true);
+        holdsRows("orders_p2024_11", false);
+
+        // Act
+        manager.maintain(NOW);
+
+        // Assert
+        verify(jdbcTemplate, never()).execute(contains("p2024_10"));
+        verify(jdbcTemplate).execute("ALTER TABLE order_items DETACH PARTITION order_items_p2024_11 CONCURRENTLY");
+        verify(jdbcTemplate).execute("ALTER TABLE orders DETACH PARTITION orders_p2024_11 CONCURRENTLY");
+    }
+
+    @Test
+    @DisplayName("Should leave an unpartitioned orders table alone")
+    void testMaintain_NotPartitioned() {
+        // Arrange
+        partitioned(false);
+
+        // Act
+        manager.maintain(NOW);
+
+        // Assert
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Should map partition names to months and back")
+    void testPartitionNames() {
+        assertEquals("orders_p2025_01", OrderPartitionManager.partitionName("orders", YearMonth.of(2025, 1)));
+        assertEquals(YearMonth.of(2025, 1), OrderPartitionManager.monthOf("orders", "orders_p2025_01"));
+        assertNull(OrderPartitionManager.monthOf("orders", "order_items_p2025_01"));
+        assertNull(OrderPartitionManager.monthOf("orders", "orders_p2025"));
+    }
+
+    private void partitioned(boolean partitioned) {
+        when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class), eq("orders")))
+                .thenReturn(partitioned ? List.of("p") : List.of("r"));
+    }
+
+    private void attached(String table, String... partitions) {
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class), eq(table)))
+                .thenReturn(List.of(partitions));
+    }
+
+    private void holdsRows(String partition, boolean rows) {
+        when(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class))
+                .thenReturn(rows);
+    }
+
+    private static OrderShards unsharded() {
+        return new OrderShards(mock(PlatformTransactionManager.class), new String[0]);
+    }
+}
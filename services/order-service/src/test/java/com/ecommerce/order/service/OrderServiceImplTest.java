@@ -1,28 +1,58 @@
 package com.ecommerce.order.service;
 
+import com.ecommerce.coalescing.SingleFlight;
+import com.ecommerce.datasource.ReadYourWrites;
+import com.ecommerce.events.Money;
+import com.ecommerce.events.OrderCreatedEvent;
+import com.ecommerce.order.archive.OrderArchive;
 import com.ecommerce.order.dto.OrderItemDto;
+import com.ecommerce.order.dto.OrderPage;
 import com.ecommerce.order.dto.OrderRequest;
 import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.exception.InsufficientStockException;
+import com.ecommerce.order.exception.InvalidCursorException;
+import com.ecommerce.order.metrics.OrderPhaseEvent;
 import com.ecommerce.order.model.Order;
 import com.ecommerce.order.model.OrderItem;
+import com.ecommerce.order.model.OrderStatus;
 import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.shard.OrderShards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -44,6 +74,22 @@ class OrderServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private StockReplica stockReplica;
+
+    @Mock
+    private OrderArchive orderArchive;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    // One shard: routing is a pass-through
+    @Spy
+    private OrderShards orderShards = new OrderShards(mock(PlatformTransactionManager.class), new String[0]);
+
+    @Spy
+    private SingleFlight<UUID, OrderResponse> orderLookups = new SingleFlight<>("order", new SimpleMeterRegistry(), true);
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -68,14 +114,14 @@ class OrderServiceImplTest {
         item1.setProductId(UUID.randomUUID());
         item1.setProductName("Laptop");
         item1.setQuantity(1);
-        item1.setPrice(new BigDecimal("999.99"));
+        item1.setPrice(Money.of(new BigDecimal("999.99"), Order.CURRENCY));
 
         OrderItem item2 = new OrderItem();
         item2.setItemId(UUID.randomUUID());
         item2.setProductId(UUID.randomUUID());
         item2.setProductName("Mouse");
         item2.setQuantity(2);
-        item2.setPrice(new BigDecimal("25.00"));
+        item2.setPrice(Money.of(new BigDecimal("25.00"), Order.CURRENCY));
 
         // Create test order
         testOrder = new Order();
@@ -83,8 +129,8 @@ class OrderServiceImplTest {
         testOrder.setOrderNumber(testOrderNumber);
         testOrder.setCustomerName("John Doe");
         testOrder.setEmail("john@example.com");
-        testOrder.setTotalAmount(new BigDecimal("1049.99"));
-        testOrder.setStatus(Order.OrderStatus.PENDING);
+        testOrder.setTotalAmount(Money.of(new BigDecimal("1049.99"), Order.CURRENCY));
+        testOrder.setStatus(OrderStatus.PENDING);
         testOrder.setCreatedAt(LocalDateTime.now());
         testOrder.setUpdatedAt(LocalDateTime.now());
         testOrder.setVersion(0L);
@@ -129,7 +175,8 @@ class OrderServiceImplTest {
     void testCreateOrder_Success() {
         // Arrange: Setup mock behavior
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
-        when(orderRepository.existsByOrderNumber(anyString())).thenReturn(false);
+        when(orderRepository.existsByOrderNumberAndCreatedAtGreaterThanEqual(anyString(), any(LocalDateTime.class)))
+                .thenReturn(false);
 
         // Act: Call the method we're testing
         OrderResponse response = orderService.createOrder(testOrderRequest);
@@ -138,13 +185,85 @@ class OrderServiceImplTest {
         assertNotNull(response, "Response should not be null");
         assertEquals("John Doe", response.getCustomerName());
         assertEquals("john@example.com", response.getEmail());
-        assertEquals(Order.OrderStatus.PENDING, response.getStatus());
+        assertEquals(OrderStatus.PENDING, response.getStatus());
         assertEquals(2, response.getOrderItems().size());
 
         // Verify: Check that repository.save() was called exactly once
         verify(orderRepository, times(1)).save(any(Order.class));
     }
 
+    @Test
+    @DisplayName("Should carry the request's reservation reference on the order and its created event")
+    void testCreateOrder_ReservationId() {
+        // Arrange
+        UUID reservationId = UUID.randomUUID();
+        testOrderRequest.setReservationId(reservationId);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setOrderId(testOrderId);
+            return order;
+        });
+        when(orderRepository.existsByOrderNumberAndCreatedAtGreaterThanEqual(anyString(), any(LocalDateTime.class)))
+                .thenReturn(false);
+
+        // Act
+        orderService.createOrder(testOrderRequest);
+
+        // Assert: the order gets its own id, inventory-service confirms the holds by the reference
+        ArgumentCaptor<Order> saved = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository).save(saved.capture());
+        assertEquals(reservationId, saved.getValue().getReservationId());
+        ArgumentCaptor<OrderCreatedEvent> event = ArgumentCaptor.forClass(OrderCreatedEvent.class);
+        verify(kafkaProducerService).publishOrderCreatedEvent(event.capture());
+        assertEquals(testOrderId, event.getValue().orderId());
+        assertEquals(reservationId, event.getValue().reservationId());
+    }
+
+    @Test
+    @DisplayName("Should record each phase of creating an order as a flight recorder event")
+    void testCreateOrder_RecordsPhases(@TempDir Path directory) throws Exception {
+        // Arrange
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderRepository.existsByOrderNumberAndCreatedAtGreaterThanEqual(anyString(), any(LocalDateTime.class)))
+                .thenReturn(false);
+        Path file = directory.resolve("create-order.jfr");
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable(OrderPhaseEvent.class);
+            recording.start();
+            orderService.createOrder(testOrderRequest);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert
+        List<RecordedEvent> phases = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.ecommerce.order.OrderPhase"))
+                .toList();
+        assertEquals(List.of(OrderPhaseEvent.GENERATE_ORDER_NUMBER, OrderPhaseEvent.SAVE, OrderPhaseEvent.PUBLISH,
+                        OrderPhaseEvent.MAP_TO_RESPONSE, OrderPhaseEvent.CREATE_ORDER),
+                phases.stream().map(event -> event.getString("phase")).toList());
+        RecordedEvent createOrder = phases.get(phases.size() - 1);
+        assertEquals(testOrderId.toString(), createOrder.getString("orderId"));
+        assertEquals(testOrderNumber, createOrder.getString("orderNumber"));
+        assertEquals(2, createOrder.getInt("itemCount"));
+        assertNull(phases.get(0).getString("orderId"), "the order id is not known before the save");
+    }
+
+    @Test
+    @DisplayName("Should not save an order the stock replica rejects")
+    void testCreateOrder_InsufficientStock() {
+        // Arrange
+        UUID productId = testOrderRequest.getOrderItems().get(0).getProductId();
+        doThrow(new InsufficientStockException(productId, 1, 0))
+                .when(stockReplica).verifyAvailable(testOrderRequest.getOrderItems());
+
+        // Act & Assert
+        assertThrows(InsufficientStockException.class, () -> orderService.createOrder(testOrderRequest));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
     /**
      * Test 2: Get Order By ID - Happy Path
      *
@@ -191,6 +310,66 @@ class OrderServiceImplTest {
         verify(orderRepository, times(1)).findByIdWithItems(nonExistentId);
     }
 
+    @Test
+    @DisplayName("Should share lookups by ID outside a transaction and read in the caller's transaction")
+    void testGetOrderById_Coalescing() {
+        // Arrange
+        when(orderRepository.findByIdWithItems(testOrderId)).thenReturn(Optional.of(testOrder));
+
+        // Act
+        orderService.getOrderById(testOrderId);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            orderService.getOrderById(testOrderId);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        // Assert
+        verify(orderLookups, times(1)).execute(eq(testOrderId), any());
+        verify(orderRepository, times(2)).findByIdWithItems(testOrderId);
+    }
+
+    @Test
+    @DisplayName("Should not let a caller pinned to the primary join a running lookup")
+    void testGetOrderById_PinnedCallerSkipsCoalescing() throws Exception {
+        // Arrange: the unpinned lookup blocks inside its query until released
+        CountDownLatch unpinnedQuerying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderRepository.findByIdWithItems(testOrderId)).thenAnswer(invocation -> {
+            if (!ReadYourWrites.isPinnedToPrimary()) {
+                unpinnedQuerying.countDown();
+                release.await();
+            }
+            return Optional.of(testOrder);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            Future<OrderResponse> unpinned = executor.submit(() -> orderService.getOrderById(testOrderId));
+            assertTrue(unpinnedQuerying.await(10, TimeUnit.SECONDS));
+            Future<OrderResponse> pinned = executor.submit(() -> {
+                ReadYourWrites.pinToPrimaryUntil(System.currentTimeMillis() + 60_000);
+                try {
+                    return orderService.getOrderById(testOrderId);
+                } finally {
+                    ReadYourWrites.clear();
+                }
+            });
+
+            // Assert: the pinned caller ran its own query while the unpinned one was still running
+            assertEquals(testOrderId, pinned.get(10, TimeUnit.SECONDS).getOrderId());
+            release.countDown();
+            assertEquals(testOrderId, unpinned.get(10, TimeUnit.SECONDS).getOrderId());
+            verify(orderLookups, times(1)).execute(eq(testOrderId), any());
+            verify(orderRepository, times(2)).findByIdWithItems(testOrderId);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Test 4: Get All Orders
      *
@@ -201,7 +380,7 @@ class OrderServiceImplTest {
     void testGetAllOrders_Success() {
         // Arrange: Create a list of orders
         List<Order> orders = List.of(testOrder);
-        when(orderRepository.findAll()).thenReturn(orders);
+        when(orderRepository.findAllWithItems()).thenReturn(orders);
 
         // Act
         List<OrderResponse> responses = orderService.getAllOrders();
@@ -212,7 +391,7 @@ class OrderServiceImplTest {
         assertEquals(testOrderNumber, responses.get(0).getOrderNumber());
 
         // Verify
-        verify(orderRepository, times(1)).findAll();
+        verify(orderRepository, times(1)).findAllWithItems();
     }
 
     /**
@@ -313,7 +492,9 @@ class OrderServiceImplTest {
     @DisplayName("Should get order by order number successfully")
     void testGetOrderByOrderNumber_Success() {
         // Arrange
-        when(orderRepository.findByOrderNumber(testOrderNumber)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findByOrderNumberCreatedBetween(testOrderNumber,
+                LocalDateTime.of(2025, 12, 14, 0, 0), LocalDateTime.of(2025, 12, 17, 0, 0)))
+                .thenReturn(Optional.of(testOrder));
 
         // Act
         OrderResponse response = orderService.getOrderByOrderNumber(testOrderNumber);
@@ -324,7 +505,70 @@ class OrderServiceImplTest {
         assertEquals("John Doe", response.getCustomerName());
 
         // Verify
-        verify(orderRepository, times(1)).findByOrderNumber(testOrderNumber);
+        verify(orderRepository, never()).findByOrderNumber(anyString());
+    }
+
+    @Test
+    @DisplayName("Should return a page of orders with a cursor that continues after its last order")
+    void testGetOrdersPage_KeysetCursor() {
+        // Arrange
+        Order older = new Order();
+        older.setOrderId(UUID.randomUUID());
+        older.setOrderNumber("ORD-20251214-090000-OLD1");
+        older.setStatus(OrderStatus.PENDING);
+        older.setCreatedAt(testOrder.getCreatedAt().minusDays(1));
+        when(orderRepository.findPageByStatusBefore(eq(OrderStatus.PENDING), any(LocalDateTime.class),
+                any(UUID.class), any(Pageable.class))).thenReturn(List.of(testOrder, older));
+
+        // Act
+        OrderPage page = orderService.getOrdersPage(OrderStatus.PENDING, null, 2);
+        orderService.getOrdersPage(OrderStatus.PENDING, page.getNextCursor(), 2);
+
+        // Assert
+        assertEquals(List.of(testOrderId, older.getOrderId()),
+                page.getOrders().stream().map(OrderResponse::getOrderId).toList());
+        verify(orderRepository).findPageByStatusBefore(OrderStatus.PENDING,
+                older.getCreatedAt(), older.getOrderId(), PageRequest.of(0, 2));
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor it did not issue")
+    void testGetOrdersPage_InvalidCursor() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> orderService.getOrdersPage(null, "not-a-cursor", 10));
+        verify(orderRepository, never()).findPageBefore(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the archive when the order is not in the database")
+    void testGetOrderById_Archived() {
+        // Arrange
+        testOrder.setStatus(OrderStatus.DELIVERED);
+        when(orderRepository.findByIdWithItems(testOrderId)).thenReturn(Optional.empty());
+        when(orderArchive.findById(testOrderId)).thenReturn(Optional.of(testOrder));
+
+        // Act
+        OrderResponse response = orderService.getOrderById(testOrderId);
+
+        // Assert
+        assertEquals(testOrderId, response.getOrderId());
+        assertEquals(OrderStatus.DELIVERED, response.getStatus());
+        assertEquals(2, response.getOrderItems().size());
+    }
+
+    @Test
+    @DisplayName("Should look up archived orders by order number")
+    void testGetOrderByOrderNumber_Archived() {
+        // Arrange
+        when(orderRepository.findByOrderNumberCreatedBetween(eq(testOrderNumber),
+                any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(orderArchive.findByOrderNumber(testOrderNumber)).thenReturn(Optional.of(testOrder));
+
+        // Act
+        OrderResponse response = orderService.getOrderByOrderNumber(testOrderNumber);
+
+        // Assert
+        assertEquals(testOrderId, response.getOrderId());
     }
 
     /**
@@ -338,7 +582,7 @@ class OrderServiceImplTest {
         // Arrange
         String email = "john@example.com";
         List<Order> orders = List.of(testOrder);
-        when(orderRepository.findByEmail(email)).thenReturn(orders);
+        when(orderRepository.findByEmailWithItems(email)).thenReturn(orders);
 
         // Act
         List<OrderResponse> responses = orderService.getOrdersByEmail(email);
@@ -349,7 +593,7 @@ class OrderServiceImplTest {
         assertEquals(email, responses.get(0).getEmail());
 
         // Verify
-        verify(orderRepository, times(1)).findByEmail(email);
+        verify(orderRepository, times(1)).findByEmailWithItems(email);
     }
 
     /**
@@ -361,7 +605,7 @@ class OrderServiceImplTest {
     @DisplayName("Should update order status successfully")
     void testUpdateOrderStatus_Success() {
         // Arrange
-        Order.OrderStatus newStatus = Order.OrderStatus.CONFIRMED;
+        OrderStatus newStatus = OrderStatus.CONFIRMED;
         when(orderRepository.findById(testOrderId)).thenReturn(Optional.of(testOrder));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
 
@@ -384,7 +628,7 @@ class OrderServiceImplTest {
     void testUpdateOrderStatus_NotFound() {
         // Arrange
         UUID nonExistentId = UUID.randomUUID();
-        Order.OrderStatus newStatus = Order.OrderStatus.CONFIRMED;
+        OrderStatus newStatus = OrderStatus.CONFIRMED;
         when(orderRepository.findById(nonExistentId)).thenReturn(Optional.empty());
 
         // Act & Assert
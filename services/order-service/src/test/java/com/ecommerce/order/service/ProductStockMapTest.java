@@ -0,0 +1,59 @@
+package com.ecommerce.order.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProductStockMap
+ */
+@DisplayName("ProductStockMap Unit Tests")
+class ProductStockMapTest {
+
+    @Test
+    @DisplayName("Should keep every entry across resizes and removals")
+    void testPutGetRemove_ManyEntries() {
+        // Arrange
+        ProductStockMap map = new ProductStockMap();
+        List<UUID> productIds = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            productIds.add(UUID.randomUUID());
+        }
+
+        // Act
+        for (int i = 0; i < productIds.size(); i++) {
+            map.put(productIds.get(i), i);
+        }
+        for (int i = 0; i < productIds.size(); i += 2) {
+            map.remove(productIds.get(i));
+        }
+
+        // Assert
+        assertEquals(5_000, map.size());
+        for (int i = 0; i < productIds.size(); i++) {
+            assertEquals(i % 2 == 0 ? -1 : i, map.get(productIds.get(i), -1));
+        }
+    }
+
+    @Test
+    @DisplayName("Should overwrite the value of an existing product")
+    void testPut_Overwrites() {
+        // Arrange
+        ProductStockMap map = new ProductStockMap();
+        UUID productId = UUID.randomUUID();
+
+        // Act
+        map.put(productId, 5);
+        map.put(productId, -2);
+
+        // Assert
+        assertEquals(1, map.size());
+        assertEquals(-2, map.get(productId, Integer.MIN_VALUE));
+        assertEquals(Integer.MIN_VALUE, map.get(UUID.randomUUID(), Integer.MIN_VALUE));
+    }
+}
@@ -0,0 +1,102 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.events.StockLevelEvent;
+import com.ecommerce.order.dto.OrderItemDto;
+import com.ecommerce.order.exception.InsufficientStockException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StockReplica
+ */
+@DisplayName("StockReplica Unit Tests")
+class StockReplicaTest {
+
+    private static final String TOPIC = "stock-levels";
+
+    private StockReplica stockReplica;
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        stockReplica = new StockReplica(5000);
+        productId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should reject items of one product adding up to more than its stock")
+    void testVerifyAvailable_Insufficient() {
+        // Arrange
+        stockReplica.apply(List.of(level(0, productId, 5)));
+        stockReplica.markCaughtUp(System.currentTimeMillis());
+
+        // Act & Assert
+        assertDoesNotThrow(() -> stockReplica.verifyAvailable(List.of(item(productId, 5))));
+        InsufficientStockException e = assertThrows(InsufficientStockException.class,
+                () -> stockReplica.verifyAvailable(List.of(item(productId, 3), item(productId, 3))));
+        assertEquals(6, e.getRequested());
+        assertEquals(5, e.getAvailable());
+    }
+
+    @Test
+    @DisplayName("Should not reject anything while stale, loading or for unknown products")
+    void testVerifyAvailable_FailsOpen() {
+        // Arrange
+        stockReplica.apply(List.of(level(0, productId, 0)));
+        List<OrderItemDto> items = List.of(item(productId, 1));
+
+        // Act & Assert: still loading
+        assertDoesNotThrow(() -> stockReplica.verifyAvailable(items));
+
+        // Act & Assert: stale
+        stockReplica.markCaughtUp(System.currentTimeMillis() - 10_000);
+        assertFalse(stockReplica.isFresh());
+        assertDoesNotThrow(() -> stockReplica.verifyAvailable(items));
+
+        // Act & Assert: fresh but unknown product
+        stockReplica.markCaughtUp(System.currentTimeMillis());
+        assertDoesNotThrow(() -> stockReplica.verifyAvailable(List.of(item(UUID.randomUUID(), 100))));
+        assertThrows(InsufficientStockException.class, () -> stockReplica.verifyAvailable(items));
+    }
+
+    @Test
+    @DisplayName("Should apply the latest level and forget products on tombstones")
+    void testApply_LatestLevelAndTombstone() {
+        // Arrange
+        UUID deletedId = UUID.randomUUID();
+        stockReplica.markCaughtUp(System.currentTimeMillis());
+
+        // Act
+        stockReplica.apply(List.of(
+                level(0, productId, 0),
+                level(1, deletedId, 0),
+                level(2, productId, 10),
+                new ConsumerRecord<>(TOPIC, 0, 3, deletedId.toString(), null),
+                new ConsumerRecord<>(TOPIC, 0, 4, "not-a-uuid", new StockLevelEvent(null, 0, null))));
+
+        // Assert
+        assertDoesNotThrow(() -> stockReplica.verifyAvailable(List.of(item(productId, 10), item(deletedId, 1))));
+    }
+
+    private static ConsumerRecord<String, StockLevelEvent> level(long offset, UUID productId, int available) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, productId.toString(),
+                new StockLevelEvent(productId, available, System.currentTimeMillis()));
+    }
+
+    private static OrderItemDto item(UUID productId, int quantity) {
+        OrderItemDto item = new OrderItemDto();
+        item.setProductId(productId);
+        item.setProductName("Laptop");
+        item.setQuantity(quantity);
+        item.setPrice(new BigDecimal("999.99"));
+        return item;
+    }
+}
@@ -0,0 +1,114 @@
+package com.ecommerce.order.shard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for OrderShards
+ */
+@DisplayName("OrderShards Unit Tests")
+class OrderShardsTest {
+
+    private OrderShards shards;
+
+    @BeforeEach
+    void setUp() {
+        shards = new OrderShards(mock(PlatformTransactionManager.class),
+                new String[]{"jdbc:postgresql://localhost:5436/orderdb", "jdbc:postgresql://localhost:5437/orderdb"});
+    }
+
+    @AfterEach
+    void tearDown() {
+        shards.stop();
+    }
+
+    @Test
+    @DisplayName("Should resolve the shard from ids and order numbers created on it")
+    void testShardOf_EmbeddedShard() {
+        for (int shard = 0; shard < shards.count(); shard++) {
+            // Act
+            UUID orderId = OrderShards.newOrderId(shard);
+            String orderNumber = shards.withShard("ORD-20251215-120000-A4B9", shard);
+
+            // Assert
+            assertEquals(8, orderId.version());
+            assertEquals(2, orderId.variant());
+            assertEquals(shard, shards.shardOf(orderId));
+            assertEquals(shard, shards.shardOf(orderNumber));
+        }
+    }
+
+    @Test
+    @DisplayName("Should place ids and numbers from before sharding on shard 0")
+    void testShardOf_LegacyKeys() {
+        // Arrange
+        UUID legacyId = new UUID(0xFF00000000004000L, 0x8000000000000001L);
+
+        // Act & Assert
+        assertEquals(0, shards.shardOf(legacyId));
+        assertEquals(0, shards.shardOf("ORD-20241214-143052-A4B9"));
+        assertEquals(0, shards.shardOf(OrderShards.newOrderId(7)));
+    }
+
+    @Test
+    @DisplayName("Should place every email of a customer on the same shard, ignoring case")
+    void testShardForEmail_Stable() {
+        // Act
+        int shard = shards.shardForEmail("John@Example.com");
+
+        // Assert
+        assertEquals(shard, shards.shardForEmail(" john@example.com"));
+        assertTrue(shard >= 0 && shard < shards.count());
+        long used = IntStream.range(0, 300)
+                .map(i -> shards.shardForEmail("customer" + i + "@example.com"))
+                .distinct()
+                .count();
+        assertEquals(3, used);
+    }
+
+    @Test
+    @DisplayName("Should run scatter-gather work on each shard with the shard selected")
+    void testReadEachShard_SelectsShard() {
+        // Act
+        List<Integer> selected = shards.readEachShard(shard -> ShardContext.current());
+
+        // Assert
+        assertEquals(List.of(0, 1, 2), selected);
+        assertNull(ShardContext.current());
+    }
+
+    @Test
+    @DisplayName("Should merge sorted shard results up to the limit")
+    void testMergeSorted() {
+        // Act
+        List<Integer> merged = OrderShards.mergeSorted(
+                List.of(List.of(9, 6, 1), List.of(), List.of(8, 7, 2)), Comparator.reverseOrder(), 4);
+
+        // Assert
+        assertEquals(List.of(9, 8, 7, 6), merged);
+    }
+
+    @Test
+    @DisplayName("Should pass through without selecting a shard when there is only one")
+    void testOnShard_Unsharded() {
+        // Arrange
+        OrderShards single = new OrderShards(mock(PlatformTransactionManager.class), new String[0]);
+
+        // Act & Assert
+        assertFalse(single.isSharded());
+        assertNull(single.onShard(0, ShardContext::current));
+        assertEquals("ORD-20251215-120000-A4B9", single.withShard("ORD-20251215-120000-A4B9", 0));
+        assertEquals(0, single.shardForEmail("john@example.com"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.order.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Connection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ShardRoutingDataSource
+ */
+@DisplayName("ShardRoutingDataSource Unit Tests")
+class ShardRoutingDataSourceTest {
+
+    @Test
+    @DisplayName("Should hand out connections of the selected shard, shard 0 when none is selected")
+    void testGetConnection_RoutesBySelectedShard() throws Exception {
+        // Arrange
+        HikariDataSource shard0 = mock(HikariDataSource.class);
+        HikariDataSource shard1 = mock(HikariDataSource.class);
+        Connection connection0 = mock(Connection.class);
+        Connection connection1 = mock(Connection.class);
+        when(shard0.getConnection()).thenReturn(connection0);
+        when(shard1.getConnection()).thenReturn(connection1);
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource(List.of(shard0, shard1));
+        OrderShards shards = new OrderShards(mock(PlatformTransactionManager.class), new String[]{"shard-1"});
+
+        // Act & Assert
+        try {
+            assertSame(connection0, dataSource.getConnection());
+            assertSame(connection1, shards.onShard(1, () -> connect(dataSource)));
+            assertSame(connection0, shards.onShard(0, () -> connect(dataSource)));
+        } finally {
+            shards.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should close every shard pool")
+    void testClose() {
+        // Arrange
+        HikariDataSource shard0 = mock(HikariDataSource.class);
+        HikariDataSource shard1 = mock(HikariDataSource.class);
+
+        // Act
+        new ShardRoutingDataSource(List.of(shard0, shard1)).close();
+
+        // Assert
+        verify(shard0).close();
+        verify(shard1).close();
+    }
+
+    private static Connection connect(ShardRoutingDataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
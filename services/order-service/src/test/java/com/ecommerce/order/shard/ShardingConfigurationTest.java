@@ -0,0 +1,47 @@
+package com.ecommerce.order.shard;
+
+import com.ecommerce.datasource.ReplicaRoutingAutoConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ShardingConfiguration
+ */
+@DisplayName("ShardingConfiguration Unit Tests")
+class ShardingConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ShardingConfiguration.class)
+            .withConfiguration(AutoConfigurations.of(
+                    ReplicaRoutingAutoConfiguration.class, DataSourceAutoConfiguration.class))
+            .withPropertyValues("spring.datasource.url=jdbc:postgresql://localhost:5432/orderdb",
+                    "order.sharding.urls=jdbc:postgresql://localhost:5436/orderdb");
+
+    @Test
+    @DisplayName("Should route through a lazy proxy over the shards")
+    void testShards() {
+        contextRunner.run(context -> {
+            assertThat(context.getBean(DataSource.class)).isInstanceOf(LazyConnectionDataSourceProxy.class);
+            assertThat(context.getBean(ShardRoutingDataSource.class).getResolvedDataSources()).hasSize(2);
+        });
+    }
+
+    @Test
+    @DisplayName("Should fail at startup when read replicas are also configured")
+    void testShardsWithReplicas() {
+        contextRunner
+                .withPropertyValues("datasource.replicas.urls=jdbc:postgresql://localhost:5435/orderdb")
+                .run(context -> assertThat(context).getFailure()
+                        .rootCause()
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("cannot both be set"));
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Request coalescing: concurrent calls for the same key share one call of the
+ * loader instead of each running their own.
+ *
+ * The first caller for a key (the leader) runs the loader on its own thread.
+ * Callers arriving while it runs (followers) wait for it and get the same
+ * value, or the same exception. Nothing is kept once the leader is done, so
+ * this is not a cache: a follower's value is at most one loader call older
+ * than its request. All callers of one flight get the same instance, which
+ * they must not modify.
+ *
+ * Metrics, tagged with the name:
+ * - coalescing.requests: calls, tagged role=leader (ran the loader) or
+ *   role=follower (got a leader's result). The coalescing ratio is
+ *   follower / (leader + follower), in Prometheus
+ *   sum(rate(coalescing_requests_total{role="follower"}[1m])) / sum(rate(coalescing_requests_total[1m]))
+ * - coalescing.flight.size: callers served by each loader call, the leader included
+ * - coalescing.in.flight: loader calls running now
+ *
+ * When disabled every caller is a leader.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final Counter leaders;
+    private final Counter followers;
+    private final DistributionSummary flightSize;
+
+    public SingleFlight(String name, MeterRegistry registry, boolean enabled) {
+        this.enabled = enabled;
+        this.leaders = requests(registry, name, "leader");
+        this.followers = requests(registry, name, "follower");
+        this.flightSize = DistributionSummary.builder("coalescing.flight.size")
+                .description("Callers served by one loader call, the leader included")
+                .tag("name", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        Gauge.builder("coalescing.in.flight", flights, Map::size)
+                .description("Loader calls running now")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    /**
+     * The loader's value for key, from a call already running for it if there
+     * is one and from a new call otherwise
+     */
+    public V execute(K key, Supplier<V> loader) {
+        if (!enabled) {
+            leaders.increment();
+            flightSize.record(1);
+            return loader.get();
+        }
+
+        // compute runs atomically with the leader's remove, so every follower
+        // counted in a flight is also in its size
+        Flight<V> own = new Flight<>();
+        Flight<V> flight = flights.compute(key, (k, running) -> running == null ? own : running.join());
+        if (flight != own) {
+            followers.increment();
+            try {
+                return flight.result.join();
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            land(key, own);
+            own.result.completeExceptionally(e);
+            throw e;
+        }
+        land(key, own);
+        own.result.complete(value);
+        return value;
+    }
+
+    private void land(K key, Flight<V> flight) {
+        flights.remove(key, flight);
+        leaders.increment();
+        flightSize.record(1 + flight.followers);
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        // The loader is a Supplier, so anything else is unchecked
+        return (RuntimeException) cause;
+    }
+
+    private static Counter requests(MeterRegistry registry, String name, String role) {
+        return Counter.builder("coalescing.requests")
+                .description("Calls, by whether they ran the loader or shared a running call")
+                .tag("name", name)
+                .tag("role", role)
+                .register(registry);
+    }
+
+    /**
+     * One running loader call. followers is written inside the map's compute and read
+     * by the leader after its remove, which takes the same lock
+     */
+    private static final class Flight<V> {
+
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        int followers;
+
+        Flight<V> join() {
+            followers++;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.ecommerce.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SingleFlight
+ */
+@DisplayName("SingleFlight Unit Tests")
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run the loader once for concurrent calls with the same key")
+    void testExecute_Coalesces() throws Exception {
+        // Arrange
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", registry, true);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act: the leader blocks until every other caller has joined its flight
+        List<Future<String>> results = callConcurrently(() -> singleFlight.execute("key", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "value";
+        }));
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            assertEquals("value", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, registry.get("coalescing.requests").tag("role", "leader").counter().count());
+        assertEquals(CALLERS - 1, registry.get("coalescing.requests").tag("role", "follower").counter().count());
+        assertEquals(CALLERS, registry.get("coalescing.flight.size").summary().totalAmount());
+        assertEquals(0, registry.get("coalescing.in.flight").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should hand the leader's exception to every follower")
+    void testExecute_SharesFailure() throws Exception {
+        // Arrange
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", registry, true);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        List<Future<String>> results = callConcurrently(() -> singleFlight.execute("key", () -> {
+            await(release);
+            throw new IllegalStateException("Not found");
+        }));
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+        assertEquals(CALLERS, registry.get("coalescing.flight.size").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should run the loader again once a flight has landed")
+    void testExecute_NothingCached() {
+        // Arrange
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", registry, true);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        singleFlight.execute("key", loads::incrementAndGet);
+        int second = singleFlight.execute("key", loads::incrementAndGet);
+
+        // Assert
+        assertEquals(2, second);
+        assertEquals(2, registry.get("coalescing.requests").tag("role", "leader").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not share calls for different keys")
+    void testExecute_KeysIndependent() {
+        // Arrange
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", registry, true);
+
+        // Act: a call for another key from inside a flight does not wait for it
+        String value = singleFlight.execute("outer", () -> singleFlight.execute("inner", () -> "inner") + "+outer");
+
+        // Assert
+        assertEquals("inner+outer", value);
+        assertEquals(0, registry.get("coalescing.requests").tag("role", "follower").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should run the loader for every call when disabled")
+    void testExecute_Disabled() {
+        // Arrange
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", registry, false);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        singleFlight.execute("key", loads::incrementAndGet);
+        singleFlight.execute("key", loads::incrementAndGet);
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertEquals(2, registry.get("coalescing.requests").tag("role", "leader").counter().count());
+    }
+
+    private List<Future<String>> callConcurrently(Callable<String> call) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        return results;
+    }
+
+    private void awaitFollowers(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("coalescing.requests").tag("role", "follower").counter().count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Followers did not join in time");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
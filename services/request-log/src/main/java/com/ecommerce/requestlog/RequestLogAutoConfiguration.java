@@ -0,0 +1,28 @@
+package com.ecommerce.requestlog;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * The request log filter in servlet applications (request-log.enabled), logging
+ * on request-log.logger: each service names its own, so its level can be set with
+ * the rest of the service's loggers.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "request-log.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestLogAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RequestLogFilter requestLogFilter(
+            @Value("${request-log.logger:${spring.application.name:application}.requests}") String loggerName,
+            @Value("${request-log.sample-rate:0.01}") double sampleRate,
+            @Value("${request-log.slow-threshold-ms:500}") long slowThresholdMillis) {
+        return new RequestLogFilter(loggerName, sampleRate, slowThresholdMillis);
+    }
+}
@@ -0,0 +1,69 @@
+package com.ecommerce.requestlog;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampled request log: one line per request with method, path, status and
+ * duration, for every failed (5xx) or slow request and a random sample-rate
+ * share of the rest. Logged at INFO on the given logger, with the fields also
+ * as key-value pairs for the JSON output of the services' prod profile.
+ *
+ * Turning that logger off skips the timing as well. Actuator requests
+ * (metric scrapes, health checks) are not logged.
+ */
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    private final Logger requestLogger;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public RequestLogFilter(String loggerName, double sampleRate, long slowThresholdMillis) {
+        this.requestLogger = LoggerFactory.getLogger(loggerName);
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !requestLogger.isInfoEnabled() || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            chain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            failed = true;
+            throw e;
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            if (status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR || elapsedNanos >= slowThresholdNanos
+                    || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                log(request, status, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long durationMillis) {
+        requestLogger.atInfo()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("path", request.getRequestURI())
+                .addKeyValue("status", status)
+                .addKeyValue("durationMs", durationMillis)
+                .log("{} {} {} {}ms", request.getMethod(), request.getRequestURI(), status, durationMillis);
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.requestlog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RequestLogAutoConfiguration
+ */
+@DisplayName("RequestLogAutoConfiguration Unit Tests")
+class RequestLogAutoConfigurationTest {
+
+    private final WebApplicationContextRunner runner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(RequestLogAutoConfiguration.class));
+
+    @Test
+    @DisplayName("Should register the filter in servlet applications")
+    void testFilterRegistered() {
+        runner.withPropertyValues("request-log.logger=com.ecommerce.test.requests")
+                .run(context -> assertThat(context).hasSingleBean(RequestLogFilter.class));
+    }
+
+    @Test
+    @DisplayName("Should not register the filter when disabled or outside a servlet application")
+    void testFilterNotRegistered() {
+        runner.withPropertyValues("request-log.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(RequestLogFilter.class));
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(RequestLogAutoConfiguration.class))
+                .run(context -> assertThat(context).doesNotHaveBean(RequestLogFilter.class));
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.requestlog;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RequestLogFilter
+ */
+@DisplayName("RequestLogFilter Unit Tests")
+class RequestLogFilterTest {
+
+    private static final String LOGGER = "com.ecommerce.test.requests";
+
+    private final Logger requestLogger = (Logger) LoggerFactory.getLogger(LOGGER);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        requestLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestLogger.detachAppender(appender);
+    }
+
+    @Test
+    @DisplayName("Should log a sampled request with its method, path, status and duration")
+    void testSampledRequestLogged() throws Exception {
+        // Arrange
+        RequestLogFilter filter = new RequestLogFilter(LOGGER, 1.0, 500);
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/things"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        // Assert
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertTrue(event.getFormattedMessage().startsWith("GET /api/v1/things 200 "), event.getFormattedMessage());
+        assertEquals(4, event.getKeyValuePairs().size());
+        assertEquals("status", event.getKeyValuePairs().get(2).key);
+        assertEquals(200, event.getKeyValuePairs().get(2).value);
+    }
+
+    @Test
+    @DisplayName("Should skip requests outside the sample")
+    void testUnsampledRequestSkipped() throws Exception {
+        // Arrange
+        RequestLogFilter filter = new RequestLogFilter(LOGGER, 0.0, 500);
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/things"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        // Assert
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should always log failed and slow requests")
+    void testFailedAndSlowRequestsLogged() throws Exception {
+        // Arrange
+        RequestLogFilter filter = new RequestLogFilter(LOGGER, 0.0, 0);
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+        failed.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/things"), failed, new MockFilterChain());
+        new RequestLogFilter(LOGGER, 0.0, 500).doFilter(new MockHttpServletRequest("POST", "/api/v1/things"), failed,
+                new MockFilterChain());
+
+        // Assert
+        assertEquals(2, appender.list.size());
+        assertTrue(appender.list.get(1).getFormattedMessage().startsWith("POST /api/v1/things 503 "));
+    }
+
+    @Test
+    @DisplayName("Should not log actuator requests")
+    void testActuatorSkipped() throws Exception {
+        // Arrange
+        RequestLogFilter filter = new RequestLogFilter(LOGGER, 1.0, 0);
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/prometheus"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        // Assert
+        assertTrue(appender.list.isEmpty());
+    }
+}
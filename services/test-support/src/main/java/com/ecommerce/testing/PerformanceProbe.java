@@ -0,0 +1,74 @@
+package com.ecommerce.testing;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Statements, allocation and latency of an operation, for the services'
+ * performance tests
+ *
+ * Statements are the JDBC statements Hibernate prepared, from every thread.
+ * Allocation is what the calling thread allocated, which covers a MockMvc
+ * request but not work handed to other threads such as Kafka sends.
+ */
+public final class PerformanceProbe {
+
+    public interface Operation {
+        void run() throws Exception;
+    }
+
+    /**
+     * @param statements most statements of any run
+     * @param allocatedBytes median bytes allocated per run
+     * @param p90Millis 90th percentile latency
+     */
+    public record Measurement(long statements, long allocatedBytes, double p90Millis) {
+    }
+
+    private final Statistics statistics;
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public PerformanceProbe(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * Statements of one run
+     */
+    public long statements(Operation operation) throws Exception {
+        statistics.clear();
+        operation.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Runs the operation warmup times unmeasured, then iterations times measured
+     */
+    public Measurement measure(int warmup, int iterations, Operation operation) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            operation.run();
+        }
+        long statements = 0;
+        long[] allocated = new long[iterations];
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            statistics.clear();
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            operation.run();
+            nanos[i] = System.nanoTime() - start;
+            allocated[i] = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            statements = Math.max(statements, statistics.getPrepareStatementCount());
+        }
+        Arrays.sort(allocated);
+        Arrays.sort(nanos);
+        return new Measurement(statements, allocated[iterations / 2],
+                nanos[(int) Math.ceil(iterations * 0.9) - 1] / 1_000_000.0);
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecommerce.tracing;
+
+import io.opentelemetry.exporter.internal.otlp.traces.ResourceSpansMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+/**
+ * Appends spans to a file as OTLP JSON, one ExportTraceServiceRequest-shaped
+ * line ({"resourceSpans": [...]}) per batch and resource, the format the
+ * OpenTelemetry Collector's otlpjsonfile receiver reads. Once the file is
+ * larger than maxSizeBytes it is moved to path.1, replacing the previous one,
+ * and a new file is started.
+ *
+ * Called by the batch span processor's thread, never by a request thread.
+ */
+public class FileSpanExporter implements SpanExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSpanExporter.class);
+
+    private static final byte[] PREFIX = "{\"resourceSpans\":[".getBytes();
+    private static final byte[] SUFFIX = "]}\n".getBytes();
+
+    private final Path path;
+    private final long maxSizeBytes;
+    private OutputStream output;
+    private long size;
+    private boolean shutdown;
+
+    public FileSpanExporter(Path path, long maxSizeBytes) {
+        this.path = path;
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        if (shutdown) {
+            return CompletableResultCode.ofFailure();
+        }
+        try {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            for (ResourceSpansMarshaler resourceSpans : ResourceSpansMarshaler.create(spans)) {
+                lines.write(PREFIX);
+                // Closes the stream it is given, which a ByteArrayOutputStream ignores
+                resourceSpans.writeJsonTo(lines);
+                lines.write(SUFFIX);
+            }
+            if (output == null || size >= maxSizeBytes) {
+                open();
+            }
+            lines.writeTo(output);
+            output.flush();
+            size += lines.size();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            logger.warn("Cannot write {} spans to {}", spans.size(), path, e);
+            closeQuietly();
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        shutdown = true;
+        closeQuietly();
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private void open() throws IOException {
+        closeQuietly();
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        if (Files.exists(path) && Files.size(path) >= maxSizeBytes) {
+            Files.move(path, path.resolveSibling(path.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        output = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size = Files.size(path);
+    }
+
+    private void closeQuietly() {
+        if (output != null) {
+            try {
+                output.close();
+            } catch (IOException e) {
+                logger.debug("Cannot close {}", path, e);
+            }
+            output = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FileSpanExporter{" + path + "}";
+    }
+}
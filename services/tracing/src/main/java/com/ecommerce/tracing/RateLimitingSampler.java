@@ -0,0 +1,84 @@
+package com.ecommerce.tracing;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Samples what the delegate samples, but at most maxPerSecond traces a second
+ * (bursts of up to one second's worth), so the cost of tracing stops growing
+ * with the request rate once the ratio alone would record more than that.
+ *
+ * Meant for root spans, behind Sampler.parentBased: spans with a parent
+ * follow the parent's decision and do not count against the limit.
+ */
+public class RateLimitingSampler implements Sampler {
+
+    private static final long BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Sampler delegate;
+    private final double maxPerSecond;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+
+    // Generic cell rate algorithm: the time at which the next trace would be on schedule
+    private final AtomicLong theoreticalArrival;
+
+    public RateLimitingSampler(Sampler delegate, double maxPerSecond) {
+        this(delegate, maxPerSecond, System::nanoTime);
+    }
+
+    RateLimitingSampler(Sampler delegate, double maxPerSecond, LongSupplier nanoClock) {
+        if (maxPerSecond <= 0) {
+            throw new IllegalArgumentException("maxPerSecond must be positive: " + maxPerSecond);
+        }
+        this.delegate = delegate;
+        this.maxPerSecond = maxPerSecond;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / maxPerSecond));
+        this.nanoClock = nanoClock;
+        this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong() - BURST_NANOS);
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                       Attributes attributes, List<LinkData> parentLinks) {
+        SamplingResult result = delegate.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+        if (result.getDecision() == SamplingDecision.DROP || tryAcquire()) {
+            return result;
+        }
+        return SamplingResult.drop();
+    }
+
+    private boolean tryAcquire() {
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now - BURST_NANOS) + intervalNanos;
+            if (next - now > 0) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return "RateLimitingSampler{" + delegate.getDescription() + ", maxPerSecond=" + maxPerSecond + "}";
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+}
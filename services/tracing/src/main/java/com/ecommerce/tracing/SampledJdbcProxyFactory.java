@@ -0,0 +1,75 @@
+package com.ecommerce.tracing;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.proxy.JdbcProxyFactory;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Proxies a connection, and with it the statements and result sets it
+ * creates, only when it is obtained inside a sampled trace. Any other
+ * connection is handed out as it is, so unsampled requests pay for neither
+ * the JDK proxies nor the per-statement execution bookkeeping.
+ */
+final class SampledJdbcProxyFactory implements JdbcProxyFactory {
+
+    private final JdbcProxyFactory delegate;
+    private final BooleanSupplier sampled;
+
+    SampledJdbcProxyFactory(JdbcProxyFactory delegate, BooleanSupplier sampled) {
+        this.delegate = delegate;
+        this.sampled = sampled;
+    }
+
+    @Override
+    public DataSource createDataSource(DataSource dataSource, ProxyConfig proxyConfig) {
+        return delegate.createDataSource(dataSource, proxyConfig);
+    }
+
+    @Override
+    public Connection createConnection(Connection connection, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        if (!sampled.getAsBoolean()) {
+            return connection;
+        }
+        return delegate.createConnection(connection, connectionInfo, proxyConfig);
+    }
+
+    @Override
+    public Statement createStatement(Statement statement, ConnectionInfo connectionInfo,
+                                     Connection proxyConnection, ProxyConfig proxyConfig) {
+        return delegate.createStatement(statement, connectionInfo, proxyConnection, proxyConfig);
+    }
+
+    @Override
+    public PreparedStatement createPreparedStatement(PreparedStatement preparedStatement, String query,
+                                                     ConnectionInfo connectionInfo, Connection proxyConnection,
+                                                     ProxyConfig proxyConfig, boolean generateKey) {
+        return delegate.createPreparedStatement(preparedStatement, query, connectionInfo, proxyConnection,
+                proxyConfig, generateKey);
+    }
+
+    @Override
+    public CallableStatement createCallableStatement(CallableStatement callableStatement, String query,
+                                                     ConnectionInfo connectionInfo, Connection proxyConnection,
+                                                     ProxyConfig proxyConfig) {
+        return delegate.createCallableStatement(callableStatement, query, connectionInfo, proxyConnection,
+                proxyConfig);
+    }
+
+    @Override
+    public ResultSet createResultSet(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        return delegate.createResultSet(resultSet, connectionInfo, proxyConfig);
+    }
+
+    @Override
+    public ResultSet createGeneratedKeys(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        return delegate.createGeneratedKeys(resultSet, connectionInfo, proxyConfig);
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.tracing;
+
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import net.ttddyy.dsproxy.proxy.JdbcProxyFactory;
+import net.ttddyy.observation.boot.autoconfigure.ProxyDataSourceBuilderCustomizer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.tracing.ConditionalOnEnabledTracing;
+import org.springframework.boot.actuate.autoconfigure.tracing.OpenTelemetryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.tracing.TracingProperties;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Replaces Spring Boot's ratio sampler with one that also caps the number of
+ * traces started per second (tracing.sampling.max-traces-per-second), adds a
+ * file span exporter (tracing.file.*) next to the OTLP exporter that Spring
+ * Boot configures when management.otlp.tracing.endpoint is set, and limits
+ * JDBC proxies and observations to sampled traces.
+ */
+@AutoConfiguration(before = OpenTelemetryAutoConfiguration.class)
+@ConditionalOnClass({Sampler.class, Tracer.class})
+public class TracingAutoConfiguration {
+
+    static final String JDBC_OBSERVATION_PREFIX = "jdbc.";
+
+    /**
+     * Connection, statement and result set observations cost several kilobytes
+     * of garbage per statement; they only become spans of sampled traces and
+     * are skipped everywhere else, including when tracing is disabled.
+     */
+    @Bean
+    public ObservationPredicate sampledJdbcObservations(ObjectProvider<Tracer> tracer) {
+        BooleanSupplier sampled = sampled(tracer);
+        return (name, context) -> !name.startsWith(JDBC_OBSERVATION_PREFIX) || sampled.getAsBoolean();
+    }
+
+    /**
+     * Skipping the observations still leaves every statement running through
+     * datasource-proxy's JDK proxies, so connections obtained outside a
+     * sampled trace are not proxied at all. A connection keeps the decision
+     * made when it was obtained for the rest of its transaction.
+     */
+    @Bean
+    public ProxyDataSourceBuilderCustomizer sampledJdbcProxies(ObjectProvider<Tracer> tracer) {
+        BooleanSupplier sampled = sampled(tracer);
+        return (builder, dataSource, beanName, dataSourceName) ->
+                builder.jdbcProxyFactory(new SampledJdbcProxyFactory(JdbcProxyFactory.DEFAULT, sampled));
+    }
+
+    /**
+     * Whether the current span belongs to a sampled trace. The tracer is looked
+     * up once, on first use, rather than through the bean factory on every
+     * statement.
+     */
+    static BooleanSupplier sampled(ObjectProvider<Tracer> tracer) {
+        Supplier<Tracer> current = SingletonSupplier.of(() -> tracer.getIfAvailable(() -> Tracer.NOOP));
+        return () -> {
+            Span span = current.get().currentSpan();
+            return span != null && Boolean.TRUE.equals(span.context().sampled());
+        };
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnEnabledTracing
+    @EnableConfigurationProperties(TracingProperties.class)
+    static class SpanConfiguration {
+
+        /**
+         * Incoming trace context decides for spans that have one; new traces are
+         * sampled with management.tracing.sampling.probability, up to the cap.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public Sampler otelSampler(TracingProperties tracingProperties,
+                                   @Value("${tracing.sampling.max-traces-per-second:100}") double maxTracesPerSecond) {
+            Sampler ratio = Sampler.traceIdRatioBased(tracingProperties.getSampling().getProbability());
+            return Sampler.parentBased(new RateLimitingSampler(ratio, maxTracesPerSecond));
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(name = "tracing.file.enabled", havingValue = "true")
+        public FileSpanExporter fileSpanExporter(
+                @Value("${tracing.file.path:${java.io.tmpdir}/traces/${spring.application.name:application}.jsonl}") Path path,
+                @Value("${tracing.file.max-size:100MB}") DataSize maxSize) {
+            return new FileSpanExporter(path, maxSize.toBytes());
+        }
+    }
+}
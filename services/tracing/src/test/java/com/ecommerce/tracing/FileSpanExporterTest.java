@@ -0,0 +1,86 @@
+package com.ecommerce.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FileSpanExporter
+ */
+@DisplayName("FileSpanExporter Unit Tests")
+class FileSpanExporterTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should write finished spans as OTLP JSON lines")
+    void testExport() throws Exception {
+        // Arrange
+        Path file = directory.resolve("traces/spans.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(file, 1024 * 1024);
+        Tracer tracer = tracer(exporter);
+
+        // Act
+        Span parent = tracer.spanBuilder("POST /api/v1/orders").setSpanKind(SpanKind.SERVER).startSpan();
+        try (Scope ignored = parent.makeCurrent()) {
+            tracer.spanBuilder("order-created send").setSpanKind(SpanKind.PRODUCER).startSpan().end();
+        }
+        parent.end();
+        exporter.shutdown();
+
+        // Assert
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode child = span(lines.get(0));
+        JsonNode root = span(lines.get(1));
+        assertEquals("order-created send", child.path("name").asText());
+        assertEquals(root.path("traceId").asText(), child.path("traceId").asText());
+        assertEquals(root.path("spanId").asText(), child.path("parentSpanId").asText());
+    }
+
+    @Test
+    @DisplayName("Should move a full file aside and start a new one")
+    void testRollsOver() throws Exception {
+        // Arrange
+        Path file = directory.resolve("spans.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(file, 1);
+        Tracer tracer = tracer(exporter);
+
+        // Act
+        tracer.spanBuilder("first").startSpan().end();
+        tracer.spanBuilder("second").startSpan().end();
+        exporter.shutdown();
+
+        // Assert
+        assertEquals("first", span(Files.readAllLines(directory.resolve("spans.jsonl.1")).get(0)).path("name").asText());
+        assertEquals("second", span(Files.readAllLines(file).get(0)).path("name").asText());
+    }
+
+    private static Tracer tracer(FileSpanExporter exporter) {
+        return SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build()
+                .get("test");
+    }
+
+    private JsonNode span(String line) throws Exception {
+        return objectMapper.readTree(line).path("resourceSpans").get(0).path("scopeSpans").get(0).path("spans").get(0);
+    }
+}
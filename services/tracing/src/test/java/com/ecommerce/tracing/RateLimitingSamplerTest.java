@@ -0,0 +1,86 @@
+package com.ecommerce.tracing;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceId;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RateLimitingSampler
+ */
+@DisplayName("RateLimitingSampler Unit Tests")
+class RateLimitingSamplerTest {
+
+    private final AtomicLong nanoTime = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    @DisplayName("Should sample at most one second's worth of traces at once")
+    void testBurstCapped() {
+        // Arrange
+        RateLimitingSampler sampler = new RateLimitingSampler(Sampler.alwaysOn(), 10, nanoTime::get);
+
+        // Act
+        int sampled = sampleMany(sampler, 100);
+
+        // Assert
+        assertEquals(10, sampled);
+    }
+
+    @Test
+    @DisplayName("Should sample again as time passes, at the configured rate")
+    void testRefillsOverTime() {
+        // Arrange
+        RateLimitingSampler sampler = new RateLimitingSampler(Sampler.alwaysOn(), 10, nanoTime::get);
+        sampleMany(sampler, 100);
+
+        // Act
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        int sampled = sampleMany(sampler, 100);
+
+        // Assert
+        assertEquals(5, sampled);
+    }
+
+    @Test
+    @DisplayName("Should not spend the budget on traces the delegate drops")
+    void testDelegateDropsFirst() {
+        // Arrange
+        RateLimitingSampler sampler = new RateLimitingSampler(Sampler.alwaysOff(), 10, nanoTime::get);
+
+        // Act
+        int sampled = sampleMany(sampler, 100);
+
+        // Assert
+        assertEquals(0, sampled);
+        assertEquals(10, sampleMany(new RateLimitingSampler(Sampler.alwaysOn(), 10, nanoTime::get), 100));
+    }
+
+    @Test
+    @DisplayName("Should reject a rate that is not positive")
+    void testInvalidRate() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitingSampler(Sampler.alwaysOn(), 0));
+    }
+
+    private static int sampleMany(Sampler sampler, int traces) {
+        int sampled = 0;
+        for (int i = 0; i < traces; i++) {
+            SamplingDecision decision = sampler.shouldSample(Context.root(), TraceId.fromLongs(i + 1, i + 1),
+                    "GET /api/v1/orders", SpanKind.SERVER, Attributes.empty(), List.of()).getDecision();
+            if (decision == SamplingDecision.RECORD_AND_SAMPLE) {
+                sampled++;
+            }
+        }
+        return sampled;
+    }
+}
@@ -0,0 +1,115 @@
+package com.ecommerce.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.proxy.JdbcProxyFactory;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TracingAutoConfiguration's JDBC observation predicate and
+ * sampled connection proxies
+ */
+@DisplayName("TracingAutoConfiguration Unit Tests")
+class TracingAutoConfigurationTest {
+
+    private final Observation.Context context = new Observation.Context();
+
+    @Test
+    @DisplayName("Should observe JDBC calls inside a sampled trace")
+    void testJdbcObservedWhenSampled() {
+        // Arrange
+        ObservationPredicate predicate = predicate(tracerWithSpan(true));
+
+        // Act & Assert
+        assertTrue(predicate.test("jdbc.query", context));
+    }
+
+    @Test
+    @DisplayName("Should skip JDBC calls outside a trace or in a trace that is not sampled")
+    void testJdbcSkippedWhenNotSampled() {
+        // Arrange
+        Tracer noSpan = mock(Tracer.class);
+
+        // Act & Assert
+        assertFalse(predicate(tracerWithSpan(false)).test("jdbc.query", context));
+        assertFalse(predicate(noSpan).test("jdbc.connection", context));
+        assertFalse(predicate(null).test("jdbc.result-set", context));
+    }
+
+    @Test
+    @DisplayName("Should leave other observations alone")
+    void testOtherObservationsKept() {
+        // Act & Assert
+        assertTrue(predicate(null).test("http.server.requests", context));
+        assertTrue(predicate(tracerWithSpan(false)).test("order.service", context));
+    }
+
+    @Test
+    @DisplayName("Should proxy connections obtained inside a sampled trace")
+    void testConnectionProxiedWhenSampled() {
+        // Arrange
+        Connection connection = mock(Connection.class);
+
+        // Act
+        Connection result = proxyFactory(tracerWithSpan(true))
+                .createConnection(connection, new ConnectionInfo(), ProxyConfig.Builder.create().build());
+
+        // Assert
+        assertNotSame(connection, result);
+        assertTrue(Proxy.isProxyClass(result.getClass()));
+    }
+
+    @Test
+    @DisplayName("Should hand out connections obtained outside a sampled trace unproxied")
+    void testConnectionNotProxiedWhenNotSampled() {
+        // Arrange
+        Connection connection = mock(Connection.class);
+        ProxyConfig proxyConfig = ProxyConfig.Builder.create().build();
+
+        // Act & Assert
+        assertSame(connection, proxyFactory(tracerWithSpan(false))
+                .createConnection(connection, new ConnectionInfo(), proxyConfig));
+        assertSame(connection, proxyFactory(null)
+                .createConnection(connection, new ConnectionInfo(), proxyConfig));
+    }
+
+    private static JdbcProxyFactory proxyFactory(Tracer tracer) {
+        return new SampledJdbcProxyFactory(JdbcProxyFactory.DEFAULT, TracingAutoConfiguration.sampled(provider(tracer)));
+    }
+
+    private static ObservationPredicate predicate(Tracer tracer) {
+        return new TracingAutoConfiguration().sampledJdbcObservations(provider(tracer));
+    }
+
+    private static ObjectProvider<Tracer> provider(Tracer tracer) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        if (tracer != null) {
+            beanFactory.registerSingleton("tracer", tracer);
+        }
+        return beanFactory.getBeanProvider(Tracer.class);
+    }
+
+    private static Tracer tracerWithSpan(boolean sampled) {
+        TraceContext traceContext = mock(TraceContext.class);
+        when(traceContext.sampled()).thenReturn(sampled);
+        Span span = mock(Span.class);
+        when(span.context()).thenReturn(traceContext);
+        Tracer tracer = mock(Tracer.class);
+        when(tracer.currentSpan()).thenReturn(span);
+        return tracer;
+    }
+}